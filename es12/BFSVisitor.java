@@ -1,6 +1,18 @@
 package it.unicam.cs.asdl2122.es12sol;
 
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Classe singoletto che fornisce lo schema generico di visita Breadth-First di
@@ -13,6 +25,23 @@ import java.util.LinkedList;
  */
 public class BFSVisitor<L> {
 
+    /*
+     * Numero di parole da 64 bit delle frontiere sotto il quale una porzione
+     * di un livello della visita parallela viene espansa sequenzialmente.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    /*
+     * Parametri della scelta della direzione della visita parallela: si passa
+     * all'espansione bottom-up quando gli archi uscenti dalla frontiera sono
+     * più di 1/ALPHA degli archi non ancora esaminati, si torna
+     * all'espansione top-down quando la frontiera contiene meno di 1/BETA dei
+     * nodi.
+     */
+    private static final int ALPHA = 14;
+
+    private static final int BETA = 24;
+
     /**
      * Esegue la visita in ampiezza di un certo grafo a partire da un nodo
      * sorgente. Setta i valori seguenti valori associati ai nodi: distanza
@@ -78,6 +107,267 @@ public class BFSVisitor<L> {
         // la visita è finita
     }
 
+    /**
+     * Esegue la visita in ampiezza di un certo grafo a partire da un nodo
+     * sorgente registrando distanza intera e predecessore di ogni nodo in uno
+     * stato separato, invece che nei nodi. I nodi del grafo non vengono
+     * modificati, per cui più visite con stati diversi possono essere eseguite
+     * contemporaneamente sullo stesso grafo, anche con lo stesso oggetto
+     * visitatore, purché visitNode non modifichi dati condivisi. Lo stato
+     * viene riportato ai valori iniziali prima della visita; il metodo
+     * visitNode viene chiamato come in BFSVisit, quando il nodo diventa nero
+     * nello stato.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @param state
+     *                   lo stato in cui registrare la visita, creato per il
+     *                   grafo g.
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato o se lo stato non è
+     *                                      stato creato per il grafo g
+     */
+    public void BFSVisit(Graph<L> g, GraphNode<L> source,
+            TraversalState<L> state) {
+        if (g == null)
+            throw new NullPointerException("BFS ERROR: Grafo nullo");
+        if (source == null)
+            throw new NullPointerException("BFS ERROR: Sorgente nulla");
+        if (state == null)
+            throw new NullPointerException("BFS ERROR: Stato nullo");
+        if (state.getGraph() != g)
+            throw new IllegalArgumentException(
+                    "BFS ERROR: Lo stato non è stato creato per il grafo");
+        int s = state.idOf(source);
+        if (s == -1)
+            throw new IllegalArgumentException(
+                    "BFS ERROR: La sorgente non è un nodo del grafo");
+        state.reset();
+        IndexedAdjacency<L> adj = state.adjacency;
+        // Scopro la sorgente
+        state.setColor(s, GraphNode.COLOR_GREY);
+        state.setIntegerDistance(s, 0);
+        // Ogni nodo entra in coda al più una volta, per cui come coda basta
+        // un array con due indici di testa e di fondo
+        int[] queue = new int[adj.nodeCount()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = s;
+        // Ciclo Principale
+        while (head < tail) {
+            int u = queue[head++];
+            for (int k = adj.offsets[u]; k < adj.offsets[u + 1]; k++) {
+                int v = adj.targets[k];
+                // Scopro tutti i nodi bianchi adiacenti al nodo corrente
+                if (state.getColor(v) == GraphNode.COLOR_WHITE) {
+                    state.setColor(v, GraphNode.COLOR_GREY);
+                    state.setIntegerDistance(v,
+                            state.getIntegerDistance(u) + 1);
+                    state.setPrevious(v, u);
+                    queue[tail++] = v;
+                }
+            }
+            // Il nodo corrente diventa nero
+            state.setColor(u, GraphNode.COLOR_BLACK);
+            this.visitNode(adj.nodes[u]);
+        }
+        // la visita è finita
+    }
+
+    /**
+     * Esegue la visita in ampiezza di un certo grafo a partire da un nodo
+     * sorgente usando i thread del pool comune.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     * @see #parallelBFSVisit(Graph, GraphNode, ForkJoinPool)
+     */
+    public void parallelBFSVisit(Graph<L> g, GraphNode<L> source) {
+        this.parallelBFSVisit(g, source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Esegue la visita in ampiezza di un certo grafo a partire da un nodo
+     * sorgente, espandendo in parallelo un livello alla volta. Assegna ai nodi
+     * gli stessi valori di BFSVisit: la distanza intera dalla sorgente è la
+     * stessa, mentre il predecessore può essere un qualsiasi nodo del livello
+     * precedente collegato al nodo, per cui l'albero di copertura può essere
+     * diverso da quello della visita sequenziale.
+     * 
+     * I nodi vengono indicizzati all'inizio della visita e la frontiera, il
+     * livello successivo e l'insieme dei nodi scoperti sono rappresentati da
+     * insiemi di bit. Ogni livello viene espanso in una di due direzioni:
+     * top-down, in cui si scorrono gli archi uscenti dai nodi della frontiera,
+     * o bottom-up, in cui ogni nodo non ancora scoperto cerca tra i propri
+     * predecessori un nodo della frontiera e si ferma al primo trovato. La
+     * direzione viene scelta ad ogni livello confrontando il numero di archi
+     * uscenti dalla frontiera con quello degli archi non ancora esaminati, in
+     * modo da usare la direzione bottom-up sui livelli molto grandi tipici dei
+     * grafi con diametro piccolo.
+     * 
+     * Il metodo visitNode viene chiamato dal thread che esegue questo metodo,
+     * alla fine di ogni livello, sui nodi del livello in ordine di indice.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @param pool
+     *                   il pool di thread su cui eseguire la visita.
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    public void parallelBFSVisit(Graph<L> g, GraphNode<L> source,
+            ForkJoinPool pool) {
+        if (g == null)
+            throw new NullPointerException("BFS ERROR: Grafo nullo");
+        if (source == null)
+            throw new NullPointerException("BFS ERROR: Sorgente nulla");
+        if (pool == null)
+            throw new NullPointerException("BFS ERROR: Pool di thread nullo");
+        if (!g.getNodes().contains(source))
+            throw new IllegalArgumentException(
+                    "BFS ERROR: La sorgente non è un nodo del grafo");
+        IndexedAdjacency<L> out = new IndexedAdjacency<L>(g);
+        // per la direzione bottom-up servono i predecessori
+        IndexedAdjacency<L> in = g.isDirected() ? out.reverse() : out;
+        int n = out.nodeCount();
+        // Inizializziamo il grafo
+        for (GraphNode<L> node : out.nodes) {
+            node.setColor(GraphNode.COLOR_WHITE);
+            node.setIntegerDistance(-1);
+            node.setPrevious(null);
+        }
+        int words = (n + 63) >>> 6;
+        AtomicLongArray visited = new AtomicLongArray(words);
+        AtomicLongArray frontier = new AtomicLongArray(words);
+        AtomicLongArray next = new AtomicLongArray(words);
+        int[] parent = new int[n];
+        // Scopro la sorgente
+        int s = out.idOf(source);
+        out.nodes[s].setColor(GraphNode.COLOR_GREY);
+        out.nodes[s].setIntegerDistance(0);
+        visited.set(s >>> 6, 1L << s);
+        frontier.set(s >>> 6, 1L << s);
+        int frontierSize = 1;
+        long frontierEdges = out.offsets[s + 1] - out.offsets[s];
+        long unexploredEdges = out.targets.length - frontierEdges;
+        boolean bottomUp = false;
+        int level = 0;
+        // Ciclo principale, un livello alla volta
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA)
+                bottomUp = true;
+            else if (bottomUp && frontierSize < n / BETA)
+                bottomUp = false;
+            pool.invoke(new LevelTask(out, in, bottomUp, n, visited, frontier,
+                    next, parent, 0, words));
+            // I nodi della frontiera diventano neri
+            for (int w = 0; w < words; w++)
+                for (long word = frontier.get(w); word != 0; word &= word - 1) {
+                    GraphNode<L> u = out.nodes[(w << 6)
+                            + Long.numberOfTrailingZeros(word)];
+                    u.setColor(GraphNode.COLOR_BLACK);
+                    this.visitNode(u);
+                }
+            // Faccio le operazioni relative alla scoperta sui nodi del
+            // livello successivo, che diventa la nuova frontiera
+            level++;
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (int w = 0; w < words; w++) {
+                long word = next.get(w);
+                frontier.set(w, word);
+                next.set(w, 0);
+                for (; word != 0; word &= word - 1) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                    out.nodes[v].setColor(GraphNode.COLOR_GREY);
+                    out.nodes[v].setIntegerDistance(level);
+                    out.nodes[v].setPrevious(out.nodes[parent[v]]);
+                    frontierSize++;
+                    frontierEdges += out.offsets[v + 1] - out.offsets[v];
+                }
+            }
+            unexploredEdges -= frontierEdges;
+        }
+        // la visita è finita
+    }
+
+    /**
+     * Restituisce un iteratore che produce i nodi raggiungibili da un nodo
+     * sorgente in ordine di visita in ampiezza, a partire dalla sorgente. La
+     * visita avanza solo quando viene richiesto il prossimo nodo: i nodi
+     * adiacenti a un nodo vengono esaminati quando si chiede il nodo
+     * successivo, per cui chi smette di iterare non paga il resto della
+     * visita. I nodi del grafo non vengono modificati e visitNode non viene
+     * chiamato, per cui più iteratori possono essere usati contemporaneamente
+     * sullo stesso grafo. Il grafo non deve essere modificato durante
+     * l'iterazione.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @return un iteratore sui nodi raggiungibili dalla sorgente in ordine di
+     *         visita in ampiezza
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    public Iterator<GraphNode<L>> BFSIterator(Graph<L> g,
+            GraphNode<L> source) {
+        if (g == null)
+            throw new NullPointerException("BFS ERROR: Grafo nullo");
+        if (source == null)
+            throw new NullPointerException("BFS ERROR: Sorgente nulla");
+        if (!g.containsNode(source))
+            throw new IllegalArgumentException(
+                    "BFS ERROR: La sorgente non è un nodo del grafo");
+        return new LazyBFSIterator<L>(g, source);
+    }
+
+    /**
+     * Restituisce uno stream sequenziale e ordinato dei nodi raggiungibili da
+     * un nodo sorgente in ordine di visita in ampiezza, prodotto dall'iteratore
+     * di BFSIterator. Operazioni come limit, takeWhile o findFirst fermano la
+     * visita appena hanno il loro risultato.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @return uno stream dei nodi raggiungibili dalla sorgente in ordine di
+     *         visita in ampiezza
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    public Stream<GraphNode<L>> BFSStream(Graph<L> g, GraphNode<L> source) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                this.BFSIterator(g, source), Spliterator.ORDERED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
     /**
      * Questo metodo, che di default non fa niente, viene chiamato su tutti i
      * nodi visitati durante la BFS quando i nodi passano da grigio a nero.
@@ -93,4 +383,193 @@ public class BFSVisitor<L> {
          */
     }
 
+    /*
+     * Imposta atomicamente a 1 il bit di un nodo in un insieme di bit e
+     * restituisce true se il bit era a 0, cioè se il thread corrente è quello
+     * che ha scoperto il nodo.
+     */
+    private static boolean claim(AtomicLongArray bits, int v) {
+        int w = v >>> 6;
+        long bit = 1L << v;
+        long old = bits.get(w);
+        while ((old & bit) == 0) {
+            if (bits.compareAndSet(w, old, old | bit))
+                return true;
+            old = bits.get(w);
+        }
+        return false;
+    }
+
+    /*
+     * Espande un livello della visita parallela sulle parole [lo, hi) degli
+     * insiemi di bit. In direzione top-down le parole sono quelle della
+     * frontiera, e più task possono scoprire lo stesso nodo, per cui la
+     * scoperta passa da claim; in direzione bottom-up le parole sono quelle
+     * dei nodi da scoprire, ognuna scritta da un solo task.
+     */
+    private static class LevelTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedAdjacency<?> out;
+
+        private final IndexedAdjacency<?> in;
+
+        private final boolean bottomUp;
+
+        private final int n;
+
+        private final AtomicLongArray visited;
+
+        private final AtomicLongArray frontier;
+
+        private final AtomicLongArray next;
+
+        private final int[] parent;
+
+        private final int lo;
+
+        private final int hi;
+
+        LevelTask(IndexedAdjacency<?> out, IndexedAdjacency<?> in,
+                boolean bottomUp, int n, AtomicLongArray visited,
+                AtomicLongArray frontier, AtomicLongArray next, int[] parent,
+                int lo, int hi) {
+            this.out = out;
+            this.in = in;
+            this.bottomUp = bottomUp;
+            this.n = n;
+            this.visited = visited;
+            this.frontier = frontier;
+            this.next = next;
+            this.parent = parent;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.hi - this.lo <= PARALLEL_THRESHOLD) {
+                if (this.bottomUp)
+                    this.bottomUp();
+                else
+                    this.topDown();
+                return;
+            }
+            int mid = (this.lo + this.hi) >>> 1;
+            invokeAll(
+                    new LevelTask(this.out, this.in, this.bottomUp, this.n,
+                            this.visited, this.frontier, this.next,
+                            this.parent, this.lo, mid),
+                    new LevelTask(this.out, this.in, this.bottomUp, this.n,
+                            this.visited, this.frontier, this.next,
+                            this.parent, mid, this.hi));
+        }
+
+        /*
+         * Scorre gli archi uscenti dai nodi della frontiera.
+         */
+        private void topDown() {
+            for (int w = this.lo; w < this.hi; w++)
+                for (long word = this.frontier.get(w); word != 0;
+                        word &= word - 1) {
+                    int u = (w << 6) + Long.numberOfTrailingZeros(word);
+                    for (int k = this.out.offsets[u]; k < this.out.offsets[u
+                            + 1]; k++) {
+                        int v = this.out.targets[k];
+                        if (claim(this.visited, v)) {
+                            this.parent[v] = u;
+                            claim(this.next, v);
+                        }
+                    }
+                }
+        }
+
+        /*
+         * Cerca per ogni nodo non ancora scoperto un predecessore nella
+         * frontiera.
+         */
+        private void bottomUp() {
+            for (int w = this.lo; w < this.hi; w++) {
+                long undiscovered = ~this.visited.get(w);
+                // escludo i bit oltre l'ultimo nodo
+                if (w == (this.n - 1) >>> 6 && (this.n & 63) != 0)
+                    undiscovered &= (1L << this.n) - 1;
+                long found = 0;
+                for (; undiscovered != 0; undiscovered &= undiscovered - 1) {
+                    int v = (w << 6)
+                            + Long.numberOfTrailingZeros(undiscovered);
+                    for (int k = this.in.offsets[v]; k < this.in.offsets[v
+                            + 1]; k++) {
+                        int u = this.in.targets[k];
+                        if ((this.frontier.get(u >>> 6) & (1L << u)) != 0) {
+                            this.parent[v] = u;
+                            found |= 1L << v;
+                            break;
+                        }
+                    }
+                }
+                if (found != 0) {
+                    this.visited.set(w, this.visited.get(w) | found);
+                    this.next.set(w, found);
+                }
+            }
+        }
+    }
+
+    /*
+     * Iteratore della visita in ampiezza pigra: i nodi scoperti vengono
+     * ricordati in un insieme, invece che con il colore dei nodi, e la lista
+     * di adiacenza dell'ultimo nodo restituito viene esaminata solo alla
+     * richiesta del nodo successivo.
+     */
+    private static class LazyBFSIterator<L> implements Iterator<GraphNode<L>> {
+
+        private final Graph<L> graph;
+
+        /*
+         * Nodi scoperti, già restituiti o in coda.
+         */
+        private final Set<GraphNode<L>> discovered;
+
+        private final ArrayDeque<GraphNode<L>> queue;
+
+        /*
+         * Ultimo nodo restituito, i cui nodi adiacenti non sono ancora stati
+         * esaminati, null se non c'è.
+         */
+        private GraphNode<L> toExpand;
+
+        LazyBFSIterator(Graph<L> g, GraphNode<L> source) {
+            this.graph = g;
+            this.discovered = new HashSet<GraphNode<L>>();
+            this.queue = new ArrayDeque<GraphNode<L>>();
+            this.discovered.add(source);
+            this.queue.addLast(source);
+            this.toExpand = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.toExpand != null) {
+                // scopro i nodi adiacenti all'ultimo nodo restituito
+                this.graph.forEachNeighbor(this.toExpand, v -> {
+                    if (this.discovered.add(v))
+                        this.queue.addLast(v);
+                });
+                this.toExpand = null;
+            }
+            return !this.queue.isEmpty();
+        }
+
+        @Override
+        public GraphNode<L> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException(
+                        "BFS ERROR: Nessun altro nodo da visitare");
+            this.toExpand = this.queue.removeFirst();
+            return this.toExpand;
+        }
+    }
+
 }
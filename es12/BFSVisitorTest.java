@@ -0,0 +1,210 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class BFSVisitorTest {
+
+    /*
+     * Visita che conta i nodi passati a visitNode.
+     */
+    private static class CountingVisitor<L> extends BFSVisitor<L> {
+        private int visited = 0;
+
+        @Override
+        public void visitNode(GraphNode<L> n) {
+            assertEquals(GraphNode.COLOR_BLACK, n.getColor());
+            this.visited++;
+        }
+    }
+
+    /*
+     * Crea un grafo orientato casuale con n nodi e circa degree archi uscenti
+     * per nodo.
+     */
+    private static Graph<Integer> randomGraph(int n, int degree, long seed) {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++)
+            for (int d = 0; d < degree; d++)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(i),
+                        nodes.get(random.nextInt(n)), true));
+        return g;
+    }
+
+    @Test
+    final void testParallelBFSVisitLikeSequential() {
+        Graph<Integer> g = randomGraph(20000, 8, 42);
+        GraphNode<Integer> source = g.getNodeOf(0);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        visitor.BFSVisit(g, source);
+        Map<GraphNode<Integer>, Integer> distances = new HashMap<GraphNode<Integer>, Integer>();
+        for (GraphNode<Integer> n : g.getNodes())
+            distances.put(n, n.getIntegerDistance());
+        CountingVisitor<Integer> parallel = new CountingVisitor<Integer>();
+        parallel.parallelBFSVisit(g, source, new ForkJoinPool(4));
+        int reached = 0;
+        for (GraphNode<Integer> n : g.getNodes()) {
+            assertEquals(distances.get(n).intValue(), n.getIntegerDistance());
+            if (n.getIntegerDistance() == -1) {
+                assertEquals(GraphNode.COLOR_WHITE, n.getColor());
+                assertNull(n.getPrevious());
+                continue;
+            }
+            reached++;
+            assertEquals(GraphNode.COLOR_BLACK, n.getColor());
+            // il predecessore è nel livello precedente ed è collegato al nodo
+            GraphNode<Integer> p = n.getPrevious();
+            if (n.equals(source)) {
+                assertNull(p);
+            } else {
+                assertEquals(n.getIntegerDistance() - 1,
+                        p.getIntegerDistance());
+                assertTrue(g.getAdjacentNodesOf(p).contains(n));
+            }
+        }
+        assertEquals(reached, parallel.visited);
+    }
+
+    @Test
+    final void testBFSVisitWithStateConcurrent() throws Exception {
+        Graph<Integer> g = randomGraph(2000, 3, 7);
+        GraphNode<Integer> source = g.getNodeOf(0);
+        new BFSVisitor<Integer>().BFSVisit(g, source);
+        TraversalState<Integer> first = new TraversalState<Integer>(g);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        // più visite contemporanee con lo stesso visitatore e stati diversi
+        Thread[] threads = new Thread[4];
+        List<TraversalState<Integer>> states = new ArrayList<TraversalState<Integer>>();
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<Integer> state = new TraversalState<Integer>(first);
+            states.add(state);
+            threads[t] = new Thread(() -> {
+                for (int r = 0; r < 20; r++)
+                    visitor.BFSVisit(g, source, state);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        for (TraversalState<Integer> state : states)
+            for (GraphNode<Integer> n : g.getNodes()) {
+                int id = state.idOf(n);
+                assertEquals(n.getIntegerDistance(),
+                        state.getIntegerDistance(id));
+                assertEquals(n.getPrevious(),
+                        state.getPrevious(id) == -1 ? null
+                                : state.getNode(state.getPrevious(id)));
+            }
+        assertThrows(IllegalArgumentException.class, () -> visitor
+                .BFSVisit(g, new GraphNode<Integer>(-1), first));
+    }
+
+    @Test
+    final void testParallelBFSVisitPath() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        GraphNode<Integer> last = new GraphNode<Integer>(0);
+        g.addNode(last);
+        for (int i = 1; i < 100; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        GraphNode<Integer> isolated = new GraphNode<Integer>(-1);
+        g.addNode(isolated);
+        new BFSVisitor<Integer>().parallelBFSVisit(g, g.getNodeOf(10));
+        for (GraphNode<Integer> n : g.getNodes())
+            assertEquals(n.getLabel() < 10 ? -1 : n.getLabel() - 10,
+                    n.getIntegerDistance());
+        assertEquals(GraphNode.COLOR_WHITE, isolated.getColor());
+    }
+
+    @Test
+    final void testParallelBFSVisitExceptions() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        BFSVisitor<String> visitor = new BFSVisitor<String>();
+        assertThrows(NullPointerException.class,
+                () -> visitor.parallelBFSVisit(null, ns));
+        assertThrows(NullPointerException.class,
+                () -> visitor.parallelBFSVisit(g, null));
+        assertThrows(NullPointerException.class,
+                () -> visitor.parallelBFSVisit(g, ns, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.parallelBFSVisit(g, new GraphNode<String>("u")));
+    }
+
+    @Test
+    final void testBFSStreamLikeBFSVisit() {
+        Graph<Integer> g = randomGraph(3000, 3, 13);
+        GraphNode<Integer> source = g.getNodeOf(0);
+        new BFSVisitor<Integer>().BFSVisit(g, source);
+        List<GraphNode<Integer>> order = new BFSVisitor<Integer>()
+                .BFSStream(g, source).collect(Collectors.toList());
+        assertEquals(source, order.get(0));
+        int reached = 0;
+        for (GraphNode<Integer> n : g.getNodes())
+            if (n.getIntegerDistance() != -1)
+                reached++;
+        assertEquals(reached, order.size());
+        // i nodi arrivano per distanza non decrescente
+        for (int k = 1; k < order.size(); k++)
+            assertTrue(order.get(k - 1).getIntegerDistance() <= order.get(k)
+                    .getIntegerDistance());
+    }
+
+    @Test
+    final void testBFSIteratorLazy() {
+        int[] expanded = new int[1];
+        // grafo che conta le liste di adiacenza esaminate
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>() {
+            @Override
+            public void forEachNeighbor(GraphNode<Integer> node,
+                    Consumer<? super GraphNode<Integer>> action) {
+                expanded[0]++;
+                super.forEachNeighbor(node, action);
+            }
+        };
+        GraphNode<Integer> last = new GraphNode<Integer>(0);
+        g.addNode(last);
+        for (int i = 1; i < 1000; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        assertEquals(Integer.valueOf(5), visitor.BFSStream(g, g.getNodeOf(0))
+                .filter(n -> n.getLabel() == 5).findFirst().get().getLabel());
+        assertEquals(5, expanded[0]);
+        Iterator<GraphNode<Integer>> it = visitor.BFSIterator(g,
+                g.getNodeOf(998));
+        assertEquals(Integer.valueOf(998), it.next().getLabel());
+        assertEquals(Integer.valueOf(999), it.next().getLabel());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSStream(null, g.getNodeOf(0)));
+        assertThrows(IllegalArgumentException.class, () -> visitor
+                .BFSIterator(g, new GraphNode<Integer>(-1)));
+    }
+}
@@ -1,5 +1,15 @@
 package it.unicam.cs.asdl2122.es12sol;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Classe singoletto che fornisce lo schema generico di visita Depth-First di un
  * grafo rappresentato da un oggetto di tipo Graph<L>.
@@ -41,17 +51,151 @@ public class DFSVisitor<L> {
         }
         // inizializziamo il tempo globale
         this.time = 0;
-        // ciclo esterno
-        for (GraphNode<L> n : g.getNodes()) {
-            if (n.getColor() == GraphNode.COLOR_WHITE)
-                // chiamo la DFS ricorsiva su n
-                recDFS(g, n);
-        }
+        // indicizziamo i nodi e le liste di adiacenza una volta sola
+        this.iterDFSVisit(new IndexedAdjacency<L>(g), null);
         // Fine della visita DFS "esterna"
     }
 
+    /**
+     * Esegue la visita in profondità di un certo grafo registrando tempo di
+     * scoperta, tempo di fine visita e predecessore di ogni nodo in uno stato
+     * separato, invece che nei nodi. I nodi del grafo non vengono modificati,
+     * per cui più visite con stati diversi possono essere eseguite
+     * contemporaneamente sullo stesso grafo, anche con lo stesso oggetto
+     * visitatore, purché visitNode non modifichi dati condivisi. Lo stato
+     * viene riportato ai valori iniziali prima della visita; il metodo
+     * visitNode viene chiamato come in DFSVisit, quando il nodo diventa nero
+     * nello stato.
+     * 
+     * @param g
+     *                  il grafo da visitare.
+     * @param state
+     *                  lo stato in cui registrare la visita, creato per il
+     *                  grafo g.
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se lo stato non è stato creato per
+     *                                      il grafo g
+     */
+    public void DFSVisit(Graph<L> g, TraversalState<L> state) {
+        if (g == null)
+            throw new NullPointerException("DFS ERROR: Grafo nullo");
+        if (state == null)
+            throw new NullPointerException("DFS ERROR: Stato nullo");
+        if (state.getGraph() != g)
+            throw new IllegalArgumentException(
+                    "DFS ERROR: Lo stato non è stato creato per il grafo");
+        state.reset();
+        this.iterDFSVisit(state.adjacency, state);
+    }
+
+    /*
+     * Ciclo esterno della DFS iterativa. Se state è null la visita viene
+     * registrata nei nodi e il tempo globale è this.time, altrimenti in state.
+     */
+    private void iterDFSVisit(IndexedAdjacency<L> adj,
+            TraversalState<L> state) {
+        // pila dei nodi grigi e, per ognuno, posizione del prossimo nodo
+        // adiacente da esaminare
+        int[] stack = new int[adj.nodeCount()];
+        int[] cursor = new int[adj.nodeCount()];
+        // ciclo esterno, nello stesso ordine di g.getNodes()
+        for (int r = 0; r < adj.nodeCount(); r++) {
+            if (this.isWhite(adj, state, r))
+                // chiamo la DFS iterativa su r
+                iterDFS(adj, state, r, stack, cursor);
+        }
+    }
+
+    /*
+     * Esegue la DFS a partire dal nodo con identificatore r usando una pila
+     * esplicita al posto della ricorsione, per cui lo spazio occupato sullo
+     * stack del thread non dipende dalla profondità della visita. Ogni nodo
+     * grigio resta sulla pila insieme al cursore sulla propria lista di
+     * adiacenza: quando il cursore arriva in fondo il nodo diventa nero. I
+     * nodi adiacenti sono esaminati nello stesso ordine di recDFS, quindi
+     * tempi di scoperta e di fine visita, predecessori e ordine delle chiamate
+     * a visitNode coincidono con quelli della versione ricorsiva.
+     */
+    private void iterDFS(IndexedAdjacency<L> adj, TraversalState<L> state,
+            int r, int[] stack, int[] cursor) {
+        int top = 0;
+        this.discover(adj, state, r);
+        cursor[r] = adj.offsets[r];
+        stack[top++] = r;
+        while (top > 0) {
+            int u = stack[top - 1];
+            if (cursor[u] < adj.offsets[u + 1]) {
+                // esamino il prossimo nodo adiacente a u
+                int v = adj.targets[cursor[u]++];
+                if (this.isWhite(adj, state, v)) {
+                    // assegno il puntatore per l'albero di copertura
+                    if (state == null)
+                        adj.nodes[v].setPrevious(adj.nodes[u]);
+                    else
+                        state.setPrevious(v, u);
+                    // vado in profondità
+                    this.discover(adj, state, v);
+                    cursor[v] = adj.offsets[v];
+                    stack[top++] = v;
+                }
+            } else {
+                // tutti i nodi adiacenti a u sono diventati neri
+                top--;
+                this.finish(adj, state, u);
+            }
+        }
+    }
+
+    /*
+     * Determina se il nodo con identificatore u è ancora bianco.
+     */
+    private boolean isWhite(IndexedAdjacency<L> adj, TraversalState<L> state,
+            int u) {
+        if (state == null)
+            return adj.nodes[u].getColor() == GraphNode.COLOR_WHITE;
+        return state.getColor(u) == GraphNode.COLOR_WHITE;
+    }
+
     /*
-     * Esegue la DFS ricorsivamente sul nodo passato.
+     * Scopre un nodo: diventa grigio e riceve il tempo di scoperta.
+     */
+    private void discover(IndexedAdjacency<L> adj, TraversalState<L> state,
+            int u) {
+        if (state == null) {
+            adj.nodes[u].setColor(GraphNode.COLOR_GREY);
+            this.time++;
+            adj.nodes[u].setEnteringTime(this.time);
+        } else {
+            state.setColor(u, GraphNode.COLOR_GREY);
+            state.time++;
+            state.setEnteringTime(u, state.time);
+        }
+    }
+
+    /*
+     * Termina la visita di un nodo: diventa nero, riceve il tempo di uscita e
+     * viene passato a visitNode.
+     */
+    private void finish(IndexedAdjacency<L> adj, TraversalState<L> state,
+            int u) {
+        if (state == null) {
+            adj.nodes[u].setColor(GraphNode.COLOR_BLACK);
+            this.time++;
+            adj.nodes[u].setExitingTime(this.time);
+        } else {
+            state.setColor(u, GraphNode.COLOR_BLACK);
+            state.time++;
+            state.setExitingTime(u, state.time);
+        }
+        visitNode(adj.nodes[u]);
+    }
+
+    /*
+     * Esegue la DFS ricorsivamente sul nodo passato. È la versione originale
+     * della visita, non più usata da DFSVisit perché su cammini molto lunghi
+     * esaurisce lo stack del thread; resta disponibile per le sottoclassi.
      * 
      * @param g il grafo
      * 
@@ -80,6 +224,65 @@ public class DFSVisitor<L> {
         visitNode(u);
     }
 
+    /**
+     * Restituisce un iteratore che produce i nodi raggiungibili da un nodo
+     * sorgente in ordine di scoperta di una visita in profondità, a partire
+     * dalla sorgente. La visita avanza solo quando viene richiesto il prossimo
+     * nodo, scorrendo gli archi uscenti dei nodi aperti uno alla volta, per
+     * cui chi smette di iterare non paga il resto della visita. I nodi del
+     * grafo non vengono modificati e visitNode non viene chiamato, per cui più
+     * iteratori possono essere usati contemporaneamente sullo stesso grafo. Il
+     * grafo non deve essere modificato durante l'iterazione.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @return un iteratore sui nodi raggiungibili dalla sorgente in ordine di
+     *         scoperta della visita in profondità
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    public Iterator<GraphNode<L>> DFSIterator(Graph<L> g,
+            GraphNode<L> source) {
+        if (g == null)
+            throw new NullPointerException("DFS ERROR: Grafo nullo");
+        if (source == null)
+            throw new NullPointerException("DFS ERROR: Sorgente nulla");
+        if (!g.containsNode(source))
+            throw new IllegalArgumentException(
+                    "DFS ERROR: La sorgente non è un nodo del grafo");
+        return new LazyDFSIterator<L>(g, source);
+    }
+
+    /**
+     * Restituisce uno stream sequenziale e ordinato dei nodi raggiungibili da
+     * un nodo sorgente in ordine di scoperta di una visita in profondità,
+     * prodotto dall'iteratore di DFSIterator. Operazioni come limit,
+     * takeWhile o findFirst fermano la visita appena hanno il loro risultato.
+     * 
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @return uno stream dei nodi raggiungibili dalla sorgente in ordine di
+     *         scoperta della visita in profondità
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    public Stream<GraphNode<L>> DFSStream(Graph<L> g, GraphNode<L> source) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                this.DFSIterator(g, source), Spliterator.ORDERED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
     /**
      * Questo metodo, che di default non fa niente, viene chiamato su tutti i
      * nodi visitati durante la DFS nel momento in cui il colore passa da grigio
@@ -96,4 +299,81 @@ public class DFSVisitor<L> {
          */
     }
 
+    /*
+     * Iteratore della visita in profondità pigra: i nodi scoperti vengono
+     * ricordati in un insieme, invece che con il colore dei nodi, e per ogni
+     * nodo aperto si tiene un iteratore sui suoi archi uscenti, che fa da
+     * cursore.
+     */
+    private static class LazyDFSIterator<L> implements Iterator<GraphNode<L>> {
+
+        private final Graph<L> graph;
+
+        /*
+         * Nodi scoperti.
+         */
+        private final Set<GraphNode<L>> discovered;
+
+        /*
+         * Stack dei nodi aperti e dei relativi cursori sugli archi.
+         */
+        private final ArrayList<GraphNode<L>> open;
+
+        private final ArrayList<Iterator<GraphEdge<L>>> cursors;
+
+        /*
+         * Prossimo nodo da restituire, già scoperto, null se deve ancora
+         * essere cercato.
+         */
+        private GraphNode<L> nextNode;
+
+        LazyDFSIterator(Graph<L> g, GraphNode<L> source) {
+            this.graph = g;
+            this.discovered = new HashSet<GraphNode<L>>();
+            this.open = new ArrayList<GraphNode<L>>();
+            this.cursors = new ArrayList<Iterator<GraphEdge<L>>>();
+            this.discovered.add(source);
+            this.nextNode = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.nextNode != null)
+                return true;
+            // cerco il prossimo nodo bianco a partire dal nodo aperto più
+            // profondo, chiudendo i nodi che non hanno più archi da esaminare
+            while (!this.open.isEmpty()) {
+                int top = this.open.size() - 1;
+                GraphNode<L> u = this.open.get(top);
+                Iterator<GraphEdge<L>> cursor = this.cursors.get(top);
+                if (!cursor.hasNext()) {
+                    this.open.remove(top);
+                    this.cursors.remove(top);
+                    continue;
+                }
+                GraphEdge<L> e = cursor.next();
+                GraphNode<L> v = e.getNode1().equals(u) ? e.getNode2()
+                        : e.getNode1();
+                if (this.discovered.add(v)) {
+                    this.nextNode = v;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public GraphNode<L> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException(
+                        "DFS ERROR: Nessun altro nodo da visitare");
+            GraphNode<L> n = this.nextNode;
+            this.nextNode = null;
+            // il nodo restituito diventa il nodo aperto più profondo
+            this.open.add(n);
+            this.cursors.add(this.graph.getEdgesOf(n).iterator());
+            return n;
+        }
+    }
+
 }
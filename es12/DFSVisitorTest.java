@@ -0,0 +1,219 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class DFSVisitorTest {
+
+    /*
+     * Visita che registra l'ordine in cui i nodi diventano neri.
+     */
+    private static class RecordingVisitor<L> extends DFSVisitor<L> {
+        private final List<GraphNode<L>> finished = new ArrayList<GraphNode<L>>();
+
+        @Override
+        public void visitNode(GraphNode<L> n) {
+            this.finished.add(n);
+        }
+    }
+
+    @Test
+    final void testDFSVisitLikeRecursive() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 12; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        int[][] edges = { { 0, 1 }, { 0, 3 }, { 1, 2 }, { 2, 0 }, { 3, 2 },
+                { 4, 5 }, { 5, 6 }, { 6, 4 }, { 6, 7 }, { 8, 8 }, { 9, 10 },
+                { 11, 9 }, { 10, 3 } };
+        for (int[] e : edges)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(e[0]), nodes.get(e[1]),
+                    true));
+        RecordingVisitor<Integer> visitor = new RecordingVisitor<Integer>();
+        visitor.DFSVisit(g);
+        assertEquals(2 * g.nodeCount(), visitor.time);
+        Map<GraphNode<Integer>, int[]> times = new HashMap<GraphNode<Integer>, int[]>();
+        Map<GraphNode<Integer>, GraphNode<Integer>> previous = new HashMap<GraphNode<Integer>, GraphNode<Integer>>();
+        for (GraphNode<Integer> n : g.getNodes()) {
+            assertEquals(GraphNode.COLOR_BLACK, n.getColor());
+            times.put(n, new int[] { n.getEnteringTime(), n.getExitingTime() });
+            previous.put(n, n.getPrevious());
+        }
+        List<GraphNode<Integer>> order = new ArrayList<GraphNode<Integer>>(
+                visitor.finished);
+        // ripeto la visita con la versione ricorsiva
+        for (GraphNode<Integer> n : g.getNodes()) {
+            n.setColor(GraphNode.COLOR_WHITE);
+            n.setPrevious(null);
+        }
+        visitor.finished.clear();
+        visitor.time = 0;
+        for (GraphNode<Integer> n : g.getNodes())
+            if (n.getColor() == GraphNode.COLOR_WHITE)
+                visitor.recDFS(g, n);
+        assertEquals(order, visitor.finished);
+        for (GraphNode<Integer> n : g.getNodes()) {
+            assertEquals(times.get(n)[0], n.getEnteringTime());
+            assertEquals(times.get(n)[1], n.getExitingTime());
+            assertEquals(previous.get(n), n.getPrevious());
+        }
+    }
+
+    @Test
+    final void testDFSVisitDeepPath() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        int n = 200000;
+        GraphNode<Integer> last = new GraphNode<Integer>(0);
+        g.addNode(last);
+        for (int i = 1; i < n; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        DFSVisitor<Integer> visitor = new DFSVisitor<Integer>();
+        visitor.DFSVisit(g);
+        assertEquals(2 * n, visitor.time);
+        // ogni nodo del cammino ha come predecessore il nodo precedente e i
+        // suoi tempi sono annidati in quelli del predecessore
+        for (GraphNode<Integer> node : g.getNodes()) {
+            int i = node.getLabel();
+            if (node.getPrevious() != null) {
+                assertEquals(Integer.valueOf(i - 1),
+                        node.getPrevious().getLabel());
+                assertTrue(node.getPrevious().getEnteringTime() < node
+                        .getEnteringTime());
+                assertTrue(node.getExitingTime() < node.getPrevious()
+                        .getExitingTime());
+            }
+        }
+    }
+
+    @Test
+    final void testDFSVisitWithState() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 8; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        int[][] edges = { { 0, 1 }, { 1, 2 }, { 2, 0 }, { 2, 3 }, { 4, 5 },
+                { 5, 3 }, { 6, 7 } };
+        for (int[] e : edges)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(e[0]), nodes.get(e[1]),
+                    true));
+        RecordingVisitor<Integer> visitor = new RecordingVisitor<Integer>();
+        visitor.DFSVisit(g);
+        List<GraphNode<Integer>> order = new ArrayList<GraphNode<Integer>>(
+                visitor.finished);
+        // la visita con lo stato non modifica i nodi
+        for (GraphNode<Integer> n : g.getNodes())
+            n.setColor(GraphNode.COLOR_WHITE);
+        visitor.finished.clear();
+        TraversalState<Integer> state = new TraversalState<Integer>(g);
+        visitor.DFSVisit(g, state);
+        assertEquals(order, visitor.finished);
+        for (GraphNode<Integer> n : g.getNodes()) {
+            assertEquals(GraphNode.COLOR_WHITE, n.getColor());
+            int id = state.idOf(n);
+            assertSame(n, state.getNode(id));
+            assertEquals(GraphNode.COLOR_BLACK, state.getColor(id));
+            assertEquals(n.getEnteringTime(), state.getEnteringTime(id));
+            assertEquals(n.getExitingTime(), state.getExitingTime(id));
+            assertEquals(n.getPrevious(), state.getPrevious(id) == -1 ? null
+                    : state.getNode(state.getPrevious(id)));
+        }
+        // uno stato creato per copia dà lo stesso risultato
+        TraversalState<Integer> copy = new TraversalState<Integer>(state);
+        assertEquals(-1, copy.getEnteringTime(0));
+        visitor.DFSVisit(g, copy);
+        for (int id = 0; id < state.nodeCount(); id++)
+            assertEquals(state.getExitingTime(id), copy.getExitingTime(id));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.DFSVisit(
+                        new MapAdjacentListDirectedGraph<Integer>(), state));
+    }
+
+    @Test
+    final void testDFSVisitNull() {
+        assertThrows(NullPointerException.class,
+                () -> new DFSVisitor<String>().DFSVisit(null));
+    }
+
+    @Test
+    final void testDFSStream() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 9; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        int[][] edges = { { 0, 1 }, { 0, 2 }, { 1, 3 }, { 3, 4 }, { 2, 4 },
+                { 4, 0 }, { 5, 6 }, { 6, 0 }, { 7, 7 } };
+        for (int[] e : edges)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(e[0]), nodes.get(e[1]),
+                    true));
+        DFSVisitor<Integer> visitor = new DFSVisitor<Integer>();
+        List<GraphNode<Integer>> order = visitor.DFSStream(g, nodes.get(0))
+                .collect(Collectors.toList());
+        Set<GraphNode<Integer>> expected = new HashSet<GraphNode<Integer>>(
+                nodes.subList(0, 5));
+        assertEquals(expected, new HashSet<GraphNode<Integer>>(order));
+        assertEquals(expected.size(), order.size());
+        assertEquals(nodes.get(0), order.get(0));
+        // ogni nodo dopo il primo è adiacente a un nodo precedente ancora
+        // aperto: il nodo più profondo con nodi adiacenti non ancora scoperti
+        for (int k = 1; k < order.size(); k++) {
+            Set<GraphNode<Integer>> before = new HashSet<GraphNode<Integer>>(
+                    order.subList(0, k));
+            int p = k - 1;
+            while (before.containsAll(g.getAdjacentNodesOf(order.get(p))))
+                p--;
+            assertTrue(g.getAdjacentNodesOf(order.get(p))
+                    .contains(order.get(k)));
+        }
+        Iterator<GraphNode<Integer>> it = visitor.DFSIterator(g,
+                nodes.get(7));
+        assertEquals(nodes.get(7), it.next());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+        assertThrows(NullPointerException.class,
+                () -> visitor.DFSIterator(g, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.DFSStream(g, new GraphNode<Integer>(-1)));
+    }
+
+    @Test
+    final void testDFSStreamDeepPathLimit() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        int n = 200000;
+        GraphNode<Integer> first = new GraphNode<Integer>(0);
+        g.addNode(first);
+        GraphNode<Integer> last = first;
+        for (int i = 1; i < n; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        DFSVisitor<Integer> visitor = new DFSVisitor<Integer>();
+        List<Integer> labels = visitor.DFSStream(g, first).limit(3)
+                .map(GraphNode::getLabel).collect(Collectors.toList());
+        assertEquals(Arrays.asList(0, 1, 2), labels);
+        assertEquals(n, visitor.DFSStream(g, first).count());
+    }
+}
@@ -0,0 +1,204 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe che implementa l'algoritmo di Dijkstra per il calcolo dei cammini
+ * minimi da una sorgente in un grafo pesato con pesi non negativi.
+ *
+ * I nodi vengono inseriti in una coda con priorità di minimo tramite
+ * l'interfaccia PriorityQueueElement: la priorità di un nodo è la sua
+ * distanza corrente dalla sorgente (il campo floatingPointDistance) e la coda
+ * ne mantiene aggiornato l'handle (il campo integerDistance, che quindi non ha
+ * significato al termine del calcolo), per cui il decremento della distanza di
+ * un nodo già in coda non richiede di cercarlo. La coda è uno heap binario,
+ * con un costo complessivo O(m log n), oppure, se l'algoritmo è creato per pesi
+ * interi, uno heap radix, con un costo complessivo O(m + n log C) dove C è la
+ * massima distanza.
+ *
+ * I nodi entrano in coda solo quando vengono raggiunti per la prima volta e il
+ * calcolo verso un singolo nodo destinazione si ferma appena la destinazione
+ * viene estratta dalla coda. Il calcolo verso una destinazione non
+ * reinizializza tutti i nodi del grafo: ogni esecuzione tiene l'insieme dei
+ * nodi che ha raggiunto e reinizializza un nodo quando lo raggiunge per la
+ * prima volta, senza fidarsi dei valori lasciati nei suoi campi da esecuzioni
+ * o algoritmi precedenti. Le interrogazioni tra nodi vicini esaminano quindi
+ * solo la parte di grafo compresa entro la loro distanza.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class DijkstraShortestPath<L> {
+
+    /*
+     * Indica se usare lo heap radix, che richiede pesi interi.
+     */
+    private final boolean integerWeights;
+
+    /**
+     * Crea un algoritmo per grafi con pesi reali non negativi, che usa uno
+     * heap binario.
+     */
+    public DijkstraShortestPath() {
+        this(false);
+    }
+
+    /**
+     * Crea un algoritmo che usa uno heap radix se i pesi sono tutti interi
+     * non negativi, uno heap binario altrimenti.
+     *
+     * @param integerWeights
+     *                           true se i grafi su cui verrà usato l'algoritmo
+     *                           hanno solo pesi interi non negativi
+     */
+    public DijkstraShortestPath(boolean integerWeights) {
+        this.integerWeights = integerWeights;
+    }
+
+    /**
+     * Calcola i cammini minimi dalla sorgente a tutti i nodi del grafo. Al
+     * termine il campo floatingPointDistance di ogni nodo contiene la
+     * distanza dalla sorgente ({@code Double.POSITIVE_INFINITY} se il nodo non
+     * è raggiungibile) e il campo previous il predecessore nel cammino minimo
+     * dalla sorgente, null per la sorgente e per i nodi non raggiungibili.
+     *
+     * @param g
+     *                   un grafo pesato con pesi non negativi
+     * @param source
+     *                   il nodo sorgente
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se la sorgente non appartiene al
+     *                                      grafo, se un arco esaminato non è
+     *                                      pesato o ha peso negativo, oppure
+     *                                      non intero se l'algoritmo è per pesi
+     *                                      interi
+     */
+    public void computeShortestPathsFrom(Graph<L> g, GraphNode<L> source) {
+        this.run(g, source, null);
+    }
+
+    /**
+     * Calcola un cammino minimo tra due nodi, fermando il calcolo appena la
+     * distanza della destinazione è definitiva. Al termine i campi
+     * floatingPointDistance e previous sono significativi solo per i nodi
+     * estratti dalla coda, tra cui la destinazione se è raggiungibile.
+     *
+     * @param g
+     *                   un grafo pesato con pesi non negativi
+     * @param source
+     *                   il nodo sorgente
+     * @param target
+     *                   il nodo destinazione
+     * @return la lista dei nodi di un cammino minimo dalla sorgente alla
+     *         destinazione, estremi compresi, oppure null se la destinazione
+     *         non è raggiungibile dalla sorgente
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se la sorgente o la destinazione
+     *                                      non appartengono al grafo, se un
+     *                                      arco esaminato non è pesato o ha
+     *                                      peso negativo, oppure non intero se
+     *                                      l'algoritmo è per pesi interi
+     */
+    public List<GraphNode<L>> getShortestPath(Graph<L> g,
+            GraphNode<L> source, GraphNode<L> target) {
+        if (target == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare un cammino minimo verso un nodo nullo");
+        if (g != null && !g.containsNode(target))
+            throw new IllegalArgumentException(
+                    "Tentativo di calcolare un cammino minimo verso un nodo non esistente");
+        GraphNode<L> reached = this.run(g, source, target);
+        if (reached == null)
+            return null;
+        LinkedList<GraphNode<L>> path = new LinkedList<GraphNode<L>>();
+        for (GraphNode<L> n = reached; n != null; n = n.getPrevious())
+            path.addFirst(n);
+        return path;
+    }
+
+    /*
+     * Esegue l'algoritmo a partire dalla sorgente. Se target non è null si
+     * ferma quando target viene estratto dalla coda e lo restituisce,
+     * altrimenti restituisce null.
+     */
+    private GraphNode<L> run(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare cammini minimi su un grafo nullo");
+        if (source == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare cammini minimi da una sorgente nulla");
+        if (!g.containsNode(source))
+            throw new IllegalArgumentException(
+                    "Tentativo di calcolare cammini minimi da una sorgente non esistente");
+        // se devo calcolare tutte le distanze inizializzo tutti i nodi del
+        // grafo, altrimenti solo quelli raggiunti, quando li raggiungo: i
+        // campi dei nodi non ancora raggiunti possono essere stati scritti da
+        // altre esecuzioni o da altri algoritmi
+        if (target == null)
+            for (GraphNode<L> n : g.getNodes())
+                reset(n);
+        Set<GraphNode<L>> reached = new HashSet<GraphNode<L>>();
+        MinPriorityQueue<GraphNode<L>> queue = this.integerWeights
+                ? new RadixHeapMinPriorityQueue<GraphNode<L>>()
+                : new BinaryHeapMinPriorityQueue<GraphNode<L>>();
+        // scopro la sorgente
+        reset(source);
+        reached.add(source);
+        source.setColor(GraphNode.COLOR_GREY);
+        source.setFloatingPointDistance(0);
+        queue.insert(source);
+        while (!queue.isEmpty()) {
+            // la distanza del nodo estratto è definitiva
+            GraphNode<L> u = queue.extractMinimum();
+            u.setColor(GraphNode.COLOR_BLACK);
+            if (u.equals(target))
+                return u;
+            for (GraphEdge<L> e : g.getEdgesOf(u)) {
+                double weight = e.getWeight();
+                if (!(weight >= 0))
+                    throw new IllegalArgumentException(
+                            "Tentativo di calcolare cammini minimi su un arco non pesato o con peso negativo");
+                GraphNode<L> v = e.getNode1().equals(u) ? e.getNode2()
+                        : e.getNode1();
+                double distance = u.getFloatingPointDistance() + weight;
+                if (reached.add(v)) {
+                    // primo cammino trovato verso v
+                    reset(v);
+                    v.setColor(GraphNode.COLOR_GREY);
+                    v.setFloatingPointDistance(distance);
+                    v.setPrevious(u);
+                    queue.insert(v);
+                } else if (v.getColor() == GraphNode.COLOR_BLACK) {
+                    // la distanza di v è già definitiva
+                    continue;
+                } else if (distance < v.getFloatingPointDistance()) {
+                    // rilassamento dell'arco
+                    queue.decreasePriority(v, distance);
+                    v.setPrevious(u);
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Riporta un nodo nello stato iniziale.
+     */
+    private static <L> void reset(GraphNode<L> n) {
+        n.setColor(GraphNode.COLOR_WHITE);
+        n.setFloatingPointDistance(Double.POSITIVE_INFINITY);
+        n.setHandle(-1);
+        n.setPrevious(null);
+    }
+}
@@ -0,0 +1,209 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DijkstraShortestPathTest {
+
+    @Test
+    final void testComputeShortestPathsFrom() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> s = new GraphNode<String>("s");
+        GraphNode<String> t = new GraphNode<String>("t");
+        GraphNode<String> x = new GraphNode<String>("x");
+        GraphNode<String> y = new GraphNode<String>("y");
+        GraphNode<String> z = new GraphNode<String>("z");
+        GraphNode<String> w = new GraphNode<String>("w");
+        for (GraphNode<String> n : List.of(s, t, x, y, z, w))
+            g.addNode(n);
+        g.addEdge(new GraphEdge<String>(s, t, true, 10));
+        g.addEdge(new GraphEdge<String>(s, y, true, 5));
+        g.addEdge(new GraphEdge<String>(t, x, true, 1));
+        g.addEdge(new GraphEdge<String>(t, y, true, 2));
+        g.addEdge(new GraphEdge<String>(y, t, true, 3));
+        g.addEdge(new GraphEdge<String>(y, x, true, 9));
+        g.addEdge(new GraphEdge<String>(y, z, true, 2));
+        g.addEdge(new GraphEdge<String>(x, z, true, 4));
+        g.addEdge(new GraphEdge<String>(z, x, true, 6));
+        g.addEdge(new GraphEdge<String>(z, s, true, 7));
+        for (boolean integer : new boolean[] { false, true }) {
+            DijkstraShortestPath<String> alg = new DijkstraShortestPath<String>(
+                    integer);
+            alg.computeShortestPathsFrom(g, s);
+            assertEquals(0.0, s.getFloatingPointDistance());
+            assertEquals(8.0, t.getFloatingPointDistance());
+            assertEquals(9.0, x.getFloatingPointDistance());
+            assertEquals(5.0, y.getFloatingPointDistance());
+            assertEquals(7.0, z.getFloatingPointDistance());
+            assertEquals(Double.POSITIVE_INFINITY,
+                    w.getFloatingPointDistance());
+            assertNull(s.getPrevious());
+            assertSame(y, t.getPrevious());
+            assertSame(t, x.getPrevious());
+            assertSame(s, y.getPrevious());
+            assertSame(y, z.getPrevious());
+            assertNull(w.getPrevious());
+            assertEquals(List.of(s, y, t, x), alg.getShortestPath(g, s, x));
+            assertEquals(List.of(s), alg.getShortestPath(g, s, s));
+            assertNull(alg.getShortestPath(g, s, w));
+        }
+    }
+
+    @Test
+    final void testExceptions() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> s = new GraphNode<String>("s");
+        GraphNode<String> t = new GraphNode<String>("t");
+        g.addNode(s);
+        g.addNode(t);
+        DijkstraShortestPath<String> alg = new DijkstraShortestPath<String>();
+        assertThrows(NullPointerException.class,
+                () -> alg.computeShortestPathsFrom(null, s));
+        assertThrows(NullPointerException.class,
+                () -> alg.computeShortestPathsFrom(g, null));
+        assertThrows(NullPointerException.class,
+                () -> alg.getShortestPath(g, s, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPathsFrom(g,
+                        new GraphNode<String>("u")));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.getShortestPath(g, s, new GraphNode<String>("u")));
+        g.addEdge(new GraphEdge<String>(s, t, true, 1.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DijkstraShortestPath<String>(true)
+                        .computeShortestPathsFrom(g, s));
+        GraphNode<String> u = new GraphNode<String>("u");
+        g.addNode(u);
+        g.addEdge(new GraphEdge<String>(t, u, true, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPathsFrom(g, s));
+        g.addEdge(new GraphEdge<String>(s, u, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPathsFrom(g, s));
+    }
+
+    @Test
+    final void testBinaryAndRadixAgree() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        int n = 3000;
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 5 * n; i++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), true,
+                    random.nextInt(1000)));
+        new DijkstraShortestPath<Integer>().computeShortestPathsFrom(g,
+                nodes.get(0));
+        double[] distances = new double[n];
+        for (int i = 0; i < n; i++)
+            distances[i] = nodes.get(i).getFloatingPointDistance();
+        new DijkstraShortestPath<Integer>(true).computeShortestPathsFrom(g,
+                nodes.get(0));
+        for (int i = 0; i < n; i++) {
+            GraphNode<Integer> v = nodes.get(i);
+            assertEquals(distances[i], v.getFloatingPointDistance());
+            // il predecessore è l'estremo di un arco che realizza la distanza
+            if (v.getPrevious() != null) {
+                boolean tight = false;
+                for (GraphEdge<Integer> e : g.getEdgesOf(v.getPrevious()))
+                    if (e.getNode2().equals(v) && v.getPrevious()
+                            .getFloatingPointDistance()
+                            + e.getWeight() == v.getFloatingPointDistance())
+                        tight = true;
+                assertTrue(tight);
+            }
+        }
+    }
+
+    @Test
+    final void testRepeatedQueriesResetOnlyReachedNodes() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        int n = 2000;
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(3);
+        // cammino pesato 0 -> 1 -> ... -> n - 1 più archi casuali in avanti
+        for (int i = 0; i + 1 < n; i++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(i), nodes.get(i + 1),
+                    true, 1 + random.nextInt(10)));
+        for (int i = 0; i < 2 * n; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(Math.min(20, n - 1 - u));
+            g.addEdge(new GraphEdge<Integer>(nodes.get(u), nodes.get(v), true,
+                    5 + random.nextInt(50)));
+        }
+        // distanze esatte per le interrogazioni
+        int queries = 200;
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        double[] expected = new double[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(n - 30);
+            targets[q] = sources[q] + random.nextInt(30);
+            new DijkstraShortestPath<Integer>().computeShortestPathsFrom(g,
+                    nodes.get(sources[q]));
+            expected[q] = nodes.get(targets[q]).getFloatingPointDistance();
+        }
+        DijkstraShortestPath<Integer> alg = new DijkstraShortestPath<Integer>();
+        for (int q = 0; q < queries; q++) {
+            List<GraphNode<Integer>> path = alg.getShortestPath(g,
+                    nodes.get(sources[q]), nodes.get(targets[q]));
+            assertSame(nodes.get(sources[q]), path.get(0));
+            assertSame(nodes.get(targets[q]), path.get(path.size() - 1));
+            assertEquals(expected[q],
+                    nodes.get(targets[q]).getFloatingPointDistance());
+        }
+        // le interrogazioni successive sullo stesso grafo non reinizializzano
+        // i nodi che non raggiungono
+        alg.getShortestPath(g, nodes.get(0), nodes.get(1));
+        nodes.get(n - 1).setFloatingPointDistance(42);
+        alg.getShortestPath(g, nodes.get(0), nodes.get(3));
+        assertEquals(42.0, nodes.get(n - 1).getFloatingPointDistance());
+        assertNull(alg.getShortestPath(g, nodes.get(10), nodes.get(5)));
+    }
+
+    @Test
+    final void testQueriesIgnoreFieldsWrittenByOtherAlgorithms() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> s = new GraphNode<String>("s");
+        GraphNode<String> t = new GraphNode<String>("t");
+        GraphNode<String> u = new GraphNode<String>("u");
+        GraphNode<String> x = new GraphNode<String>("x");
+        for (GraphNode<String> n : List.of(s, t, u, x))
+            g.addNode(n);
+        g.addEdge(new GraphEdge<String>(s, t, true, 1));
+        g.addEdge(new GraphEdge<String>(t, u, true, 2));
+        g.addEdge(new GraphEdge<String>(s, x, true, 10));
+        g.addEdge(new GraphEdge<String>(x, u, true, 1));
+        DijkstraShortestPath<String> alg = new DijkstraShortestPath<String>();
+        assertEquals(List.of(s, t), alg.getShortestPath(g, s, t));
+        // la visita in ampiezza lascia tutti i nodi neri
+        new BFSVisitor<String>().BFSVisit(g, s);
+        assertEquals(List.of(s, t, u), alg.getShortestPath(g, s, u));
+        assertEquals(3.0, u.getFloatingPointDistance());
+        // anche dopo una visita in profondità e valori scritti a mano
+        new DFSVisitor<String>().DFSVisit(g);
+        x.setFloatingPointDistance(0);
+        x.setPrevious(s);
+        u.setColor(GraphNode.COLOR_GREY);
+        assertEquals(List.of(s, t, u), alg.getShortestPath(g, s, u));
+        assertEquals(3.0, u.getFloatingPointDistance());
+        assertNull(alg.getShortestPath(g, u, s));
+        // un'altra istanza che calcola tutte le distanze tra due interrogazioni
+        new DijkstraShortestPath<String>().computeShortestPathsFrom(g, x);
+        assertEquals(List.of(s, x), alg.getShortestPath(g, s, x));
+    }
+
+}
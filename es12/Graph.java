@@ -4,6 +4,7 @@
 package it.unicam.cs.asdl2122.es12sol;
 
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Classe astratta per un generico grafo i cui nodi sono etichettati con
@@ -355,4 +356,58 @@ public abstract class Graph<L> {
                     + this.getIngoingEdgesOf(node).size();
     }
 
+    /**
+     * Esegue un'operazione su ogni nodo adiacente a un certo nodo (su ogni
+     * successore in caso di grafo orientato). A differenza di
+     * {@code getAdjacentNodesOf} non viene costruito nessun insieme: le
+     * implementazioni possono ridefinire questo metodo scorrendo direttamente
+     * la propria rappresentazione, senza allocare oggetti per ogni nodo
+     * visitato.
+     * 
+     * @param node
+     *                   il nodo di cui visitare i nodi adiacenti
+     * @param action
+     *                   l'operazione da eseguire su ogni nodo adiacente
+     * 
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste
+     * @throws NullPointerException
+     *                                      se il nodo o l'operazione passati
+     *                                      sono nulli
+     */
+    public void forEachNeighbor(GraphNode<L> node,
+            Consumer<? super GraphNode<L>> action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare i nodi adiacenti con un'operazione nulla");
+        for (GraphEdge<L> e : this.getEdgesOf(node))
+            action.accept(e.getNode1().equals(node) ? e.getNode2()
+                    : e.getNode1());
+    }
+
+    /**
+     * Esegue un'operazione su ogni arco connesso a un certo nodo (su ogni
+     * arco uscente in caso di grafo orientato), senza costruire un nuovo
+     * insieme di archi.
+     * 
+     * @param node
+     *                    il nodo di cui visitare gli archi
+     * @param visitor
+     *                    l'operazione da eseguire su ogni arco
+     * 
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste
+     * @throws NullPointerException
+     *                                      se il nodo o l'operazione passati
+     *                                      sono nulli
+     */
+    public void forEachEdge(GraphNode<L> node,
+            Consumer<? super GraphEdge<L>> visitor) {
+        if (visitor == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare gli archi con un'operazione nulla");
+        for (GraphEdge<L> e : this.getEdgesOf(node))
+            visitor.accept(e);
+    }
+
 }
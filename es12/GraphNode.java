@@ -18,13 +18,19 @@ package it.unicam.cs.asdl2122.es12sol;
  * dall'etichetta. In altre parole, due nodi sono uguali se e solo se hanno
  * etichetta uguale.
  * 
+ * In molti algoritmi sui grafi i nodi vengono inseriti in una coda di priorità.
+ * Questa classe implementa l'interfaccia PriorityQueueElement utilizzando il
+ * campo floatingPointDistance come priorità e il campo integerDistance come
+ * handle intero in una coda con priorità realizzata con uno heap rappresentato
+ * in un array.
+ * 
  * @author Luca Tesei
  * 
  * @param <L>
  *                etichette dei nodi
  *
  */
-public class GraphNode<L> {
+public class GraphNode<L> implements PriorityQueueElement {
 
     /**
      * Colore bianco associato al nodo.
@@ -238,5 +244,25 @@ public class GraphNode<L> {
     public String toString() {
         return "Nodo[ " + label.toString() + " ]";
     }
+
+    @Override
+    public double getPriority() {
+        return this.floatingPointDistance;
+    }
+
+    @Override
+    public void setPriority(double newPriority) {
+        this.floatingPointDistance = newPriority;
+    }
+
+    @Override
+    public int getHandle() {
+        return this.integerDistance;
+    }
+
+    @Override
+    public void setHandle(int newHandle) {
+        this.integerDistance = newHandle;
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Istantanea delle liste di adiacenza di un grafo {@code Graph<L>} in cui i
+ * nodi sono identificati da interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, assegnati seguendo l'ordine in cui
+ * {@code getNodes()} restituisce i nodi. I nodi adiacenti al nodo {@code u}
+ * occupano le posizioni <code>[offsets[u], offsets[u + 1] - 1]</code>
+ * dell'array {@code targets}, nello stesso ordine in cui li restituisce
+ * {@code getAdjacentNodesOf}. Un'istantanea pesata segue invece l'ordine di
+ * {@code getEdgesOf} e memorizza anche il peso di ogni arco, nella stessa
+ * posizione dell'array {@code weights}.
+ *
+ * Serve alle visite che lavorano su indici: l'istantanea viene costruita una
+ * volta all'inizio della visita, con un solo calcolo di hash per arco, e in
+ * seguito le liste di adiacenza si scorrono tramite una posizione intera, che
+ * fa da cursore, senza allocare oggetti. Le modifiche successive del grafo non
+ * si riflettono sull'istantanea.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+final class IndexedAdjacency<L> {
+
+    /*
+     * I nodi del grafo, nella posizione corrispondente al loro identificatore.
+     */
+    final GraphNode<L>[] nodes;
+
+    /*
+     * Array di nodeCount() + 1 posizioni: i nodi adiacenti al nodo u si
+     * trovano nelle posizioni da offsets[u] (incluso) a offsets[u + 1]
+     * (escluso) di targets.
+     */
+    final int[] offsets;
+
+    /*
+     * Identificatori dei nodi adiacenti.
+     */
+    final int[] targets;
+
+    /*
+     * Pesi degli archi, nelle stesse posizioni di targets, null se
+     * l'istantanea non è pesata.
+     */
+    final double[] weights;
+
+    /*
+     * Associazione di ogni nodo con il proprio identificatore.
+     */
+    private final Map<GraphNode<L>, Integer> ids;
+
+    /**
+     * Costruisce l'istantanea delle liste di adiacenza di un grafo.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    IndexedAdjacency(Graph<L> g) {
+        this(g, false);
+    }
+
+    /**
+     * Costruisce l'istantanea delle liste di adiacenza di un grafo,
+     * eventualmente con i pesi degli archi.
+     *
+     * @param g
+     *                     il grafo
+     * @param weighted
+     *                     true se l'istantanea deve contenere i pesi degli
+     *                     archi
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    @SuppressWarnings("unchecked")
+    IndexedAdjacency(Graph<L> g, boolean weighted) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di indicizzare un grafo nullo");
+        Set<GraphNode<L>> all = g.getNodes();
+        int n = all.size();
+        this.nodes = (GraphNode<L>[]) new GraphNode<?>[n];
+        this.ids = new HashMap<GraphNode<L>, Integer>(2 * n);
+        int id = 0;
+        for (GraphNode<L> node : all) {
+            this.nodes[id] = node;
+            this.ids.put(node, id);
+            id++;
+        }
+        // prima passata: liste di adiacenza e posizioni iniziali
+        Object[] adjacent = new Object[n];
+        this.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            Set<?> adj = weighted ? g.getEdgesOf(this.nodes[u])
+                    : g.getAdjacentNodesOf(this.nodes[u]);
+            adjacent[u] = adj;
+            this.offsets[u + 1] = this.offsets[u] + adj.size();
+        }
+        // seconda passata: traduzione dei nodi adiacenti in identificatori
+        this.targets = new int[this.offsets[n]];
+        this.weights = weighted ? new double[this.offsets[n]] : null;
+        for (int u = 0; u < n; u++) {
+            int k = this.offsets[u];
+            if (!weighted) {
+                for (GraphNode<L> v : (Set<GraphNode<L>>) adjacent[u])
+                    this.targets[k++] = this.ids.get(v);
+                continue;
+            }
+            for (GraphEdge<L> e : (Set<GraphEdge<L>>) adjacent[u]) {
+                GraphNode<L> v = e.getNode1().equals(this.nodes[u])
+                        ? e.getNode2()
+                        : e.getNode1();
+                this.targets[k] = this.ids.get(v);
+                this.weights[k++] = e.getWeight();
+            }
+        }
+    }
+
+    /*
+     * Crea un'istantanea con gli stessi nodi e identificatori di un'altra.
+     */
+    private IndexedAdjacency(GraphNode<L>[] nodes,
+            Map<GraphNode<L>, Integer> ids, int[] offsets, int[] targets,
+            double[] weights) {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Costruisce l'istantanea del grafo trasposto, con gli stessi
+     * identificatori dei nodi: i nodi adiacenti al nodo u sono i predecessori
+     * di u in questa istantanea, con gli stessi pesi degli archi se questa
+     * istantanea è pesata. Il costo è lineare nel numero di nodi e di
+     * archi e non richiede nessun calcolo di hash.
+     *
+     * @return l'istantanea del grafo trasposto
+     */
+    IndexedAdjacency<L> reverse() {
+        int n = this.nodes.length;
+        int[] reverseOffsets = new int[n + 1];
+        // conto gli archi entranti in ogni nodo
+        for (int k = 0; k < this.targets.length; k++)
+            reverseOffsets[this.targets[k] + 1]++;
+        for (int v = 0; v < n; v++)
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        // distribuisco le sorgenti, usando next come posizione libera
+        int[] next = new int[n];
+        System.arraycopy(reverseOffsets, 0, next, 0, n);
+        int[] sources = new int[this.targets.length];
+        double[] reverseWeights = this.weights == null ? null
+                : new double[this.weights.length];
+        for (int u = 0; u < n; u++)
+            for (int k = this.offsets[u]; k < this.offsets[u + 1]; k++) {
+                int j = next[this.targets[k]]++;
+                sources[j] = u;
+                if (reverseWeights != null)
+                    reverseWeights[j] = this.weights[k];
+            }
+        return new IndexedAdjacency<L>(this.nodes, this.ids, reverseOffsets,
+                sources, reverseWeights);
+    }
+
+    /**
+     * Restituisce il numero di nodi dell'istantanea.
+     *
+     * @return il numero di nodi
+     */
+    int nodeCount() {
+        return this.nodes.length;
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non fa parte
+     *         dell'istantanea
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    int idOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare l'identificatore di un nodo nullo");
+        Integer id = this.ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    GraphNode<L> getNode(int id) {
+        return this.nodes[id];
+    }
+}
@@ -0,0 +1,193 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Coda con priorità di minimo sugli interi di <code>[0, capacity - 1]</code>,
+ * realizzata con uno heap binario su array di primitivi. È la versione senza
+ * oggetti di {@code BinaryHeapMinPriorityQueue}, pensata per gli algoritmi che
+ * lavorano sugli identificatori dei nodi di un'istantanea
+ * {@code IndexedAdjacency}: la priorità e l'handle di ogni intero stanno in
+ * array indicizzati dall'intero stesso, per cui nessuna operazione alloca
+ * oggetti.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class IntMinPriorityQueue {
+
+    /*
+     * Gli interi presenti, disposti a heap nelle prime size posizioni.
+     */
+    private final int[] heap;
+
+    /*
+     * Posizione nello heap di ogni intero, -1 se non è presente.
+     */
+    private final int[] handle;
+
+    /*
+     * Priorità corrente di ogni intero.
+     */
+    private final double[] priority;
+
+    /*
+     * Numero di interi presenti.
+     */
+    private int size;
+
+    /**
+     * Crea una coda vuota per gli interi di <code>[0, capacity - 1]</code>.
+     *
+     * @param capacity
+     *                     il numero di interi gestibili
+     */
+    IntMinPriorityQueue(int capacity) {
+        this.heap = new int[capacity];
+        this.handle = new int[capacity];
+        this.priority = new double[capacity];
+        for (int v = 0; v < capacity; v++)
+            this.handle[v] = -1;
+    }
+
+    /**
+     * @return true se la coda è vuota
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Restituisce l'intero di priorità minima senza toglierlo dalla coda.
+     *
+     * @return l'intero di priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    int minimum() {
+        if (this.size == 0)
+            throw new NoSuchElementException(
+                    "Tentativo di leggere il minimo di una coda vuota");
+        return this.heap[0];
+    }
+
+    /**
+     * @param v
+     *              un intero
+     * @return true se v è presente nella coda
+     */
+    boolean contains(int v) {
+        return this.handle[v] != -1;
+    }
+
+    /**
+     * @param v
+     *              un intero presente nella coda
+     * @return la priorità corrente di v
+     */
+    double getPriority(int v) {
+        return this.priority[v];
+    }
+
+    /**
+     * Inserisce un intero non presente con una certa priorità.
+     *
+     * @param v
+     *                  l'intero da inserire
+     * @param value
+     *                  la priorità
+     */
+    void insert(int v, double value) {
+        this.priority[v] = value;
+        this.heap[this.size] = v;
+        this.handle[v] = this.size;
+        this.siftUp(this.size++);
+    }
+
+    /**
+     * Toglie dalla coda l'intero di priorità minima e lo restituisce.
+     *
+     * @return l'intero di priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    int extractMinimum() {
+        if (this.size == 0)
+            throw new NoSuchElementException(
+                    "Tentativo di estrarre il minimo da una coda vuota");
+        int min = this.heap[0];
+        this.handle[min] = -1;
+        if (--this.size > 0) {
+            this.heap[0] = this.heap[this.size];
+            this.handle[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Decrementa la priorità di un intero presente nella coda.
+     *
+     * @param v
+     *                  l'intero presente nella coda
+     * @param value
+     *                  la nuova priorità, non maggiore di quella corrente
+     */
+    void decreasePriority(int v, double value) {
+        this.priority[v] = value;
+        this.siftUp(this.handle[v]);
+    }
+
+    /**
+     * Svuota la coda in tempo proporzionale al numero di interi presenti e non
+     * alla capacità, in modo da poterla riusare per molte ricerche brevi.
+     */
+    void clear() {
+        for (int i = 0; i < this.size; i++)
+            this.handle[this.heap[i]] = -1;
+        this.size = 0;
+    }
+
+    /*
+     * Fa risalire l'intero in posizione i finché la sua priorità è minore di
+     * quella del padre.
+     */
+    private void siftUp(int i) {
+        int v = this.heap[i];
+        double p = this.priority[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int u = this.heap[parent];
+            if (this.priority[u] <= p)
+                break;
+            this.heap[i] = u;
+            this.handle[u] = i;
+            i = parent;
+        }
+        this.heap[i] = v;
+        this.handle[v] = i;
+    }
+
+    /*
+     * Fa scendere l'intero in posizione i finché la sua priorità è maggiore di
+     * quella di uno dei figli.
+     */
+    private void siftDown(int i) {
+        int v = this.heap[i];
+        double p = this.priority[v];
+        while (2 * i + 1 < this.size) {
+            int child = 2 * i + 1;
+            if (child + 1 < this.size && this.priority[this.heap[child
+                    + 1]] < this.priority[this.heap[child]])
+                child++;
+            int u = this.heap[child];
+            if (p <= this.priority[u])
+                break;
+            this.heap[i] = u;
+            this.handle[u] = i;
+            i = child;
+        }
+        this.heap[i] = v;
+        this.handle[v] = i;
+    }
+}
@@ -3,10 +3,12 @@
  */
 package it.unicam.cs.asdl2122.es12sol;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.function.Consumer;
 
 /**
  * Implementazione della classe astratta {@code Graph<L>} che realizza un grafo
@@ -31,8 +33,25 @@ import java.util.HashSet;
  * questo set. I test di presenza si basano sui metodi equals ridefiniti per
  * nodi e archi nelle classi GraphNode<L> e GraphEdge<L>.
  * 
- * Questa classe non supporta le operazioni di rimozione di nodi e archi e le
- * operazioni indicizzate di ricerca di nodi e archi.
+ * Accanto alle liste di adiacenza viene mantenuto un indice degli archi
+ * entranti, una seconda mappa che associa ad ogni nodo il set degli archi che
+ * entrano nel nodo, e il numero di archi viene aggiornato ad ogni inserimento
+ * e rimozione. In questo modo il numero di archi e il grado di un nodo si
+ * ottengono in tempo costante, archi entranti e predecessori in tempo
+ * proporzionale al grado e la rimozione di un nodo costa un tempo
+ * proporzionale al suo grado, al prezzo di memorizzare ogni arco in due set.
+ * 
+ * Poiché le strutture interne devono restare allineate, i set dei nodi e
+ * degli archi uscenti sono restituiti come viste non modificabili, mentre gli
+ * archi entranti sono restituiti in un nuovo set, per cui è possibile
+ * rimuovere dal grafo gli archi mentre lo si scorre.
+ * 
+ * Una terza mappa associa ad ogni etichetta il nodo canonico che la porta, per
+ * cui la ricerca di un nodo a partire dall'etichetta costa un solo accesso
+ * alla tabella hash, senza scorrere i nodi.
+ * 
+ * Questa classe non supporta le operazioni indicizzate di ricerca di nodi e
+ * archi.
  * 
  * @author Luca Tesei
  *
@@ -48,12 +67,33 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
      */
     private final Map<GraphNode<L>, Set<GraphEdge<L>>> adjacentLists;
 
+    /*
+     * Indice degli archi entranti: ogni nodo viene associato con l'insieme
+     * degli archi che entrano nel nodo, che sono gli stessi oggetti presenti
+     * nelle liste di adiacenza dei nodi sorgente.
+     */
+    private final Map<GraphNode<L>, Set<GraphEdge<L>>> incomingLists;
+
+    /*
+     * Dizionario delle etichette: associa all'etichetta di ogni nodo il nodo
+     * memorizzato come chiave delle liste di adiacenza.
+     */
+    private final Map<L, GraphNode<L>> nodesByLabel;
+
+    /*
+     * Numero di archi del grafo.
+     */
+    private int edgeCount;
+
     /**
      * Crea un grafo vuoto.
      */
     public MapAdjacentListDirectedGraph() {
         // Inizializza la mappa con la mappa vuota
         this.adjacentLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.incomingLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.nodesByLabel = new HashMap<L, GraphNode<L>>();
+        this.edgeCount = 0;
     }
 
     @Override
@@ -63,17 +103,15 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        int result = 0;
-        // Prendo tutti i nodi e conto il numero di archi per ognuno
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-        for (GraphNode<L> n : nodes)
-            result += this.adjacentLists.get(n).size();
-        return result;
+        return this.edgeCount;
     }
 
     @Override
     public void clear() {
         this.adjacentLists.clear();
+        this.incomingLists.clear();
+        this.nodesByLabel.clear();
+        this.edgeCount = 0;
     }
 
     @Override
@@ -84,7 +122,7 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public Set<GraphNode<L>> getNodes() {
-        return this.adjacentLists.keySet();
+        return Collections.unmodifiableSet(this.adjacentLists.keySet());
     }
 
     @Override
@@ -97,6 +135,9 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
             return false;
         // inserisco il nodo associando un insieme vuoto di archi uscenti
         this.adjacentLists.put(node, new HashSet<GraphEdge<L>>());
+        // e un insieme vuoto di archi entranti
+        this.incomingLists.put(node, new HashSet<GraphEdge<L>>());
+        this.nodesByLabel.put(node.getLabel(), node);
         return true;
     }
 
@@ -105,8 +146,29 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (node == null)
             throw new NullPointerException(
                     "Tentativo di rimuovere un nodo null");
-        throw new UnsupportedOperationException(
-                "Rimozione dei nodi non supportata");
+        Set<GraphEdge<L>> outEdges = this.adjacentLists.remove(node);
+        if (outEdges == null)
+            // il nodo non è presente
+            return false;
+        Set<GraphEdge<L>> inEdges = this.incomingLists.remove(node);
+        this.nodesByLabel.remove(node.getLabel());
+        // tolgo gli archi uscenti dagli archi entranti dei nodi destinazione
+        for (GraphEdge<L> e : outEdges) {
+            Set<GraphEdge<L>> in = this.incomingLists.get(e.getNode2());
+            if (in != null)
+                in.remove(e);
+        }
+        this.edgeCount -= outEdges.size();
+        // tolgo gli archi entranti dalle liste di adiacenza dei nodi
+        // sorgente, i cappi sono già stati contati tra gli archi uscenti
+        for (GraphEdge<L> e : inEdges) {
+            Set<GraphEdge<L>> out = this.adjacentLists.get(e.getNode1());
+            if (out != null) {
+                out.remove(e);
+                this.edgeCount--;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -121,12 +183,8 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (label == null)
             throw new NullPointerException(
                     "Tentativo di cercare un nodo con etichetta null");
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-        for (GraphNode<L> n : nodes)
-            if (n.getLabel().equals(label))
-                return n;
-        // non esiste nessun nodo con etichetta uguale a label
-        return null;
+        // null se non esiste nessun nodo con etichetta uguale a label
+        return this.nodesByLabel.get(label);
     }
 
     @Override
@@ -168,14 +226,12 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
             throw new NullPointerException(
                     "Tentativo di ottenere i nodi predecessori di un nodo null");
         // controllo se il nodo esiste
-        if (!this.adjacentLists.containsKey(node))
+        Set<GraphEdge<L>> inEdges = this.incomingLists.get(node);
+        if (inEdges == null)
             throw new IllegalArgumentException(
                     "Richiesta dei predecessori di un nodo non esistente");
-        // creo l'insieme risultato
+        // creo l'insieme risultato con i nodi sorgente degli archi entranti
         Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
-        // cerco tutti gli archi che entrano in node e inserisco i nodi sorgente
-        // nel risultato
-        Set<GraphEdge<L>> inEdges = this.getIngoingEdgesOf(node);
         for (GraphEdge<L> e : inEdges)
             result.add(e.getNode1());
         return result;
@@ -205,13 +261,31 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
             throw new IllegalArgumentException(
                     "Inserimento di un arco con almeno uno dei due nodi collegati non esistente");
         // Inserisco l'arco nella lista di adiacenza del nodo sorgente
-        return this.adjacentLists.get(edge.getNode1()).add(edge);
+        if (!this.adjacentLists.get(edge.getNode1()).add(edge))
+            // l'arco è già presente
+            return false;
+        // e tra gli archi entranti del nodo destinazione
+        this.incomingLists.get(edge.getNode2()).add(edge);
+        this.edgeCount++;
+        return true;
     }
 
     @Override
     public boolean removeEdge(GraphEdge<L> edge) {
-        throw new UnsupportedOperationException(
-                "Rimozione degli archi non supportata");
+        if (edge == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere un arco nullo");
+        // Controllo se i nodi esistono
+        if (!this.adjacentLists.containsKey(edge.getNode1())
+                || !this.adjacentLists.containsKey(edge.getNode2()))
+            throw new IllegalArgumentException(
+                    "Rimozione di un arco con almeno uno dei due nodi collegati non esistente");
+        if (!this.adjacentLists.get(edge.getNode1()).remove(edge))
+            // l'arco non è presente
+            return false;
+        this.incomingLists.get(edge.getNode2()).remove(edge);
+        this.edgeCount--;
+        return true;
     }
 
     @Override
@@ -230,6 +304,14 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        return Collections.unmodifiableSet(this.outgoingEdgesOf(node));
+    }
+
+    /*
+     * Restituisce il set interno degli archi uscenti da un nodo, che non deve
+     * uscire dalla classe.
+     */
+    private Set<GraphEdge<L>> outgoingEdgesOf(GraphNode<L> node) {
         if (node == null)
             throw new NullPointerException(
                     "Tentativo di ottenere gli archi uscenti da un nodo null");
@@ -240,24 +322,57 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         return edges;
     }
 
+    /*
+     * HashSet.forEach scorre direttamente la tabella hash del set degli archi
+     * uscenti, senza creare un iteratore.
+     */
+    @Override
+    public void forEachNeighbor(GraphNode<L> node,
+            Consumer<? super GraphNode<L>> action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare i nodi adiacenti con un'operazione nulla");
+        this.outgoingEdgesOf(node).forEach(e -> action.accept(e.getNode2()));
+    }
+
+    @Override
+    public void forEachEdge(GraphNode<L> node,
+            Consumer<? super GraphEdge<L>> visitor) {
+        if (visitor == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare gli archi con un'operazione nulla");
+        this.outgoingEdgesOf(node).forEach(visitor);
+    }
+
     @Override
     public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
         if (node == null)
             throw new NullPointerException(
                     "Tentativo di ottenere gli archi entranti in un nodo null");
-        // controllo se il nodo esiste
-        if (!this.adjacentLists.containsKey(node))
+        // gli archi entranti sono nell'indice
+        Set<GraphEdge<L>> inEdges = this.incomingLists.get(node);
+        if (inEdges == null)
             throw new IllegalArgumentException(
                     "Richiesta degli archi entranti di un nodo non esistente");
-        // creo l'insieme risultato
-        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
-        // cerco fra tutti gli archi quelli che entrano in node e li inserisco
-        // nel risultato
-        Set<GraphEdge<L>> allEdges = this.getEdges();
-        for (GraphEdge<L> e : allEdges)
-            if (e.getNode2().equals(node))
-                result.add(e);
-        return result;
+        // restituisco una copia, così il chiamante può rimuovere gli archi
+        // dal grafo mentre la scorre
+        return new HashSet<GraphEdge<L>>(inEdges);
+    }
+
+    /*
+     * Il grado si legge dalle dimensioni dei set interni, senza copiare gli
+     * archi entranti.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare il grado di un nodo null");
+        Set<GraphEdge<L>> inEdges = this.incomingLists.get(node);
+        if (inEdges == null)
+            throw new IllegalArgumentException(
+                    "Richiesta del grado di un nodo non esistente");
+        return this.adjacentLists.get(node).size() + inEdges.size();
     }
 
 }
@@ -461,4 +461,161 @@ class MapAdjacentListDirectedGraphTest {
         assertTrue(g.getDegreeOf(nw)==1);
     }
 
+    @Test
+    final void testForEachNeighborAndEdge() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, true, 10.1);
+        g.addEdge(esu);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, true, 5.12);
+        g.addEdge(esx);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, true, 2.05);
+        g.addEdge(eux);
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(ns, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.forEachEdge(new GraphNode<String>("z"), e -> {
+                }));
+        Set<GraphNode<String>> adj = new HashSet<GraphNode<String>>();
+        g.forEachNeighbor(ns, adj::add);
+        assertEquals(g.getAdjacentNodesOf(ns), adj);
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        g.forEachEdge(ns, edges::add);
+        assertEquals(g.getEdgesOf(ns), edges);
+        adj.clear();
+        g.forEachNeighbor(nx, adj::add);
+        assertTrue(adj.isEmpty());
+    }
+
+    @Test
+    final void testRemoveEdge() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, true);
+        g.addEdge(esu);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, true);
+        g.addEdge(eux);
+        GraphEdge<String> exs = new GraphEdge<String>(nx, ns, true);
+        g.addEdge(exs);
+        assertThrows(NullPointerException.class, () -> g.removeEdge(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(new GraphEdge<String>(ns,
+                        new GraphNode<String>("z"), true)));
+        assertFalse(g.removeEdge(new GraphEdge<String>(ns, nx, true)));
+        assertFalse(g.addEdge(new GraphEdge<String>(ns, nu, true)));
+        assertTrue(g.edgeCount() == 3);
+        assertTrue(g.removeEdge(new GraphEdge<String>(ns, nu, true)));
+        assertFalse(g.removeEdge(esu));
+        assertTrue(g.edgeCount() == 2);
+        assertFalse(g.containsEdge(esu));
+        assertTrue(g.getEdgesOf(ns).isEmpty());
+        assertTrue(g.getIngoingEdgesOf(nu).isEmpty());
+        assertTrue(g.getPredecessorNodesOf(nu).isEmpty());
+        assertTrue(g.getDegreeOf(ns) == 1);
+        assertTrue(g.getDegreeOf(nu) == 1);
+        assertTrue(g.addEdge(esu));
+        assertTrue(g.edgeCount() == 3);
+        assertTrue(g.getIngoingEdgesOf(nu).contains(esu));
+    }
+
+    @Test
+    final void testRemoveNode() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphNode<String> ny = new GraphNode<String>("y");
+        g.addNode(ny);
+        g.addEdge(new GraphEdge<String>(ns, nu, true));
+        g.addEdge(new GraphEdge<String>(nu, nx, true));
+        g.addEdge(new GraphEdge<String>(nx, nu, true));
+        g.addEdge(new GraphEdge<String>(nu, nu, true));
+        g.addEdge(new GraphEdge<String>(ny, nu, true));
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, true);
+        g.addEdge(esx);
+        GraphEdge<String> eyx = new GraphEdge<String>(ny, nx, true);
+        g.addEdge(eyx);
+        assertThrows(NullPointerException.class, () -> g.removeNode(null));
+        assertFalse(g.removeNode(new GraphNode<String>("z")));
+        assertTrue(g.edgeCount() == 7);
+        // u ha due archi uscenti, tre entranti e un cappio
+        assertTrue(g.removeNode(new GraphNode<String>("u")));
+        assertFalse(g.containsNode(nu));
+        assertNull(g.getNodeOf("u"));
+        assertTrue(g.nodeCount() == 3);
+        assertTrue(g.edgeCount() == 2);
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        edges.add(esx);
+        edges.add(eyx);
+        assertEquals(edges, g.getEdges());
+        assertEquals(edges, g.getIngoingEdgesOf(nx));
+        Set<GraphNode<String>> nodes = new HashSet<GraphNode<String>>();
+        nodes.add(ns);
+        nodes.add(ny);
+        assertEquals(nodes, g.getPredecessorNodesOf(nx));
+        assertTrue(g.getEdgesOf(nx).isEmpty());
+        assertTrue(g.getDegreeOf(nx) == 2);
+        assertFalse(g.removeNode(nu));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getIngoingEdgesOf(nu));
+        // il nodo si può inserire di nuovo senza archi
+        assertTrue(g.addNode(nu));
+        assertSame(nu, g.getNodeOf("u"));
+        assertTrue(g.getDegreeOf(nu) == 0);
+        assertTrue(g.removeNode(nx));
+        assertTrue(g.edgeCount() == 0);
+        g.clear();
+        assertTrue(g.edgeCount() == 0);
+    }
+
+    @Test
+    final void testReturnedSetsDoNotChangeTheGraph() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphNode<String> ny = new GraphNode<String>("y");
+        g.addNode(ny);
+        GraphNode<String> nz = new GraphNode<String>("z");
+        g.addNode(nz);
+        GraphEdge<String> exz = new GraphEdge<String>(nx, nz, true);
+        g.addEdge(exz);
+        GraphEdge<String> eyz = new GraphEdge<String>(ny, nz, true);
+        g.addEdge(eyz);
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getEdgesOf(nx).clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getEdgesOf(ny)
+                        .add(new GraphEdge<String>(ny, nx, true)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getNodes().remove(nx));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getNodes().add(new GraphNode<String>("w")));
+        assertTrue(g.edgeCount() == 2);
+        assertTrue(g.nodeCount() == 3);
+        assertSame(nx, g.getNodeOf("x"));
+        // gli archi entranti sono una copia: modificarla non tocca il grafo e
+        // si possono rimuovere gli archi mentre la si scorre
+        g.getIngoingEdgesOf(nz).clear();
+        assertTrue(g.getIngoingEdgesOf(nz).size() == 2);
+        for (GraphEdge<String> e : g.getIngoingEdgesOf(nz))
+            g.removeEdge(e);
+        assertTrue(g.edgeCount() == 0);
+        assertTrue(g.getEdges().isEmpty());
+        assertTrue(g.getEdgesOf(nx).isEmpty());
+        assertTrue(g.getDegreeOf(nz) == 0);
+    }
+
 }
@@ -0,0 +1,79 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+/**
+ * Coda con priorità di minimo "dinamica" di elementi che implementano
+ * l'interfaccia PriorityQueueElement: la priorità di un elemento già presente
+ * nella coda può essere decrementata, e la coda usa l'handle dell'elemento per
+ * ritrovarlo senza cercarlo. Un elemento non presente nella coda ha handle -1.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi della coda
+ */
+public interface MinPriorityQueue<E extends PriorityQueueElement> {
+
+    /**
+     * Restituisce il numero di elementi nella coda.
+     *
+     * @return il numero di elementi nella coda
+     */
+    public int size();
+
+    /**
+     * Determina se la coda è vuota.
+     *
+     * @return true se la coda è vuota
+     */
+    public boolean isEmpty();
+
+    /**
+     * Inserisce un elemento nella coda con la sua priorità corrente.
+     *
+     * @param element
+     *                    l'elemento da inserire
+     * @throws NullPointerException
+     *                                  se l'elemento è nullo
+     */
+    public void insert(E element);
+
+    /**
+     * Toglie dalla coda l'elemento di priorità minima e lo restituisce.
+     * L'handle dell'elemento estratto viene posto a -1.
+     *
+     * @return l'elemento di priorità minima
+     * @throws java.util.NoSuchElementException
+     *                                              se la coda è vuota
+     */
+    public E extractMinimum();
+
+    /**
+     * Decrementa la priorità di un elemento presente nella coda.
+     *
+     * @param element
+     *                        l'elemento di cui decrementare la priorità
+     * @param newPriority
+     *                        la nuova priorità
+     * @throws NullPointerException
+     *                                      se l'elemento è nullo
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente nella
+     *                                      coda o se la nuova priorità è
+     *                                      maggiore di quella corrente
+     */
+    public void decreasePriority(E element, double newPriority);
+
+    /**
+     * Determina se un elemento è presente nella coda, controllandone l'handle.
+     *
+     * @param element
+     *                    l'elemento da cercare
+     * @return true se l'elemento è presente nella coda
+     */
+    public boolean contains(E element);
+
+    /**
+     * Svuota la coda, ponendo a -1 l'handle di tutti gli elementi presenti.
+     */
+    public void clear();
+}
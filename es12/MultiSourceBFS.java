@@ -0,0 +1,243 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.Arrays;
+
+/**
+ * Visita in ampiezza contemporanea da più sorgenti di un grafo
+ * {@code Graph<L>}, per calcolare le distanze in numero di archi di tutti i
+ * nodi da ognuna delle sorgenti.
+ *
+ * Invece di eseguire una visita per ogni sorgente, le sorgenti vengono
+ * elaborate in gruppi di 64, uno per bit di un long: per ogni nodo si
+ * mantengono l'insieme delle sorgenti che lo hanno già raggiunto, quello delle
+ * sorgenti per cui il nodo è nella frontiera corrente e quello delle sorgenti
+ * per cui sarà nella frontiera successiva. Ad ogni livello ogni lista di
+ * adiacenza dei nodi della frontiera viene scorsa una sola volta e fa avanzare
+ * con poche operazioni bit a bit tutte le sorgenti del gruppo che hanno il
+ * nodo in frontiera, per cui le liste di adiacenza vengono lette fino a 64
+ * volte di meno rispetto a visite separate.
+ *
+ * I nodi vengono identificati da interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, come in {@code TraversalState}, e le
+ * distanze seguono gli archi uscenti dei nodi. Il grafo viene indicizzato una
+ * volta sola, alla creazione dell'oggetto, e le modifiche successive non si
+ * riflettono sulle visite.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class MultiSourceBFS<L> {
+
+    /**
+     * Azione eseguita per ogni nodo raggiunto da una sorgente.
+     */
+    @FunctionalInterface
+    public interface DistanceVisitor {
+
+        /**
+         * Riceve la distanza di un nodo da una sorgente.
+         *
+         * @param source
+         *                     la posizione della sorgente nell'array delle
+         *                     sorgenti passato alla visita
+         * @param node
+         *                     l'identificatore del nodo raggiunto
+         * @param distance
+         *                     la distanza, in numero di archi, del nodo dalla
+         *                     sorgente
+         */
+        void visit(int source, int node, int distance);
+    }
+
+    /*
+     * Numero di sorgenti visitate insieme, una per bit di un long.
+     */
+    private static final int BATCH = 64;
+
+    /*
+     * Indicizzazione del grafo.
+     */
+    private final IndexedAdjacency<L> adjacency;
+
+    /**
+     * Prepara le visite di un grafo indicizzandone i nodi.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    public MultiSourceBFS(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException("BFS ERROR: Grafo nullo");
+        this.adjacency = new IndexedAdjacency<L>(g);
+    }
+
+    /**
+     * Calcola le distanze di tutti i nodi da ognuna delle sorgenti.
+     *
+     * @param sources
+     *                    gli identificatori dei nodi sorgente
+     * @return una matrice che nella posizione [i][v] contiene la distanza del
+     *         nodo con identificatore v dalla sorgente sources[i], -1 se il
+     *         nodo non è raggiungibile dalla sorgente
+     * @throws NullPointerException
+     *                                       se l'array delle sorgenti è nullo
+     * @throws IndexOutOfBoundsException
+     *                                       se una sorgente non è un
+     *                                       identificatore valido
+     */
+    public int[][] computeDistances(int[] sources) {
+        this.checkSources(sources);
+        int[][] distances = new int[sources.length][this.nodeCount()];
+        for (int[] row : distances)
+            Arrays.fill(row, -1);
+        this.visit(sources,
+                (source, node, distance) -> distances[source][node] = distance);
+        return distances;
+    }
+
+    /**
+     * Visita il grafo da tutte le sorgenti, eseguendo l'azione per ogni
+     * coppia di sorgente e nodo raggiungibile dalla sorgente, compresa la
+     * sorgente stessa a distanza 0. Le coppie arrivano per gruppi di 64
+     * sorgenti consecutive e, all'interno di un gruppo, per distanza non
+     * decrescente. Rispetto a computeDistances non serve memoria
+     * proporzionale al numero di sorgenti per il numero di nodi.
+     *
+     * @param sources
+     *                    gli identificatori dei nodi sorgente
+     * @param visitor
+     *                    l'azione da eseguire
+     * @throws NullPointerException
+     *                                       se almeno un valore passato è null
+     * @throws IndexOutOfBoundsException
+     *                                       se una sorgente non è un
+     *                                       identificatore valido
+     */
+    public void computeDistances(int[] sources, DistanceVisitor visitor) {
+        this.checkSources(sources);
+        if (visitor == null)
+            throw new NullPointerException("BFS ERROR: Azione nulla");
+        this.visit(sources, visitor);
+    }
+
+    /*
+     * Controlla che l'array delle sorgenti non sia nullo e contenga solo
+     * identificatori validi.
+     */
+    private void checkSources(int[] sources) {
+        if (sources == null)
+            throw new NullPointerException("BFS ERROR: Sorgenti nulle");
+        for (int s : sources)
+            if (s < 0 || s >= this.nodeCount())
+                throw new IndexOutOfBoundsException(
+                        "BFS ERROR: Sorgente non valida: " + s);
+    }
+
+    /*
+     * Esegue le visite a gruppi di 64 sorgenti, riusando gli stessi array.
+     */
+    private void visit(int[] sources, DistanceVisitor visitor) {
+        int n = this.nodeCount();
+        // sorgenti del gruppo che hanno già raggiunto ogni nodo, che hanno il
+        // nodo nella frontiera corrente e nella prossima frontiera
+        long[] seen = new long[n];
+        long[] frontier = new long[n];
+        long[] next = new long[n];
+        for (int first = 0; first < sources.length; first += BATCH) {
+            int last = Math.min(first + BATCH, sources.length);
+            Arrays.fill(seen, 0);
+            Arrays.fill(frontier, 0);
+            for (int i = first; i < last; i++) {
+                long bit = 1L << (i - first);
+                seen[sources[i]] |= bit;
+                frontier[sources[i]] |= bit;
+                visitor.visit(i, sources[i], 0);
+            }
+            int distance = 0;
+            boolean active = true;
+            while (active) {
+                distance++;
+                this.advance(seen, frontier, next);
+                // la prossima frontiera diventa quella corrente e riporto le
+                // distanze dei nodi appena raggiunti
+                active = false;
+                for (int v = 0; v < n; v++) {
+                    long reached = next[v];
+                    frontier[v] = reached;
+                    if (reached == 0)
+                        continue;
+                    active = true;
+                    next[v] = 0;
+                    while (reached != 0) {
+                        int b = Long.numberOfTrailingZeros(reached);
+                        reached &= reached - 1;
+                        visitor.visit(first + b, v, distance);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Espande di un livello la frontiera di tutte le sorgenti del gruppo: ogni
+     * nodo adiacente a un nodo della frontiera entra nella prossima frontiera
+     * per le sorgenti che non lo avevano ancora raggiunto.
+     */
+    private void advance(long[] seen, long[] frontier, long[] next) {
+        int[] offsets = this.adjacency.offsets;
+        int[] targets = this.adjacency.targets;
+        for (int u = 0; u < frontier.length; u++) {
+            long sourcesOfU = frontier[u];
+            if (sourcesOfU == 0)
+                continue;
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                int v = targets[k];
+                long reached = sourcesOfU & ~seen[v];
+                if (reached != 0) {
+                    next[v] |= reached;
+                    seen[v] |= reached;
+                }
+            }
+        }
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento dell'indicizzazione.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.adjacency.nodeCount();
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non faceva parte del
+     *         grafo
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public int idOf(GraphNode<L> node) {
+        return this.adjacency.idOf(node);
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public GraphNode<L> getNode(int id) {
+        return this.adjacency.getNode(id);
+    }
+}
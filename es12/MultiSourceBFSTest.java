@@ -0,0 +1,70 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MultiSourceBFSTest {
+
+    @Test
+    final void testComputeDistancesLikeBFSVisit() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        int n = 2000;
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(5);
+        for (int k = 0; k < 3 * n; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), true));
+        MultiSourceBFS<Integer> bfs = new MultiSourceBFS<Integer>(g);
+        // tre gruppi di sorgenti, l'ultimo incompleto e con una ripetizione
+        int[] sources = new int[150];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = bfs.idOf(nodes.get(random.nextInt(n)));
+        sources[149] = sources[130];
+        int[][] distances = bfs.computeDistances(sources);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        long reached = 0;
+        for (int i = 0; i < sources.length; i++) {
+            visitor.BFSVisit(g, bfs.getNode(sources[i]));
+            for (int v = 0; v < n; v++) {
+                assertEquals(bfs.getNode(v).getIntegerDistance(),
+                        distances[i][v]);
+                if (distances[i][v] != -1)
+                    reached++;
+            }
+        }
+        long[] count = new long[1];
+        bfs.computeDistances(sources, (source, node, distance) -> {
+            assertEquals(distances[source][node], distance);
+            count[0]++;
+        });
+        assertEquals(reached, count[0]);
+    }
+
+    @Test
+    final void testComputeDistancesExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> new MultiSourceBFS<String>(null));
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        MultiSourceBFS<String> bfs = new MultiSourceBFS<String>(g);
+        assertThrows(NullPointerException.class,
+                () -> bfs.computeDistances(null));
+        assertThrows(NullPointerException.class,
+                () -> bfs.computeDistances(new int[] { 0 }, null));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> bfs.computeDistances(new int[] { 1 }));
+        assertArrayEquals(new int[] { 0 },
+                bfs.computeDistances(new int[] { 0 })[0]);
+        assertEquals(0, bfs.computeDistances(new int[0]).length);
+    }
+}
@@ -0,0 +1,460 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Ricerca di un cammino tra due nodi di un grafo {@code Graph<L>} senza
+ * visitare tutto il grafo: visita in ampiezza bidirezionale per il cammino
+ * con il minimo numero di archi, algoritmo di Dijkstra bidirezionale e A* con
+ * euristica a scelta per il cammino di peso minimo.
+ *
+ * Le ricerche bidirezionali avanzano contemporaneamente dalla sorgente,
+ * seguendo gli archi uscenti, e dalla destinazione, seguendo gli archi
+ * entranti, e si fermano quando le due ricerche si incontrano: su grafi in
+ * cui il numero di nodi entro una certa distanza cresce velocemente con la
+ * distanza, come le reti stradali, le due ricerche insieme esaminano molti
+ * meno nodi di una ricerca sola. A* esamina i nodi in ordine di distanza
+ * dalla sorgente più stima della distanza dalla destinazione e quindi si
+ * allontana poco dalla direzione della destinazione.
+ *
+ * I nodi vengono identificati da interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, come in {@code TraversalState}, e i
+ * cammini sono restituiti come array di identificatori. Il grafo, con i pesi
+ * degli archi e le liste dei predecessori, viene indicizzato una volta sola
+ * alla creazione dell'oggetto, in modo da ripagarne il costo su molte
+ * ricerche; le modifiche successive del grafo non si riflettono sulle ricerche.
+ * Anche gli array di lavoro delle ricerche vengono allocati una volta sola, uno
+ * spazio per ogni thread che esegue ricerche, e ogni ricerca reinizializza
+ * solo i nodi che ha raggiunto: il costo di una ricerca dipende quindi solo
+ * dalla parte di grafo esplorata. Le ricerche possono essere eseguite
+ * contemporaneamente da più thread.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class PointToPointSearch<L> {
+
+    /*
+     * Istantanea pesata degli archi uscenti.
+     */
+    private final IndexedAdjacency<L> forward;
+
+    /*
+     * Istantanea pesata degli archi entranti, con gli stessi identificatori.
+     */
+    private final IndexedAdjacency<L> backward;
+
+    /*
+     * Indici delle due direzioni di ricerca negli array dello spazio di
+     * lavoro.
+     */
+    private static final int FORWARD = 0;
+
+    private static final int BACKWARD = 1;
+
+    /*
+     * Spazio di lavoro di ogni thread, creato alla sua prima ricerca e
+     * riusato dalle successive.
+     */
+    private final ThreadLocal<Workspace> workspace;
+
+    /**
+     * Prepara le ricerche su un grafo indicizzandone nodi e archi.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    public PointToPointSearch(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare cammini in un grafo nullo");
+        this.forward = new IndexedAdjacency<L>(g, true);
+        this.backward = this.forward.reverse();
+        int n = this.forward.nodeCount();
+        this.workspace = ThreadLocal.withInitial(() -> new Workspace(n));
+    }
+
+    /**
+     * Cerca un cammino con il minimo numero di archi tra due nodi con una
+     * visita in ampiezza bidirezionale, che ad ogni passo espande un intero
+     * livello della ricerca con la frontiera più piccola. I pesi degli archi
+     * non vengono considerati.
+     *
+     * @param source
+     *                   l'identificatore del nodo sorgente
+     * @param target
+     *                   l'identificatore del nodo destinazione
+     * @return gli identificatori dei nodi di un cammino con il minimo numero
+     *         di archi dalla sorgente alla destinazione, estremi compresi,
+     *         oppure null se la destinazione non è raggiungibile
+     * @throws IndexOutOfBoundsException
+     *                                       se un identificatore non è valido
+     */
+    public int[] bidirectionalBFS(int source, int target) {
+        this.checkId(source);
+        this.checkId(target);
+        if (source == target)
+            return new int[] { source };
+        Workspace w = this.workspace.get();
+        try {
+            // le liste dei nodi raggiunti fanno da code delle due ricerche: il
+            // livello corrente occupa le posizioni da head a reachedCount - 1
+            int[] head = new int[2];
+            w.reach(FORWARD, source, 0, -1);
+            w.reach(BACKWARD, target, 0, -1);
+            int meet = -1;
+            double best = Double.POSITIVE_INFINITY;
+            while (meet == -1 && head[FORWARD] < w.reachedCount[FORWARD]
+                    && head[BACKWARD] < w.reachedCount[BACKWARD]) {
+                int side = w.reachedCount[FORWARD]
+                        - head[FORWARD] <= w.reachedCount[BACKWARD]
+                                - head[BACKWARD] ? FORWARD : BACKWARD;
+                IndexedAdjacency<L> adj = side == FORWARD ? this.forward
+                        : this.backward;
+                double[] dist = w.dist[side];
+                double[] other = w.dist[1 - side];
+                int[] queue = w.reached[side];
+                // espando tutto il livello, tenendo il miglior punto di
+                // incontro
+                int end = w.reachedCount[side];
+                for (; head[side] < end; head[side]++) {
+                    int u = queue[head[side]];
+                    for (int k = adj.offsets[u]; k < adj.offsets[u + 1]; k++) {
+                        int v = adj.targets[k];
+                        if (dist[v] != Double.POSITIVE_INFINITY)
+                            continue;
+                        w.reach(side, v, dist[u] + 1, u);
+                        if (dist[v] + other[v] < best) {
+                            best = dist[v] + other[v];
+                            meet = v;
+                        }
+                    }
+                }
+            }
+            if (meet == -1)
+                return null;
+            return path(meet, w.parent[FORWARD], w.parent[BACKWARD]);
+        } finally {
+            w.reset();
+        }
+    }
+
+    /**
+     * Cerca un cammino di peso minimo tra due nodi con l'algoritmo di Dijkstra
+     * bidirezionale: ad ogni passo avanza la ricerca il cui prossimo nodo è
+     * più vicino al proprio estremo e si ferma quando la somma delle distanze
+     * dei prossimi nodi delle due ricerche non è minore del peso del miglior
+     * cammino trovato.
+     *
+     * @param source
+     *                   l'identificatore del nodo sorgente
+     * @param target
+     *                   l'identificatore del nodo destinazione
+     * @return gli identificatori dei nodi di un cammino di peso minimo dalla
+     *         sorgente alla destinazione, estremi compresi, oppure null se la
+     *         destinazione non è raggiungibile
+     * @throws IndexOutOfBoundsException
+     *                                       se un identificatore non è valido
+     * @throws IllegalArgumentException
+     *                                       se un arco esaminato non è pesato
+     *                                       o ha peso negativo
+     */
+    public int[] bidirectionalDijkstra(int source, int target) {
+        this.checkId(source);
+        this.checkId(target);
+        if (source == target)
+            return new int[] { source };
+        Workspace w = this.workspace.get();
+        try {
+            double[] distForward = w.dist[FORWARD];
+            double[] distBackward = w.dist[BACKWARD];
+            IntMinPriorityQueue queueForward = w.queues[FORWARD];
+            IntMinPriorityQueue queueBackward = w.queues[BACKWARD];
+            w.reach(FORWARD, source, 0, -1);
+            queueForward.insert(source, 0);
+            w.reach(BACKWARD, target, 0, -1);
+            queueBackward.insert(target, 0);
+            // peso del miglior cammino trovato e nodo in cui le ricerche si
+            // incontrano su quel cammino
+            double best = Double.POSITIVE_INFINITY;
+            int meet = -1;
+            while (!queueForward.isEmpty() && !queueBackward.isEmpty()) {
+                double minForward = distForward[queueForward.minimum()];
+                double minBackward = distBackward[queueBackward.minimum()];
+                // nessun cammino non ancora trovato può pesare meno di best
+                if (minForward + minBackward >= best)
+                    break;
+                int side = minForward <= minBackward ? FORWARD : BACKWARD;
+                IndexedAdjacency<L> adj = side == FORWARD ? this.forward
+                        : this.backward;
+                double[] dist = w.dist[side];
+                double[] other = w.dist[1 - side];
+                IntMinPriorityQueue queue = w.queues[side];
+                int u = queue.extractMinimum();
+                for (int k = adj.offsets[u]; k < adj.offsets[u + 1]; k++) {
+                    int v = adj.targets[k];
+                    double distance = dist[u] + checkWeight(adj.weights[k]);
+                    if (distance < dist[v]) {
+                        // con pesi non negativi v non è ancora stato estratto
+                        if (dist[v] == Double.POSITIVE_INFINITY)
+                            queue.insert(v, distance);
+                        else
+                            queue.decreasePriority(v, distance);
+                        w.reach(side, v, distance, u);
+                    }
+                    if (dist[v] + other[v] < best) {
+                        best = dist[v] + other[v];
+                        meet = v;
+                    }
+                }
+            }
+            if (meet == -1)
+                return null;
+            return path(meet, w.parent[FORWARD], w.parent[BACKWARD]);
+        } finally {
+            w.reset();
+        }
+    }
+
+    /**
+     * Cerca un cammino di peso minimo tra due nodi con l'algoritmo A*: i nodi
+     * vengono estratti in ordine di distanza dalla sorgente più stima della
+     * distanza dalla destinazione e la ricerca si ferma quando viene estratta
+     * la destinazione. Il cammino trovato è di peso minimo se l'euristica è
+     * ammissibile, cioè se non sovrastima mai la distanza dalla destinazione;
+     * se inoltre è consistente (la stima di un nodo non supera il peso di un
+     * suo arco uscente più la stima del nodo raggiunto) ogni nodo viene
+     * estratto al più una volta, altrimenti un nodo già estratto può tornare
+     * nella coda quando si trova un cammino più leggero verso di esso. Con
+     * l'euristica costante 0 la ricerca coincide con l'algoritmo di Dijkstra.
+     *
+     * @param source
+     *                      l'identificatore del nodo sorgente
+     * @param target
+     *                      l'identificatore del nodo destinazione
+     * @param heuristic
+     *                      la funzione che associa all'identificatore di un
+     *                      nodo la stima della sua distanza dalla destinazione
+     * @return gli identificatori dei nodi di un cammino dalla sorgente alla
+     *         destinazione, estremi compresi, oppure null se la destinazione
+     *         non è raggiungibile
+     * @throws NullPointerException
+     *                                       se l'euristica passata è nulla
+     * @throws IndexOutOfBoundsException
+     *                                       se un identificatore non è valido
+     * @throws IllegalArgumentException
+     *                                       se un arco esaminato non è pesato
+     *                                       o ha peso negativo
+     */
+    public int[] aStar(int source, int target,
+            IntToDoubleFunction heuristic) {
+        if (heuristic == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un cammino con un'euristica nulla");
+        this.checkId(source);
+        this.checkId(target);
+        Workspace w = this.workspace.get();
+        try {
+            double[] dist = w.dist[FORWARD];
+            IntMinPriorityQueue queue = w.queues[FORWARD];
+            w.reach(FORWARD, source, 0, -1);
+            queue.insert(source, heuristic.applyAsDouble(source));
+            while (!queue.isEmpty()) {
+                int u = queue.extractMinimum();
+                if (u == target)
+                    return path(target, w.parent[FORWARD], null);
+                for (int k = this.forward.offsets[u]; k < this.forward.offsets[u
+                        + 1]; k++) {
+                    int v = this.forward.targets[k];
+                    double distance = dist[u]
+                            + checkWeight(this.forward.weights[k]);
+                    if (distance < dist[v]) {
+                        w.reach(FORWARD, v, distance, u);
+                        double estimate = distance
+                                + heuristic.applyAsDouble(v);
+                        // v può essere nuovo, in coda o già estratto
+                        if (queue.contains(v))
+                            queue.decreasePriority(v, estimate);
+                        else
+                            queue.insert(v, estimate);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            w.reset();
+        }
+    }
+
+    /*
+     * Controlla che il peso di un arco sia definito e non negativo e lo
+     * restituisce.
+     */
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0))
+            throw new IllegalArgumentException(
+                    "Tentativo di cercare un cammino minimo su un arco non pesato o con peso negativo");
+        return weight;
+    }
+
+    /*
+     * Costruisce il cammino che va dalla sorgente al nodo meet seguendo
+     * all'indietro i predecessori della ricerca in avanti e da meet alla
+     * destinazione seguendo i predecessori della ricerca all'indietro, se
+     * c'è.
+     */
+    private static int[] path(int meet, int[] parentForward,
+            int[] parentBackward) {
+        // conto i nodi delle due metà, meet compreso nella prima
+        int k = 0;
+        for (int v = meet; v != -1; v = parentForward[v])
+            k++;
+        int length = k;
+        if (parentBackward != null)
+            for (int v = parentBackward[meet]; v != -1; v = parentBackward[v])
+                length++;
+        int[] result = new int[length];
+        int i = k - 1;
+        for (int v = meet; v != -1; v = parentForward[v])
+            result[i--] = v;
+        if (parentBackward != null)
+            for (int v = parentBackward[meet]; v != -1; v = parentBackward[v])
+                result[k++] = v;
+        return result;
+    }
+
+    /*
+     * Restituisce il numero di nodi raggiunti, nelle due direzioni, dall'ultima
+     * ricerca del thread corrente che non è terminata subito. Serve per i
+     * test.
+     */
+    int reachedByLastSearch() {
+        return this.workspace.get().lastReached;
+    }
+
+    /*
+     * Controlla che un identificatore di nodo sia valido.
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= this.nodeCount())
+            throw new IndexOutOfBoundsException(
+                    "Identificatore di nodo non valido: " + id);
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento dell'indicizzazione.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.forward.nodeCount();
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non faceva parte del
+     *         grafo
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public int idOf(GraphNode<L> node) {
+        return this.forward.idOf(node);
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public GraphNode<L> getNode(int id) {
+        return this.forward.getNode(id);
+    }
+
+    /*
+     * Distanze, predecessori e code delle due direzioni di una ricerca. Gli
+     * array hanno una posizione per nodo e vengono allocati una volta sola;
+     * ogni ricerca annota i nodi che raggiunge e al termine reinizializza solo
+     * quelli, per cui il suo costo dipende dalla parte di grafo esplorata e
+     * non dal numero di nodi.
+     */
+    private static class Workspace {
+
+        /*
+         * Distanze nelle due direzioni, Double.POSITIVE_INFINITY per i nodi
+         * non raggiunti.
+         */
+        private final double[][] dist;
+
+        /*
+         * Predecessori nelle due direzioni, significativi solo per i nodi
+         * raggiunti.
+         */
+        private final int[][] parent;
+
+        /*
+         * Nodi raggiunti nelle due direzioni, nell'ordine in cui sono stati
+         * raggiunti la prima volta.
+         */
+        private final int[][] reached;
+
+        private final int[] reachedCount;
+
+        /*
+         * Code con priorità delle due direzioni.
+         */
+        private final IntMinPriorityQueue[] queues;
+
+        /*
+         * Nodi raggiunti dall'ultima ricerca conclusa.
+         */
+        private int lastReached;
+
+        private Workspace(int n) {
+            this.dist = new double[2][n];
+            this.parent = new int[2][n];
+            this.reached = new int[2][n];
+            this.reachedCount = new int[2];
+            this.queues = new IntMinPriorityQueue[] {
+                    new IntMinPriorityQueue(n), new IntMinPriorityQueue(n) };
+            Arrays.fill(this.dist[FORWARD], Double.POSITIVE_INFINITY);
+            Arrays.fill(this.dist[BACKWARD], Double.POSITIVE_INFINITY);
+        }
+
+        /*
+         * Assegna distanza e predecessore a un nodo in una direzione,
+         * annotandolo se è raggiunto per la prima volta.
+         */
+        private void reach(int side, int v, double distance, int p) {
+            if (this.dist[side][v] == Double.POSITIVE_INFINITY)
+                this.reached[side][this.reachedCount[side]++] = v;
+            this.dist[side][v] = distance;
+            this.parent[side][v] = p;
+        }
+
+        /*
+         * Riporta nello stato iniziale i nodi raggiunti e le code.
+         */
+        private void reset() {
+            this.lastReached = this.reachedCount[FORWARD]
+                    + this.reachedCount[BACKWARD];
+            for (int side = FORWARD; side <= BACKWARD; side++) {
+                for (int i = 0; i < this.reachedCount[side]; i++)
+                    this.dist[side][this.reached[side][i]] = Double.POSITIVE_INFINITY;
+                this.reachedCount[side] = 0;
+                this.queues[side].clear();
+            }
+        }
+    }
+}
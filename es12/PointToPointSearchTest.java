@@ -0,0 +1,196 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PointToPointSearchTest {
+
+    /*
+     * Lato della griglia dei test.
+     */
+    private static final int SIDE = 30;
+
+    /*
+     * Crea una griglia orientata di side x side nodi, con etichetta
+     * riga * side + colonna, in cui i nodi vicini sono collegati in entrambe
+     * le direzioni da archi con pesi interi casuali tra 1 e 10; circa un arco
+     * su dieci manca.
+     */
+    private static Graph<Integer> grid(long seed, int side) {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < side * side; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(seed);
+        for (int r = 0; r < side; r++)
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                int[] near = { c + 1 < side ? u + 1 : -1,
+                        r + 1 < side ? u + side : -1 };
+                for (int v : near) {
+                    if (v == -1)
+                        continue;
+                    if (random.nextInt(10) > 0)
+                        g.addEdge(new GraphEdge<Integer>(nodes.get(u),
+                                nodes.get(v), true, 1 + random.nextInt(10)));
+                    if (random.nextInt(10) > 0)
+                        g.addEdge(new GraphEdge<Integer>(nodes.get(v),
+                                nodes.get(u), true, 1 + random.nextInt(10)));
+                }
+            }
+        return g;
+    }
+
+    /*
+     * Controlla che un cammino vada da source a target seguendo archi del
+     * grafo e ne restituisce il peso.
+     */
+    private static double weightOf(Graph<Integer> g,
+            PointToPointSearch<Integer> search, int[] path, int source,
+            int target) {
+        assertEquals(source, path[0]);
+        assertEquals(target, path[path.length - 1]);
+        double weight = 0;
+        for (int k = 1; k < path.length; k++) {
+            GraphEdge<Integer> edge = null;
+            for (GraphEdge<Integer> e : g
+                    .getEdgesOf(search.getNode(path[k - 1])))
+                if (e.getNode2().equals(search.getNode(path[k])))
+                    edge = e;
+            assertNotNull(edge);
+            weight += edge.getWeight();
+        }
+        return weight;
+    }
+
+    @Test
+    final void testSearchesLikeFullVisits() {
+        Graph<Integer> g = grid(17, SIDE);
+        PointToPointSearch<Integer> search = new PointToPointSearch<Integer>(
+                g);
+        assertEquals(SIDE * SIDE, search.nodeCount());
+        BFSVisitor<Integer> bfs = new BFSVisitor<Integer>();
+        DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<Integer>();
+        Random random = new Random(4);
+        for (int q = 0; q < 40; q++) {
+            GraphNode<Integer> s = g.getNodeOf(random.nextInt(SIDE * SIDE));
+            GraphNode<Integer> t = g.getNodeOf(random.nextInt(SIDE * SIDE));
+            int source = search.idOf(s);
+            int target = search.idOf(t);
+            // la distanza euclidea sulla griglia non sovrastima il peso
+            int tr = t.getLabel() / SIDE;
+            int tc = t.getLabel() % SIDE;
+            int[] astar = search.aStar(source, target, v -> {
+                int label = search.getNode(v).getLabel();
+                return Math.hypot(label / SIDE - tr, label % SIDE - tc);
+            });
+            bfs.BFSVisit(g, s);
+            int hopDistance = t.getIntegerDistance();
+            int[] hops = search.bidirectionalBFS(source, target);
+            // Dijkstra usa la distanza intera dei nodi come handle
+            dijkstra.computeShortestPathsFrom(g, s);
+            int[] light = search.bidirectionalDijkstra(source, target);
+            if (hopDistance == -1) {
+                assertNull(hops);
+                assertNull(light);
+                assertNull(astar);
+                continue;
+            }
+            assertEquals(hopDistance + 1, hops.length);
+            weightOf(g, search, hops, source, target);
+            assertEquals(t.getFloatingPointDistance(),
+                    weightOf(g, search, light, source, target));
+            assertEquals(t.getFloatingPointDistance(),
+                    weightOf(g, search, astar, source, target));
+            assertEquals(t.getFloatingPointDistance(), weightOf(g, search,
+                    search.aStar(source, target, v -> 0), source, target));
+        }
+    }
+
+    @Test
+    final void testSearchesExploreOnlyNearNodes() {
+        int side = 200;
+        Graph<Integer> g = grid(23, side);
+        PointToPointSearch<Integer> search = new PointToPointSearch<Integer>(
+                g);
+        int n = side * side;
+        Random random = new Random(8);
+        for (int q = 0; q < 50; q++) {
+            // coppie di nodi a pochi passi di distanza lontano dai bordi
+            int r = 20 + random.nextInt(side - 40);
+            int c = 20 + random.nextInt(side - 40);
+            int tr = r + random.nextInt(7) - 3;
+            int tc = c + random.nextInt(7) - 3;
+            int source = search.idOf(g.getNodeOf(r * side + c));
+            int target = search.idOf(g.getNodeOf(tr * side + tc));
+            int[] hops = search.bidirectionalBFS(source, target);
+            // i nodi raggiunti comprendono quelli estratti dalle code
+            assertTrue(search.reachedByLastSearch() < n / 100);
+            int[] light = search.bidirectionalDijkstra(source, target);
+            assertTrue(search.reachedByLastSearch() < n / 100);
+            int[] astar = search.aStar(source, target, v -> {
+                int label = search.getNode(v).getLabel();
+                return Math.hypot(label / side - tr, label % side - tc);
+            });
+            assertTrue(search.reachedByLastSearch() < n / 100);
+            if (hops == null) {
+                assertNull(light);
+                assertNull(astar);
+                continue;
+            }
+            assertEquals(weightOf(g, search, light, source, target),
+                    weightOf(g, search, astar, source, target));
+        }
+    }
+
+    @Test
+    final void testSearchesSpecialCases() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(ns);
+        g.addNode(nu);
+        g.addNode(nx);
+        g.addEdge(new GraphEdge<String>(ns, nu, true, 2));
+        g.addEdge(new GraphEdge<String>(nu, nx, true));
+        PointToPointSearch<String> search = new PointToPointSearch<String>(g);
+        int s = search.idOf(ns);
+        int u = search.idOf(nu);
+        int x = search.idOf(nx);
+        assertArrayEquals(new int[] { s }, search.bidirectionalBFS(s, s));
+        assertArrayEquals(new int[] { s }, search.bidirectionalDijkstra(s, s));
+        assertArrayEquals(new int[] { s }, search.aStar(s, s, v -> 0));
+        assertArrayEquals(new int[] { s, u, x },
+                search.bidirectionalBFS(s, x));
+        assertArrayEquals(new int[] { s, u },
+                search.bidirectionalDijkstra(s, u));
+        assertNull(search.bidirectionalBFS(x, s));
+        assertNull(search.bidirectionalDijkstra(x, s));
+        assertNull(search.aStar(x, s, v -> 0));
+        // l'arco da u a x non è pesato
+        assertThrows(IllegalArgumentException.class,
+                () -> search.bidirectionalDijkstra(s, x));
+        assertThrows(IllegalArgumentException.class,
+                () -> search.aStar(s, x, v -> 0));
+        // una ricerca interrotta da un'eccezione non lascia nodi raggiunti
+        assertArrayEquals(new int[] { s, u },
+                search.bidirectionalDijkstra(s, u));
+        assertArrayEquals(new int[] { s, u }, search.aStar(s, u, v -> 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> search.bidirectionalBFS(s, 3));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> search.bidirectionalDijkstra(-1, s));
+        assertThrows(NullPointerException.class,
+                () -> search.aStar(s, x, null));
+        assertThrows(NullPointerException.class,
+                () -> new PointToPointSearch<String>(null));
+    }
+}
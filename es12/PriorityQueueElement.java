@@ -0,0 +1,42 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+/**
+ * Interfaccia che permette a oggetti generici di essere inseriti in una coda
+ * con priorità "dinamica", cioè una coda con priorità in cui la priorità di un
+ * elemento può essere modificata mentre l'elemento è già presente nella coda.
+ * All'elemento deve essere associato un <i>handle</i>, che lo collega
+ * direttamente alla propria rappresentazione nella struttura dati che realizza
+ * la coda. Questa interfaccia assume che l'handle sia un <code>int</code> che
+ * rappresenta l'indice dell'elemento nell'array dello heap binario che
+ * realizza le operazioni della coda.
+ *
+ * @author Luca Tesei
+ *
+ */
+public interface PriorityQueueElement {
+    /**
+     * @return la priorità corrente associata all'elemento
+     */
+    public double getPriority();
+
+    /**
+     * Assegna all'elemento un nuovo valore di priorità.
+     *
+     * @param newPriority
+     *                        il nuovo valore della priorità
+     */
+    public void setPriority(double newPriority);
+
+    /**
+     * @return l'handle corrente dell'elemento
+     */
+    public int getHandle();
+
+    /**
+     * Assegna all'elemento un nuovo valore di handle.
+     *
+     * @param newHandle
+     *                      il nuovo valore dell'handle
+     */
+    public void setHandle(int newHandle);
+}
@@ -0,0 +1,214 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * Coda con priorità di minimo realizzata con uno heap radix, per priorità
+ * intere non negative ed estrazioni monotone: ogni priorità inserita o
+ * decrementata deve essere un intero maggiore o uguale all'ultima priorità
+ * estratta, come accade nell'algoritmo di Dijkstra con pesi interi.
+ *
+ * Gli elementi sono distribuiti in 65 secchi in base al bit più significativo
+ * in cui la loro priorità differisce dall'ultima priorità estratta: il secchio
+ * 0 contiene gli elementi con priorità uguale all'ultima estratta. Quando il
+ * secchio 0 è vuoto il primo secchio non vuoto viene ridistribuito nei secchi
+ * precedenti, per cui ogni elemento si sposta al più 64 volte e il costo
+ * ammortizzato dell'estrazione è O(log C), dove C è la massima priorità,
+ * indipendentemente dal numero di elementi. L'handle di ogni elemento è la
+ * sua posizione nel proprio secchio, che si ricava dalla priorità, per cui
+ * inserimento, decremento della priorità e controllo di appartenenza costano
+ * O(1). Un elemento non presente nella coda ha handle -1.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi della coda
+ */
+public class RadixHeapMinPriorityQueue<E extends PriorityQueueElement>
+        implements MinPriorityQueue<E> {
+
+    /*
+     * Numero di secchi: uno per ogni bit di una priorità long più quello delle
+     * priorità uguali all'ultima estratta.
+     */
+    private static final int BUCKETS = 65;
+
+    /*
+     * Limite superiore, escluso, delle priorità accettate.
+     */
+    private static final double MAX_PRIORITY = 0x1p63;
+
+    /*
+     * I secchi degli elementi.
+     */
+    private final ArrayList<ArrayList<E>> buckets;
+
+    /*
+     * L'ultima priorità estratta, 0 se non è ancora stato estratto nessun
+     * elemento.
+     */
+    private long last;
+
+    /*
+     * Numero di elementi nella coda.
+     */
+    private int size;
+
+    /**
+     * Crea una coda vuota.
+     */
+    public RadixHeapMinPriorityQueue() {
+        this.buckets = new ArrayList<ArrayList<E>>(BUCKETS);
+        for (int b = 0; b < BUCKETS; b++)
+            this.buckets.add(new ArrayList<E>());
+        this.last = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /*
+     * Lancia IllegalArgumentException se la priorità dell'elemento non è un
+     * intero maggiore o uguale all'ultima priorità estratta.
+     */
+    @Override
+    public void insert(E element) {
+        if (element == null)
+            throw new NullPointerException(
+                    "Tentativo di inserire un elemento nullo nella coda");
+        this.add(element, this.bucketOf(this.keyOf(element.getPriority())));
+        this.size++;
+    }
+
+    @Override
+    public E extractMinimum() {
+        if (this.size == 0)
+            throw new NoSuchElementException(
+                    "Tentativo di estrarre il minimo da una coda vuota");
+        ArrayList<E> first = this.buckets.get(0);
+        if (first.isEmpty()) {
+            // ridistribuisco il primo secchio non vuoto a partire dal suo
+            // minimo, che diventa l'ultima priorità estratta
+            int b = 1;
+            while (this.buckets.get(b).isEmpty())
+                b++;
+            ArrayList<E> bucket = this.buckets.get(b);
+            long min = Long.MAX_VALUE;
+            for (int k = 0; k < bucket.size(); k++)
+                min = Math.min(min, (long) bucket.get(k).getPriority());
+            this.last = min;
+            // gli elementi finiscono tutti in secchi precedenti a b
+            for (int k = 0; k < bucket.size(); k++) {
+                E element = bucket.get(k);
+                this.add(element,
+                        this.bucketOf((long) element.getPriority()));
+            }
+            bucket.clear();
+        }
+        E min = first.remove(first.size() - 1);
+        min.setHandle(-1);
+        this.size--;
+        return min;
+    }
+
+    /*
+     * Lancia IllegalArgumentException anche se la nuova priorità non è un
+     * intero maggiore o uguale all'ultima priorità estratta.
+     */
+    @Override
+    public void decreasePriority(E element, double newPriority) {
+        if (element == null)
+            throw new NullPointerException(
+                    "Tentativo di decrementare la priorità di un elemento nullo");
+        if (!this.contains(element))
+            throw new IllegalArgumentException(
+                    "Tentativo di decrementare la priorità di un elemento non presente nella coda");
+        if (newPriority > element.getPriority())
+            throw new IllegalArgumentException(
+                    "Tentativo di aumentare la priorità di un elemento con un decremento");
+        int bucket = this.bucketOf(this.keyOf(newPriority));
+        this.remove(element);
+        element.setPriority(newPriority);
+        this.add(element, bucket);
+    }
+
+    @Override
+    public boolean contains(E element) {
+        int handle = element.getHandle();
+        double priority = element.getPriority();
+        // un elemento della coda ha sempre una priorità valida
+        if (handle < 0 || !(priority >= this.last)
+                || priority >= MAX_PRIORITY)
+            return false;
+        ArrayList<E> bucket = this.buckets.get(this.bucketOf((long) priority));
+        return handle < bucket.size() && bucket.get(handle) == element;
+    }
+
+    @Override
+    public void clear() {
+        for (ArrayList<E> bucket : this.buckets) {
+            for (E element : bucket)
+                element.setHandle(-1);
+            bucket.clear();
+        }
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /*
+     * Controlla che una priorità sia un intero maggiore o uguale all'ultima
+     * priorità estratta e la restituisce come long.
+     */
+    private long keyOf(double priority) {
+        if (!(priority >= this.last) || priority >= MAX_PRIORITY
+                || priority != Math.floor(priority))
+            throw new IllegalArgumentException(
+                    "Tentativo di usare una priorità non intera o minore dell'ultimo minimo estratto");
+        return (long) priority;
+    }
+
+    /*
+     * Restituisce il secchio di una priorità rispetto all'ultima priorità
+     * estratta. Il secchio degli elementi che non vengono ridistribuiti non
+     * cambia quando cambia l'ultima priorità estratta.
+     */
+    private int bucketOf(long key) {
+        if (key == this.last)
+            return 0;
+        return 64 - Long.numberOfLeadingZeros(key ^ this.last);
+    }
+
+    /*
+     * Aggiunge un elemento in fondo a un secchio, aggiornandone l'handle.
+     */
+    private void add(E element, int b) {
+        ArrayList<E> bucket = this.buckets.get(b);
+        bucket.add(element);
+        element.setHandle(bucket.size() - 1);
+    }
+
+    /*
+     * Toglie un elemento presente dal suo secchio, mettendo al suo posto
+     * l'ultimo elemento del secchio.
+     */
+    private void remove(E element) {
+        ArrayList<E> bucket = this.buckets
+                .get(this.bucketOf((long) element.getPriority()));
+        int handle = element.getHandle();
+        E moved = bucket.remove(bucket.size() - 1);
+        if (moved != element) {
+            bucket.set(handle, moved);
+            moved.setHandle(handle);
+        }
+        element.setHandle(-1);
+    }
+}
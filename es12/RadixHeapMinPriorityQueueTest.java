@@ -0,0 +1,106 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe RadixHeapMinPriorityQueue.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class RadixHeapMinPriorityQueueTest {
+
+    @Test
+    final void testInsertExtract() {
+        RadixHeapMinPriorityQueue<GraphNode<String>> q = new RadixHeapMinPriorityQueue<GraphNode<String>>();
+        assertTrue(q.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> q.extractMinimum());
+        assertThrows(NullPointerException.class, () -> q.insert(null));
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setPriority(5);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setPriority(1);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setPriority(3);
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        assertEquals(3, q.size());
+        assertTrue(q.contains(a));
+        assertSame(b, q.extractMinimum());
+        assertFalse(q.contains(b));
+        assertEquals(-1, b.getHandle());
+        // priorità minori dell'ultimo minimo estratto o non intere
+        GraphNode<String> d = new GraphNode<String>("d");
+        d.setPriority(0);
+        assertThrows(IllegalArgumentException.class, () -> q.insert(d));
+        d.setPriority(2.5);
+        assertThrows(IllegalArgumentException.class, () -> q.insert(d));
+        d.setPriority(3);
+        q.insert(d);
+        assertEquals(3.0, q.extractMinimum().getPriority());
+        assertEquals(3.0, q.extractMinimum().getPriority());
+        assertSame(a, q.extractMinimum());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    final void testDecreasePriority() {
+        RadixHeapMinPriorityQueue<GraphNode<String>> q = new RadixHeapMinPriorityQueue<GraphNode<String>>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setPriority(50);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setPriority(10);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setPriority(1000);
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        assertSame(b, q.extractMinimum());
+        q.decreasePriority(c, 20);
+        assertTrue(q.contains(c));
+        assertThrows(IllegalArgumentException.class,
+                () -> q.decreasePriority(a, 60));
+        assertThrows(IllegalArgumentException.class,
+                () -> q.decreasePriority(a, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> q.decreasePriority(b, 5));
+        assertSame(c, q.extractMinimum());
+        assertSame(a, q.extractMinimum());
+        q.clear();
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    final void testMonotoneRandom() {
+        RadixHeapMinPriorityQueue<GraphNode<Integer>> q = new RadixHeapMinPriorityQueue<GraphNode<Integer>>();
+        Random random = new Random(3);
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 1000; i++) {
+            GraphNode<Integer> n = new GraphNode<Integer>(i);
+            n.setPriority(random.nextInt(1 << 20));
+            nodes.add(n);
+            q.insert(n);
+        }
+        long last = -1;
+        while (!q.isEmpty()) {
+            GraphNode<Integer> min = q.extractMinimum();
+            assertTrue(min.getPriority() >= last);
+            last = (long) min.getPriority();
+            // decremento alcune priorità senza scendere sotto il minimo
+            for (int k = 0; k < 3; k++) {
+                GraphNode<Integer> n = nodes.get(random.nextInt(nodes.size()));
+                if (q.contains(n) && n.getPriority() > last)
+                    q.decreasePriority(n, last + random
+                            .nextInt((int) (n.getPriority() - last)));
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+/**
+ * Componenti fortemente connesse di un grafo orientato {@code Graph<L>},
+ * calcolate con l'algoritmo di Tarjan alla creazione dell'oggetto.
+ *
+ * I nodi vengono identificati da interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, come in {@code TraversalState}, e il
+ * risultato è un array che associa ad ogni identificatore di nodo
+ * l'identificatore della sua componente, un intero nell'intervallo
+ * <code>[0, componentCount() - 1]</code>. Le componenti sono numerate
+ * nell'ordine in cui l'algoritmo le completa, che è un ordine topologico
+ * inverso del grafo delle componenti: se c'è un arco da un nodo della
+ * componente c1 a un nodo di una componente diversa c2 allora c2 &lt; c1.
+ *
+ * La visita in profondità dell'algoritmo è iterativa e lavora
+ * sull'istantanea indicizzata delle liste di adiacenza, per cui la profondità
+ * del grafo non è limitata dalla dimensione dello stack delle chiamate e,
+ * costruita l'istantanea, il calcolo usa solo array di interi e non calcola
+ * nessun hash: il costo è O(n + m) in tempo e O(n + m) in spazio. Le modifiche
+ * del grafo successive alla creazione non si riflettono sul risultato.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class StronglyConnectedComponents<L> {
+
+    /*
+     * Indicizzazione del grafo.
+     */
+    private final IndexedAdjacency<L> adjacency;
+
+    /*
+     * Identificatore della componente di ogni nodo.
+     */
+    private final int[] components;
+
+    /*
+     * Numero di componenti trovate.
+     */
+    private int componentCount;
+
+    /**
+     * Calcola le componenti fortemente connesse di un grafo orientato.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                      se il grafo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato non è orientato
+     */
+    public StronglyConnectedComponents(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare le componenti fortemente connesse di un grafo nullo");
+        if (!g.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di calcolare le componenti fortemente connesse di un grafo non orientato");
+        this.adjacency = new IndexedAdjacency<L>(g);
+        this.components = new int[this.adjacency.nodeCount()];
+        this.componentCount = 0;
+        this.tarjan();
+    }
+
+    /*
+     * Algoritmo di Tarjan con la ricorsione sostituita da uno stack esplicito
+     * di nodi aperti, ognuno con il proprio cursore nella lista di adiacenza.
+     * Un nodo già scoperto che non ha ancora una componente si trova nello
+     * stack dei nodi della componente corrente, per cui non serve un array in
+     * più per ricordarlo.
+     */
+    private void tarjan() {
+        int n = this.adjacency.nodeCount();
+        int[] offsets = this.adjacency.offsets;
+        int[] targets = this.adjacency.targets;
+        // tempo di scoperta (-1 per i nodi non scoperti) e minimo tempo
+        // raggiungibile di ogni nodo
+        int[] index = new int[n];
+        int[] low = new int[n];
+        // posizione del prossimo nodo adiacente da esaminare
+        int[] cursor = new int[n];
+        // stack dei nodi aperti e stack dei nodi senza componente
+        int[] open = new int[n];
+        int[] pending = new int[n];
+        int openTop = 0;
+        int pendingTop = 0;
+        int counter = 0;
+        for (int u = 0; u < n; u++) {
+            index[u] = -1;
+            this.components[u] = -1;
+        }
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1)
+                continue;
+            index[s] = counter;
+            low[s] = counter++;
+            cursor[s] = offsets[s];
+            open[openTop++] = s;
+            pending[pendingTop++] = s;
+            while (openTop > 0) {
+                int u = open[openTop - 1];
+                if (cursor[u] < offsets[u + 1]) {
+                    int v = targets[cursor[u]++];
+                    if (index[v] == -1) {
+                        // scopro v e ne inizio la visita
+                        index[v] = counter;
+                        low[v] = counter++;
+                        cursor[v] = offsets[v];
+                        open[openTop++] = v;
+                        pending[pendingTop++] = v;
+                    } else if (this.components[v] == -1 && index[v] < low[u]) {
+                        low[u] = index[v];
+                    }
+                    continue;
+                }
+                // fine della visita di u
+                openTop--;
+                if (low[u] == index[u]) {
+                    // u è la radice di una componente, formata dai nodi
+                    // dello stack fino a u
+                    int w;
+                    do {
+                        w = pending[--pendingTop];
+                        this.components[w] = this.componentCount;
+                    } while (w != u);
+                    this.componentCount++;
+                }
+                if (openTop > 0) {
+                    int parent = open[openTop - 1];
+                    if (low[u] < low[parent])
+                        low[parent] = low[u];
+                }
+            }
+        }
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento del calcolo.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.adjacency.nodeCount();
+    }
+
+    /**
+     * Restituisce il numero di componenti fortemente connesse.
+     *
+     * @return il numero di componenti fortemente connesse
+     */
+    public int componentCount() {
+        return this.componentCount;
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non faceva parte del
+     *         grafo
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public int idOf(GraphNode<L> node) {
+        return this.adjacency.idOf(node);
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public GraphNode<L> getNode(int id) {
+        return this.adjacency.getNode(id);
+    }
+
+    /**
+     * Restituisce la componente di un nodo.
+     *
+     * @param id
+     *               l'identificatore del nodo
+     * @return l'identificatore della componente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getComponent(int id) {
+        return this.components[id];
+    }
+
+    /**
+     * Restituisce la componente di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore della componente del nodo
+     * @throws NullPointerException
+     *                                      se il nodo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il nodo non faceva parte del
+     *                                      grafo
+     */
+    public int getComponentOf(GraphNode<L> node) {
+        int id = this.idOf(node);
+        if (id == -1)
+            throw new IllegalArgumentException(
+                    "Richiesta della componente di un nodo non esistente");
+        return this.components[id];
+    }
+
+    /**
+     * Restituisce le componenti di tutti i nodi.
+     *
+     * @return un nuovo array che in posizione i contiene l'identificatore
+     *         della componente del nodo con identificatore i
+     */
+    public int[] getComponents() {
+        return this.components.clone();
+    }
+}
@@ -0,0 +1,111 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class StronglyConnectedComponentsTest {
+
+    /*
+     * Insieme dei nodi raggiungibili da un nodo, calcolato con una visita
+     * sul grafo.
+     */
+    private static Set<GraphNode<Integer>> reachable(Graph<Integer> g,
+            GraphNode<Integer> s) {
+        Set<GraphNode<Integer>> result = new HashSet<GraphNode<Integer>>();
+        List<GraphNode<Integer>> toVisit = new ArrayList<GraphNode<Integer>>();
+        result.add(s);
+        toVisit.add(s);
+        while (!toVisit.isEmpty())
+            for (GraphNode<Integer> v : g
+                    .getAdjacentNodesOf(toVisit.remove(toVisit.size() - 1)))
+                if (result.add(v))
+                    toVisit.add(v);
+        return result;
+    }
+
+    @Test
+    final void testComponentsLikeReachability() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        int n = 60;
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        Random random = new Random(3);
+        for (int k = 0; k < 80; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), true));
+        StronglyConnectedComponents<Integer> scc = new StronglyConnectedComponents<Integer>(
+                g);
+        assertEquals(n, scc.nodeCount());
+        List<Set<GraphNode<Integer>>> reach = new ArrayList<Set<GraphNode<Integer>>>();
+        for (int i = 0; i < n; i++)
+            reach.add(reachable(g, nodes.get(i)));
+        Set<Integer> ids = new HashSet<Integer>();
+        for (int i = 0; i < n; i++) {
+            int ci = scc.getComponentOf(nodes.get(i));
+            ids.add(ci);
+            for (int j = 0; j < n; j++) {
+                boolean same = reach.get(i).contains(nodes.get(j))
+                        && reach.get(j).contains(nodes.get(i));
+                assertEquals(same, ci == scc.getComponentOf(nodes.get(j)));
+            }
+        }
+        assertEquals(scc.componentCount(), ids.size());
+        // le componenti sono in ordine topologico inverso
+        for (GraphEdge<Integer> e : g.getEdges())
+            assertTrue(scc.getComponentOf(e.getNode2()) <= scc
+                    .getComponentOf(e.getNode1()));
+        int[] components = scc.getComponents();
+        for (int id = 0; id < n; id++)
+            assertEquals(scc.getComponentOf(scc.getNode(id)), components[id]);
+    }
+
+    @Test
+    final void testComponentsDeepCycle() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        int n = 200000;
+        GraphNode<Integer> first = new GraphNode<Integer>(0);
+        g.addNode(first);
+        GraphNode<Integer> last = first;
+        for (int i = 1; i < n; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        StronglyConnectedComponents<Integer> path = new StronglyConnectedComponents<Integer>(
+                g);
+        assertEquals(n, path.componentCount());
+        g.addEdge(new GraphEdge<Integer>(last, first, true));
+        StronglyConnectedComponents<Integer> cycle = new StronglyConnectedComponents<Integer>(
+                g);
+        assertEquals(1, cycle.componentCount());
+    }
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> new StronglyConnectedComponents<String>(null));
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        StronglyConnectedComponents<String> scc = new StronglyConnectedComponents<String>(
+                g);
+        assertEquals(0, scc.getComponentOf(ns));
+        assertEquals(-1, scc.idOf(new GraphNode<String>("u")));
+        assertThrows(NullPointerException.class, () -> scc.idOf(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> scc.getComponentOf(new GraphNode<String>("u")));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> scc.getComponent(1));
+    }
+}
@@ -0,0 +1,164 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.Arrays;
+
+/**
+ * Ordinamento topologico di un grafo orientato {@code Graph<L>}. L'ordine si
+ * può calcolare con l'algoritmo di Kahn, che toglie ripetutamente i nodi
+ * senza archi entranti, o con una visita in profondità, ordinando i nodi per
+ * tempo di fine visita decrescente; i due metodi danno in generale ordini
+ * diversi, entrambi validi.
+ *
+ * I nodi vengono identificati da interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, come in {@code TraversalState}, e un
+ * ordine è un array che contiene gli identificatori dei nodi nell'ordine
+ * topologico. Il grafo viene indicizzato una volta sola, alla creazione
+ * dell'oggetto, e i calcoli successivi usano solo array di interi: ognuno
+ * costa O(n + m) e non usa la ricorsione. Le modifiche del grafo successive
+ * alla creazione non si riflettono sul risultato.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class TopologicalSort<L> {
+
+    /*
+     * Indicizzazione del grafo.
+     */
+    private final IndexedAdjacency<L> adjacency;
+
+    /**
+     * Prepara l'ordinamento topologico di un grafo orientato.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                      se il grafo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato non è orientato
+     */
+    public TopologicalSort(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di ordinare topologicamente un grafo nullo");
+        if (!g.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di ordinare topologicamente un grafo non orientato");
+        this.adjacency = new IndexedAdjacency<L>(g);
+    }
+
+    /**
+     * Calcola un ordinamento topologico con l'algoritmo di Kahn.
+     *
+     * @return un nuovo array con gli identificatori dei nodi in ordine
+     *         topologico, oppure null se il grafo contiene un ciclo
+     */
+    public int[] kahnOrder() {
+        int n = this.adjacency.nodeCount();
+        int[] offsets = this.adjacency.offsets;
+        int[] targets = this.adjacency.targets;
+        // numero di archi entranti non ancora tolti di ogni nodo
+        int[] inDegree = new int[n];
+        for (int k = 0; k < targets.length; k++)
+            inDegree[targets[k]]++;
+        // l'array risultato fa anche da coda dei nodi senza archi entranti
+        int[] order = new int[n];
+        int tail = 0;
+        for (int u = 0; u < n; u++)
+            if (inDegree[u] == 0)
+                order[tail++] = u;
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int k = offsets[u]; k < offsets[u + 1]; k++)
+                if (--inDegree[targets[k]] == 0)
+                    order[tail++] = targets[k];
+        }
+        // i nodi di un ciclo non perdono mai tutti gli archi entranti
+        return tail == n ? order : null;
+    }
+
+    /**
+     * Calcola un ordinamento topologico con una visita in profondità
+     * iterativa: i nodi vengono inseriti nell'ordine, a partire dal fondo,
+     * quando la loro visita termina.
+     *
+     * @return un nuovo array con gli identificatori dei nodi in ordine
+     *         topologico, oppure null se il grafo contiene un ciclo
+     */
+    public int[] dfsOrder() {
+        int n = this.adjacency.nodeCount();
+        int[] offsets = this.adjacency.offsets;
+        int[] targets = this.adjacency.targets;
+        byte[] color = new byte[n];
+        int[] cursor = new int[n];
+        int[] open = new int[n];
+        int[] order = new int[n];
+        int last = n;
+        Arrays.fill(color, (byte) GraphNode.COLOR_WHITE);
+        for (int s = 0; s < n; s++) {
+            if (color[s] != GraphNode.COLOR_WHITE)
+                continue;
+            int top = 0;
+            color[s] = (byte) GraphNode.COLOR_GREY;
+            cursor[s] = offsets[s];
+            open[top++] = s;
+            while (top > 0) {
+                int u = open[top - 1];
+                if (cursor[u] < offsets[u + 1]) {
+                    int v = targets[cursor[u]++];
+                    if (color[v] == GraphNode.COLOR_WHITE) {
+                        color[v] = (byte) GraphNode.COLOR_GREY;
+                        cursor[v] = offsets[v];
+                        open[top++] = v;
+                    } else if (color[v] == GraphNode.COLOR_GREY) {
+                        // arco all'indietro: il grafo contiene un ciclo
+                        return null;
+                    }
+                    continue;
+                }
+                top--;
+                color[u] = (byte) GraphNode.COLOR_BLACK;
+                order[--last] = u;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento dell'indicizzazione.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.adjacency.nodeCount();
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non faceva parte del
+     *         grafo
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public int idOf(GraphNode<L> node) {
+        return this.adjacency.idOf(node);
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public GraphNode<L> getNode(int id) {
+        return this.adjacency.getNode(id);
+    }
+}
@@ -0,0 +1,96 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TopologicalSortTest {
+
+    /*
+     * Controlla che un ordine contenga tutti i nodi una volta sola e che ogni
+     * arco vada da un nodo a uno successivo nell'ordine.
+     */
+    private static void assertTopological(Graph<Integer> g,
+            TopologicalSort<Integer> sort, int[] order) {
+        assertEquals(g.nodeCount(), order.length);
+        int[] position = new int[order.length];
+        Arrays.fill(position, -1);
+        for (int k = 0; k < order.length; k++) {
+            assertEquals(-1, position[order[k]]);
+            position[order[k]] = k;
+        }
+        for (GraphEdge<Integer> e : g.getEdges())
+            assertTrue(position[sort.idOf(e.getNode1())] < position[sort
+                    .idOf(e.getNode2())]);
+    }
+
+    @Test
+    final void testOrdersOfRandomDag() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        int n = 500;
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        // archi solo da etichette minori a etichette maggiori
+        Random random = new Random(11);
+        for (int k = 0; k < 3000; k++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a != b)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(Math.min(a, b)),
+                        nodes.get(Math.max(a, b)), true));
+        }
+        TopologicalSort<Integer> sort = new TopologicalSort<Integer>(g);
+        assertTopological(g, sort, sort.kahnOrder());
+        assertTopological(g, sort, sort.dfsOrder());
+    }
+
+    @Test
+    final void testOrdersWithCycle() {
+        Graph<Integer> g = new MapAdjacentListDirectedGraph<Integer>();
+        int n = 200000;
+        GraphNode<Integer> first = new GraphNode<Integer>(0);
+        g.addNode(first);
+        GraphNode<Integer> last = first;
+        for (int i = 1; i < n; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            g.addNode(node);
+            g.addEdge(new GraphEdge<Integer>(last, node, true));
+            last = node;
+        }
+        TopologicalSort<Integer> path = new TopologicalSort<Integer>(g);
+        int[] order = path.dfsOrder();
+        for (int k = 0; k < n; k++)
+            assertEquals(Integer.valueOf(k), path.getNode(order[k]).getLabel());
+        assertArrayEquals(order, path.kahnOrder());
+        g.addEdge(new GraphEdge<Integer>(last, first, true));
+        TopologicalSort<Integer> cycle = new TopologicalSort<Integer>(g);
+        assertNull(cycle.kahnOrder());
+        assertNull(cycle.dfsOrder());
+        // anche un cappio è un ciclo
+        Graph<Integer> loop = new MapAdjacentListDirectedGraph<Integer>();
+        loop.addNode(first);
+        loop.addEdge(new GraphEdge<Integer>(first, first, true));
+        assertNull(new TopologicalSort<Integer>(loop).kahnOrder());
+        assertNull(new TopologicalSort<Integer>(loop).dfsOrder());
+    }
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> new TopologicalSort<String>(null));
+        TopologicalSort<String> sort = new TopologicalSort<String>(
+                new MapAdjacentListDirectedGraph<String>());
+        assertEquals(0, sort.kahnOrder().length);
+        assertEquals(0, sort.dfsOrder().length);
+        assertThrows(NullPointerException.class, () -> sort.idOf(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> sort.getNode(0));
+    }
+}
@@ -0,0 +1,298 @@
+package it.unicam.cs.asdl2122.es12sol;
+
+import java.util.Arrays;
+
+/**
+ * Stato di una singola esecuzione di una visita su un grafo
+ * {@code Graph<L>}. Colore, distanza intera, distanza in virgola mobile,
+ * predecessore e tempi di scoperta e di fine visita di ogni nodo sono
+ * memorizzati in array di primitivi indicizzati dall'identificatore del nodo,
+ * invece che nei campi dei nodi: in questo modo più visite, ognuna con il
+ * proprio stato, possono essere eseguite contemporaneamente sullo stesso grafo,
+ * che viene solo letto, e i nodi non devono portarsi dietro lo spazio per
+ * queste informazioni quando non c'è nessuna visita in corso.
+ *
+ * Gli identificatori dei nodi sono interi densi nell'intervallo
+ * <code>[0, nodeCount() - 1]</code>, assegnati alla creazione dello stato
+ * indicizzando il grafo; lo stato fa riferimento al grafo così come era in quel
+ * momento. Per eseguire molte visite sullo stesso grafo conviene indicizzarlo
+ * una volta sola e creare gli altri stati a partire dal primo, con il
+ * costruttore di copia, che condivide l'indicizzazione.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public final class TraversalState<L> {
+
+    /*
+     * Il grafo a cui si riferisce lo stato.
+     */
+    private final Graph<L> graph;
+
+    /*
+     * Indicizzazione del grafo, condivisa tra gli stati creati per copia.
+     */
+    final IndexedAdjacency<L> adjacency;
+
+    private final byte[] color;
+
+    private final int[] integerDistance;
+
+    private final double[] floatingPointDistance;
+
+    /*
+     * Identificatore del predecessore di ogni nodo, -1 se non c'è.
+     */
+    private final int[] previous;
+
+    private final int[] enteringTime;
+
+    private final int[] exitingTime;
+
+    /*
+     * Tempo globale della DFS che usa questo stato.
+     */
+    int time;
+
+    /**
+     * Crea lo stato iniziale di una visita su un grafo, indicizzandone i nodi.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    public TraversalState(Graph<L> g) {
+        this(g, new IndexedAdjacency<L>(g));
+    }
+
+    /**
+     * Crea lo stato iniziale di una nuova visita sullo stesso grafo di un
+     * altro stato, condividendone l'indicizzazione. I valori dei nodi
+     * nell'altro stato non vengono copiati.
+     *
+     * @param other
+     *                  lo stato di cui riusare grafo e indicizzazione
+     * @throws NullPointerException
+     *                                  se lo stato passato è nullo
+     */
+    public TraversalState(TraversalState<L> other) {
+        this(other.graph, other.adjacency);
+    }
+
+    /*
+     * Crea gli array dello stato e li inizializza.
+     */
+    private TraversalState(Graph<L> g, IndexedAdjacency<L> adjacency) {
+        this.graph = g;
+        this.adjacency = adjacency;
+        int n = adjacency.nodeCount();
+        this.color = new byte[n];
+        this.integerDistance = new int[n];
+        this.floatingPointDistance = new double[n];
+        this.previous = new int[n];
+        this.enteringTime = new int[n];
+        this.exitingTime = new int[n];
+        this.reset();
+    }
+
+    /**
+     * Riporta tutti i nodi allo stato iniziale: colore bianco, distanza intera
+     * -1, distanza in virgola mobile infinita, nessun predecessore e tempi -1.
+     */
+    public void reset() {
+        Arrays.fill(this.color, (byte) GraphNode.COLOR_WHITE);
+        Arrays.fill(this.integerDistance, -1);
+        Arrays.fill(this.floatingPointDistance, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.previous, -1);
+        Arrays.fill(this.enteringTime, -1);
+        Arrays.fill(this.exitingTime, -1);
+        this.time = 0;
+    }
+
+    /**
+     * Restituisce il grafo a cui si riferisce questo stato.
+     *
+     * @return il grafo a cui si riferisce questo stato
+     */
+    public Graph<L> getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento della sua
+     * indicizzazione.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.adjacency.nodeCount();
+    }
+
+    /**
+     * Restituisce l'identificatore di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'identificatore del nodo, -1 se il nodo non fa parte del grafo
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public int idOf(GraphNode<L> node) {
+        return this.adjacency.idOf(node);
+    }
+
+    /**
+     * Restituisce il nodo con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return il nodo con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public GraphNode<L> getNode(int id) {
+        return this.adjacency.getNode(id);
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return il colore corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getColor(int id) {
+        return this.color[id];
+    }
+
+    /**
+     * @param id
+     *                  l'identificatore di un nodo
+     * @param color
+     *                  il nuovo colore del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setColor(int id, int color) {
+        this.color[id] = (byte) color;
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return la distanza intera corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getIntegerDistance(int id) {
+        return this.integerDistance[id];
+    }
+
+    /**
+     * @param id
+     *                     l'identificatore di un nodo
+     * @param distance
+     *                     la nuova distanza intera del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setIntegerDistance(int id, int distance) {
+        this.integerDistance[id] = distance;
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return la distanza in virgola mobile corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public double getFloatingPointDistance(int id) {
+        return this.floatingPointDistance[id];
+    }
+
+    /**
+     * @param id
+     *                     l'identificatore di un nodo
+     * @param distance
+     *                     la nuova distanza in virgola mobile del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setFloatingPointDistance(int id, double distance) {
+        this.floatingPointDistance[id] = distance;
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return l'identificatore del predecessore del nodo, -1 se non c'è
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getPrevious(int id) {
+        return this.previous[id];
+    }
+
+    /**
+     * @param id
+     *                     l'identificatore di un nodo
+     * @param previous
+     *                     l'identificatore del nuovo predecessore del nodo, -1
+     *                     per nessun predecessore
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setPrevious(int id, int previous) {
+        this.previous[id] = previous;
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return il tempo di scoperta del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getEnteringTime(int id) {
+        return this.enteringTime[id];
+    }
+
+    /**
+     * @param id
+     *                 l'identificatore di un nodo
+     * @param time
+     *                 il nuovo tempo di scoperta del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setEnteringTime(int id, int time) {
+        this.enteringTime[id] = time;
+    }
+
+    /**
+     * @param id
+     *               l'identificatore di un nodo
+     * @return il tempo di fine visita del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int getExitingTime(int id) {
+        return this.exitingTime[id];
+    }
+
+    /**
+     * @param id
+     *                 l'identificatore di un nodo
+     * @param time
+     *                 il nuovo tempo di fine visita del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public void setExitingTime(int id, int time) {
+        this.exitingTime[id] = time;
+    }
+}
@@ -23,6 +23,14 @@ import java.util.Set;
  * eccede quello di default la tabella viene raddoppiata e viene fatto un
  * riposizionamento di tutti gli elementi.
  * 
+ * Se la tabella viene creata in modalità di resize incrementale, il
+ * riposizionamento non avviene tutto insieme: la vecchia tabella viene
+ * mantenuta accanto a quella nuova e ogni inserimento o cancellazione
+ * successivi spostano nella nuova tabella al più un numero fissato di liste di
+ * collisione della vecchia (MIGRATION_STEP), per cui nessuna singola
+ * operazione paga il costo dell'intero riposizionamento. Finché lo
+ * spostamento non è terminato, le ricerche guardano in entrambe le tabelle.
+ * 
  * @author Luca Tesei
  *
  */
@@ -39,6 +47,14 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
      */
     private static final double LOAD_FACTOR = 0.75;
 
+    /*
+     * Numero di liste di collisione della vecchia tabella spostate nella nuova
+     * ad ogni inserimento o cancellazione durante un resize incrementale. Con
+     * almeno una lista per operazione lo spostamento termina sempre prima che
+     * la nuova tabella raggiunga la sua soglia.
+     */
+    private static final int MIGRATION_STEP = 4;
+
     /*
      * Numero di elementi effettivamente presenti nella hash table in questo
      * momento. ATTENZIONE: questo valore è diverso dalla capacity, che è la
@@ -82,6 +98,24 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
      */
     private final PrimaryHashFunction phf;
 
+    /*
+     * Indica se la tabella fa il resize in modo incrementale.
+     */
+    private final boolean incrementalResize;
+
+    /*
+     * Durante un resize incrementale, la tabella precedente con le liste di
+     * collisione non ancora spostate nella tabella corrente; null in tutti gli
+     * altri casi. Un elemento si trova sempre in una sola delle due tabelle.
+     */
+    private Object[] oldTable;
+
+    /*
+     * Durante un resize incrementale, la prima posizione di oldTable la cui
+     * lista di collisione non è ancora stata spostata.
+     */
+    private int migrated;
+
     /*
      * Contatore del numero di modifiche. Serve per rendere l'iterator
      * fail-fast.
@@ -109,8 +143,28 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
      * caricamento di default.
      */
     public CollisionListResizableHashTable(PrimaryHashFunction phf) {
+        this(phf, false);
+    }
+
+    /**
+     * Costruisce una Hash Table con capacità iniziale di default e fattore di
+     * caricamento di default, scegliendo se fare il resize tutto insieme o in
+     * modo incrementale.
+     * 
+     * @param phf
+     *                              la funzione di hash primaria da usare
+     * @param incrementalResize
+     *                              true se il riposizionamento degli elementi
+     *                              dopo un resize deve essere distribuito sulle
+     *                              operazioni successive
+     */
+    public CollisionListResizableHashTable(PrimaryHashFunction phf,
+            boolean incrementalResize) {
         this.phf = phf;
+        this.incrementalResize = incrementalResize;
         this.table = new Object[INITIAL_CAPACITY];
+        this.oldTable = null;
+        this.migrated = 0;
         this.size = 0;
         this.modCount = 0;
     }
@@ -143,12 +197,25 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
                     "Ricerca di elemento null in un set che non accetta null");
         // Determino la posizione in cui si dovrebbe trovare l'oggetto
         int pos = this.phf.hash(o.hashCode(), this.getCurrentCapacity());
-        if (this.table[pos] == null)
+        if (containsElementInTable(this.table, pos, o))
+            return true;
+        // durante un resize incrementale l'oggetto potrebbe essere ancora
+        // nella vecchia tabella
+        return this.oldTable != null && containsElementInTable(this.oldTable,
+                this.phf.hash(o.hashCode(), this.oldTable.length), o);
+    }
+
+    /*
+     * Cerca un elemento nella lista di collisioni della posizione indicata di
+     * una tabella
+     */
+    private boolean containsElementInTable(Object[] table, int pos, Object o) {
+        if (table[pos] == null)
             // l'oggetto non è presente poiché la lista di collisioni è null
             return false;
         // Cerco se l'oggetto è presente nella lista di collisioni
         @SuppressWarnings("unchecked")
-        Node<E> list = (Node<E>) this.table[pos];
+        Node<E> list = (Node<E>) table[pos];
         do {
             // controllo l'elemento corrente attraverso il metodo equals
             // chiamato su o, cfr. API
@@ -200,13 +267,19 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
         // altrimenti non faccio niente
         // Determino la posizione in cui si dovrebbe trovare l'oggetto
         int pos = this.phf.hash(e.hashCode(), this.getCurrentCapacity());
+        // durante un resize incrementale l'elemento potrebbe essere ancora
+        // nella vecchia tabella
+        if (this.oldTable != null && containsElementInTable(this.oldTable,
+                this.phf.hash(e.hashCode(), this.oldTable.length), e))
+            return false;
         // Provo a inserire l'elemento
         boolean inserted = insertElementInTable(this.table, pos, e);
         if (!inserted)
             return false;
-        // Aggiorno size e modCount
+        // Aggiorno size e modCount e proseguo l'eventuale resize incrementale
         this.modCount++;
         this.size++;
+        this.migrateBuckets();
         // Controllo resize
         if (this.size > this.getCurrentThreshold())
             resize();
@@ -248,8 +321,18 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
      * chiamare quando this.size diventa maggiore di getCurrentThreshold()
      */
     private void resize() {
+        // Termino l'eventuale resize incrementale precedente
+        while (this.oldTable != null)
+            this.migrateBuckets();
         // Creo la nuova tabella
         Object[] newTable = new Object[this.getCurrentCapacity() * 2];
+        if (this.incrementalResize) {
+            // gli elementi verranno spostati dalle operazioni successive
+            this.oldTable = this.table;
+            this.migrated = 0;
+            this.table = newTable;
+            return;
+        }
         // Scorro tutti gli elementi attualmente presenti e li inserisco nella
         // nuova tabella
         Iterator<E> iter = this.iterator();
@@ -265,6 +348,40 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
         this.table = newTable;
     }
 
+    /*
+     * Sposta nella tabella corrente le prossime MIGRATION_STEP liste di
+     * collisione della vecchia tabella, se è in corso un resize incrementale.
+     * I nodi vengono ricollegati nelle liste della nuova tabella senza crearne
+     * di nuovi. Da chiamare solo quando modCount viene incrementato, perché
+     * sposta gli elementi sotto gli iteratori aperti.
+     */
+    private void migrateBuckets() {
+        if (this.oldTable == null)
+            return;
+        int last = Math.min(this.migrated + MIGRATION_STEP,
+                this.oldTable.length);
+        for (; this.migrated < last; this.migrated++) {
+            @SuppressWarnings("unchecked")
+            Node<E> list = (Node<E>) this.oldTable[this.migrated];
+            this.oldTable[this.migrated] = null;
+            while (list != null) {
+                Node<E> next = list.next;
+                int pos = this.phf.hash(list.item.hashCode(),
+                        this.getCurrentCapacity());
+                @SuppressWarnings("unchecked")
+                Node<E> head = (Node<E>) this.table[pos];
+                list.next = head;
+                this.table[pos] = list;
+                list = next;
+            }
+        }
+        if (this.migrated == this.oldTable.length) {
+            // spostamento terminato
+            this.oldTable = null;
+            this.migrated = 0;
+        }
+    }
+
     @Override
     public boolean remove(Object o) {
         /*
@@ -289,14 +406,35 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
         // altrimenti non faccio niente
         // Determino la posizione in cui si dovrebbe trovare l'oggetto
         int pos = this.phf.hash(o.hashCode(), this.getCurrentCapacity());
-        if (this.table[pos] == null) {
+        // durante un resize incrementale l'oggetto potrebbe essere ancora
+        // nella vecchia tabella
+        boolean removed = removeElementFromTable(this.table, pos, o)
+                || this.oldTable != null && removeElementFromTable(
+                        this.oldTable,
+                        this.phf.hash(o.hashCode(), this.oldTable.length), o);
+        if (!removed)
+            return false;
+        // aggiorno la size e il modCount, proseguo l'eventuale resize
+        // incrementale e ritorno
+        this.modCount++;
+        this.size--;
+        this.migrateBuckets();
+        return true;
+    }
+
+    /*
+     * Cancella un elemento dalla lista di collisioni della posizione indicata
+     * di una tabella, se è presente
+     */
+    private boolean removeElementFromTable(Object[] table, int pos, Object o) {
+        if (table[pos] == null) {
             // l'oggetto non è presente, ritorno
             return false;
         }
         // vado alla ricerca dell'oggetto nella lista di collisioni
         @SuppressWarnings("unchecked")
         Node<E> previous = null;
-        Node<E> list = (Node<E>) this.table[pos];
+        Node<E> list = (Node<E>) table[pos];
         do {
             // controllo l'elemento corrente attraverso il metodo equals
             // chiamato su o, cfr. API
@@ -304,14 +442,11 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
                 // l'oggetto è presente, quindi lo cancello dalla lista
                 if (previous == null) {
                     // l'elemento da togliere è in testa
-                    this.table[pos] = list.next;
+                    table[pos] = list.next;
                 } else {
                     // l'elemento non è in testa
                     previous.next = list.next;
                 }
-                // aggiorno la size e il modCount e ritorno
-                this.modCount++;
-                this.size--;
                 return true;
             }
             // altrimenti vado avanti nella lista di collisioni
@@ -391,6 +526,8 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
     public void clear() {
         // Ritorno alla situazione iniziale
         this.table = new Object[INITIAL_CAPACITY];
+        this.oldTable = null;
+        this.migrated = 0;
         this.size = 0;
         this.modCount = 0;
     }
@@ -427,25 +564,37 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
 
         private Node<E> lastNode;
 
+        /*
+         * La tabella che si sta scorrendo: prima quella corrente e poi,
+         * durante un resize incrementale, la vecchia tabella.
+         */
+        private Object[] buckets;
+
         private final int numeroModificheAtteso;
 
         private Itr() {
             this.numeroModificheAtteso = modCount;
             this.currentPos = 0;
             this.lastNode = null;
+            this.buckets = table;
         }
 
         @Override
         public boolean hasNext() {
             // ricerco la prima posizione esistente non null, se c'è. Potrebbe
             // essere la posizine corrente currentPos
-            if (currentPos == table.length)
-                return false;
-            while (currentPos < table.length && table[currentPos] == null)
+            while (currentPos < buckets.length && buckets[currentPos] == null)
                 currentPos++;
-            if (currentPos == table.length)
-                return false;
-            // table[currentPos] != null
+            if (currentPos == buckets.length) {
+                if (buckets == oldTable || oldTable == null)
+                    return false;
+                // passo alla vecchia tabella
+                buckets = oldTable;
+                currentPos = 0;
+                lastNode = null;
+                return hasNext();
+            }
+            // buckets[currentPos] != null
             if (lastNode == null)
                 // non ho ancora fatto il next del primo elemento della lista di
                 // collisioni corrente
@@ -479,7 +628,7 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
             if (lastNode == null) {
                 // prendo il primo elemento della lista di collisioni corrente
                 @SuppressWarnings("unchecked")
-                Node<E> node = (Node<E>) table[currentPos];
+                Node<E> node = (Node<E>) buckets[currentPos];
                 toReturn = node.item;
                 lastNode = node;
             } else {
@@ -507,4 +656,11 @@ public class CollisionListResizableHashTable<E> implements Set<E> {
         return this.phf;
     }
 
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected Object[] getOldTable() {
+        return this.oldTable;
+    }
+
 }
@@ -4,8 +4,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
@@ -505,4 +507,132 @@ class CollisionListResizableHashTableTest {
         assertFalse(hasThrown);
     }
 
+    @Test
+    void divisionHash_testIncrementalResize() {
+        CollisionListResizableHashTable<Integer> table = new CollisionListResizableHashTable<>(
+                divisionHash, true);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        table.addAll(Arrays.asList(vals));
+        assertNull(table.getOldTable());
+        table.add(13);
+        // la nuova tabella è già in uso ma la vecchia non è ancora vuota
+        assertEquals(32, table.getTable().length);
+        assertNotNull(table.getOldTable());
+        assertTrue(table.containsAll(Arrays.asList(vals)));
+        assertTrue(table.contains(13));
+        assertFalse(table.add(1));
+        // ogni elemento viene restituito una sola volta dall'iteratore
+        Set<Integer> iterated = new HashSet<>();
+        for (Integer val : table)
+            assertTrue(iterated.add(val));
+        assertEquals(13, iterated.size());
+        // tolgo un elemento che è ancora nella vecchia tabella
+        assertTrue(table.remove(12));
+        assertFalse(table.contains(12));
+        // bastano poche altre operazioni per finire lo spostamento
+        table.add(14);
+        table.add(15);
+        assertNotNull(table.getOldTable());
+        table.add(16);
+        assertNull(table.getOldTable());
+        assertEquals(15, table.size());
+        assertTrue(table.containsAll(Arrays.asList(1, 2, 11, 13, 14, 15, 16)));
+    }
+
+    @Test
+    void divisionHash_testRemoveDuringMigration() {
+        CollisionListResizableHashTable<Integer> table = new CollisionListResizableHashTable<>(
+                divisionHash, true);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13 };
+        table.addAll(Arrays.asList(vals));
+        // nessuna lista è ancora stata spostata
+        Object[] oldTable = table.getOldTable();
+        assertNotNull(oldTable);
+        assertNotNull(oldTable[2]);
+        // tolgo un elemento ancora nella vecchia tabella; l'operazione sposta
+        // poi le liste 0-3
+        assertTrue(table.remove(2));
+        assertNull(oldTable[1]);
+        assertNull(oldTable[3]);
+        assertNotNull(oldTable[4]);
+        // tolgo un elemento già spostato nella nuova tabella
+        assertTrue(table.remove(1));
+        assertSame(oldTable, table.getOldTable());
+        // una cancellazione senza effetto non fa avanzare lo spostamento
+        assertFalse(table.remove(2));
+        assertFalse(table.remove(1));
+        assertNotNull(oldTable[8]);
+        // l'elemento 10 è nella lista 10, non ancora spostata
+        assertTrue(table.remove(10));
+        assertFalse(table.contains(10));
+        assertSame(oldTable, table.getOldTable());
+        Set<Integer> iterated = new HashSet<>();
+        for (Integer val : table)
+            assertTrue(iterated.add(val));
+        assertEquals(Set.of(3, 4, 5, 6, 7, 8, 9, 11, 12, 13), iterated);
+        assertEquals(10, table.size());
+        // la quarta operazione riuscita sposta le liste 12-15
+        assertTrue(table.remove(13));
+        assertNull(table.getOldTable());
+        assertEquals(9, table.size());
+        assertTrue(table
+                .containsAll(Arrays.asList(3, 4, 5, 6, 7, 8, 9, 11, 12)));
+        for (int val : new int[] { 1, 2, 10, 13 })
+            assertFalse(table.contains(val));
+    }
+
+    /*
+     * Fa crescere una tabella con resize incrementale alternando inserimenti e
+     * cancellazioni e controlla che ogni resize trovi terminato lo spostamento
+     * precedente: resize() raddoppia sempre la tabella corrente e la vecchia
+     * tabella da svuotare è sempre quella appena sostituita.
+     */
+    private void resizeAfterMigration(PrimaryHashFunction phf) {
+        CollisionListResizableHashTable<Integer> table = new CollisionListResizableHashTable<>(
+                phf, true);
+        Set<Integer> expected = new HashSet<>();
+        for (int val = 0; val < 20000; val++) {
+            Object[] before = table.getTable();
+            boolean resizing = table.size() + 1 > 0.75 * before.length;
+            if (resizing)
+                // l'inserimento supererà la soglia
+                assertNull(table.getOldTable());
+            assertEquals(expected.add(val), table.add(val));
+            if (resizing) {
+                assertEquals(2 * before.length, table.getTable().length);
+                assertSame(before, table.getOldTable());
+            }
+            // ogni tanto tolgo un elemento, anche ancora nella vecchia tabella
+            if (val % 3 == 0) {
+                assertEquals(expected.remove(val / 2), table.remove(val / 2));
+                assertFalse(table.contains(val / 2));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        assertEquals(expected.size(), table.size());
+        assertTrue(table.containsAll(expected));
+    }
+
+    @Test
+    void divisionHash_testResizeAfterMigration() {
+        resizeAfterMigration(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testResizeAfterMigration() {
+        resizeAfterMigration(multiplicationHash);
+    }
+
+    @Test
+    void divisionHash_testIncrementalRandomOperations() {
+        RandomSetOperations.check(new CollisionListResizableHashTable<Integer>(
+                divisionHash, true));
+    }
+
+    @Test
+    void multiplicationHash_testIncrementalRandomOperations() {
+        RandomSetOperations.check(new CollisionListResizableHashTable<Integer>(
+                multiplicationHash, true));
+    }
+
 }
@@ -0,0 +1,504 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Realizza un insieme che può essere usato contemporaneamente da più thread
+ * tramite una tabella hash con liste di collisione, come
+ * {@code CollisionListResizableHashTable}. La funzione di hash primario deve
+ * essere passata come parametro nel costruttore, deve implementare
+ * l'interfaccia PrimaryHashFunction e non deve avere stato modificabile.
+ *
+ * Le ricerche non usano lock: i nodi delle liste di collisione non vengono
+ * mai modificati dopo la creazione (una cancellazione ricrea i nodi che
+ * precedono quello tolto) e le posizioni della tabella vengono lette e scritte
+ * con la semantica dei volatile, per cui una ricerca vede sempre una lista
+ * consistente. Gli inserimenti e le cancellazioni acquisiscono solo il lock
+ * della striscia di posizioni a cui appartiene la lista interessata (la
+ * posizione modulo STRIPES), quindi thread che modificano liste di strisce
+ * diverse non si ostacolano.
+ *
+ * Il resize è cooperativo: il thread che supera la soglia acquisisce per un
+ * istante tutti i lock, pubblica il trasferimento e li rilascia; da quel
+ * momento la vecchia tabella non viene più modificata e le ricerche continuano
+ * a usarla, mentre ogni thread che vuole modificare l'insieme, invece di
+ * attendere, prenota gruppi di posizioni della vecchia tabella e ne copia le
+ * liste nella nuova. Il thread che copia l'ultimo gruppo sostituisce la
+ * tabella e i thread in attesa ripetono la loro operazione su quella nuova.
+ *
+ * La tabella non accetta elementi duplicati (individuati tramite il metodo
+ * equals() che si assume sia opportunamente ridefinito nella classe E) e non
+ * accetta elementi null. Gli iteratori sono debolmente consistenti: non
+ * lanciano mai ConcurrentModificationException e restituiscono gli elementi
+ * presenti nella tabella in uso alla loro creazione, riflettendo o meno le
+ * modifiche successive.
+ *
+ * La tabella ha una dimensione iniziale di default (16) e un fattore di
+ * caricamento di default (0.75). Quando il fattore di bilanciamento effettivo
+ * eccede quello di default la tabella viene raddoppiata.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class ConcurrentStripedHashTable<E> implements Set<E> {
+
+    /*
+     * La capacità iniziale. E' una potenza di due e quindi la capacità sarà
+     * sempre una potenza di due, in quanto ogni resize raddoppia la tabella.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * Fattore di bilanciamento di default.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /*
+     * Numero di lock. Non supera la capacità iniziale, quindi ogni striscia
+     * contiene almeno una posizione della tabella.
+     */
+    private static final int STRIPES = 16;
+
+    /*
+     * Numero di posizioni della vecchia tabella che un thread prenota ogni
+     * volta durante un resize.
+     */
+    private static final int TRANSFER_CHUNK = 64;
+
+    /*
+     * La tabella corrente. Ogni posizione contiene null oppure la testa di una
+     * lista di collisioni di nodi immutabili.
+     */
+    private volatile AtomicReferenceArray<Node<E>> table;
+
+    /*
+     * Il resize in corso, null se non ce n'è nessuno.
+     */
+    private volatile Transfer<E> transfer;
+
+    /*
+     * I lock delle strisce di posizioni.
+     */
+    private final ReentrantLock[] locks;
+
+    /*
+     * Numero di elementi presenti, aggiornato sotto il lock della striscia
+     * modificata.
+     */
+    private final LongAdder count;
+
+    /*
+     * Funzione di hash primaria usata da questa hash table.
+     */
+    private final PrimaryHashFunction phf;
+
+    /**
+     * Costruisce una Hash Table con capacità iniziale di default e fattore di
+     * caricamento di default.
+     *
+     * @param phf
+     *                la funzione di hash primaria da usare
+     * @throws NullPointerException
+     *                                  se la funzione passata è nulla
+     */
+    public ConcurrentStripedHashTable(PrimaryHashFunction phf) {
+        if (phf == null)
+            throw new NullPointerException(
+                    "Creazione di una tabella hash con funzione di hash null");
+        this.phf = phf;
+        this.locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            this.locks[i] = new ReentrantLock();
+        this.count = new LongAdder();
+        this.table = new AtomicReferenceArray<Node<E>>(INITIAL_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc} Se altri thread stanno modificando l'insieme il risultato
+     * è solo una stima.
+     */
+    @Override
+    public int size() {
+        return (int) this.count.sum();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null)
+            throw new NullPointerException(
+                    "Ricerca di elemento null in un set che non accetta null");
+        // nessun lock: la tabella letta resta consistente anche durante un
+        // resize, perché da quel momento non viene più modificata
+        AtomicReferenceArray<Node<E>> tab = this.table;
+        Node<E> list = tab.get(this.phf.hash(o.hashCode(), tab.length()));
+        for (; list != null; list = list.next)
+            if (o.equals(list.item))
+                return true;
+        return false;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Inserimento di elemento null in un set che non accetta null");
+        while (true) {
+            AtomicReferenceArray<Node<E>> tab = this.lockFor(e);
+            if (tab == null)
+                // la tabella è cambiata, riprovo
+                continue;
+            int pos = this.phf.hash(e.hashCode(), tab.length());
+            ReentrantLock lock = this.locks[pos & (STRIPES - 1)];
+            try {
+                Node<E> head = tab.get(pos);
+                for (Node<E> list = head; list != null; list = list.next)
+                    if (e.equals(list.item))
+                        // l'elemento è già presente
+                        return false;
+                tab.set(pos, new Node<E>(e, head));
+                this.count.increment();
+            } finally {
+                lock.unlock();
+            }
+            // Controllo resize
+            if (this.count.sum() > (long) (tab.length() * LOAD_FACTOR))
+                this.resize(tab);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // ATTENZIONE: la rimozione, in questa implementazione, **non** comporta
+        // mai una resize "al ribasso"
+        if (o == null)
+            throw new NullPointerException(
+                    "Cancellazione di elemento null in un set che non accetta null");
+        while (true) {
+            AtomicReferenceArray<Node<E>> tab = this.lockFor(o);
+            if (tab == null)
+                // la tabella è cambiata, riprovo
+                continue;
+            int pos = this.phf.hash(o.hashCode(), tab.length());
+            ReentrantLock lock = this.locks[pos & (STRIPES - 1)];
+            try {
+                Node<E> head = tab.get(pos);
+                Node<E> list = head;
+                while (list != null && !o.equals(list.item))
+                    list = list.next;
+                if (list == null)
+                    // l'elemento non è presente
+                    return false;
+                // ricreo i nodi che precedono quello da togliere, così le
+                // ricerche in corso continuano a vedere una lista consistente
+                Node<E> newHead = list.next;
+                for (Node<E> p = head; p != list; p = p.next)
+                    newHead = new Node<E>(p.item, newHead);
+                tab.set(pos, newHead);
+                this.count.decrement();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /*
+     * Acquisisce il lock della striscia in cui si trova la lista di un
+     * elemento nella tabella corrente e restituisce la tabella. Se è in corso
+     * un resize, aiuta a terminarlo e restituisce null senza lock: in questo
+     * caso l'operazione va ripetuta.
+     */
+    private AtomicReferenceArray<Node<E>> lockFor(Object o) {
+        Transfer<E> t = this.transfer;
+        if (t != null) {
+            this.helpTransfer(t);
+            return null;
+        }
+        AtomicReferenceArray<Node<E>> tab = this.table;
+        ReentrantLock lock = this.locks[this.phf.hash(o.hashCode(),
+                tab.length()) & (STRIPES - 1)];
+        lock.lock();
+        // il resize viene pubblicato tenendo tutti i lock, quindi se non lo
+        // vedo ora non può iniziare finché non rilascio il lock
+        if (this.transfer != null || tab != this.table) {
+            lock.unlock();
+            return null;
+        }
+        return tab;
+    }
+
+    /*
+     * Avvia il raddoppio della tabella tab, se nessun altro thread lo ha già
+     * fatto, e collabora al trasferimento.
+     */
+    private void resize(AtomicReferenceArray<Node<E>> tab) {
+        Transfer<E> t = null;
+        this.lockAll();
+        try {
+            if (this.table == tab && this.transfer == null) {
+                t = new Transfer<E>(tab);
+                this.transfer = t;
+            }
+        } finally {
+            this.unlockAll();
+        }
+        if (t != null)
+            this.helpTransfer(t);
+    }
+
+    /*
+     * Copia nella nuova tabella i gruppi di posizioni della vecchia non ancora
+     * prenotati da altri thread e attende la fine del trasferimento.
+     */
+    private void helpTransfer(Transfer<E> t) {
+        int oldLength = t.oldTable.length();
+        int newLength = t.newTable.length();
+        int start;
+        while ((start = t.nextChunk
+                .getAndAdd(TRANSFER_CHUNK)) < oldLength) {
+            int end = Math.min(start + TRANSFER_CHUNK, oldLength);
+            for (int i = start; i < end; i++)
+                for (Node<E> list = t.oldTable
+                        .get(i); list != null; list = list.next) {
+                    // posizioni diverse della vecchia tabella possono finire
+                    // nella stessa posizione della nuova: inserisco in testa
+                    // con compare-and-set
+                    int pos = this.phf.hash(list.item.hashCode(), newLength);
+                    Node<E> head;
+                    do {
+                        head = t.newTable.get(pos);
+                    } while (!t.newTable.compareAndSet(pos, head,
+                            new Node<E>(list.item, head)));
+                }
+            if (t.copied.addAndGet(end - start) == oldLength) {
+                // ho copiato l'ultimo gruppo: pubblico la nuova tabella
+                this.table = t.newTable;
+                this.transfer = null;
+            }
+        }
+        // attendo che chi sta copiando gli ultimi gruppi finisca
+        while (this.transfer == t)
+            Thread.yield();
+    }
+
+    /*
+     * Acquisisce tutti i lock, sempre nello stesso ordine.
+     */
+    private void lockAll() {
+        for (ReentrantLock lock : this.locks)
+            lock.lock();
+    }
+
+    /*
+     * Rilascia tutti i lock.
+     */
+    private void unlockAll() {
+        for (ReentrantLock lock : this.locks)
+            lock.unlock();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Object[] toArray() {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException("ContainsAll di collection null");
+        for (Object item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "ContainsAll di collection che contiene elementi null");
+            if (!this.contains(item))
+                return false;
+        }
+        // Tutti gli elementi sono risultati presenti e non nulli
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c == null)
+            throw new NullPointerException("AddAll di collection null");
+        boolean changed = false;
+        for (E item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "AddAll di collection che contiene elementi null");
+            // E' necessario usare l'OR NON PIGRO per assicurarsi che venga
+            // chiamato il metodo add
+            changed = changed | this.add(item);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException("RemoveAll di collection null");
+        boolean changed = false;
+        for (Object item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "RemoveAll di collection che contiene elementi null");
+            // E' necessario usare l'OR NON PIGRO per assicurarsi che venga
+            // chiamato il metodo remove
+            changed = changed | this.remove(item);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        while (true) {
+            Transfer<E> t = this.transfer;
+            if (t != null) {
+                this.helpTransfer(t);
+                continue;
+            }
+            this.lockAll();
+            try {
+                if (this.transfer != null)
+                    continue;
+                // Ritorno alla situazione iniziale
+                this.table = new AtomicReferenceArray<Node<E>>(
+                        INITIAL_CAPACITY);
+                this.count.reset();
+                return;
+            } finally {
+                this.unlockAll();
+            }
+        }
+    }
+
+    /*
+     * Nodo immutabile di una lista di collisioni.
+     */
+    private static class Node<E> {
+        private final E item;
+
+        private final Node<E> next;
+
+        private Node(E item, Node<E> next) {
+            this.item = item;
+            this.next = next;
+        }
+    }
+
+    /*
+     * Stato di un resize in corso.
+     */
+    private static class Transfer<E> {
+
+        /*
+         * La tabella da raddoppiare, che non viene più modificata.
+         */
+        private final AtomicReferenceArray<Node<E>> oldTable;
+
+        /*
+         * La nuova tabella, di dimensione doppia.
+         */
+        private final AtomicReferenceArray<Node<E>> newTable;
+
+        /*
+         * Prima posizione della vecchia tabella non ancora prenotata.
+         */
+        private final AtomicInteger nextChunk;
+
+        /*
+         * Numero di posizioni della vecchia tabella già copiate.
+         */
+        private final AtomicInteger copied;
+
+        private Transfer(AtomicReferenceArray<Node<E>> oldTable) {
+            this.oldTable = oldTable;
+            this.newTable = new AtomicReferenceArray<Node<E>>(
+                    oldTable.length() * 2);
+            this.nextChunk = new AtomicInteger();
+            this.copied = new AtomicInteger();
+        }
+    }
+
+    /*
+     * Iteratore debolmente consistente che scorre la tabella in uso alla sua
+     * creazione.
+     */
+    private class Itr implements Iterator<E> {
+
+        private final AtomicReferenceArray<Node<E>> tab;
+
+        private int currentPos;
+
+        private Node<E> nextNode;
+
+        private Itr() {
+            this.tab = table;
+            this.currentPos = 0;
+            this.nextNode = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextNode == null && currentPos < tab.length())
+                nextNode = tab.get(currentPos++);
+            return nextNode != null;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next con hasNext falso");
+            E toReturn = nextNode.item;
+            nextNode = nextNode.next;
+            return toReturn;
+        }
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected int getCurrentCapacity() {
+        return this.table.length();
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected PrimaryHashFunction getPhf() {
+        return this.phf;
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe ConcurrentStripedHashTable
+ * 
+ * @author Julian Marzoli
+ *
+ */
+class ConcurrentStripedHashTableTest {
+
+    private PrimaryHashFunction divisionHash = new DivisionPrimaryHashFunction();
+
+    private PrimaryHashFunction multiplicationHash = new MultiplicationPrimaryHashFunction();
+
+    @Test
+    void divisionHash_testRandomOperations() {
+        RandomSetOperations.check(
+                new ConcurrentStripedHashTable<Integer>(divisionHash));
+    }
+
+    @Test
+    void multiplicationHash_testRandomOperations() {
+        RandomSetOperations.check(
+                new ConcurrentStripedHashTable<Integer>(multiplicationHash));
+    }
+
+    /*
+     * Più thread inseriscono e poi tolgono insiemi disgiunti di elementi
+     * mentre altri thread cercano elementi che non vengono mai tolti.
+     */
+    private void concurrentOperations(PrimaryHashFunction phf)
+            throws InterruptedException {
+        ConcurrentStripedHashTable<Integer> table = new ConcurrentStripedHashTable<>(
+                phf);
+        int writers = 4;
+        int perWriter = 20000;
+        // gli elementi negativi restano sempre presenti
+        for (int val = -1; val >= -100; val--)
+            table.add(val);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread[] threads = new Thread[writers + 2];
+        for (int w = 0; w < writers; w++) {
+            int first = w * perWriter;
+            threads[w] = new Thread(() -> {
+                for (int val = first; val < first + perWriter; val++)
+                    if (!table.add(val))
+                        failed.set(true);
+                // tolgo gli elementi dispari
+                for (int val = first + 1; val < first + perWriter; val += 2)
+                    if (!table.remove(val))
+                        failed.set(true);
+            });
+        }
+        for (int r = writers; r < threads.length; r++)
+            threads[r] = new Thread(() -> {
+                Random random = new Random();
+                while (!done.get())
+                    if (!table.contains(-1 - random.nextInt(100)))
+                        failed.set(true);
+            });
+        for (Thread t : threads)
+            t.start();
+        for (int w = 0; w < writers; w++)
+            threads[w].join();
+        done.set(true);
+        for (int r = writers; r < threads.length; r++)
+            threads[r].join();
+        assertFalse(failed.get());
+        assertEquals(100 + writers * perWriter / 2, table.size());
+        for (int val = 0; val < writers * perWriter; val++)
+            assertEquals(val % 2 == 0, table.contains(val));
+        int iterated = 0;
+        for (Iterator<Integer> it = table.iterator(); it.hasNext(); it.next())
+            iterated++;
+        assertEquals(table.size(), iterated);
+    }
+
+    @Test
+    void divisionHash_testConcurrentOperations() throws InterruptedException {
+        concurrentOperations(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testConcurrentOperations()
+            throws InterruptedException {
+        concurrentOperations(multiplicationHash);
+    }
+
+    @Test
+    void divisionHash_testShouldResize() {
+        ConcurrentStripedHashTable<Integer> table = new ConcurrentStripedHashTable<>(
+                divisionHash);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        table.addAll(Arrays.asList(vals));
+        assertEquals(16, table.getCurrentCapacity());
+        table.add(13);
+        assertEquals(32, table.getCurrentCapacity());
+        assertTrue(table.containsAll(Arrays.asList(vals)));
+        assertTrue(table.contains(13));
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertEquals(16, table.getCurrentCapacity());
+        assertFalse(table.contains(13));
+    }
+
+    @Test
+    void divisionHash_testNull() {
+        ConcurrentStripedHashTable<Integer> table = new ConcurrentStripedHashTable<>(
+                divisionHash);
+        assertThrows(NullPointerException.class, () -> {
+            table.add(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            table.contains(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            table.remove(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new ConcurrentStripedHashTable<Integer>(null);
+        });
+    }
+
+    @Test
+    void multiplicationHash_testIteratorIsWeaklyConsistent() {
+        ConcurrentStripedHashTable<Integer> table = new ConcurrentStripedHashTable<>(
+                multiplicationHash);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+        table.addAll(Arrays.asList(vals));
+        Iterator<Integer> it = table.iterator();
+        it.next();
+        // le modifiche non invalidano l'iteratore
+        table.add(42);
+        table.remove(1);
+        int count = 1;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        assertTrue(count >= 10 && count <= 12);
+    }
+
+}
@@ -0,0 +1,35 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+/**
+ * Implementa una funzione hash primaria con il metodo della moltiplicazione
+ * di Fibonacci (multiply-shift): la chiave viene moltiplicata per 2^32 / phi,
+ * dove phi è la sezione aurea, e la posizione è data dai bit alti della parte
+ * bassa a 32 bit del prodotto. Rispetto a MultiplicationPrimaryHashFunction
+ * usa solo aritmetica intera: una moltiplicazione e uno shift, senza divisioni
+ * né numeri in virgola mobile.
+ * 
+ * I bit alti vengono estratti moltiplicando per m e prendendo i 32 bit alti
+ * del risultato, per cui la funzione è definita per qualunque m positivo; se
+ * m è una potenza di due, come nelle tabelle di questo pacchetto, il risultato
+ * coincide con i log2(m) bit più significativi del prodotto.
+ * 
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class FibonacciPrimaryHashFunction implements PrimaryHashFunction {
+
+    /*
+     * 2^32 / phi, arrotondato all'intero dispari più vicino.
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    @Override
+    public int hash(int key, int m) {
+        long product = (key * GOLDEN_RATIO) & 0xFFFFFFFFL;
+        return (int) ((product * m) >>> 32);
+    }
+
+}
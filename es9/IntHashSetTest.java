@@ -0,0 +1,126 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe IntHashSet
+ * 
+ * @author Julian Marzoli
+ *
+ */
+class IntHashSetTest {
+
+    private PrimaryHashFunction divisionHash = new DivisionPrimaryHashFunction();
+
+    private PrimaryHashFunction multiplicationHash = new MultiplicationPrimaryHashFunction();
+
+    /*
+     * Esegue la verifica comune e controlla anche toArray e il fattore di
+     * caricamento.
+     */
+    private void randomOperations(PrimaryHashFunction phf) {
+        IntHashSet set = new IntHashSet(phf);
+        RandomSetOperations.check(set::add, set::remove, set::contains,
+                set::size, set::forEach);
+        int[] array = set.toArray();
+        assertEquals(set.size(), array.length);
+        for (int val : array)
+            assertTrue(set.contains(val));
+        // il fattore di caricamento non supera 0.75
+        assertTrue(set.size() - 1 <= 0.75 * set.getTable().length);
+    }
+
+    @Test
+    void divisionHash_testRandomOperations() {
+        randomOperations(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testRandomOperations() {
+        randomOperations(multiplicationHash);
+    }
+
+    @Test
+    void divisionHash_testRemoveKeepsCollidingElements() {
+        IntHashSet set = new IntHashSet(divisionHash);
+        // tutti nella posizione iniziale 3, più un elemento nella posizione 4
+        int vals[] = { 3, 19, 35, 4, 51 };
+        for (int val : vals)
+            assertTrue(set.add(val));
+        assertTrue(set.remove(19));
+        assertFalse(set.contains(19));
+        for (int val : new int[] { 3, 35, 4, 51 })
+            assertTrue(set.contains(val));
+        assertTrue(set.remove(3));
+        for (int val : new int[] { 35, 4, 51 })
+            assertTrue(set.contains(val));
+        assertFalse(set.remove(3));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void divisionHash_testZero() {
+        IntHashSet set = new IntHashSet(divisionHash);
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+        assertFalse(set.isEmpty());
+        assertArrayEquals(new int[] { 0 }, set.toArray());
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void divisionHash_testShouldResize() {
+        IntHashSet set = new IntHashSet(divisionHash);
+        int vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        for (int val : vals)
+            set.add(val);
+        int tableLengthBeforeAdd = set.getTable().length;
+        assertEquals(16, tableLengthBeforeAdd);
+        set.add(13);
+        assertEquals(tableLengthBeforeAdd * 2, set.getTable().length);
+        for (int val : vals)
+            assertTrue(set.contains(val));
+        assertTrue(set.contains(13));
+        int[] array = set.toArray();
+        Arrays.sort(array);
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13 },
+                array);
+    }
+
+    @Test
+    void multiplicationHash_testClear() {
+        IntHashSet set = new IntHashSet(multiplicationHash);
+        for (int val = -100; val <= 100; val++)
+            set.add(val);
+        assertEquals(201, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(16, set.getTable().length);
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(42));
+    }
+
+    @Test
+    void divisionHash_testNull() {
+        IntHashSet set = new IntHashSet(divisionHash);
+        assertThrows(NullPointerException.class, () -> {
+            set.forEach(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new IntHashSet(null);
+        });
+    }
+
+}
@@ -0,0 +1,263 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Realizza un insieme di long tramite una tabella hash a indirizzamento
+ * aperto con scansione lineare, come {@code IntHashSet}. La funzione di hash
+ * primario deve essere passata come parametro nel costruttore e deve
+ * implementare l'interfaccia PrimaryHashFunction; poiché questa lavora su
+ * int, prima di applicarla i 32 bit alti della chiave vengono combinati con
+ * quelli bassi, così che chiavi che differiscono solo nei bit alti non
+ * finiscano tutte nella stessa posizione.
+ *
+ * È la versione specializzata per i long di un {@code Set<Long>}: le chiavi
+ * sono memorizzate direttamente in un array di long, senza oggetti Long né
+ * nodi di liste di collisione, per cui ogni elemento occupa circa 8 byte
+ * diviso il fattore di caricamento e inserimenti e ricerche non allocano
+ * oggetti. Le posizioni libere contengono il valore 0; l'eventuale
+ * presenza del valore 0 nell'insieme è quindi registrata a parte. La
+ * cancellazione non lascia lapidi: gli elementi successivi dello stesso gruppo
+ * che non si troverebbero più scorrendo dalla loro posizione iniziale vengono
+ * spostati indietro nella posizione liberata.
+ *
+ * La tabella ha una dimensione iniziale di default (16) e un fattore di
+ * caricamento di default (0.75). Quando il fattore di bilanciamento effettivo
+ * eccede quello di default la tabella viene raddoppiata e viene fatto un
+ * riposizionamento di tutti gli elementi.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class LongHashSet {
+
+    /*
+     * La capacità iniziale. E' una potenza di due e quindi la capacità sarà
+     * sempre una potenza di due, in quanto ogni resize raddoppia la tabella.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * Fattore di bilanciamento di default.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /*
+     * Valore che indica una posizione libera della tabella.
+     */
+    private static final long FREE = 0;
+
+    /*
+     * Le chiavi, FREE nelle posizioni libere.
+     */
+    private long[] table;
+
+    /*
+     * Numero di chiavi memorizzate nella tabella, cioè tutte tranne
+     * l'eventuale FREE.
+     */
+    private int used;
+
+    /*
+     * Indica se il valore FREE appartiene all'insieme.
+     */
+    private boolean containsFree;
+
+    /*
+     * Funzione di hash primaria usata da questa hash table.
+     */
+    private final PrimaryHashFunction phf;
+
+    /**
+     * Costruisce un insieme vuoto con capacità iniziale di default e fattore
+     * di caricamento di default.
+     *
+     * @param phf
+     *                la funzione di hash primaria da usare
+     * @throws NullPointerException
+     *                                  se la funzione passata è nulla
+     */
+    public LongHashSet(PrimaryHashFunction phf) {
+        if (phf == null)
+            throw new NullPointerException(
+                    "Creazione di una tabella hash con funzione di hash null");
+        this.phf = phf;
+        this.clear();
+    }
+
+    /**
+     * @return il numero di elementi dell'insieme
+     */
+    public int size() {
+        return this.used + (this.containsFree ? 1 : 0);
+    }
+
+    /**
+     * @return true se l'insieme è vuoto
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Determina se un long appartiene all'insieme.
+     *
+     * @param key
+     *                il long da cercare
+     * @return true se il long appartiene all'insieme
+     */
+    public boolean contains(long key) {
+        if (key == FREE)
+            return this.containsFree;
+        return this.find(key) != -1;
+    }
+
+    /*
+     * Restituisce la posizione di una chiave diversa da FREE, -1 se non è
+     * presente.
+     */
+    private int find(long key) {
+        int mask = this.table.length - 1;
+        int pos = this.hash(key, this.table.length);
+        for (; this.table[pos] != FREE; pos = (pos + 1) & mask)
+            if (this.table[pos] == key)
+                return pos;
+        return -1;
+    }
+
+    /**
+     * Aggiunge un long all'insieme.
+     *
+     * @param key
+     *                il long da aggiungere
+     * @return true se il long non era presente
+     */
+    public boolean add(long key) {
+        if (key == FREE) {
+            boolean added = !this.containsFree;
+            this.containsFree = true;
+            return added;
+        }
+        int mask = this.table.length - 1;
+        int pos = this.hash(key, this.table.length);
+        for (; this.table[pos] != FREE; pos = (pos + 1) & mask)
+            if (this.table[pos] == key)
+                return false;
+        this.table[pos] = key;
+        this.used++;
+        if (this.used > (int) (this.table.length * LOAD_FACTOR))
+            this.resize();
+        return true;
+    }
+
+    /**
+     * Toglie un long dall'insieme.
+     *
+     * @param key
+     *                il long da togliere
+     * @return true se il long era presente
+     */
+    public boolean remove(long key) {
+        if (key == FREE) {
+            boolean removed = this.containsFree;
+            this.containsFree = false;
+            return removed;
+        }
+        int pos = this.find(key);
+        if (pos == -1)
+            return false;
+        int mask = this.table.length - 1;
+        // sposto indietro le chiavi successive del gruppo la cui posizione
+        // iniziale non si trova tra la posizione liberata e la loro
+        int next = (pos + 1) & mask;
+        while (this.table[next] != FREE) {
+            int home = this.hash(this.table[next], this.table.length);
+            if (((next - home) & mask) >= ((next - pos) & mask)) {
+                this.table[pos] = this.table[next];
+                pos = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.table[pos] = FREE;
+        this.used--;
+        return true;
+    }
+
+    /*
+     * Calcola la posizione iniziale di una chiave in una tabella di m
+     * posizioni, ripiegando i 32 bit alti sui 32 bit bassi.
+     */
+    private int hash(long key, int m) {
+        return this.phf.hash((int) (key ^ (key >>> 32)), m);
+    }
+
+    /**
+     * Svuota l'insieme, riportando la tabella alla capacità iniziale.
+     */
+    public void clear() {
+        this.table = new long[INITIAL_CAPACITY];
+        this.used = 0;
+        this.containsFree = false;
+    }
+
+    /**
+     * Esegue un'operazione su ogni elemento dell'insieme, in un ordine non
+     * specificato.
+     *
+     * @param action
+     *                   l'operazione da eseguire
+     * @throws NullPointerException
+     *                                  se l'operazione passata è nulla
+     */
+    public void forEach(LongConsumer action) {
+        if (action == null)
+            throw new NullPointerException("ForEach con operazione null");
+        if (this.containsFree)
+            action.accept(FREE);
+        for (long key : this.table)
+            if (key != FREE)
+                action.accept(key);
+    }
+
+    /**
+     * @return un nuovo array con gli elementi dell'insieme, in un ordine non
+     *         specificato
+     */
+    public long[] toArray() {
+        long[] result = new long[this.size()];
+        int k = 0;
+        if (this.containsFree)
+            result[k++] = FREE;
+        for (long key : this.table)
+            if (key != FREE)
+                result[k++] = key;
+        return result;
+    }
+
+    /*
+     * Raddoppia la tabella corrente e riposiziona tutte le chiavi.
+     */
+    private void resize() {
+        long[] newTable = new long[this.table.length * 2];
+        int mask = newTable.length - 1;
+        for (long key : this.table) {
+            if (key == FREE)
+                continue;
+            int pos = this.hash(key, newTable.length);
+            while (newTable[pos] != FREE)
+                pos = (pos + 1) & mask;
+            newTable[pos] = key;
+        }
+        this.table = newTable;
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected long[] getTable() {
+        return this.table;
+    }
+}
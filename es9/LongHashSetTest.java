@@ -0,0 +1,98 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe LongHashSet
+ * 
+ * @author Julian Marzoli
+ *
+ */
+class LongHashSetTest {
+
+    private PrimaryHashFunction divisionHash = new DivisionPrimaryHashFunction();
+
+    private PrimaryHashFunction multiplicationHash = new MultiplicationPrimaryHashFunction();
+
+    /*
+     * Esegue la verifica comune su chiavi che differiscono solo nei 32 bit
+     * alti: i 32 bit bassi sono sempre uguali, per cui ogni chiave che
+     * differisce da un'altra solo nei bit bassi non deve risultare presente.
+     */
+    private void highBitsRandomOperations(PrimaryHashFunction phf) {
+        LongHashSet set = new LongHashSet(phf);
+        long low = 0x5a5a5a5aL;
+        RandomSetOperations.check(val -> set.add(((long) val << 32) | low),
+                val -> set.remove(((long) val << 32) | low),
+                val -> set.contains(((long) val << 32) | low), set::size,
+                action -> set.forEach(key -> {
+                    assertEquals(low, key & 0xffffffffL);
+                    action.accept((int) (key >> 32));
+                }));
+        for (int hi = -10; hi < 10; hi++) {
+            assertFalse(set.contains((long) hi << 32));
+            assertFalse(set.contains(((long) hi << 32) | (low + 1)));
+        }
+        long[] array = set.toArray();
+        assertEquals(set.size(), array.length);
+        for (long val : array)
+            assertTrue(set.contains(val));
+    }
+
+    @Test
+    void divisionHash_testHighBitsRandomOperations() {
+        highBitsRandomOperations(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testHighBitsRandomOperations() {
+        highBitsRandomOperations(multiplicationHash);
+    }
+
+    @Test
+    void divisionHash_testHighBitsAreMixed() {
+        LongHashSet set = new LongHashSet(divisionHash);
+        // chiavi con i 32 bit bassi tutti nulli
+        for (long i = 1; i < 1000; i++)
+            assertTrue(set.add(i << 32));
+        long[] table = set.getTable();
+        assertEquals(2048, table.length);
+        // ogni chiave è nella sua posizione iniziale, senza collisioni
+        for (int i = 1; i < 1000; i++)
+            assertEquals((long) i << 32, table[i]);
+        assertTrue(set.remove(500L << 32));
+        assertFalse(set.contains(500L << 32));
+        assertFalse(set.contains(500L));
+        assertEquals(998, set.size());
+    }
+
+    @Test
+    void divisionHash_testZero() {
+        LongHashSet set = new LongHashSet(divisionHash);
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        assertArrayEquals(new long[] { 0L }, set.toArray());
+        assertTrue(set.remove(0L));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void divisionHash_testNull() {
+        LongHashSet set = new LongHashSet(divisionHash);
+        assertThrows(NullPointerException.class, () -> {
+            set.forEach(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new LongHashSet(null);
+        });
+    }
+
+}
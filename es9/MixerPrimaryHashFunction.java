@@ -0,0 +1,33 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+/**
+ * Implementa una funzione hash primaria che rimescola la chiave con il passo
+ * finale di MurmurHash3 (fmix32): due moltiplicazioni per costanti dispari
+ * alternate a shift e or esclusivi, per cui ogni bit della chiave influenza
+ * tutti i bit del risultato. E' adatta a chiavi con struttura regolare, per
+ * esempio multipli di potenze di due o valori che differiscono solo nei bit
+ * alti, che con il metodo della divisione finirebbero nelle stesse posizioni.
+ * 
+ * La posizione viene ottenuta moltiplicando il valore rimescolato per m e
+ * prendendo i 32 bit alti del risultato, senza divisioni.
+ * 
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class MixerPrimaryHashFunction implements PrimaryHashFunction {
+
+    @Override
+    public int hash(int key, int m) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (int) (((h & 0xFFFFFFFFL) * m) >>> 32);
+    }
+
+}
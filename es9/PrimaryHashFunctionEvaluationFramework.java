@@ -0,0 +1,179 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Confronta diverse funzioni hash primarie sugli stessi insiemi di chiavi,
+ * alcuni realistici e altri costruiti per mettere in difficoltà le funzioni
+ * che usano solo i bit bassi della chiave. Per ogni funzione e ogni insieme di
+ * chiavi simula una tabella con liste di collisione di dimensione pari alla
+ * più piccola potenza di due che rispetta il fattore di caricamento 0.75,
+ * come in CollisionListResizableHashTable, e misura la lunghezza massima e
+ * media delle liste di collisione non vuote e il tempo medio in nanosecondi
+ * di una chiamata alla funzione. I risultati sono scritti sul file
+ * hasheval.csv (Comma Separated Values); sul file hashhist.csv sono riportati
+ * gli istogrammi del numero di posizioni della tabella per ogni lunghezza
+ * delle liste di collisione.
+ *
+ * Il main può essere chiamato con il nome della directory di destinazione dei
+ * file come parametro di linea di comando. Se non è presente nessun parametro
+ * allora si assume la directory corrente.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class PrimaryHashFunctionEvaluationFramework {
+
+    /*
+     * Numero di chiavi di ogni insieme.
+     */
+    private static final int NUMBER_OF_KEYS = 100000;
+
+    /*
+     * Fattore di caricamento massimo della tabella simulata.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /*
+     * Lunghezza delle liste oltre la quale l'istogramma accumula tutto
+     * nell'ultima colonna.
+     */
+    private static final int MAX_HISTOGRAM_LENGTH = 8;
+
+    /*
+     * Numero di passate su tutte le chiavi per misurare il tempo, dopo
+     * altrettante passate di riscaldamento.
+     */
+    private static final int TIMING_ROUNDS = 50;
+
+    /*
+     * Seme per rendere riproducibili chiavi e funzioni casuali.
+     */
+    private static final long SEED = 2021;
+
+    public static void main(String[] args) {
+        String dirName = null;
+        if (args.length > 0)
+            dirName = args[0];
+        else
+            dirName = ".";
+        // Creo i file di output
+        PrintStream o = null;
+        PrintStream histograms = null;
+        try {
+            o = new PrintStream(new File(dirName + "/" + "hasheval.csv"));
+            histograms = new PrintStream(
+                    new File(dirName + "/" + "hashhist.csv"));
+        } catch (FileNotFoundException e) {
+            System.out.println("Errore creazione file di ouput" + dirName + "/"
+                    + "xxxx.csv");
+            System.exit(1);
+        }
+        // Inserisco le funzioni che voglio confrontare
+        Map<String, PrimaryHashFunction> functions = new LinkedHashMap<String, PrimaryHashFunction>();
+        functions.put("Division", new DivisionPrimaryHashFunction());
+        functions.put("Multiplication",
+                new MultiplicationPrimaryHashFunction());
+        functions.put("Fibonacci", new FibonacciPrimaryHashFunction());
+        functions.put("Mixer", new MixerPrimaryHashFunction());
+        functions.put("Tabulation", new TabulationPrimaryHashFunction(SEED));
+        functions.put("Universal", new UniversalPrimaryHashFunction(SEED));
+        // Genero gli insiemi di chiavi
+        Map<String, int[]> keySets = generateKeySets();
+        // Dimensione della tabella simulata
+        int m = 16;
+        while (NUMBER_OF_KEYS > m * LOAD_FACTOR)
+            m *= 2;
+        // Inserisco la linea di intestazione dei dati nei file csv
+        o.print("Funzione,Chiavi,MaxLista,MediaLista,Tns\n");
+        histograms.print("Funzione,Chiavi,");
+        for (int len = 0; len < MAX_HISTOGRAM_LENGTH; len++)
+            histograms.print(len + ",");
+        histograms.print(MAX_HISTOGRAM_LENGTH + "+\n");
+        // Valore che dipende da tutti i risultati delle funzioni, per evitare
+        // che le chiamate misurate vengano eliminate
+        long sink = 0;
+        for (Map.Entry<String, PrimaryHashFunction> f : functions.entrySet()) {
+            for (Map.Entry<String, int[]> keys : keySets.entrySet()) {
+                PrimaryHashFunction phf = f.getValue();
+                int[] k = keys.getValue();
+                // Simulo la tabella contando le chiavi in ogni posizione
+                int[] lengths = new int[m];
+                for (int key : k)
+                    lengths[phf.hash(key, m)]++;
+                int max = 0;
+                int nonEmpty = 0;
+                long[] histogram = new long[MAX_HISTOGRAM_LENGTH + 1];
+                for (int len : lengths) {
+                    max = Math.max(max, len);
+                    if (len > 0)
+                        nonEmpty++;
+                    histogram[Math.min(len, MAX_HISTOGRAM_LENGTH)]++;
+                }
+                // Misuro il tempo medio di una chiamata, dopo le passate di
+                // riscaldamento
+                for (int round = 0; round < TIMING_ROUNDS; round++)
+                    for (int key : k)
+                        sink += phf.hash(key, m);
+                long startTimeNano = System.nanoTime();
+                for (int round = 0; round < TIMING_ROUNDS; round++)
+                    for (int key : k)
+                        sink += phf.hash(key, m);
+                long elapsedTimeNano = System.nanoTime() - startTimeNano;
+                // Scrivo sui file di output
+                o.print(f.getKey() + "," + keys.getKey() + "," + max + ","
+                        + (double) k.length / nonEmpty + ","
+                        + (double) elapsedTimeNano / TIMING_ROUNDS / k.length
+                        + "\n");
+                histograms.print(f.getKey() + "," + keys.getKey() + ",");
+                for (int len = 0; len < MAX_HISTOGRAM_LENGTH; len++)
+                    histograms.print(histogram[len] + ",");
+                histograms.print(histogram[MAX_HISTOGRAM_LENGTH] + "\n");
+                System.out.println("Valutata funzione " + f.getKey()
+                        + " su chiavi " + keys.getKey());
+            }
+        }
+        o.close();
+        histograms.close();
+        System.out.println("Controllo: " + sink);
+    } // end main
+
+    /*
+     * Genera gli insiemi di chiavi, tutti di NUMBER_OF_KEYS chiavi distinte
+     * salvo rare ripetizioni tra quelle casuali.
+     */
+    private static Map<String, int[]> generateKeySets() {
+        Map<String, int[]> keySets = new LinkedHashMap<String, int[]>();
+        int n = NUMBER_OF_KEYS;
+        int[] random = new int[n];
+        int[] sequential = new int[n];
+        int[] strings = new int[n];
+        int[] multiples = new int[n];
+        int[] highBits = new int[n];
+        Random randomGenerator = new Random(SEED);
+        for (int i = 0; i < n; i++) {
+            // chiavi realistiche
+            random[i] = randomGenerator.nextInt();
+            sequential[i] = i;
+            strings[i] = ("chiave" + i).hashCode();
+            // chiavi avverse: stessi bit bassi
+            multiples[i] = i * 1024;
+            highBits[i] = i << 15;
+        }
+        keySets.put("Casuali", random);
+        keySets.put("Sequenziali", sequential);
+        keySets.put("Stringhe", strings);
+        keySets.put("Multipli1024", multiples);
+        keySets.put("BitAlti", highBits);
+        return keySets;
+    }
+
+}
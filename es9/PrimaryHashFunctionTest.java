@@ -0,0 +1,149 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per le classi FibonacciPrimaryHashFunction,
+ * MixerPrimaryHashFunction, TabulationPrimaryHashFunction e
+ * UniversalPrimaryHashFunction
+ * 
+ * @author Julian Marzoli
+ *
+ */
+class PrimaryHashFunctionTest {
+
+    /*
+     * Controlla che la funzione restituisca sempre una posizione valida, anche
+     * per chiavi estreme e dimensioni che non sono potenze di due.
+     */
+    private void checkRange(PrimaryHashFunction phf) {
+        Random random = new Random(3);
+        int[] sizes = { 1, 2, 16, 17, 1000, 1 << 20, Integer.MAX_VALUE };
+        int[] extremes = { 0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE };
+        for (int m : sizes) {
+            for (int key : extremes) {
+                int pos = phf.hash(key, m);
+                assertTrue(pos >= 0 && pos < m);
+            }
+            for (int k = 0; k < 10000; k++) {
+                int pos = phf.hash(random.nextInt(), m);
+                assertTrue(pos >= 0 && pos < m);
+            }
+        }
+    }
+
+    /*
+     * Conta le posizioni occupate inserendo in una tabella di 4096 posizioni
+     * 2048 chiavi con i 16 bit bassi nulli.
+     */
+    private int occupiedWithHighBitKeys(PrimaryHashFunction phf) {
+        boolean[] occupied = new boolean[4096];
+        int count = 0;
+        for (int i = 0; i < 2048; i++) {
+            int pos = phf.hash(i << 16, occupied.length);
+            if (!occupied[pos]) {
+                occupied[pos] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void fibonacciHash_testRange() {
+        checkRange(new FibonacciPrimaryHashFunction());
+    }
+
+    @Test
+    void fibonacciHash_testMultiplyShift() {
+        PrimaryHashFunction phf = new FibonacciPrimaryHashFunction();
+        // con m potenza di due restituisce i bit alti del prodotto
+        for (int key = -1000; key < 1000; key++)
+            assertEquals((key * 0x9E3779B9) >>> 22, phf.hash(key, 1024));
+    }
+
+    @Test
+    void mixerHash_testRange() {
+        checkRange(new MixerPrimaryHashFunction());
+    }
+
+    @Test
+    void tabulationHash_testRange() {
+        checkRange(new TabulationPrimaryHashFunction());
+    }
+
+    @Test
+    void tabulationHash_testSeed() {
+        PrimaryHashFunction phf1 = new TabulationPrimaryHashFunction(42);
+        PrimaryHashFunction phf2 = new TabulationPrimaryHashFunction(42);
+        PrimaryHashFunction phf3 = new TabulationPrimaryHashFunction(43);
+        boolean different = false;
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(phf1.hash(key, 1 << 16), phf2.hash(key, 1 << 16));
+            different = different
+                    || phf1.hash(key, 1 << 16) != phf3.hash(key, 1 << 16);
+        }
+        assertTrue(different);
+    }
+
+    @Test
+    void universalHash_testRange() {
+        checkRange(new UniversalPrimaryHashFunction());
+    }
+
+    @Test
+    void universalHash_testSeed() {
+        PrimaryHashFunction phf1 = new UniversalPrimaryHashFunction(42);
+        PrimaryHashFunction phf2 = new UniversalPrimaryHashFunction(42);
+        PrimaryHashFunction phf3 = new UniversalPrimaryHashFunction(43);
+        boolean different = false;
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(phf1.hash(key, 1 << 16), phf2.hash(key, 1 << 16));
+            different = different
+                    || phf1.hash(key, 1 << 16) != phf3.hash(key, 1 << 16);
+        }
+        assertTrue(different);
+    }
+
+    @Test
+    void allHashes_testHighBitKeysAreSpread() {
+        // il metodo della divisione usa solo i bit bassi: una sola posizione
+        assertEquals(1, occupiedWithHighBitKeys(new DivisionPrimaryHashFunction()));
+        // le altre funzioni occupano almeno metà delle posizioni possibili
+        assertTrue(occupiedWithHighBitKeys(new FibonacciPrimaryHashFunction()) > 1024);
+        assertTrue(occupiedWithHighBitKeys(new MixerPrimaryHashFunction()) > 1024);
+        assertTrue(occupiedWithHighBitKeys(new TabulationPrimaryHashFunction(1)) > 1024);
+        // per la famiglia universale la garanzia vale in media sulle scelte
+        int total = 0;
+        for (long seed = 0; seed < 10; seed++)
+            total += occupiedWithHighBitKeys(
+                    new UniversalPrimaryHashFunction(seed));
+        assertTrue(total > 10 * 1024);
+    }
+
+    @Test
+    void allHashes_testWorkInHashTable() {
+        PrimaryHashFunction[] functions = { new FibonacciPrimaryHashFunction(),
+                new MixerPrimaryHashFunction(),
+                new TabulationPrimaryHashFunction(5),
+                new UniversalPrimaryHashFunction(5) };
+        for (PrimaryHashFunction phf : functions) {
+            CollisionListResizableHashTable<Integer> table = new CollisionListResizableHashTable<>(
+                    phf);
+            for (int val = -500; val < 500; val++)
+                assertTrue(table.add(val * 64));
+            assertEquals(1000, table.size());
+            for (int val = -500; val < 500; val++)
+                assertTrue(table.contains(val * 64));
+            assertFalse(table.contains(1));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Verifica comune alle classi di test degli insiemi hash: esegue inserimenti
+ * e cancellazioni casuali su un insieme confrontandone ogni risultato con
+ * quello di un HashSet. Le operazioni dell'insieme sono passate come funzioni,
+ * per cui la stessa verifica vale sia per i {@code Set<Integer>} sia per gli
+ * insiemi di primitivi.
+ *
+ * @author Julian Marzoli
+ *
+ */
+final class RandomSetOperations {
+
+    /*
+     * Numero di operazioni casuali.
+     */
+    private static final int OPERATIONS = 50000;
+
+    /*
+     * I valori sono estratti in [-RANGE, RANGE - 1], per avere molte
+     * collisioni, cancellazioni di elementi presenti e valori negativi.
+     */
+    private static final int RANGE = 2000;
+
+    private RandomSetOperations() {
+    }
+
+    /**
+     * Esegue la verifica su un {@code Set<Integer>}.
+     *
+     * @param set
+     *                l'insieme vuoto da verificare
+     */
+    static void check(Set<Integer> set) {
+        check(set::add, set::remove, set::contains, set::size,
+                action -> set.forEach(action::accept));
+    }
+
+    /**
+     * Esegue la verifica su un insieme di cui sono date le operazioni sugli
+     * interi.
+     *
+     * @param add
+     *                     l'inserimento, che restituisce true se il valore non
+     *                     era presente
+     * @param remove
+     *                     la cancellazione, che restituisce true se il valore
+     *                     era presente
+     * @param contains
+     *                     la ricerca
+     * @param size
+     *                     il numero di elementi
+     * @param forEach
+     *                     la visita di tutti gli elementi
+     */
+    static void check(IntPredicate add, IntPredicate remove,
+            IntPredicate contains, IntSupplier size,
+            Consumer<IntConsumer> forEach) {
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int k = 0; k < OPERATIONS; k++) {
+            int val = random.nextInt(2 * RANGE) - RANGE;
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(val), remove.test(val));
+            else
+                assertEquals(expected.add(val), add.test(val));
+            assertEquals(expected.size(), size.getAsInt());
+        }
+        for (int val = -RANGE - 100; val < RANGE + 100; val++)
+            assertEquals(expected.contains(val), contains.test(val));
+        // ogni elemento viene visitato una sola volta
+        Set<Integer> iterated = new HashSet<>();
+        forEach.accept(val -> assertTrue(iterated.add(val)));
+        assertEquals(expected, iterated);
+    }
+
+}
@@ -0,0 +1,380 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Realizza un insieme tramite una tabella hash a indirizzamento aperto con
+ * scansione lineare e politica Robin Hood. La funzione di hash primario deve
+ * essere passata come parametro nel costruttore e deve implementare
+ * l'interfaccia PrimaryHashFunction, come per
+ * {@code CollisionListResizableHashTable}.
+ *
+ * Gli elementi sono memorizzati direttamente nell'array della tabella, senza
+ * nodi di liste di collisione: ogni elemento costa solo la sua posizione nella
+ * tabella più un intero con la distanza dalla posizione iniziale, e la ricerca
+ * scorre posizioni contigue della memoria invece di seguire puntatori. Durante
+ * l'inserimento, se l'elemento da inserire è più lontano dalla sua posizione
+ * iniziale dell'elemento che occupa la posizione corrente, i due elementi si
+ * scambiano il posto (l'elemento "ricco" cede il posto a quello "povero"):
+ * in questo modo la varianza delle distanze resta bassa anche con un fattore
+ * di caricamento alto e una ricerca senza successo si può fermare appena
+ * incontra un elemento più vicino di lei alla propria posizione iniziale. La
+ * cancellazione non lascia lapidi ma fa scorrere indietro di una posizione gli
+ * elementi successivi dello stesso gruppo (backward shift).
+ *
+ * La tabella, poiché implementa l'interfaccia Set<E> non accetta elementi
+ * duplicati (individuati tramite il metodo equals() che si assume sia
+ * opportunamente ridefinito nella classe E) e non accetta elementi null.
+ *
+ * La tabella ha una dimensione iniziale di default (16) e un fattore di
+ * caricamento di default (0.9). Quando il fattore di bilanciamento effettivo
+ * eccede quello di default la tabella viene raddoppiata e viene fatto un
+ * riposizionamento di tutti gli elementi.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class RobinHoodResizableHashTable<E> implements Set<E> {
+
+    /*
+     * La capacità iniziale. E' una potenza di due e quindi la capacità sarà
+     * sempre una potenza di due, in quanto ogni resize raddoppia la tabella.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * Fattore di bilanciamento di default. Con la politica Robin Hood le
+     * ricerche restano brevi anche con tabelle quasi piene.
+     */
+    private static final double LOAD_FACTOR = 0.9;
+
+    /*
+     * Numero di elementi effettivamente presenti nella hash table in questo
+     * momento.
+     */
+    private int size;
+
+    /*
+     * Gli elementi, memorizzati direttamente nelle posizioni della tabella;
+     * null nelle posizioni libere.
+     */
+    private Object[] table;
+
+    /*
+     * Per ogni posizione della tabella, la distanza dell'elemento che la
+     * occupa dalla sua posizione iniziale più uno; 0 nelle posizioni libere.
+     */
+    private int[] probes;
+
+    /*
+     * Funzione di hash primaria usata da questa hash table.
+     */
+    private final PrimaryHashFunction phf;
+
+    /*
+     * Contatore del numero di modifiche. Serve per rendere l'iterator
+     * fail-fast.
+     */
+    private int modCount;
+
+    /* Numero di posizioni della tabella corrente */
+    private int getCurrentCapacity() {
+        return this.table.length;
+    }
+
+    /*
+     * Valore corrente soglia oltre la quale si deve fare la resize,
+     * getCurrentCapacity * LOAD_FACTOR
+     */
+    private int getCurrentThreshold() {
+        return (int) (getCurrentCapacity() * LOAD_FACTOR);
+    }
+
+    /**
+     * Costruisce una Hash Table con capacità iniziale di default e fattore di
+     * caricamento di default.
+     *
+     * @param phf
+     *                la funzione di hash primaria da usare
+     * @throws NullPointerException
+     *                                  se la funzione passata è nulla
+     */
+    public RobinHoodResizableHashTable(PrimaryHashFunction phf) {
+        if (phf == null)
+            throw new NullPointerException(
+                    "Creazione di una tabella hash con funzione di hash null");
+        this.phf = phf;
+        this.table = new Object[INITIAL_CAPACITY];
+        this.probes = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null)
+            throw new NullPointerException(
+                    "Ricerca di elemento null in un set che non accetta null");
+        return this.find(o) != -1;
+    }
+
+    /*
+     * Restituisce la posizione dell'oggetto nella tabella, -1 se non è
+     * presente. La scansione si ferma a una posizione libera o a un elemento
+     * più vicino alla propria posizione iniziale di quanto lo sarebbe l'oggetto
+     * cercato: se l'oggetto fosse presente avrebbe preso il suo posto.
+     */
+    private int find(Object o) {
+        int mask = this.getCurrentCapacity() - 1;
+        int pos = this.phf.hash(o.hashCode(), this.getCurrentCapacity());
+        for (int d = 1; this.probes[pos] >= d; d++) {
+            if (o.equals(this.table[pos]))
+                return pos;
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Object[] toArray() {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Inserimento di elemento null in un set che non accetta null");
+        if (this.find(e) != -1)
+            // l'elemento è già presente
+            return false;
+        insertElementInTable(this.table, this.probes,
+                this.phf.hash(e.hashCode(), this.getCurrentCapacity()), e);
+        // Aggiorno size e modCount
+        this.modCount++;
+        this.size++;
+        // Controllo resize
+        if (this.size > this.getCurrentThreshold())
+            resize();
+        return true;
+    }
+
+    /*
+     * Inserisce un elemento non presente a partire dalla sua posizione
+     * iniziale pos, scambiandolo con gli elementi più vicini di lui alla
+     * propria posizione iniziale. La tabella deve avere almeno una posizione
+     * libera.
+     */
+    private static void insertElementInTable(Object[] table, int[] probes,
+            int pos, Object e) {
+        int mask = table.length - 1;
+        Object current = e;
+        int probe = 1;
+        while (probes[pos] != 0) {
+            if (probes[pos] < probe) {
+                // l'elemento residente è più "ricco": gli prendo il posto e
+                // proseguo con lui
+                Object displaced = table[pos];
+                int displacedProbe = probes[pos];
+                table[pos] = current;
+                probes[pos] = probe;
+                current = displaced;
+                probe = displacedProbe;
+            }
+            pos = (pos + 1) & mask;
+            probe++;
+        }
+        table[pos] = current;
+        probes[pos] = probe;
+    }
+
+    /*
+     * Raddoppia la tabella corrente e riposiziona tutti gli elementi. Da
+     * chiamare quando this.size diventa maggiore di getCurrentThreshold()
+     */
+    private void resize() {
+        Object[] newTable = new Object[this.getCurrentCapacity() * 2];
+        int[] newProbes = new int[newTable.length];
+        for (int i = 0; i < this.table.length; i++)
+            if (this.probes[i] != 0)
+                insertElementInTable(newTable, newProbes, this.phf.hash(
+                        this.table[i].hashCode(), newTable.length),
+                        this.table[i]);
+        this.table = newTable;
+        this.probes = newProbes;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // ATTENZIONE: la rimozione, in questa implementazione, **non** comporta
+        // mai una resize "al ribasso"
+        if (o == null)
+            throw new NullPointerException(
+                    "Cancellazione di elemento null in un set che non accetta null");
+        int pos = this.find(o);
+        if (pos == -1)
+            return false;
+        // faccio scorrere indietro gli elementi successivi che non sono nella
+        // loro posizione iniziale, fino a una posizione libera o a un elemento
+        // nella sua posizione iniziale
+        int mask = this.getCurrentCapacity() - 1;
+        int next = (pos + 1) & mask;
+        while (this.probes[next] > 1) {
+            this.table[pos] = this.table[next];
+            this.probes[pos] = this.probes[next] - 1;
+            pos = next;
+            next = (next + 1) & mask;
+        }
+        this.table[pos] = null;
+        this.probes[pos] = 0;
+        // aggiorno la size e il modCount
+        this.modCount++;
+        this.size--;
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException("ContainsAll di collection null");
+        for (Object item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "ContainsAll di collection che contiene elementi null");
+            if (!this.contains(item))
+                return false;
+        }
+        // Tutti gli elementi sono risultati presenti e non nulli
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c == null)
+            throw new NullPointerException("AddAll di collection null");
+        boolean changed = false;
+        for (E item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "AddAll di collection che contiene elementi null");
+            // E' necessario usare l'OR NON PIGRO per assicurarsi che venga
+            // chiamato il metodo add
+            changed = changed | this.add(item);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Operazione non supportata");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException("RemoveAll di collection null");
+        boolean changed = false;
+        for (Object item : c) {
+            if (item == null)
+                throw new NullPointerException(
+                        "RemoveAll di collection che contiene elementi null");
+            // E' necessario usare l'OR NON PIGRO per assicurarsi che venga
+            // chiamato il metodo remove
+            changed = changed | this.remove(item);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        // Ritorno alla situazione iniziale
+        this.table = new Object[INITIAL_CAPACITY];
+        this.probes = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /*
+     * Iteratore fail-fast che scorre le posizioni occupate della tabella.
+     */
+    private class Itr implements Iterator<E> {
+
+        private int currentPos;
+
+        private final int numeroModificheAtteso;
+
+        private Itr() {
+            this.numeroModificheAtteso = modCount;
+            this.currentPos = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (currentPos < table.length && probes[currentPos] == 0)
+                currentPos++;
+            return currentPos < table.length;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != numeroModificheAtteso)
+                throw new ConcurrentModificationException(
+                        "Next in iteratore su tabella modificata");
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next con hasNext falso");
+            @SuppressWarnings("unchecked")
+            E toReturn = (E) table[currentPos++];
+            return toReturn;
+        }
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected Object[] getTable() {
+        return this.table;
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected int[] getProbes() {
+        return this.probes;
+    }
+
+    /*
+     * Only for JUnit testing purposes.
+     */
+    protected PrimaryHashFunction getPhf() {
+        return this.phf;
+    }
+
+}
@@ -0,0 +1,200 @@
+package it.unicam.cs.asdl2021.es9sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe RobinHoodResizableHashTable
+ * 
+ * @author Julian Marzoli
+ *
+ */
+class RobinHoodResizableHashTableTest {
+
+    private PrimaryHashFunction divisionHash = new DivisionPrimaryHashFunction();
+
+    private PrimaryHashFunction multiplicationHash = new MultiplicationPrimaryHashFunction();
+
+    /*
+     * Esegue la verifica comune e controlla il fattore di caricamento.
+     */
+    private void randomOperations(PrimaryHashFunction phf) {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                phf);
+        RandomSetOperations.check(table);
+        // il fattore di caricamento non supera 0.9
+        assertTrue(table.size() <= 0.9 * table.getTable().length);
+    }
+
+    @Test
+    void divisionHash_testRandomOperations() {
+        randomOperations(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testRandomOperations() {
+        randomOperations(multiplicationHash);
+    }
+
+    /*
+     * Controlla le invarianti della tabella: ogni elemento dista dalla sua
+     * posizione iniziale quanto indicato in probes, tra la posizione iniziale
+     * e quella dell'elemento non ci sono posizioni libere e lungo ogni gruppo
+     * di posizioni occupate le posizioni iniziali non tornano indietro, cioè
+     * la distanza di un elemento supera di al più uno quella del precedente.
+     */
+    private static void checkInvariants(
+            RobinHoodResizableHashTable<Integer> table) {
+        Object[] elements = table.getTable();
+        int[] probes = table.getProbes();
+        int mask = elements.length - 1;
+        int occupied = 0;
+        for (int pos = 0; pos < elements.length; pos++) {
+            int prev = (pos - 1) & mask;
+            if (elements[pos] == null) {
+                assertEquals(0, probes[pos]);
+                continue;
+            }
+            occupied++;
+            int home = table.getPhf().hash(elements[pos].hashCode(),
+                    elements.length);
+            assertEquals(((pos - home) & mask) + 1, probes[pos]);
+            assertTrue(probes[pos] <= probes[prev] + 1);
+        }
+        assertEquals(table.size(), occupied);
+    }
+
+    /*
+     * Esegue inserimenti e cancellazioni casuali con molte collisioni
+     * controllando le invarianti dopo ogni operazione.
+     */
+    private void randomOperationsKeepInvariants(PrimaryHashFunction phf) {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                phf);
+        Random random = new Random(5);
+        for (int k = 0; k < 5000; k++) {
+            // multipli di 16: stessa posizione iniziale per la divisione
+            // finché la tabella è piccola
+            int val = (random.nextInt(300) - 150)
+                    * (random.nextBoolean() ? 16 : 1);
+            if (random.nextInt(3) == 0)
+                table.remove(val);
+            else
+                table.add(val);
+            checkInvariants(table);
+        }
+        // svuotando la tabella lo scorrimento indietro non lascia buchi
+        for (int val = -150 * 16; val < 150 * 16; val++) {
+            table.remove(val);
+            if (val % 64 == 0)
+                checkInvariants(table);
+        }
+        assertTrue(table.isEmpty());
+        for (int probe : table.getProbes())
+            assertEquals(0, probe);
+    }
+
+    @Test
+    void divisionHash_testRandomOperationsKeepInvariants() {
+        randomOperationsKeepInvariants(divisionHash);
+    }
+
+    @Test
+    void multiplicationHash_testRandomOperationsKeepInvariants() {
+        randomOperationsKeepInvariants(multiplicationHash);
+    }
+
+    @Test
+    void divisionHash_testRemoveShiftsRunBack() {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                divisionHash);
+        // 3, 19, 35 nella posizione iniziale 3; 4 e 20 nella 4; 5 nella 5
+        table.addAll(Arrays.asList(3, 19, 35, 4, 20, 5));
+        checkInvariants(table);
+        assertArrayEquals(new int[] { 1, 2, 3, 3, 4, 4 },
+                Arrays.copyOfRange(table.getProbes(), 3, 9));
+        assertTrue(table.remove(19));
+        checkInvariants(table);
+        // tutto il gruppo scorre indietro di una posizione
+        assertArrayEquals(new int[] { 1, 2, 2, 3, 3, 0 },
+                Arrays.copyOfRange(table.getProbes(), 3, 9));
+        assertTrue(table.containsAll(Arrays.asList(3, 35, 4, 20, 5)));
+    }
+
+    @Test
+    void divisionHash_testRemoveKeepsCollidingElements() {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                divisionHash);
+        // tutti nella posizione iniziale 3, più un elemento nella posizione 4
+        Integer vals[] = { 3, 19, 35, 4, 51 };
+        table.addAll(Arrays.asList(vals));
+        assertTrue(table.remove(19));
+        assertFalse(table.contains(19));
+        assertTrue(table.containsAll(Arrays.asList(3, 35, 4, 51)));
+        assertTrue(table.remove(3));
+        assertTrue(table.containsAll(Arrays.asList(35, 4, 51)));
+        assertFalse(table.remove(3));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void divisionHash_testNull() {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                divisionHash);
+        assertThrows(NullPointerException.class, () -> {
+            table.add(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            table.contains(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            table.remove(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            table.addAll(Arrays.asList(1, null));
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new RobinHoodResizableHashTable<Integer>(null);
+        });
+    }
+
+    @Test
+    void divisionHash_testShouldResize() {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                divisionHash);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 };
+        table.addAll(Arrays.asList(vals));
+        int tableLengthBeforeAdd = table.getTable().length;
+        assertEquals(16, tableLengthBeforeAdd);
+        table.add(15);
+        assertEquals(tableLengthBeforeAdd * 2, table.getTable().length);
+        assertTrue(table.containsAll(Arrays.asList(vals)));
+        assertTrue(table.contains(15));
+    }
+
+    @Test
+    void multiplicationHash_testIteratorShouldFailFast() {
+        RobinHoodResizableHashTable<Integer> table = new RobinHoodResizableHashTable<>(
+                multiplicationHash);
+        Integer vals[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+        table.addAll(Arrays.asList(vals));
+        Iterator<Integer> it = table.iterator();
+        it.next();
+        table.remove(42);
+        it.next();
+        table.add(42);
+        assertThrows(ConcurrentModificationException.class, () -> {
+            it.next();
+        });
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+
+}
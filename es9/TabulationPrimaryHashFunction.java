@@ -0,0 +1,59 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.util.Random;
+
+/**
+ * Implementa una funzione hash primaria con l'hashing a tabulazione semplice:
+ * la chiave viene divisa nei suoi 4 byte e il risultato è l'or esclusivo di 4
+ * valori casuali, uno per byte, letti da 4 tabelle di 256 interi generate alla
+ * creazione dell'oggetto. La famiglia è 3-indipendente e garantisce liste di
+ * collisione corte in media per qualunque insieme di chiavi; il calcolo usa
+ * solo accessi a tabelle che occupano complessivamente 4 KB.
+ * 
+ * La posizione viene ottenuta moltiplicando il valore per m e prendendo i 32
+ * bit alti del risultato, senza divisioni.
+ * 
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class TabulationPrimaryHashFunction implements PrimaryHashFunction {
+
+    /*
+     * Le tabelle di valori casuali, una riga per ogni byte della chiave.
+     */
+    private final int[][] tables;
+
+    /**
+     * Costruisce una funzione della famiglia scelta a caso.
+     */
+    public TabulationPrimaryHashFunction() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Costruisce la funzione della famiglia individuata da un seme, per
+     * ottenere risultati riproducibili.
+     * 
+     * @param seed
+     *                 il seme per generare le tabelle
+     */
+    public TabulationPrimaryHashFunction(long seed) {
+        Random random = new Random(seed);
+        this.tables = new int[4][256];
+        for (int[] table : this.tables)
+            for (int i = 0; i < table.length; i++)
+                table[i] = random.nextInt();
+    }
+
+    @Override
+    public int hash(int key, int m) {
+        int h = this.tables[0][key & 0xFF] ^ this.tables[1][(key >>> 8) & 0xFF]
+                ^ this.tables[2][(key >>> 16) & 0xFF]
+                ^ this.tables[3][key >>> 24];
+        return (int) (((h & 0xFFFFFFFFL) * m) >>> 32);
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * 
+ */
+package it.unicam.cs.asdl2021.es9sol;
+
+import java.util.Random;
+
+/**
+ * Implementa una funzione hash primaria scelta a caso da una famiglia
+ * universale, con lo schema multiply-add-shift di Dietzfelbinger: con a
+ * dispari e b interi a 64 bit scelti alla creazione dell'oggetto, il valore
+ * della chiave è dato dai 32 bit alti di a * key + b. Scegliendo la funzione a
+ * caso, nessun insieme di chiavi fissato in anticipo può provocare
+ * sistematicamente molte collisioni, in media sulle scelte.
+ * 
+ * La posizione viene ottenuta moltiplicando il valore per m e prendendo i 32
+ * bit alti del risultato, senza divisioni.
+ * 
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class UniversalPrimaryHashFunction implements PrimaryHashFunction {
+
+    /*
+     * Il moltiplicatore, sempre dispari.
+     */
+    private final long a;
+
+    /*
+     * L'addendo.
+     */
+    private final long b;
+
+    /**
+     * Costruisce una funzione della famiglia scelta a caso.
+     */
+    public UniversalPrimaryHashFunction() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Costruisce la funzione della famiglia individuata da un seme, per
+     * ottenere risultati riproducibili.
+     * 
+     * @param seed
+     *                 il seme per scegliere la funzione
+     */
+    public UniversalPrimaryHashFunction(long seed) {
+        Random random = new Random(seed);
+        this.a = random.nextLong() | 1L;
+        this.b = random.nextLong();
+    }
+
+    @Override
+    public int hash(int key, int m) {
+        long h = (this.a * (key & 0xFFFFFFFFL) + this.b) >>> 32;
+        return (int) ((h * m) >>> 32);
+    }
+
+}
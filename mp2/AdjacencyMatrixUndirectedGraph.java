@@ -4,10 +4,9 @@
 package it.unicam.cs.asdl2122.mp2;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Classe che implementa un grafo non orientato tramite matrice di adiacenza.
@@ -21,9 +20,18 @@ import java.util.Set;
  * ad ogni inserimento di un nodo. Per questo non è rappresentata tramite array
  * ma tramite ArrayList.
  * 
- * Gli oggetti GraphNode<L>, cioè i nodi, sono memorizzati in una mappa che
- * associa ad ogni nodo l'indice assegnato in fase di inserimento. Il dominio
- * della mappa rappresenta quindi l'insieme dei nodi.
+ * Gli oggetti GraphNode<L>, cioè i nodi, sono memorizzati in un registro
+ * indicizzato ({@code NodeRegistry<L>}) che associa all'etichetta di ogni nodo
+ * uno slot, assegnato in fase di inserimento, e ad ogni slot il nodo canonico.
+ * Righe e colonne della matrice sono indicizzate per slot e le operazioni che
+ * ricevono etichette le traducono in slot con una sola ricerca nel registro,
+ * senza creare nodi temporanei. La cancellazione di un nodo
+ * lascia una lapide nel suo slot, svuotandone riga e colonna, invece di
+ * rinumerare tutti gli indici successivi; quando le lapidi superano la metà
+ * degli slot registro e matrice vengono compattati insieme. L'indice di un
+ * nodo secondo l'API, sempre in [0, nodeCount() - 1], coincide con il suo slot
+ * finché non ci sono lapidi e in ogni caso viene calcolato dal registro senza
+ * scandire i nodi.
  * 
  * Gli archi sono memorizzati nella matrice di adiacenza. A differenza della
  * rappresentazione standard con matrice di adiacenza, la posizione i,j della
@@ -48,16 +56,16 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
 
     /*
-     * Insieme dei nodi e associazione di ogni nodo con il proprio indice nella
+     * Insieme dei nodi e associazione di ogni nodo con il proprio slot nella
      * matrice di adiacenza
      */
-    protected Map<GraphNode<L>, Integer> nodesIndex;
+    protected NodeRegistry<L> nodes;
 
     /*
      * Matrice di adiacenza, gli elementi sono null o oggetti della classe
      * GraphEdge<L>. L'uso di ArrayList permette alla matrice di aumentare di
      * dimensione gradualmente ad ogni inserimento di un nuovo nodo e di
-     * ridimensionarsi se un nodo viene cancellato.
+     * ridimensionarsi quando viene compattata dopo le cancellazioni.
      */
     protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
     
@@ -74,12 +82,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     public AdjacencyMatrixUndirectedGraph() {
         this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>();
-        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodes = new NodeRegistry<L>();
     }
 
     @Override
     public int nodeCount() { 
-        return this.matrix.size();
+        return this.nodes.size();
     }
 
     @Override
@@ -89,8 +97,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     
     @Override
     public void clear() {
-    	// rimuovo ogni elemento dalla mappa  
-    	this.nodesIndex.clear();
+    	// rimuovo ogni elemento dal registro  
+    	this.nodes.clear();
     	// rimuovo ogni elemento dall'insieme di nodi  
     	this.matrix.clear();
     	// aggiorno il numero di archi dle grafo
@@ -112,8 +120,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(node == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un nodo nullo");
-    	// se non è presente, il nodo viene aggiunto alla mappa   
-    	if(this.nodesIndex.putIfAbsent(node, this.nodesIndex.size()) == null) {
+    	// se non è presente, il nodo viene aggiunto al registro   
+    	if(this.nodes.add(node) != -1) {
     		// aggiungo una riga e una colonna alla matrice di adiacenza
     		this.addColumnToMatrix();
     		this.addRowToMatrix();
@@ -132,29 +140,41 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un nodo con etichetta nulla");
-    	GraphNode<L> node = new GraphNode<L>(label);
-    	return this.addNode(node); 
+    	// creo il nodo solo se l'etichetta non è già presente
+    	if(this.nodes.slotOfLabel(label) != -1)
+    		return false;
+    	return this.addNode(new GraphNode<L>(label)); 
     }
 
     /*
      * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
      * cancellare devono essere decrementati di uno dopo la cancellazione del
-     * nodo
+     * nodo. Ciò avviene implicitamente: lo slot del nodo diventa una lapide e
+     * gli indici dei nodi successivi, calcolati dal registro, scalano di uno.
      */
     @Override
     public void removeNode(GraphNode<L> node) {
     	if(node == null)
     		throw new NullPointerException(
     				"Tentativo di rimuovere dal grafo un nodo nullo");
-    	if(!this.nodesIndex.containsKey(node)) 
+    	// rimuovo il nodo dal registro e ne salvo lo slot
+    	int slot = this.nodes.remove(node);
+    	if(slot == -1) 
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un nodo non presente");
-    	// rimuovo la entry del nodo dalla mappa e ne salvo l'indice
-    	int index = this.removeNodeFromMap(node);
-    	// rimuovo la riga del nodo eliminato dalla matrice di adiacenza 
-    	this.matrix.remove(index);
-    	// rimuovo la colonna del nodo eliminato dalla matrice di adiacenza
-    	this.removeColumnFromMatrix(index);
+    	// svuoto la riga e la colonna del nodo eliminato, aggiornando il
+    	// numero di archi (ogni arco compare una volta nella riga)
+    	ArrayList<GraphEdge<L>> row = this.matrix.get(slot);
+    	for(int j = 0; j < row.size(); j++) {
+    		if(row.get(j) != null) {
+    			this.edgeCount--;
+    			row.set(j, null);
+    			this.matrix.get(j).set(slot, null);
+    		}
+    	}
+    	// se le lapidi sono troppe compatto registro e matrice
+    	if(this.nodes.needsCompaction())
+    		this.compactMatrix();
     }
 
     /*
@@ -167,8 +187,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di rimuovere dal grafo un nodo da un'etichetta nulla");
-    	GraphNode<L> node = new GraphNode<L>(label);
-    	if(!this.nodesIndex.containsKey(node))
+    	GraphNode<L> node = this.nodes.canonicalOf(label);
+    	if(node == null)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un nodo da un'etichetta non presente");
     	this.removeNode(node);
@@ -181,10 +201,10 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     @Override
     public void removeNode(int i) {
-    	if(i < 0 || i > this.nodesIndex.size() - 1)  
+    	if(i < 0 || i > this.nodes.size() - 1)  
     		throw new IndexOutOfBoundsException(
     				"Tentativo di rimuovere dal grafo un nodo da un indice non prensente");
-    	this.removeNode(this.getNode(i));
+    	this.removeNode(this.nodes.nodeInSlot(this.nodes.slotOfIndex(i)));
     }
 
     @Override
@@ -192,16 +212,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(node == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca nel grafo di un nodo nullo");
-    	// per ogni nodo nella mappa  
-    	for(GraphNode<L> key : this.nodesIndex.keySet()) {
-    		// se coincide con il nodo da ricercare
-    		if(node.equals(key)) {
-    			// lo ritorno
-    			return key; 
-    		}
-    	}
-    	// altrimenti non è presente
-    	return null;
+    	// il registro restituisce il nodo canonico, null se non è presente
+    	return this.nodes.canonical(node);
     }
 
     @Override
@@ -209,23 +221,17 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca nel grafo di un nodo a partire da un'etichetta nulla");
-    	GraphNode<L> node = new GraphNode<L>(label);
-    	return this.getNode(node);
+    	// il registro cerca direttamente l'etichetta
+    	return this.nodes.canonicalOf(label);
     }
 
     @Override
     public GraphNode<L> getNode(int i) {
-    	if(i < 0 || i > this.nodesIndex.size() - 1)
+    	if(i < 0 || i > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException( 
     				"Tentativo di ricerca nel grafo di un nodo a partire da un indice non presente");
-        // scorro ogni entry nella mappa  
-    	for(Map.Entry<GraphNode<L>, Integer> entry : this.nodesIndex.entrySet()) {
-    		// se il valore corrisponde ad i 
-        	if(entry.getValue() == i) 
-        		// ne ritorno la chiave associata
-        		return entry.getKey();        	
-        }
-    	return null;
+        // converto l'indice nello slot e ne ritorno il nodo
+    	return this.nodes.nodeInSlot(this.nodes.slotOfIndex(i));
     }
 
     @Override
@@ -233,11 +239,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(node == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca di un indice a partire da un nodo nullo");
-    	if(!this.nodesIndex.containsKey(node))
+    	int slot = this.nodes.slotOf(node);
+    	if(slot == -1)
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca di un indice di un nodo non presente nel grafo");
-    	// ritorno il valore associato alla chiave (nodo) nella mappa 
-        return this.nodesIndex.get(node);
+    	// converto lo slot del nodo nel suo indice
+        return this.nodes.indexOfSlot(slot);
     }
 
     @Override
@@ -245,17 +252,17 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca di un indice di nodo a partire da un'etichetta nulla");
-    	GraphNode<L> node = new GraphNode<L>(label); 
-    	if(!this.nodesIndex.containsKey(node))
+    	int slot = this.nodes.slotOfLabel(label);
+    	if(slot == -1)
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca di un indice di un nodo non presente nel grafo");
-        return this.getNodeIndexOf(node);
+        return this.nodes.indexOfSlot(slot);
     }
 
     @Override
     public Set<GraphNode<L>> getNodes() {
-        // ritorno l'insieme delle chiavi nella mappa 
-        return this.nodesIndex.keySet();
+        // ritorno l'insieme dei nodi del registro 
+        return this.nodes.nodes();
     }
 
     @Override
@@ -271,14 +278,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     				"Tentativo di inserire in un grafo non orientato un arco orientato");
     	// se l'arco non è già presente nella matrice di adiacenza 
     	if(this.getEdge(edge) == null) {
+	    	int i = this.nodes.slotOf(edge.getNode1());
+	    	int j = this.nodes.slotOf(edge.getNode2());
 	    	// lo aggiungo alla matrice in posizione i j
-	    	this.matrix.get(
-	    			this.getNodeIndexOf(edge.getNode1())).set(
-	    					this.getNodeIndexOf(edge.getNode2()), edge);			
+	    	this.matrix.get(i).set(j, edge);			
 	    	// lo aggiungo alla matrice in posizione j i 
-	    	this.matrix.get(
-	    			this.getNodeIndexOf(edge.getNode2())).set(
-	    					this.getNodeIndexOf(edge.getNode1()), edge);
+	    	this.matrix.get(j).set(i, edge);
 	    	this.edgeCount++;
 	    	return true; 
     	}
@@ -291,7 +296,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(node1 == null || node2 == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un arco a partire da uno o entrambi nodi nulli");
-    	if(!this.nodesIndex.containsKey(node1) || !this.nodesIndex.containsKey(node2))
+    	if(!this.nodes.contains(node1) || !this.nodes.contains(node2))
     		throw new IllegalArgumentException(
     				"Tentativo di inserire nel grafo un arco con uno o entrambi i nodi non specificati");
     	GraphEdge<L> edge = new GraphEdge<L>(node1, node2, false);
@@ -304,7 +309,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(node1 == null || node2 == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un arco pesato a partire da uno o entrambi nodi nulli");
-    	if(!this.nodesIndex.containsKey(node1) || !this.nodesIndex.containsKey(node2))
+    	if(!this.nodes.contains(node1) || !this.nodes.contains(node2))
     		throw new IllegalArgumentException(
     				"Tentativo di inserire nel grafo un arco pesato con uno o entrambi i nodi non specificati");
     	GraphEdge<L> edge = new GraphEdge<L>(node1, node2, false, weight);
@@ -316,10 +321,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label1 == null || label2 == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un arco a partire da una o entrambe le etichette nulle");
-    	if(this.getNode(label1) == null || this.getNode(label2) == null)
+    	GraphNode<L> node1 = this.getNode(label1);
+    	GraphNode<L> node2 = this.getNode(label2);
+    	if(node1 == null || node2 == null)
     		throw new IllegalArgumentException(
     				"Tentativo di inserire nel grafo un arco a partire da delle etichette non presenti in nessun nodo nel grafo");  	
-    	return this.addEdge(this.getNode(label1), this.getNode(label2));
+    	return this.addEdge(node1, node2);
     }
 
     @Override
@@ -327,15 +334,17 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label1 == null || label2 == null)
     		throw new NullPointerException(
     				"Tentativo di aggiungere al grafo un arco pesato a partire da una o entrambe le etichette nulle");
-    	if(this.getNode(label1) == null || this.getNode(label1) == null)
+    	GraphNode<L> node1 = this.getNode(label1);
+    	GraphNode<L> node2 = this.getNode(label2);
+    	if(node1 == null || node2 == null)
     		throw new IllegalArgumentException(
     				"Tentativo di inserire nel grafo un arco pesato a partire da delle etichette non presenti in nessun nodo nel grafo");  	
-    	return this.addWeightedEdge(this.getNode(label1), this.getNode(label2), weight);
+    	return this.addWeightedEdge(node1, node2, weight);
     }
 
     @Override
     public boolean addEdge(int i, int j) {
-	if(i < 0 || i > this.nodesIndex.size() - 1 || j < 0 || j > this.nodesIndex.size() - 1)
+	if(i < 0 || i > this.nodes.size() - 1 || j < 0 || j > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di aggiungere al grafo un arco a partire da uno o entrambi gli indici non validi");
     	return this.addEdge(this.getNode(i), this.getNode(j));
@@ -343,7 +352,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public boolean addWeightedEdge(int i, int j, double weight) {
-    	if(i < 0 || i > this.nodesIndex.size() - 1 || j < 0 || j > this.nodesIndex.size() - 1)
+    	if(i < 0 || i > this.nodes.size() - 1 || j < 0 || j > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di aggiungere al grafo un arco pesato a partire da uno o entrambi gli indici non validi");
     	return this.addWeightedEdge(this.getNode(i), this.getNode(j), weight);
@@ -360,12 +369,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(edge.getNode1() == null || edge.getNode2() == null)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un arco con uno o entrambi i nodi non specificati");
+    	int i = this.nodes.slotOf(edge.getNode1());
+    	int j = this.nodes.slotOf(edge.getNode2());
     	// rimuovo l'arco dalla matrice in posizione i, j
-    	this.matrix.get(this.getNodeIndexOf(edge.getNode1())).set(
-    			this.getNodeIndexOf(edge.getNode2()), null);
+    	this.matrix.get(i).set(j, null);
     	// rimuovo l'arco dalla matrice in posizione j, i 
-    	this.matrix.get(this.getNodeIndexOf(edge.getNode2())).set(
-    			this.getNodeIndexOf(edge.getNode1()), null);
+    	this.matrix.get(j).set(i, null);
     	// decremento il contatore degli archi
     	this.edgeCount--;
     }
@@ -390,13 +399,16 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label1 == null || label2 == null)
     		throw new NullPointerException(
     				"Tentativo di rimuovere dal grafo un arco a partire da una o entrambe etichette nulle");
-    	if(this.getNode(label1) == null || this.getNode(label2) == null)
+    	int i = this.nodes.slotOfLabel(label1);
+    	int j = this.nodes.slotOfLabel(label2);
+    	if(i == -1 || j == -1)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un arco a partire da una o entrambe etichette non presenti");
-    	if(this.getEdge(label1, label2) == null)
+    	GraphEdge<L> edge = this.matrix.get(i).get(j);
+    	if(edge == null)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un arco non presente a partire da due etichette");
-    	this.removeEdge(this.getEdge(label1, label2));
+    	this.removeEdge(edge);
     } 
 
     @Override
@@ -404,7 +416,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(this.getEdge(i, j) == null)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un arco non presente a partire da due indici");
-    	if(i < 0 || i > this.nodesIndex.size() - 1 || j < 0 || j > this.nodesIndex.size() - 1)
+    	if(i < 0 || i > this.nodes.size() - 1 || j < 0 || j > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di rimuovere dal grafo un arco a partire da uno o entrambi gli indici non validi");
     	this.removeEdge(this.getEdge(i, j));
@@ -418,12 +430,13 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(edge.isDirected())
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca nel grafo di un arco orientato");
-    	if(!this.nodesIndex.containsKey(edge.getNode1()) || !this.nodesIndex.containsKey(edge.getNode2()))
+    	int i = this.nodes.slotOf(edge.getNode1());
+    	int j = this.nodes.slotOf(edge.getNode2());
+    	if(i == -1 || j == -1)
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca nel grafo di un arco con uno o entrambi i nodi non presenti");
     	// cerco l'arco in posizione i, j della matrice
-    	return this.matrix.get(this.getNodeIndexOf(edge.getNode1())).get(
-    			this.getNodeIndexOf(edge.getNode2()));
+    	return this.matrix.get(i).get(j);
     }
 
     @Override
@@ -443,15 +456,18 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label1 == null || label2 == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca nel grafo di un arco a partire da una o entrambe le etichette nulle");
-    	if(this.getNode(label1) == null || this.getNode(label2) == null)
+    	int i = this.nodes.slotOfLabel(label1);
+    	int j = this.nodes.slotOfLabel(label2);
+    	if(i == -1 || j == -1)
     		throw new IllegalArgumentException(
     				"Tentativo di rimuovere dal grafo un arco a partire da etichette di uno o entrambi i nodi non presenti"); 
-    	return this.getEdge(this.getNode(label1), this.getNode(label2));
+    	// cerco l'arco direttamente negli slot dei due nodi
+    	return this.matrix.get(i).get(j);
     }
 
     @Override
     public GraphEdge<L> getEdge(int i, int j) {    	
-    	if(i < 0 || i > this.nodesIndex.size() - 1 || j < 0 || j > this.nodesIndex.size() - 1)
+    	if(i < 0 || i > this.nodes.size() - 1 || j < 0 || j > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di cercare nel grafo un arco a partire da uno o entrambi gli indici dei nodi non validi");
         return this.getEdge(this.getNode(i), this.getNode(j));
@@ -468,7 +484,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	// creo il set in cui aggiungere i nodi adiacenti
     	Set<GraphNode<L>> adj = new HashSet<GraphNode<L>>();
     	// per ogni casella nella riga del nodo
-    	for(GraphEdge<L> entry : this.matrix.get(this.getNodeIndexOf(node))) {
+    	for(GraphEdge<L> entry : this.matrix.get(this.nodes.slotOf(node))) {
     		// se nella casella è presente un arco
     		if(entry != null) {
     			// se il node1 non è esso stesso
@@ -489,18 +505,19 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca dei nodi adiancenti ad un nodo nullo a partire da un'etichetta nulla");
-    	if(this.getNode(label) == null)
+    	GraphNode<L> node = this.getNode(label);
+    	if(node == null)
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca dei nodi adiancenti ad un nodo non presente nel grafo a partire da un'etichetta");
-    	return this.getAdjacentNodesOf(this.getNode(label));
+    	return this.getAdjacentNodesOf(node);
     }
 
     @Override
     public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
-    	if(!this.nodesIndex.containsValue(i))
+    	if(i < 0 || i > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di ricerca di nodi adiacenti a partire da un indice di nodo non valido");
-    	return this.getAdjacentNodesOf(this.getNode(i));
+    	return this.getAdjacentNodesOf(this.nodes.nodeInSlot(this.nodes.slotOfIndex(i)));
     }
 
     @Override
@@ -532,7 +549,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	// creo il set in cui aggiungere gli archi
     	Set<GraphEdge<L>> edges = new HashSet<GraphEdge<L>>();
     	// scorro la riga con indice del nodo
-    	for(GraphEdge<L> entry : this.matrix.get(this.getNodeIndexOf(node))) {
+    	for(GraphEdge<L> entry : this.matrix.get(this.nodes.slotOf(node))) {
     		// se la casella non è nulla 
     		if(entry != null) {
     			// aggiungo l'arco al set 
@@ -547,18 +564,71 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	if(label == null)
     		throw new NullPointerException(
     				"Tentativo di ricerca degli archi connessi ad un nodo a partire da un'etichetta nulla");
-    	if(this.getNode(label) == null)
+    	GraphNode<L> node = this.getNode(label);
+    	if(node == null)
     		throw new IllegalArgumentException(
     				"Tentativo di ricerca degli archi connessi a un nodo non presente nel grafo a partire da un'etichetta");
-        return this.getEdgesOf(this.getNode(label));
+        return this.getEdgesOf(node);
     }
 
     @Override
     public Set<GraphEdge<L>> getEdgesOf(int i) {
-    	if(!this.nodesIndex.containsValue(i))
+    	if(i < 0 || i > this.nodes.size() - 1)
     		throw new IndexOutOfBoundsException(
     				"Tentativo di ricerca degli archi connessi a partire da un indice di nodo non valido");
-    	return this.getEdgesOf(this.getNode(i));
+    	return this.getEdgesOf(this.nodes.nodeInSlot(this.nodes.slotOfIndex(i)));
+    }
+
+    @Override
+    public void forEachNeighbor(int i, IntConsumer action) {
+    	if(action == null)
+    		throw new NullPointerException(
+    				"Tentativo di visitare i nodi adiacenti con un'operazione nulla");
+    	if(i < 0 || i > this.nodes.size() - 1)
+    		throw new IndexOutOfBoundsException(
+    				"Tentativo di visitare i nodi adiacenti a partire da un indice di nodo non valido");
+    	// scorro la riga del nodo per posizione, senza iteratori
+    	ArrayList<GraphEdge<L>> row = this.matrix.get(this.nodes.slotOfIndex(i));
+    	for(int s = 0; s < row.size(); s++) {
+    		// ogni casella non vuota è un arco verso il nodo nello slot s
+    		if(row.get(s) != null)
+    			action.accept(this.nodes.indexOfSlot(s));
+    	}
+    }
+
+    @Override
+    public void forEachEdge(int i, EdgeVisitor visitor) {
+    	if(visitor == null)
+    		throw new NullPointerException(
+    				"Tentativo di visitare gli archi con un'operazione nulla");
+    	if(i < 0 || i > this.nodes.size() - 1)
+    		throw new IndexOutOfBoundsException(
+    				"Tentativo di visitare gli archi a partire da un indice di nodo non valido");
+    	ArrayList<GraphEdge<L>> row = this.matrix.get(this.nodes.slotOfIndex(i));
+    	for(int s = 0; s < row.size(); s++) {
+    		GraphEdge<L> entry = row.get(s);
+    		if(entry != null)
+    			visitor.visit(i, this.nodes.indexOfSlot(s), entry.getWeight());
+    	}
+    }
+
+    /*
+     * Gli slot sono ordinati come gli indici dei nodi, per cui basta cercare
+     * la prima casella non vuota a partire dallo slot dell'indice from.
+     */
+    @Override
+    public int nextNeighbor(int i, int from) {
+    	if(i < 0 || i > this.nodes.size() - 1 || from < 0)
+    		throw new IndexOutOfBoundsException(
+    				"Tentativo di cercare un nodo adiacente a partire da un indice di nodo non valido");
+    	if(from > this.nodes.size() - 1)
+    		return -1;
+    	ArrayList<GraphEdge<L>> row = this.matrix.get(this.nodes.slotOfIndex(i));
+    	for(int s = this.nodes.slotOfIndex(from); s < row.size(); s++) {
+    		if(row.get(s) != null)
+    			return this.nodes.indexOfSlot(s);
+    	}
+    	return -1;
     }
 
     @Override
@@ -619,7 +689,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     	// creo la lista rappresentate la riga 
 		ArrayList<GraphEdge<L>> row = new ArrayList<GraphEdge<L>>();
 		// la riempio di elementi null
-		for(int i = 0; i < this.nodesIndex.size(); i++) {
+		for(int i = 0; i < this.nodes.slotCount(); i++) {
 			row.add(i, null);
 		}
 		// aggiungo la riga nella matrice
@@ -627,56 +697,29 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     }
     
     /**
-     * Rimuove la colonna con l'indice
-     * specificato dalla matrice di adiacenza.
+     * Compatta il registro dei nodi eliminando le lapidi e toglie dalla
+     * matrice di adiacenza le righe e le colonne degli slot cancellati, che
+     * sono già vuote.
      * 
-     * @param j
-     *                 l'indice della colonna 
-     *                 da rimuovere
      */
-    private void removeColumnFromMatrix(int j) {
-    	if(j < 0 || j > this.nodesIndex.size())
-    		throw new IndexOutOfBoundsException( 
-    				"Tentativo di rimuovere dalla matrice di adiacenza una colonna con indice non presente");
-    	// per ogni riga della matrice
-    	for(ArrayList<GraphEdge<L>> row : this.matrix) { 
-    		// rimuovo la casella dell'indice della 
-    		// colonna da rimuovere
-    		row.remove(j);
-    	}
-    }
-    
-    /**
-     * Dato un nodo del grafo, ne elimina la presenza dalla mappa
-     * {@code nodesIndex}. Gli indici (dei nodi) superiori a quello
-     * del nodo rimosso, saranno decrementati di una posizione.
-     * 
-     * @param node
-     *              il nodo da rimuovere 
-     * @return l'indice del nodo rimosso
-     * @throws NullPointerException
-     *                                      se il nodo passato è nullo
-     * @throws IllegalArgumentException
-     *                                      se il nodo passato non è 
-     *                                      presente nella mappa                            
-     */
-    private int removeNodeFromMap(GraphNode<L> node) {
-    	if(node == null)
-    		throw new NullPointerException(
-    				"Tentativo di rimuovere dalla mappa un nodo nullo");
-    	if(!this.nodesIndex.containsKey(node))
-    		throw new IllegalArgumentException(
-    				"Tentativo di rimuovere dalla mappa un nodo non presente");
-    	// rimuovo la entry del nodo dalla mappa e ne salvo l'indice
-    	int index = this.nodesIndex.remove(node);
-    	// per ogni nodo nella mappa
-    	for(Map.Entry<GraphNode<L>, Integer> entry : nodesIndex.entrySet()) {
-    		// se ha indice superiore all' indice di quello rimosso
-    		if(entry.getValue() > index) {
-    			// lo decremento di 1
-    			entry.setValue(entry.getValue() - 1); 
+    private void compactMatrix() {
+    	// recupero la nuova posizione di ogni slot (-1 per le lapidi)
+    	int[] newSlots = this.nodes.compact();
+    	ArrayList<ArrayList<GraphEdge<L>>> compacted = 
+    			new ArrayList<ArrayList<GraphEdge<L>>>();
+    	// per ogni riga di uno slot ancora occupato
+    	for(int i = 0; i < newSlots.length; i++) {
+    		if(newSlots[i] == -1)
+    			continue;
+    		ArrayList<GraphEdge<L>> row = this.matrix.get(i);
+    		ArrayList<GraphEdge<L>> newRow = new ArrayList<GraphEdge<L>>();
+    		// tengo solo le caselle delle colonne ancora occupate
+    		for(int j = 0; j < newSlots.length; j++) {
+    			if(newSlots[j] != -1)
+    				newRow.add(row.get(j));
     		}
+    		compacted.add(newRow);
     	}
-    	return index; 
+    	this.matrix = compacted;
     }
 }
@@ -588,4 +588,113 @@ class AdjacencyMatrixUndirectedGraphTest {
         assertTrue(g.getDegreeOf(nw) == 1);
     }
 
+    @Test
+    final void testRemoveManyNodes() {
+        // le cancellazioni lasciano lapidi e ogni tanto compattano la
+        // matrice: gli indici devono restare densi e nell'ordine di
+        // inserimento
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        int n = 40;
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+        for (int i = 0; i < n; i++)
+            g.addWeightedEdge(i, (i + 1) % n, i);
+        assertEquals(n, g.edgeCount());
+        // cancello i nodi multipli di 3
+        for (int i = 0; i < n; i += 3)
+            g.removeNode(Integer.valueOf(i));
+        int expected = 0;
+        for (int i = 0; i < n; i++)
+            if (i % 3 != 0) {
+                GraphNode<Integer> node = g.getNode(expected);
+                assertEquals(Integer.valueOf(i), node.getLabel());
+                assertEquals(expected, g.getNodeIndexOf(node));
+                assertSame(node, g.getNode(new GraphNode<Integer>(i)));
+                expected++;
+            }
+        assertEquals(expected, g.nodeCount());
+        // restano solo gli archi (i, i + 1) con i e i + 1 non multipli di 3
+        assertEquals(g.getEdges().size(), g.edgeCount());
+        assertEquals(13, g.edgeCount());
+        assertEquals(4.0, g.getEdge(g.getNodeIndexOf(4), g.getNodeIndexOf(5))
+                .getWeight());
+        // cancello quasi tutti gli altri, forzando la compattazione
+        while (g.nodeCount() > 2)
+            g.removeNode(0);
+        assertEquals(Integer.valueOf(37), g.getNode(0).getLabel());
+        assertEquals(Integer.valueOf(38), g.getNode(1).getLabel());
+        assertEquals(1, g.edgeCount());
+        assertEquals(37.0, g.getEdge(0, 1).getWeight());
+        g.addNode(100);
+        assertEquals(2, g.getNodeIndexOf(100));
+        assertTrue(g.addEdge(2, 0));
+        assertEquals(2, g.getDegreeOf(g.getNode(0)));
+    }
+
+    @Test
+    final void testForEachNeighborAndEdge() {
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 6; i++)
+            g.addNode(i);
+        g.addWeightedEdge(0, 2, 1.5);
+        g.addWeightedEdge(0, 4, 2.5);
+        g.addEdge(3, 4);
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(0, null));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.forEachNeighbor(6, j -> {
+                }));
+        Set<Integer> adj = new HashSet<Integer>();
+        g.forEachNeighbor(0, adj::add);
+        assertEquals(Set.of(2, 4), adj);
+        double[] total = new double[1];
+        g.forEachEdge(0, (i, j, w) -> {
+            assertEquals(0, i);
+            total[0] += w;
+        });
+        assertEquals(4.0, total[0]);
+        assertEquals(2, g.nextNeighbor(0, 0));
+        assertEquals(4, g.nextNeighbor(0, 3));
+        assertEquals(-1, g.nextNeighbor(0, 5));
+        assertEquals(-1, g.nextNeighbor(1, 0));
+        // dopo una cancellazione gli indici restituiti sono quelli nuovi
+        g.removeNode(1);
+        adj.clear();
+        g.forEachNeighbor(g.getNodeIndexOf(4), adj::add);
+        assertEquals(Set.of(g.getNodeIndexOf(0), g.getNodeIndexOf(3)), adj);
+        assertEquals(g.getNodeIndexOf(3),
+                g.nextNeighbor(g.getNodeIndexOf(4), 1));
+        g.forEachEdge(g.getNodeIndexOf(3),
+                (i, j, w) -> assertTrue(Double.isNaN(w)));
+    }
+
+    @Test
+    final void testLabelOperationsUseCanonicalNodes() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertTrue(g.addNode(nu));
+        assertFalse(g.addNode("u"));
+        assertTrue(g.addNode("v"));
+        assertTrue(g.addNode("w"));
+        assertSame(nu, g.getNode("u"));
+        assertNull(g.getNode("z"));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addWeightedEdge("u", "z", 1.0));
+        assertTrue(g.addWeightedEdge("u", "v", 2.0));
+        assertSame(nu, g.getEdge("v", "u").getNode1());
+        assertEquals(2.0, g.getEdge("u", "v").getWeight());
+        assertNull(g.getEdge("u", "w"));
+        g.removeNode("u");
+        assertEquals(0, g.getNodeIndexOf("v"));
+        assertEquals(1, g.getNodeIndexOf("w"));
+        assertEquals(Set.of(new GraphNode<String>("v"),
+                new GraphNode<String>("w")), g.getNodes());
+        assertFalse(g.getNodes().contains(nu));
+        assertEquals(0, g.edgeCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("u"));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge("v", "w"));
+    }
+
 }
@@ -0,0 +1,233 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementazione dell'interfaccia <code>DisjointSets<E></code> basata su
+ * {@code IntDisjointSets}. Ad ogni elemento inserito viene assegnato un
+ * identificatore intero denso, nell'ordine di inserimento; la foresta è
+ * rappresentata da array di primitivi indicizzati dagli identificatori, per
+ * cui ogni operazione calcola al più un hash per elemento passato e poi scorre
+ * gli array, senza ricorsione.
+ *
+ * Oltre alle operazioni dell'interfaccia sono disponibili le corrispondenti
+ * operazioni sugli identificatori ({@code idOf}, {@code findSetById},
+ * {@code unionById}), che gli algoritmi possono usare nei cicli principali
+ * dopo aver tradotto una sola volta gli elementi in identificatori.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class ArrayDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Associazione di ogni elemento inserito con il proprio identificatore.
+     */
+    private final Map<E, Integer> ids;
+
+    /*
+     * Gli elementi inseriti, nella posizione del loro identificatore.
+     */
+    private final ArrayList<E> elements;
+
+    /*
+     * La foresta sugli identificatori.
+     */
+    private final IntDisjointSets sets;
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti.
+     */
+    public ArrayDisjointSets() {
+        this.ids = new HashMap<E, Integer>();
+        this.elements = new ArrayList<E>();
+        this.sets = new IntDisjointSets();
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di verificare la presenza di un elemento nullo");
+        return this.ids.containsKey(e);
+    }
+
+    @Override
+    public void makeSet(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di creare un insieme disgiunto da un elemento nullo");
+        if (this.ids.containsKey(e))
+            throw new IllegalArgumentException(
+                    "Tentativo di creare un insieme disgiunto da un elemento già presente");
+        this.ids.put(e, this.sets.makeSet());
+        this.elements.add(e);
+    }
+
+    @Override
+    public E findSet(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca del rappresentante di un nodo nullo");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            return null;
+        return this.elements.get(this.sets.find(id));
+    }
+
+    /*
+     * A parità di rango il rappresentante dell'unione è il rappresentante
+     * dell'insieme di cui fa parte e2, come in ForestDisjointSets.
+     */
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null)
+            throw new NullPointerException(
+                    "Tentativo di unire due insiemi disgiunti a partire da elementi nulli");
+        Integer id1 = this.ids.get(e1);
+        Integer id2 = this.ids.get(e2);
+        if (id1 == null || id2 == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di unire due insiemi disgiunti a partire da elementi non presenti");
+        this.sets.union(id1, id2);
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        Set<E> repr = new HashSet<E>();
+        for (int x = 0; x < this.sets.size(); x++)
+            if (this.sets.find(x) == x)
+                repr.add(this.elements.get(x));
+        return repr;
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di recuperare gli elementi di un insieme di un elemento nullo");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di recuperare gli elementi di un insieme di un elemento non presente");
+        // calcolo il rappresentante una volta sola
+        int root = this.sets.find(id);
+        Set<E> result = new HashSet<E>();
+        for (int x = 0; x < this.sets.size(); x++)
+            if (this.sets.find(x) == root)
+                result.add(this.elements.get(x));
+        return result;
+    }
+
+    /**
+     * Restituisce tutti gli insiemi disgiunti correnti, costruiti in una sola
+     * passata sugli elementi: ogni elemento viene aggiunto all'insieme del
+     * proprio rappresentante, trovato tramite un array indicizzato dagli
+     * identificatori. Il costo è lineare nel numero di elementi, invece che
+     * quadratico come chiamando {@code getCurrentElementsOfSetContaining} per
+     * ogni rappresentante.
+     *
+     * @return l'insieme degli insiemi disgiunti correnti
+     */
+    public Set<Set<E>> getCurrentSets() {
+        int n = this.sets.size();
+        // posizione in groups dell'insieme di ogni radice, -1 se non ancora
+        // creato
+        int[] groupOf = new int[n];
+        for (int x = 0; x < n; x++)
+            groupOf[x] = -1;
+        ArrayList<Set<E>> groups = new ArrayList<Set<E>>(this.sets.setCount());
+        for (int x = 0; x < n; x++) {
+            int root = this.sets.find(x);
+            if (groupOf[root] == -1) {
+                groupOf[root] = groups.size();
+                groups.add(new HashSet<E>());
+            }
+            groups.get(groupOf[root]).add(this.elements.get(x));
+        }
+        return new HashSet<Set<E>>(groups);
+    }
+
+    @Override
+    public void clear() {
+        this.ids.clear();
+        this.elements.clear();
+        this.sets.clear();
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti correnti.
+     *
+     * @return il numero di insiemi disgiunti correnti
+     */
+    public int setCount() {
+        return this.sets.setCount();
+    }
+
+    /**
+     * Restituisce l'identificatore di un elemento.
+     *
+     * @param e
+     *              l'elemento
+     * @return l'identificatore dell'elemento, -1 se non è presente
+     * @throws NullPointerException
+     *                                  se l'elemento passato è null
+     */
+    public int idOf(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca dell'identificatore di un elemento nullo");
+        Integer id = this.ids.get(e);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Restituisce l'elemento con un certo identificatore.
+     *
+     * @param id
+     *               l'identificatore
+     * @return l'elemento con l'identificatore dato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public E elementOf(int id) {
+        return this.elements.get(id);
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme di un elemento, lavorando
+     * sugli identificatori.
+     *
+     * @param id
+     *               l'identificatore dell'elemento
+     * @return l'identificatore del rappresentante
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificatore non è valido
+     */
+    public int findSetById(int id) {
+        return this.sets.find(id);
+    }
+
+    /**
+     * Unisce gli insiemi di due elementi, lavorando sugli identificatori.
+     *
+     * @param id1
+     *                l'identificatore di un elemento del primo insieme
+     * @param id2
+     *                l'identificatore di un elemento del secondo insieme
+     * @return true se gli insiemi erano distinti e sono stati uniti, false
+     *         altrimenti
+     * @throws IndexOutOfBoundsException
+     *                                       se uno degli identificatori non è
+     *                                       valido
+     */
+    public boolean unionById(int id1, int id2) {
+        return this.sets.union(id1, id2);
+    }
+}
@@ -0,0 +1,117 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per le classi ArrayDisjointSets e IntDisjointSets.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class ArrayDisjointSetsTest {
+
+    @Test
+    final void testMakeSetAndFind() {
+        ArrayDisjointSets<Integer> ds = new ArrayDisjointSets<Integer>();
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        ds.makeSet(10);
+        ds.makeSet(20);
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(10));
+        assertTrue(ds.isPresent(20));
+        assertFalse(ds.isPresent(30));
+        assertNull(ds.findSet(30));
+        assertEquals(Integer.valueOf(10), ds.findSet(10));
+        assertEquals(0, ds.idOf(10));
+        assertEquals(1, ds.idOf(20));
+        assertEquals(-1, ds.idOf(30));
+        assertEquals(Integer.valueOf(20), ds.elementOf(1));
+        assertEquals(2, ds.setCount());
+    }
+
+    @Test
+    final void testUnion() {
+        ArrayDisjointSets<Integer> ds = new ArrayDisjointSets<Integer>();
+        for (int i = 1; i <= 5; i++)
+            ds.makeSet(i);
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 6));
+        // a parità di rango il rappresentante è quello del secondo insieme
+        ds.union(1, 2);
+        assertEquals(Integer.valueOf(2), ds.findSet(1));
+        ds.union(3, 4);
+        ds.union(5, 4);
+        assertEquals(Integer.valueOf(4), ds.findSet(5));
+        ds.union(2, 3);
+        assertEquals(Integer.valueOf(4), ds.findSet(1));
+        assertEquals(1, ds.setCount());
+        assertFalse(ds.unionById(ds.idOf(1), ds.idOf(5)));
+        Set<Integer> all = new HashSet<Integer>();
+        for (int i = 1; i <= 5; i++)
+            all.add(i);
+        assertEquals(all, ds.getCurrentElementsOfSetContaining(3));
+        Set<Integer> repr = new HashSet<Integer>();
+        repr.add(4);
+        assertEquals(repr, ds.getCurrentRepresentatives());
+        Set<Set<Integer>> sets = new HashSet<Set<Integer>>();
+        sets.add(all);
+        assertEquals(sets, ds.getCurrentSets());
+        ds.makeSet(6);
+        Set<Integer> single = new HashSet<Integer>();
+        single.add(6);
+        sets.add(single);
+        assertEquals(sets, ds.getCurrentSets());
+        ds.clear();
+        assertFalse(ds.isPresent(1));
+        assertEquals(0, ds.setCount());
+    }
+
+    @Test
+    final void testAgainstForest() {
+        // stessi rappresentanti di ForestDisjointSets su unioni casuali
+        Random random = new Random(3);
+        ArrayDisjointSets<Integer> ds = new ArrayDisjointSets<Integer>();
+        ForestDisjointSets<Integer> forest = new ForestDisjointSets<Integer>();
+        int n = 1000;
+        for (int i = 0; i < n; i++) {
+            ds.makeSet(i);
+            forest.makeSet(i);
+        }
+        for (int k = 0; k < 700; k++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            ds.union(a, b);
+            forest.union(a, b);
+        }
+        for (int i = 0; i < n; i++)
+            assertEquals(forest.findSet(i), ds.findSet(i));
+        assertEquals(forest.getCurrentRepresentatives().size(),
+                ds.setCount());
+    }
+
+    @Test
+    final void testIntDisjointSets() {
+        IntDisjointSets sets = new IntDisjointSets(0);
+        assertEquals(0, sets.makeSet());
+        assertEquals(1, sets.makeSet());
+        assertThrows(IndexOutOfBoundsException.class, () -> sets.find(2));
+        assertTrue(sets.union(0, 1));
+        assertFalse(sets.union(1, 0));
+        assertEquals(1, sets.setCount());
+        // una catena lunga non esaurisce lo stack
+        int n = 1000000;
+        sets.reset(n);
+        for (int x = 1; x < n; x++)
+            sets.union(0, x);
+        assertEquals(1, sets.setCount());
+        int root = sets.find(0);
+        for (int x = 0; x < n; x += 1000)
+            assertEquals(root, sets.find(x));
+    }
+
+}
@@ -0,0 +1,218 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * Coda con priorità di minimo realizzata con uno heap binario rappresentato in
+ * un array. Gli elementi implementano l'interfaccia PriorityQueueElement: la
+ * coda mantiene aggiornato l'handle di ogni elemento con la sua posizione
+ * corrente nell'array, in modo che il decremento della priorità di un elemento
+ * già presente non richieda di cercarlo.
+ *
+ * Inserimento, estrazione del minimo e decremento della priorità costano
+ * O(log n), la lettura del minimo e il controllo di appartenenza O(1). Un
+ * elemento non presente nella coda ha handle -1.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi della coda
+ */
+public class BinaryHeapMinPriorityQueue<E extends PriorityQueueElement> {
+
+    /*
+     * L'array che serve come base per lo heap
+     */
+    private ArrayList<E> heap;
+
+    /**
+     * Crea una coda vuota.
+     */
+    public BinaryHeapMinPriorityQueue() {
+        this.heap = new ArrayList<E>();
+    }
+
+    /**
+     * Crea una coda vuota con una capacità iniziale data, per evitare i
+     * ridimensionamenti quando il numero di elementi è noto.
+     *
+     * @param capacity
+     *                     la capacità iniziale
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public BinaryHeapMinPriorityQueue(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Capacità iniziale della coda negativa");
+        this.heap = new ArrayList<E>(capacity);
+    }
+
+    /**
+     * Restituisce il numero di elementi nella coda.
+     *
+     * @return il numero di elementi nella coda
+     */
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Determina se la coda è vuota.
+     *
+     * @return true se la coda è vuota
+     */
+    public boolean isEmpty() {
+        return this.heap.isEmpty();
+    }
+
+    /**
+     * Inserisce un elemento nella coda con la sua priorità corrente.
+     *
+     * @param element
+     *                    l'elemento da inserire
+     * @throws NullPointerException
+     *                                  se l'elemento è nullo
+     */
+    public void insert(E element) {
+        if (element == null)
+            throw new NullPointerException(
+                    "Tentativo di inserire un elemento nullo nella coda");
+        this.heap.add(element);
+        element.setHandle(this.heap.size() - 1);
+        this.siftUp(this.heap.size() - 1);
+    }
+
+    /**
+     * Restituisce l'elemento di priorità minima senza toglierlo dalla coda.
+     *
+     * @return l'elemento di priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public E minimum() {
+        if (this.heap.isEmpty())
+            throw new NoSuchElementException(
+                    "Tentativo di leggere il minimo di una coda vuota");
+        return this.heap.get(0);
+    }
+
+    /**
+     * Toglie dalla coda l'elemento di priorità minima e lo restituisce.
+     * L'handle dell'elemento estratto viene posto a -1.
+     *
+     * @return l'elemento di priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public E extractMinimum() {
+        if (this.heap.isEmpty())
+            throw new NoSuchElementException(
+                    "Tentativo di estrarre il minimo da una coda vuota");
+        E min = this.heap.get(0);
+        E last = this.heap.remove(this.heap.size() - 1);
+        if (!this.heap.isEmpty()) {
+            // l'ultimo elemento prende il posto della radice e scende
+            this.heap.set(0, last);
+            last.setHandle(0);
+            this.siftDown(0);
+        }
+        min.setHandle(-1);
+        return min;
+    }
+
+    /**
+     * Decrementa la priorità di un elemento presente nella coda.
+     *
+     * @param element
+     *                        l'elemento di cui decrementare la priorità
+     * @param newPriority
+     *                        la nuova priorità
+     * @throws NullPointerException
+     *                                      se l'elemento è nullo
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente nella
+     *                                      coda o se la nuova priorità è
+     *                                      maggiore di quella corrente
+     */
+    public void decreasePriority(E element, double newPriority) {
+        if (element == null)
+            throw new NullPointerException(
+                    "Tentativo di decrementare la priorità di un elemento nullo");
+        if (!this.contains(element))
+            throw new IllegalArgumentException(
+                    "Tentativo di decrementare la priorità di un elemento non presente nella coda");
+        if (newPriority > element.getPriority())
+            throw new IllegalArgumentException(
+                    "Tentativo di aumentare la priorità di un elemento con un decremento");
+        element.setPriority(newPriority);
+        this.siftUp(element.getHandle());
+    }
+
+    /**
+     * Determina se un elemento è presente nella coda, controllandone l'handle.
+     *
+     * @param element
+     *                    l'elemento da cercare
+     * @return true se l'elemento è presente nella coda
+     */
+    public boolean contains(E element) {
+        int handle = element.getHandle();
+        return handle >= 0 && handle < this.heap.size()
+                && this.heap.get(handle) == element;
+    }
+
+    /**
+     * Svuota la coda, ponendo a -1 l'handle di tutti gli elementi presenti.
+     */
+    public void clear() {
+        for (E element : this.heap)
+            element.setHandle(-1);
+        this.heap.clear();
+    }
+
+    /*
+     * Fa risalire l'elemento in posizione i finché la sua priorità è minore di
+     * quella del padre.
+     */
+    private void siftUp(int i) {
+        E element = this.heap.get(i);
+        double priority = element.getPriority();
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            E p = this.heap.get(parent);
+            if (p.getPriority() <= priority)
+                break;
+            this.heap.set(i, p);
+            p.setHandle(i);
+            i = parent;
+        }
+        this.heap.set(i, element);
+        element.setHandle(i);
+    }
+
+    /*
+     * Fa scendere l'elemento in posizione i finché la sua priorità è maggiore
+     * di quella di uno dei figli.
+     */
+    private void siftDown(int i) {
+        int n = this.heap.size();
+        E element = this.heap.get(i);
+        double priority = element.getPriority();
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && this.heap.get(child + 1)
+                    .getPriority() < this.heap.get(child).getPriority())
+                child++;
+            E c = this.heap.get(child);
+            if (priority <= c.getPriority())
+                break;
+            this.heap.set(i, c);
+            c.setHandle(i);
+            i = child;
+        }
+        this.heap.set(i, element);
+        element.setHandle(i);
+    }
+}
@@ -0,0 +1,93 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe BinaryHeapMinPriorityQueue.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class BinaryHeapMinPriorityQueueTest {
+
+    @Test
+    final void testInsertExtract() {
+        BinaryHeapMinPriorityQueue<GraphNode<String>> q = new BinaryHeapMinPriorityQueue<GraphNode<String>>();
+        assertTrue(q.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> q.extractMinimum());
+        assertThrows(NullPointerException.class, () -> q.insert(null));
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setPriority(5);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setPriority(1);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setPriority(3);
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        assertEquals(3, q.size());
+        assertSame(b, q.minimum());
+        assertTrue(q.contains(a));
+        assertSame(b, q.extractMinimum());
+        assertFalse(q.contains(b));
+        assertEquals(-1, b.getHandle());
+        assertSame(c, q.extractMinimum());
+        assertSame(a, q.extractMinimum());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    final void testDecreasePriority() {
+        BinaryHeapMinPriorityQueue<GraphNode<String>> q = new BinaryHeapMinPriorityQueue<GraphNode<String>>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setPriority(5);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setPriority(1);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setPriority(Double.POSITIVE_INFINITY);
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        q.decreasePriority(c, 0.5);
+        assertSame(c, q.minimum());
+        assertThrows(IllegalArgumentException.class,
+                () -> q.decreasePriority(a, 7));
+        q.extractMinimum();
+        assertThrows(IllegalArgumentException.class,
+                () -> q.decreasePriority(c, 0));
+        q.decreasePriority(a, 1);
+        assertEquals(1, q.extractMinimum().getPriority());
+        assertEquals(1, q.extractMinimum().getPriority());
+    }
+
+    @Test
+    final void testRandomOrder() {
+        Random random = new Random(7);
+        BinaryHeapMinPriorityQueue<GraphNode<Integer>> q = new BinaryHeapMinPriorityQueue<GraphNode<Integer>>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 500; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            node.setPriority(random.nextInt(1000));
+            nodes.add(node);
+            q.insert(node);
+        }
+        for (int i = 0; i < 200; i++) {
+            GraphNode<Integer> node = nodes.get(random.nextInt(500));
+            q.decreasePriority(node, node.getPriority() / 2);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while (!q.isEmpty()) {
+            GraphNode<Integer> node = q.extractMinimum();
+            assertTrue(last <= node.getPriority());
+            last = node.getPriority();
+        }
+    }
+
+}
@@ -0,0 +1,712 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Classe che implementa un grafo non orientato tramite una matrice di
+ * adiacenza compressa a bit. Offre le stesse operazioni e gli stessi vincoli di
+ * {@code AdjacencyMatrixUndirectedGraph<L>}: non sono accettate etichette dei
+ * nodi null né etichette duplicate, i nodi sono indicizzati da 0 a
+ * nodeCount() - 1 seguendo l'ordine del loro inserimento e dopo la
+ * cancellazione di un nodo gli indici dei nodi successivi vengono decrementati
+ * di uno.
+ *
+ * Poiché la matrice di adiacenza di un grafo non orientato è simmetrica, ne
+ * viene memorizzata solo una metà triangolare: la presenza dell'arco tra i
+ * nodi i e j, con j <= i, è registrata dal bit j della riga i, e ogni riga è
+ * un array di long che contiene i + 1 bit. In questo modo l'aggiunta di un
+ * nodo aggiunge una sola riga senza modificare le altre. I pesi degli archi
+ * presenti in una riga sono memorizzati in un array di double parallelo,
+ * nell'ordine crescente delle colonne: la posizione del peso dell'arco (i, j)
+ * è il numero di bit a 1 che precedono il bit j nella riga i ({@code NaN} se
+ * l'arco non è pesato).
+ *
+ * Gli oggetti GraphEdge<L> non sono memorizzati, ma vengono creati solo quando
+ * un metodo deve restituirli. Per questo due chiamate successive che
+ * restituiscono lo stesso arco restituiscono oggetti uguali (secondo equals)
+ * ma distinti, e modificare il peso di un arco restituito non modifica il
+ * grafo. L'occupazione di memoria per un grafo denso è di un bit per cella
+ * più un double per arco, invece di un riferimento per cella più un oggetto
+ * per arco.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class BitMatrixUndirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione di ogni nodo con il proprio indice.
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * I nodi nella posizione corrispondente al loro indice.
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Righe della metà triangolare della matrice di adiacenza, la riga i
+     * corrisponde al nodo con indice i.
+     */
+    protected ArrayList<Row> rows;
+
+    /*
+     * Numero di archi presenti nel grafo.
+     */
+    private int edgeCount;
+
+    /*
+     * Riga della metà triangolare della matrice di adiacenza. La riga i
+     * contiene i bit delle colonne da 0 a i e i pesi degli archi presenti, in
+     * ordine di colonna.
+     */
+    protected static class Row {
+        /*
+         * Bit di presenza degli archi, il bit j si trova nella parola j / 64.
+         */
+        protected long[] bits;
+
+        /*
+         * Pesi degli archi presenti nella riga, in ordine di colonna. Solo le
+         * prime size posizioni sono significative.
+         */
+        protected double[] weights;
+
+        /*
+         * Numero di archi presenti nella riga.
+         */
+        protected int size;
+
+        /**
+         * Crea una riga vuota per le colonne da 0 a i.
+         *
+         * @param i
+         *              l'indice della riga
+         */
+        protected Row(int i) {
+            this.bits = new long[wordsFor(i + 1)];
+            this.weights = new double[0];
+            this.size = 0;
+        }
+
+        /*
+         * Determina se il bit della colonna j è a 1.
+         */
+        protected boolean get(int j) {
+            return (this.bits[j >>> 6] & (1L << j)) != 0;
+        }
+
+        /*
+         * Numero di bit a 1 nelle colonne che precedono la colonna j, cioè la
+         * posizione del peso dell'arco della colonna j.
+         */
+        protected int rank(int j) {
+            int word = j >>> 6;
+            int result = 0;
+            for (int w = 0; w < word; w++)
+                result += Long.bitCount(this.bits[w]);
+            return result + Long.bitCount(this.bits[word] & ((1L << j) - 1));
+        }
+
+        /*
+         * Restituisce il peso dell'arco della colonna j, che deve essere
+         * presente.
+         */
+        protected double weight(int j) {
+            return this.weights[this.rank(j)];
+        }
+
+        /*
+         * Registra l'arco della colonna j, che non deve essere presente.
+         */
+        protected void set(int j, double weight) {
+            int r = this.rank(j);
+            if (this.size == this.weights.length) {
+                double[] newWeights = new double[Math.max(4, this.size * 2)];
+                System.arraycopy(this.weights, 0, newWeights, 0, this.size);
+                this.weights = newWeights;
+            }
+            System.arraycopy(this.weights, r, this.weights, r + 1,
+                    this.size - r);
+            this.weights[r] = weight;
+            this.size++;
+            this.bits[j >>> 6] |= 1L << j;
+        }
+
+        /*
+         * Cancella l'arco della colonna j, che deve essere presente.
+         */
+        protected void clear(int j) {
+            int r = this.rank(j);
+            System.arraycopy(this.weights, r + 1, this.weights, r,
+                    this.size - r - 1);
+            this.size--;
+            this.bits[j >>> 6] &= ~(1L << j);
+        }
+
+        /*
+         * Toglie dalla riga la colonna j, facendo scorrere di una posizione
+         * verso il basso i bit delle colonne successive. La riga passa così da
+         * length a length - 1 colonne.
+         */
+        protected void removeColumn(int j, int length) {
+            if (this.get(j))
+                this.clear(j);
+            int word = j >>> 6;
+            long w = this.bits[word];
+            long lowMask = (1L << j) - 1;
+            // la parte bassa resta ferma, la parte alta scorre di un bit
+            w = (w & lowMask) | ((w >>> 1) & ~lowMask);
+            for (int k = word + 1; k < this.bits.length; k++) {
+                // il primo bit della parola successiva entra nell'ultimo di
+                // questa
+                w |= this.bits[k] << 63;
+                this.bits[k - 1] = w;
+                w = this.bits[k] >>> 1;
+            }
+            this.bits[this.bits.length - 1] = w;
+            // se l'ultima parola è rimasta inutilizzata la tolgo
+            if (wordsFor(length - 1) < this.bits.length) {
+                long[] newBits = new long[wordsFor(length - 1)];
+                System.arraycopy(this.bits, 0, newBits, 0, newBits.length);
+                this.bits = newBits;
+            }
+        }
+
+        /*
+         * Restituisce la prima colonna maggiore o uguale a from con il bit a
+         * 1, -1 se non esiste.
+         */
+        protected int nextSetColumn(int from) {
+            int word = from >>> 6;
+            if (word >= this.bits.length)
+                return -1;
+            long w = this.bits[word] & (-1L << from);
+            while (true) {
+                if (w != 0)
+                    return (word << 6) + Long.numberOfTrailingZeros(w);
+                if (++word == this.bits.length)
+                    return -1;
+                w = this.bits[word];
+            }
+        }
+    }
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public BitMatrixUndirectedGraph() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.rows = new ArrayList<Row>();
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public int nodeCount() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        this.nodesIndex.clear();
+        this.nodes.clear();
+        this.rows.clear();
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public boolean isDirected() {
+        // questo grafo non è orientato
+        return false;
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un nodo nullo");
+        if (this.nodesIndex.putIfAbsent(node, this.nodes.size()) != null)
+            // il nodo era già presente
+            return false;
+        // aggiungo in fondo una riga con una colonna in più della precedente
+        this.rows.add(new Row(this.nodes.size()));
+        this.nodes.add(node);
+        return true;
+    }
+
+    @Override
+    public boolean addNode(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un nodo con etichetta nulla");
+        return this.addNode(new GraphNode<L>(label));
+    }
+
+    @Override
+    public void removeNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere dal grafo un nodo nullo");
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di rimuovere dal grafo un nodo non presente");
+        int k = index;
+        int n = this.nodes.size();
+        // gli archi del nodo scompaiono insieme alla sua riga e colonna
+        this.edgeCount -= this.rows.get(k).size;
+        this.rows.remove(k);
+        for (int i = k; i < n - 1; i++) {
+            Row row = this.rows.get(i);
+            if (row.get(k))
+                this.edgeCount--;
+            // la riga, che ora ha indice i, aveva i + 2 colonne
+            row.removeColumn(k, i + 2);
+        }
+        // i nodi successivi scalano di una posizione
+        this.nodes.remove(k);
+        this.nodesIndex.remove(node);
+        for (int i = k; i < n - 1; i++)
+            this.nodesIndex.put(this.nodes.get(i), i);
+    }
+
+    @Override
+    public void removeNode(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere dal grafo un nodo da un'etichetta nulla");
+        this.removeNode(new GraphNode<L>(label));
+    }
+
+    @Override
+    public void removeNode(int i) {
+        this.checkIndex(i);
+        this.removeNode(this.nodes.get(i));
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca nel grafo di un nodo nullo");
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            return null;
+        return this.nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca nel grafo di un nodo a partire da un'etichetta nulla");
+        return this.getNode(new GraphNode<L>(label));
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i) {
+        this.checkIndex(i);
+        return this.nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca di un indice a partire da un nodo nullo");
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di ricerca di un indice di un nodo non presente nel grafo");
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca di un indice di nodo a partire da un'etichetta nulla");
+        return this.getNodeIndexOf(new GraphNode<L>(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return this.nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un arco nullo");
+        if (edge.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di inserire in un grafo non orientato un arco orientato");
+        int i = this.indexOfEdgeNode(edge.getNode1());
+        int j = this.indexOfEdgeNode(edge.getNode2());
+        return this.setEdge(i, j, edge.getWeight());
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un arco a partire da uno o entrambi nodi nulli");
+        return this.addEdge(new GraphEdge<L>(node1, node2, false));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un arco pesato a partire da uno o entrambi nodi nulli");
+        return this.addEdge(new GraphEdge<L>(node1, node2, false, weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un arco a partire da una o entrambe le etichette nulle");
+        return this.setEdge(this.indexOfEdgeNode(new GraphNode<L>(label1)),
+                this.indexOfEdgeNode(new GraphNode<L>(label2)), Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere al grafo un arco pesato a partire da una o entrambe le etichette nulle");
+        return this.setEdge(this.indexOfEdgeNode(new GraphNode<L>(label1)),
+                this.indexOfEdgeNode(new GraphNode<L>(label2)), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.setEdge(i, j, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.setEdge(i, j, weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere dal grafo un arco nullo");
+        if (edge.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di rimuovere da un grafo non orientato un arco orientato");
+        this.clearEdge(this.indexOfEdgeNode(edge.getNode1()),
+                this.indexOfEdgeNode(edge.getNode2()));
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere dal grafo un arco a partire da uno o entrambi nodi nulli");
+        this.clearEdge(this.indexOfEdgeNode(node1),
+                this.indexOfEdgeNode(node2));
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere dal grafo un arco a partire da una o entrambe etichette nulle");
+        this.clearEdge(this.indexOfEdgeNode(new GraphNode<L>(label1)),
+                this.indexOfEdgeNode(new GraphNode<L>(label2)));
+    }
+
+    @Override
+    public void removeEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        this.clearEdge(i, j);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca nel grafo di un arco nullo");
+        if (edge.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di ricerca nel grafo di un arco orientato");
+        return this.createEdge(this.indexOfEdgeNode(edge.getNode1()),
+                this.indexOfEdgeNode(edge.getNode2()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca nel grafo di un arco a partire da uno o entrambi i nodi nulli");
+        return this.createEdge(this.indexOfEdgeNode(node1),
+                this.indexOfEdgeNode(node2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca nel grafo di un arco a partire da una o entrambe le etichette nulle");
+        return this.createEdge(this.indexOfEdgeNode(new GraphNode<L>(label1)),
+                this.indexOfEdgeNode(new GraphNode<L>(label2)));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.createEdge(i, j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca dei nodi adiancenti ad un nodo nullo");
+        int i = this.getNodeIndexOf(node);
+        Set<GraphNode<L>> adj = new HashSet<GraphNode<L>>();
+        for (int j = this.nextAdjacent(i, 0); j != -1; j = this
+                .nextAdjacent(i, j + 1))
+            adj.add(this.nodes.get(j));
+        return adj;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca dei nodi adiancenti ad un nodo nullo a partire da un'etichetta nulla");
+        return this.getAdjacentNodesOf(new GraphNode<L>(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
+        this.checkIndex(i);
+        return this.getAdjacentNodesOf(this.nodes.get(i));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca degli archi connessi ad un nodo nullo");
+        int i = this.getNodeIndexOf(node);
+        Set<GraphEdge<L>> edges = new HashSet<GraphEdge<L>>();
+        for (int j = this.nextAdjacent(i, 0); j != -1; j = this
+                .nextAdjacent(i, j + 1))
+            edges.add(this.createEdge(i, j));
+        return edges;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca degli archi connessi ad un nodo a partire da un'etichetta nulla");
+        return this.getEdgesOf(new GraphNode<L>(label));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i) {
+        this.checkIndex(i);
+        return this.getEdgesOf(this.nodes.get(i));
+    }
+
+    @Override
+    public void forEachNeighbor(int i, IntConsumer action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare i nodi adiacenti con un'operazione nulla");
+        this.checkIndex(i);
+        for (int j = this.nextAdjacent(i, 0); j != -1; j = this
+                .nextAdjacent(i, j + 1))
+            action.accept(j);
+    }
+
+    @Override
+    public void forEachEdge(int i, EdgeVisitor visitor) {
+        if (visitor == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare gli archi con un'operazione nulla");
+        this.checkIndex(i);
+        for (int j = this.nextAdjacent(i, 0); j != -1; j = this
+                .nextAdjacent(i, j + 1))
+            visitor.visit(i, j,
+                    this.rows.get(Math.max(i, j)).weight(Math.min(i, j)));
+    }
+
+    @Override
+    public int nextNeighbor(int i, int from) {
+        this.checkIndex(i);
+        if (from < 0)
+            throw new IndexOutOfBoundsException(
+                    "Tentativo di cercare un nodo adiacente a partire da un indice negativo");
+        return this.nextAdjacent(i, from);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> edges = new HashSet<GraphEdge<L>>();
+        // ogni arco compare una sola volta nella metà triangolare
+        for (int i = 0; i < this.rows.size(); i++) {
+            Row row = this.rows.get(i);
+            for (int j = row.nextSetColumn(0); j != -1; j = row
+                    .nextSetColumn(j + 1))
+                edges.add(this.createEdge(i, j));
+        }
+        return edges;
+    }
+
+    /*
+     * Registra l'arco tra i nodi con indici i e j, se non è già presente.
+     */
+    private boolean setEdge(int i, int j, double weight) {
+        Row row = this.rows.get(Math.max(i, j));
+        int column = Math.min(i, j);
+        if (row.get(column))
+            // l'arco era già presente
+            return false;
+        row.set(column, weight);
+        this.edgeCount++;
+        return true;
+    }
+
+    /*
+     * Cancella l'arco tra i nodi con indici i e j, che deve essere presente.
+     */
+    private void clearEdge(int i, int j) {
+        Row row = this.rows.get(Math.max(i, j));
+        int column = Math.min(i, j);
+        if (!row.get(column))
+            throw new IllegalArgumentException(
+                    "Tentativo di rimuovere dal grafo un arco non presente");
+        row.clear(column);
+        this.edgeCount--;
+    }
+
+    /*
+     * Crea l'oggetto che rappresenta l'arco tra i nodi con indici i e j,
+     * oppure restituisce null se l'arco non è presente.
+     */
+    private GraphEdge<L> createEdge(int i, int j) {
+        Row row = this.rows.get(Math.max(i, j));
+        int column = Math.min(i, j);
+        if (!row.get(column))
+            return null;
+        return new GraphEdge<L>(this.nodes.get(i), this.nodes.get(j), false,
+                row.weight(column));
+    }
+
+    /*
+     * Restituisce il primo nodo adiacente al nodo i con indice maggiore o
+     * uguale a from, -1 se non esiste. Le colonne fino a i si leggono nella
+     * riga i, quelle successive nella colonna i delle righe seguenti.
+     */
+    private int nextAdjacent(int i, int from) {
+        if (from <= i) {
+            int j = this.rows.get(i).nextSetColumn(from);
+            if (j != -1 && j <= i)
+                return j;
+            from = i + 1;
+        }
+        for (int j = from; j < this.rows.size(); j++)
+            if (this.rows.get(j).get(i))
+                return j;
+        return -1;
+    }
+
+    /*
+     * Restituisce l'indice di un nodo estremo di un arco, lanciando
+     * IllegalArgumentException se il nodo non è presente.
+     */
+    private int indexOfEdgeNode(GraphNode<L> node) {
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di usare un arco con uno o entrambi i nodi non presenti nel grafo");
+        return index;
+    }
+
+    /*
+     * Controlla che un indice di nodo sia valido.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i > this.nodes.size() - 1)
+            throw new IndexOutOfBoundsException(
+                    "Tentativo di accedere al grafo con un indice di nodo non valido");
+    }
+
+    /*
+     * Numero di parole da 64 bit necessarie per contenere un certo numero di
+     * bit.
+     */
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,175 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe BitMatrixUndirectedGraph.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class BitMatrixUndirectedGraphTest {
+
+    @Test
+    final void testNodes() {
+        Graph<String> g = new BitMatrixUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+        assertThrows(NullPointerException.class,
+                () -> g.addNode((GraphNode<String>) null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        assertTrue(g.addNode(ns));
+        assertFalse(g.addNode("s"));
+        assertTrue(g.addNode("u"));
+        assertEquals(2, g.nodeCount());
+        assertSame(ns, g.getNode("s"));
+        assertSame(ns, g.getNode(new GraphNode<String>("s")));
+        assertSame(ns, g.getNode(0));
+        assertEquals(1, g.getNodeIndexOf("u"));
+        assertNull(g.getNode("x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("x"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNode(2));
+        Set<GraphNode<String>> nodes = new HashSet<GraphNode<String>>();
+        nodes.add(new GraphNode<String>("s"));
+        nodes.add(new GraphNode<String>("u"));
+        assertEquals(nodes, g.getNodes());
+    }
+
+    @Test
+    final void testEdges() {
+        Graph<String> g = new BitMatrixUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(ns);
+        g.addNode(nu);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(ns, nx, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(ns, nu, true)));
+        g.addNode(nx);
+        assertTrue(g.addEdge(new GraphEdge<String>(ns, nu, false, 10.1)));
+        assertFalse(g.addEdge(new GraphEdge<String>(nu, ns, false, 3)));
+        assertTrue(g.addEdge(nx, nx));
+        assertTrue(g.addWeightedEdge(2, 0, 5.12));
+        assertEquals(3, g.edgeCount());
+        assertEquals(10.1, g.getEdge(nu, ns).getWeight());
+        assertEquals(5.12, g.getEdge("s", "x").getWeight());
+        assertFalse(g.getEdge(2, 2).hasWeight());
+        assertNull(g.getEdge(1, 2));
+        Set<GraphNode<String>> adj = new HashSet<GraphNode<String>>();
+        adj.add(nu);
+        adj.add(nx);
+        assertEquals(adj, g.getAdjacentNodesOf(ns));
+        adj.clear();
+        adj.add(ns);
+        adj.add(nx);
+        assertEquals(adj, g.getAdjacentNodesOf("x"));
+        assertEquals(2, g.getDegreeOf(ns));
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        edges.add(new GraphEdge<String>(ns, nu, false));
+        edges.add(new GraphEdge<String>(ns, nx, false));
+        edges.add(new GraphEdge<String>(nx, nx, false));
+        assertEquals(edges, g.getEdges());
+        g.removeEdge("u", "s");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(0, 1));
+        assertEquals(2, g.edgeCount());
+        assertNull(g.getEdge(ns, nu));
+        // il peso dell'arco restante non cambia
+        assertEquals(5.12, g.getEdge(nx, ns).getWeight());
+    }
+
+    @Test
+    final void testRemoveNode() {
+        Graph<String> g = new BitMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addWeightedEdge("a", "b", 1);
+        g.addWeightedEdge("b", "c", 2);
+        g.addWeightedEdge("c", "d", 3);
+        g.addWeightedEdge("a", "d", 4);
+        g.addWeightedEdge("b", "b", 5);
+        g.removeNode("b");
+        assertEquals(3, g.nodeCount());
+        assertEquals(2, g.edgeCount());
+        assertEquals(1, g.getNodeIndexOf("c"));
+        assertEquals(2, g.getNodeIndexOf("d"));
+        assertEquals(3, g.getEdge(1, 2).getWeight());
+        assertEquals(4, g.getEdge(0, 2).getWeight());
+        assertNull(g.getEdge(0, 1));
+        g.removeNode(0);
+        assertEquals(1, g.edgeCount());
+        assertEquals(3, g.getEdge("c", "d").getWeight());
+    }
+
+    @Test
+    final void testAgainstAdjacencyMatrix() {
+        // confronto con la matrice di adiacenza su più di 64 nodi, in modo
+        // che le righe occupino più di una parola
+        Random random = new Random(42);
+        Graph<Integer> bits = new BitMatrixUndirectedGraph<Integer>();
+        Graph<Integer> matrix = new AdjacencyMatrixUndirectedGraph<Integer>();
+        int n = 150;
+        for (int i = 0; i < n; i++) {
+            bits.addNode(i);
+            matrix.addNode(i);
+        }
+        for (int e = 0; e < 1500; e++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            double w = random.nextInt(100);
+            assertEquals(matrix.addWeightedEdge(u, v, w),
+                    bits.addWeightedEdge(u, v, w));
+        }
+        for (int r = 0; r < 40; r++) {
+            int i = random.nextInt(bits.nodeCount());
+            matrix.removeNode(i);
+            bits.removeNode(i);
+        }
+        assertEquals(matrix.nodeCount(), bits.nodeCount());
+        assertEquals(matrix.getEdges(), bits.getEdges());
+        assertEquals(bits.getEdges().size(), bits.edgeCount());
+        for (int i = 0; i < bits.nodeCount(); i++) {
+            assertEquals(matrix.getNode(i), bits.getNode(i));
+            assertEquals(matrix.getAdjacentNodesOf(i),
+                    bits.getAdjacentNodesOf(i));
+            for (int j = 0; j < bits.nodeCount(); j++) {
+                GraphEdge<Integer> e = matrix.getEdge(i, j);
+                if (e == null)
+                    assertNull(bits.getEdge(i, j));
+                else
+                    assertEquals(e.getWeight(), bits.getEdge(i, j).getWeight());
+            }
+        }
+    }
+
+    @Test
+    final void testAlgorithms() {
+        Graph<String> g = new BitMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addNode("e");
+        g.addWeightedEdge("a", "b", 1);
+        g.addWeightedEdge("a", "c", 7);
+        g.addWeightedEdge("b", "c", 3);
+        g.addWeightedEdge("d", "e", 2);
+        KruskalMSP<String> kruskal = new KruskalMSP<String>();
+        Set<GraphEdge<String>> mst = kruskal.computeMSP(g);
+        assertEquals(3, mst.size());
+        assertFalse(mst.contains(g.getEdge("a", "c")));
+        UndirectedGraphConnectedComponentsComputer<String> cc = new UndirectedGraphConnectedComponentsComputer<String>();
+        assertEquals(2, cc.computeConnectedComponents(g).size());
+    }
+
+}
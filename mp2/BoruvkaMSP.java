@@ -0,0 +1,367 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Classe singoletto che implementa l'algoritmo di Borůvka per trovare un
+ * Minimum Spanning Tree (o una foresta, se il grafo non è connesso) di un
+ * grafo non orientato, pesato e con pesi non negativi.
+ *
+ * L'algoritmo procede per fasi: in ogni fase ogni componente corrente sceglie
+ * l'arco di peso minimo che la collega a un'altra componente e tutti gli archi
+ * scelti vengono aggiunti all'albero, contraendo le componenti che collegano.
+ * Ogni fase almeno dimezza il numero di componenti, per cui le fasi sono al più
+ * log n. Dentro una fase sia la scelta degli archi minimi sia la contrazione
+ * sono divise tra i thread di un {@code ForkJoinPool}: il minimo di ogni
+ * componente è mantenuto in un {@code AtomicIntegerArray} aggiornato con
+ * compare-and-set e le componenti sono gli insiemi di una
+ * {@code ConcurrentIntDisjointSets}.
+ *
+ * A parità di peso gli archi sono ordinati per posizione, in modo che gli archi
+ * scelti in una fase non possano mai formare un ciclo.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class BoruvkaMSP<L> {
+
+    /*
+     * Numero di elementi sotto il quale un compito esegue il lavoro
+     * direttamente invece di dividersi ulteriormente.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /*
+     * Il pool di thread usato per le fasi.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un calcolatore che usa il pool comune di {@code ForkJoinPool}.
+     */
+    public BoruvkaMSP() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un calcolatore che usa un certo pool di thread.
+     *
+     * @param pool
+     *                 il pool di thread da usare
+     * @throws NullPointerException
+     *                                  se il pool passato è nullo
+     */
+    public BoruvkaMSP(ForkJoinPool pool) {
+        if (pool == null)
+            throw new NullPointerException(
+                    "Tentativo di creare un calcolatore di Borůvka con un pool nullo");
+        this.pool = pool;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Borůvka per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi. Se il grafo non è connesso viene restituita una foresta di
+     * copertura minima. L'albero restituito non è radicato, quindi è
+     * rappresentato semplicemente con un sottoinsieme degli archi del grafo.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     *         copertura minimo trovato
+     * @throw NullPointerException se il grafo g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di applicare algoritmo di Borůvka su un grafo nullo");
+        if (g.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di applicare algoritmo di Borůvka su un grafo orientato");
+        // assegno ad ogni nodo un indice denso e traduco gli archi in array
+        // di primitivi, scartando i cappi
+        Map<GraphNode<L>, Integer> ids = new HashMap<GraphNode<L>, Integer>();
+        for (GraphNode<L> node : g.getNodes())
+            ids.put(node, ids.size());
+        List<GraphEdge<L>> edges = new ArrayList<GraphEdge<L>>();
+        for (GraphEdge<L> edge : g.getEdges()) {
+            // g non pesato o pesi negativi
+            if (!edge.hasWeight() || edge.getWeight() < 0)
+                throw new IllegalArgumentException(
+                        "Tentativo di applicare algoritmo di Borůvka su un grafo non pesato o con pesi negativi");
+            if (!edge.getNode1().equals(edge.getNode2()))
+                edges.add(edge);
+        }
+        int m = edges.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = ids.get(edges.get(e).getNode1());
+            targets[e] = ids.get(edges.get(e).getNode2());
+            weights[e] = edges.get(e).getWeight();
+        }
+        boolean[] chosen = this.run(ids.size(), m, sources, targets, weights);
+        Set<GraphEdge<L>> mst = new HashSet<GraphEdge<L>>();
+        for (int e = 0; e < m; e++)
+            if (chosen[e])
+                mst.add(edges.get(e));
+        return mst;
+    }
+
+    /**
+     * Variante dell'algoritmo di Borůvka che lavora direttamente su
+     * un'istantanea CSR di un grafo non orientato, pesato e con pesi non
+     * negativi.
+     *
+     * @param g
+     *              l'istantanea CSR di un grafo non orientato, pesato, con
+     *              pesi non negativi
+     * @return le posizioni in {@code g} degli archi che costituiscono
+     *         l'albero (o la foresta) di copertura minimo trovato, una per
+     *         arco, in ordine crescente
+     * @throw NullPointerException se l'istantanea g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public int[] computeMSPOnCsr(CsrGraph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di applicare algoritmo di Borůvka su un grafo nullo");
+        if (g.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di applicare algoritmo di Borůvka su un grafo orientato");
+        int n = g.nodeCount();
+        // raccolgo ogni arco una sola volta, dall'estremo con indice minore,
+        // scartando i cappi
+        int[] positions = new int[g.edgeCount()];
+        int[] sources = new int[g.edgeCount()];
+        int[] targets = new int[g.edgeCount()];
+        double[] weights = new double[g.edgeCount()];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                double w = g.weights[k];
+                if (Double.isNaN(w) || w < 0) // g non pesato o pesi negativi
+                    throw new IllegalArgumentException(
+                            "Tentativo di applicare algoritmo di Borůvka su un grafo non pesato o con pesi negativi");
+                if (u < g.targets[k]) {
+                    positions[m] = k;
+                    sources[m] = u;
+                    targets[m] = g.targets[k];
+                    weights[m] = w;
+                    m++;
+                }
+            }
+        }
+        boolean[] chosen = this.run(n, m, sources, targets, weights);
+        int size = 0;
+        for (int e = 0; e < m; e++)
+            if (chosen[e])
+                size++;
+        int[] mst = new int[size];
+        size = 0;
+        for (int e = 0; e < m; e++)
+            if (chosen[e])
+                mst[size++] = positions[e];
+        return mst;
+    }
+
+    /*
+     * Esegue le fasi dell'algoritmo su n nodi e sugli archi (sources[e],
+     * targets[e]) di peso weights[e], per e in [0, m). Restituisce per ogni
+     * arco se fa parte della foresta di copertura minima.
+     */
+    private boolean[] run(int n, int m, int[] sources, int[] targets,
+            double[] weights) {
+        ConcurrentIntDisjointSets components = new ConcurrentIntDisjointSets(
+                n);
+        boolean[] chosen = new boolean[m];
+        // arco minimo uscente da ogni componente, indicizzato dalla radice
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        // archi che collegano ancora componenti diverse
+        int[] alive = new int[m];
+        for (int e = 0; e < m; e++)
+            alive[e] = e;
+        int aliveCount = m;
+        while (aliveCount > 0) {
+            for (int v = 0; v < n; v++)
+                cheapest.set(v, -1);
+            // ogni componente sceglie il suo arco uscente minimo
+            this.pool.invoke(new CheapestEdgeTask(components, cheapest, alive,
+                    sources, targets, weights, 0, aliveCount));
+            // contraggo le componenti lungo gli archi scelti
+            this.pool.invoke(new ContractTask(components, cheapest, sources,
+                    targets, chosen, 0, n));
+            // scarto gli archi diventati interni a una componente
+            int next = 0;
+            for (int i = 0; i < aliveCount; i++) {
+                int e = alive[i];
+                if (components.find(sources[e]) != components
+                        .find(targets[e]))
+                    alive[next++] = e;
+            }
+            aliveCount = next;
+        }
+        return chosen;
+    }
+
+    /*
+     * Determina se l'arco e è più leggero dell'arco f, ordinando per peso e a
+     * parità di peso per posizione. L'arco -1 è più pesante di tutti.
+     */
+    private static boolean lighter(int e, int f, double[] weights) {
+        if (f == -1)
+            return true;
+        if (weights[e] != weights[f])
+            return weights[e] < weights[f];
+        return e < f;
+    }
+
+    /*
+     * Compito che propone ogni arco in posizione [from, to) di alive come
+     * arco minimo delle due componenti che collega.
+     */
+    private static class CheapestEdgeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ConcurrentIntDisjointSets components;
+
+        private final AtomicIntegerArray cheapest;
+
+        private final int[] alive;
+
+        private final int[] sources;
+
+        private final int[] targets;
+
+        private final double[] weights;
+
+        private final int from;
+
+        private final int to;
+
+        CheapestEdgeTask(ConcurrentIntDisjointSets components,
+                AtomicIntegerArray cheapest, int[] alive, int[] sources,
+                int[] targets, double[] weights, int from, int to) {
+            this.components = components;
+            this.cheapest = cheapest;
+            this.alive = alive;
+            this.sources = sources;
+            this.targets = targets;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > PARALLEL_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new CheapestEdgeTask(this.components, this.cheapest,
+                                this.alive, this.sources, this.targets,
+                                this.weights, this.from, middle),
+                        new CheapestEdgeTask(this.components, this.cheapest,
+                                this.alive, this.sources, this.targets,
+                                this.weights, middle, this.to));
+                return;
+            }
+            for (int i = this.from; i < this.to; i++) {
+                int e = this.alive[i];
+                int r1 = this.components.find(this.sources[e]);
+                int r2 = this.components.find(this.targets[e]);
+                if (r1 == r2)
+                    continue;
+                this.propose(r1, e);
+                this.propose(r2, e);
+            }
+        }
+
+        /*
+         * Sostituisce l'arco minimo della componente con radice r con e, se e
+         * è più leggero, riprovando finché il compare-and-set non riesce.
+         */
+        private void propose(int r, int e) {
+            while (true) {
+                int current = this.cheapest.get(r);
+                if (!lighter(e, current, this.weights))
+                    return;
+                if (this.cheapest.compareAndSet(r, current, e))
+                    return;
+            }
+        }
+    }
+
+    /*
+     * Compito che aggiunge alla foresta gli archi minimi scelti dalle radici
+     * in [from, to), unendo le componenti che collegano.
+     */
+    private static class ContractTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ConcurrentIntDisjointSets components;
+
+        private final AtomicIntegerArray cheapest;
+
+        private final int[] sources;
+
+        private final int[] targets;
+
+        private final boolean[] chosen;
+
+        private final int from;
+
+        private final int to;
+
+        ContractTask(ConcurrentIntDisjointSets components,
+                AtomicIntegerArray cheapest, int[] sources, int[] targets,
+                boolean[] chosen, int from, int to) {
+            this.components = components;
+            this.cheapest = cheapest;
+            this.sources = sources;
+            this.targets = targets;
+            this.chosen = chosen;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > PARALLEL_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new ContractTask(this.components, this.cheapest,
+                                this.sources, this.targets, this.chosen,
+                                this.from, middle),
+                        new ContractTask(this.components, this.cheapest,
+                                this.sources, this.targets, this.chosen,
+                                middle, this.to));
+                return;
+            }
+            for (int r = this.from; r < this.to; r++) {
+                int e = this.cheapest.get(r);
+                // lo stesso arco può essere stato scelto da entrambe le
+                // componenti che collega: solo l'unione che riesce lo aggiunge
+                if (e != -1 && this.components.union(this.sources[e],
+                        this.targets[e]))
+                    this.chosen[e] = true;
+            }
+        }
+    }
+}
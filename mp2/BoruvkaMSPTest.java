@@ -0,0 +1,95 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe BoruvkaMSP.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class BoruvkaMSPTest {
+
+    @Test
+    final void testExceptions() {
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        assertThrows(NullPointerException.class,
+                () -> new BoruvkaMSP<String>(null));
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(g));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSPOnCsr(g.toCsr()));
+    }
+
+    @Test
+    final void testFindMSP() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addNode("e");
+        g.addWeightedEdge("a", "b", 4);
+        g.addWeightedEdge("a", "c", 4);
+        g.addWeightedEdge("b", "c", 4);
+        g.addWeightedEdge("c", "d", 1);
+        g.addWeightedEdge("d", "d", 0);
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        Set<GraphEdge<String>> mst = alg.computeMSP(g);
+        // a parità di peso non si formano cicli
+        assertEquals(3, mst.size());
+        assertTrue(mst.contains(g.getEdge("c", "d")));
+        assertFalse(mst.contains(g.getEdge("d", "d")));
+        assertEquals(3, alg.computeMSPOnCsr(g.toCsr()).length);
+    }
+
+    @Test
+    final void testAgainstKruskal() {
+        // grafi abbastanza grandi da dividere il lavoro tra più compiti,
+        // anche non connessi e con molti pesi uguali
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BoruvkaMSP<Integer> boruvka = new BoruvkaMSP<Integer>(pool);
+        KruskalMSP<Integer> kruskal = new KruskalMSP<Integer>();
+        Random random = new Random(5);
+        for (int round = 0; round < 3; round++) {
+            Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+            int n = 1500;
+            for (int i = 0; i < n; i++)
+                g.addNode(i);
+            for (int e = 0; e < 10000; e++)
+                g.addWeightedEdge(random.nextInt(n), random.nextInt(n - 100),
+                        random.nextInt(20 + round * 500));
+            Set<GraphEdge<Integer>> expected = kruskal.computeMSP(g);
+            Set<GraphEdge<Integer>> mst = boruvka.computeMSP(g);
+            assertEquals(expected.size(), mst.size());
+            assertEquals(totalWeight(expected), totalWeight(mst), 1e-9);
+            CsrGraph<Integer> csr = g.toCsr();
+            int[] positions = boruvka.computeMSPOnCsr(csr);
+            Set<GraphEdge<Integer>> fromCsr = new HashSet<GraphEdge<Integer>>();
+            for (int k : positions)
+                fromCsr.add(csr.getEdge(k));
+            assertEquals(mst.size(), fromCsr.size());
+            assertEquals(totalWeight(expected), totalWeight(fromCsr), 1e-9);
+        }
+        pool.shutdown();
+    }
+
+    private static double totalWeight(Set<GraphEdge<Integer>> edges) {
+        double total = 0;
+        for (GraphEdge<Integer> edge : edges)
+            total += edge.getWeight();
+        return total;
+    }
+
+}
@@ -0,0 +1,166 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Variante concorrente di {@code ForestDisjointSets<E>}: più thread possono
+ * chiamare contemporaneamente {@code makeSet}, {@code findSet} e {@code union}
+ * senza sincronizzazione esterna. Ad ogni elemento viene assegnato un
+ * identificatore denso, tramite una {@code ConcurrentHashMap}, e la foresta
+ * sugli identificatori è una {@code ConcurrentIntDisjointSets}, aggiornata
+ * senza lock.
+ *
+ * Il numero massimo di elementi è fissato alla creazione, perché gli array
+ * atomici della foresta non possono essere ridimensionati mentre altri thread
+ * li stanno usando. L'unione è per indice e non per rango: il rappresentante di
+ * un insieme è l'elemento inserito per ultimo tra quelli dell'insieme.
+ *
+ * Le operazioni che restituiscono insiemi di elementi e {@code clear} non sono
+ * atomiche: il loro risultato è significativo solo quando nessun altro thread
+ * sta modificando la collezione.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class ConcurrentForestDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Associazione di ogni elemento inserito con il proprio identificatore.
+     */
+    private final ConcurrentHashMap<E, Integer> ids;
+
+    /*
+     * Gli elementi inseriti, nella posizione del loro identificatore.
+     */
+    private final AtomicReferenceArray<E> elements;
+
+    /*
+     * Prossimo identificatore libero.
+     */
+    private final AtomicInteger nextId;
+
+    /*
+     * La foresta sugli identificatori, ricreata da clear.
+     */
+    private volatile ConcurrentIntDisjointSets sets;
+
+    /**
+     * Costruisce una collezione vuota che può contenere al più un certo numero
+     * di elementi.
+     *
+     * @param capacity
+     *                     il numero massimo di elementi
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public ConcurrentForestDisjointSets(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Capacità degli insiemi disgiunti negativa");
+        this.ids = new ConcurrentHashMap<E, Integer>();
+        this.elements = new AtomicReferenceArray<E>(capacity);
+        this.nextId = new AtomicInteger();
+        this.sets = new ConcurrentIntDisjointSets(capacity);
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di verificare la presenza di un elemento nullo");
+        return this.ids.containsKey(e);
+    }
+
+    /*
+     * Lancia IllegalStateException se la capacità è esaurita.
+     */
+    @Override
+    public void makeSet(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di creare un insieme disgiunto da un elemento nullo");
+        boolean[] created = new boolean[1];
+        // l'assegnamento dell'identificatore è atomico rispetto all'elemento
+        this.ids.computeIfAbsent(e, key -> {
+            int id = this.nextId.getAndIncrement();
+            if (id >= this.elements.length()) {
+                this.nextId.decrementAndGet();
+                throw new IllegalStateException(
+                        "Capacità degli insiemi disgiunti esaurita");
+            }
+            this.elements.set(id, key);
+            created[0] = true;
+            return id;
+        });
+        if (!created[0])
+            throw new IllegalArgumentException(
+                    "Tentativo di creare un insieme disgiunto da un elemento già presente");
+    }
+
+    @Override
+    public E findSet(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di ricerca del rappresentante di un nodo nullo");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            return null;
+        return this.elements.get(this.sets.find(id));
+    }
+
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null)
+            throw new NullPointerException(
+                    "Tentativo di unire due insiemi disgiunti a partire da elementi nulli");
+        Integer id1 = this.ids.get(e1);
+        Integer id2 = this.ids.get(e2);
+        if (id1 == null || id2 == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di unire due insiemi disgiunti a partire da elementi non presenti");
+        this.sets.union(id1, id2);
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        Set<E> repr = new HashSet<E>();
+        int n = Math.min(this.nextId.get(), this.elements.length());
+        for (int x = 0; x < n; x++)
+            if (this.sets.find(x) == x && this.elements.get(x) != null)
+                repr.add(this.elements.get(x));
+        return repr;
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        if (e == null)
+            throw new NullPointerException(
+                    "Tentativo di recuperare gli elementi di un insieme di un elemento nullo");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            throw new IllegalArgumentException(
+                    "Tentativo di recuperare gli elementi di un insieme di un elemento non presente");
+        int root = this.sets.find(id);
+        Set<E> result = new HashSet<E>();
+        int n = Math.min(this.nextId.get(), this.elements.length());
+        for (int x = 0; x < n; x++)
+            if (this.sets.find(x) == root && this.elements.get(x) != null)
+                result.add(this.elements.get(x));
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        this.ids.clear();
+        for (int x = 0; x < this.elements.length(); x++)
+            this.elements.set(x, null);
+        this.sets = new ConcurrentIntDisjointSets(this.elements.length());
+        this.nextId.set(0);
+    }
+}
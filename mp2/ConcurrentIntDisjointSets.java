@@ -0,0 +1,162 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Collezione di insiemi disgiunti degli interi <code>[0, size() - 1]</code>
+ * che può essere usata contemporaneamente da più thread senza lock, secondo lo
+ * schema di Anderson e Woll. Il parent di ogni elemento è uno slot di un
+ * {@code AtomicIntegerArray} e tutti gli aggiornamenti avvengono con
+ * compare-and-set.
+ *
+ * L'unione è per indice: la radice con indice minore viene collegata a quella
+ * con indice maggiore, per cui lungo ogni cammino gli indici crescono
+ * strettamente e nessuna sequenza di operazioni concorrenti può creare cicli.
+ * La ricerca realizza la divisione del cammino (path splitting): ogni nodo
+ * visitato viene collegato al nonno, con un compare-and-set che fallisce senza
+ * danni se un altro thread ha già modificato il collegamento.
+ *
+ * Il rappresentante di un insieme è quindi sempre il suo elemento di indice
+ * massimo, indipendentemente dall'ordine in cui i thread eseguono le unioni.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class ConcurrentIntDisjointSets {
+
+    /*
+     * Il parent di ogni elemento, una radice è parent di se stessa.
+     */
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Crea un insieme singoletto per ciascuno degli interi
+     * <code>[0, n - 1]</code>.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public ConcurrentIntDisjointSets(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException(
+                    "Numero di elementi degli insiemi disgiunti negativo");
+        this.parent = new AtomicIntegerArray(n);
+        for (int x = 0; x < n; x++)
+            this.parent.set(x, x);
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return il numero di elementi
+     */
+    public int size() {
+        return this.parent.length();
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto di un elemento.
+     * Se altri thread stanno eseguendo unioni il risultato è il rappresentante
+     * in un istante compreso tra l'inizio e la fine della chiamata.
+     *
+     * @param x
+     *              l'elemento
+     * @return il rappresentante dell'insieme di x
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è un elemento
+     */
+    public int find(int x) {
+        this.checkElement(x);
+        while (true) {
+            int p = this.parent.get(x);
+            if (p == x)
+                return x;
+            int gp = this.parent.get(p);
+            // divisione del cammino: collego x al nonno
+            if (p != gp)
+                this.parent.compareAndSet(x, p, gp);
+            x = p;
+        }
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di due elementi. Se gli elementi fanno già
+     * parte dello stesso insieme non fa nulla.
+     *
+     * @param x
+     *              un elemento del primo insieme da unire
+     * @param y
+     *              un elemento del secondo insieme da unire
+     * @return true se questa chiamata ha unito due insiemi distinti, false se
+     *         gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se x o y non sono elementi
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int r1 = this.find(x);
+            int r2 = this.find(y);
+            if (r1 == r2)
+                return false;
+            // unione per indice: la radice minore va sotto quella maggiore
+            if (r1 > r2) {
+                int t = r1;
+                r1 = r2;
+                r2 = t;
+            }
+            // se r1 non è più una radice un altro thread l'ha collegata nel
+            // frattempo e ricomincio
+            if (this.parent.compareAndSet(r1, r1, r2))
+                return true;
+        }
+    }
+
+    /**
+     * Determina se due elementi fanno parte dello stesso insieme.
+     *
+     * @param x
+     *              il primo elemento
+     * @param y
+     *              il secondo elemento
+     * @return true se x e y sono nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se x o y non sono elementi
+     */
+    public boolean sameSet(int x, int y) {
+        while (true) {
+            int r1 = this.find(x);
+            int r2 = this.find(y);
+            if (r1 == r2)
+                return true;
+            // se r1 è ancora una radice i due insiemi erano distinti
+            // nell'istante in cui l'ho controllato
+            if (this.parent.get(r1) == r1)
+                return false;
+        }
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti correnti. Il risultato è
+     * esatto solo se nessun thread sta eseguendo unioni.
+     *
+     * @return il numero di radici della foresta
+     */
+    public int setCount() {
+        int count = 0;
+        for (int x = 0; x < this.parent.length(); x++)
+            if (this.parent.get(x) == x)
+                count++;
+        return count;
+    }
+
+    /*
+     * Controlla che x sia un elemento.
+     */
+    private void checkElement(int x) {
+        if (x < 0 || x >= this.parent.length())
+            throw new IndexOutOfBoundsException(
+                    "Elemento degli insiemi disgiunti non valido: " + x);
+    }
+}
@@ -0,0 +1,104 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per le classi ConcurrentIntDisjointSets e
+ * ConcurrentForestDisjointSets.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class ConcurrentIntDisjointSetsTest {
+
+    @Test
+    final void testUnionByIndex() {
+        ConcurrentIntDisjointSets sets = new ConcurrentIntDisjointSets(5);
+        assertEquals(5, sets.setCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> sets.find(5));
+        assertTrue(sets.union(3, 1));
+        // il rappresentante è l'elemento di indice massimo
+        assertEquals(3, sets.find(1));
+        assertTrue(sets.union(0, 4));
+        assertTrue(sets.union(1, 0));
+        assertEquals(4, sets.find(3));
+        assertFalse(sets.union(4, 1));
+        assertTrue(sets.sameSet(0, 3));
+        assertFalse(sets.sameSet(0, 2));
+        assertEquals(2, sets.setCount());
+    }
+
+    @Test
+    final void testConcurrentUnions() throws InterruptedException {
+        // più thread uniscono contemporaneamente gli stessi insiemi: alla
+        // fine restano solo le classi di resto modulo 3
+        int n = 300000;
+        ConcurrentIntDisjointSets sets = new ConcurrentIntDisjointSets(n);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int x = offset; x + 3 < n; x += 2)
+                    sets.union(x, x + 3);
+                for (int x = n - 1 - offset; x >= 3; x -= 2)
+                    sets.union(x - 3, x);
+            });
+        }
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(3, sets.setCount());
+        for (int x = 0; x < n; x += 997)
+            assertEquals(sets.find(x % 3), sets.find(x));
+    }
+
+    @Test
+    final void testConcurrentForestDisjointSets() throws InterruptedException {
+        ConcurrentForestDisjointSets<Integer> ds = new ConcurrentForestDisjointSets<Integer>(
+                1000);
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int x = offset; x < 1000; x += threads.length)
+                    ds.makeSet(x);
+            });
+        }
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(7));
+        assertThrows(IllegalStateException.class, () -> ds.makeSet(1000));
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int x = offset; x + 2 < 1000; x += threads.length)
+                    ds.union(x, x + 2);
+            });
+        }
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(2, ds.getCurrentRepresentatives().size());
+        assertEquals(ds.findSet(0), ds.findSet(998));
+        assertNotEquals(ds.findSet(0), ds.findSet(1));
+        Set<Integer> odd = new HashSet<Integer>();
+        for (int x = 1; x < 1000; x += 2)
+            odd.add(x);
+        assertEquals(odd, ds.getCurrentElementsOfSetContaining(5));
+        ds.clear();
+        assertFalse(ds.isPresent(5));
+        ds.makeSet(5);
+        assertEquals(Integer.valueOf(5), ds.findSet(5));
+    }
+
+}
@@ -0,0 +1,358 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Istantanea immutabile di un grafo {@code Graph<L>} rappresentata nel formato
+ * CSR (Compressed Sparse Row). I nodi sono identificati da indici densi
+ * nell'intervallo <code>[0, nodeCount() - 1]</code>, che coincidono con gli
+ * indici che i nodi avevano nel grafo originale al momento della creazione
+ * dell'istantanea.
+ *
+ * Gli archi uscenti dal nodo {@code i} occupano le posizioni
+ * <code>[offsets[i], offsets[i + 1] - 1]</code> degli array {@code targets} e
+ * {@code weights}: in ogni posizione {@code k} si trovano l'indice del nodo
+ * destinazione e il peso dell'arco ({@code Double.NaN} se l'arco non è
+ * pesato). Nel caso di un grafo non orientato ogni arco compare due volte, una
+ * per ciascun estremo, ad eccezione dei cappi che compaiono una volta sola.
+ *
+ * Gli array sono accessibili solo all'interno del package, in modo che gli
+ * algoritmi possano scorrere le liste di adiacenza senza allocare oggetti e
+ * senza calcolare alcun hash; all'esterno l'istantanea è di sola lettura e non
+ * risente delle modifiche successive del grafo da cui è stata creata.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public final class CsrGraph<L> {
+
+    /*
+     * I nodi del grafo originale, nella posizione corrispondente al loro
+     * indice.
+     */
+    private final List<GraphNode<L>> nodes;
+
+    /*
+     * Indica se il grafo originale è orientato.
+     */
+    private final boolean directed;
+
+    /*
+     * Numero di archi del grafo originale.
+     */
+    private final int edgeCount;
+
+    /*
+     * Array di nodeCount() + 1 posizioni: gli archi uscenti dal nodo i si
+     * trovano nelle posizioni da offsets[i] (incluso) a offsets[i + 1]
+     * (escluso) di targets e weights.
+     */
+    final int[] offsets;
+
+    /*
+     * Indici dei nodi destinazione degli archi.
+     */
+    final int[] targets;
+
+    /*
+     * Pesi degli archi, paralleli a targets.
+     */
+    final double[] weights;
+
+    /**
+     * Crea l'istantanea di un grafo. Il grafo deve supportare le operazioni
+     * indicizzate sui nodi.
+     *
+     * @param g
+     *              il grafo di cui creare l'istantanea
+     * @throws NullPointerException
+     *                                           se il grafo passato è nullo
+     * @throws UnsupportedOperationException
+     *                                           se il grafo passato non
+     *                                           supporta le operazioni
+     *                                           indicizzate sui nodi
+     */
+    CsrGraph(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di creare un'istantanea CSR di un grafo nullo");
+        int n = g.nodeCount();
+        this.directed = g.isDirected();
+        // registro i nodi nella posizione del loro indice
+        this.nodes = new ArrayList<GraphNode<L>>(n);
+        for (int i = 0; i < n; i++)
+            this.nodes.add(g.getNode(i));
+        // traduco una sola volta gli archi in triple di primitivi
+        Set<GraphEdge<L>> edges = g.getEdges();
+        this.edgeCount = edges.size();
+        int[] sources = new int[this.edgeCount];
+        int[] destinations = new int[this.edgeCount];
+        double[] edgeWeights = new double[this.edgeCount];
+        int e = 0;
+        for (GraphEdge<L> edge : edges) {
+            sources[e] = g.getNodeIndexOf(edge.getNode1());
+            destinations[e] = g.getNodeIndexOf(edge.getNode2());
+            edgeWeights[e] = edge.getWeight();
+            e++;
+        }
+        this.offsets = new int[n + 1];
+        this.targets = new int[this.countAdjacencies(sources, destinations)];
+        this.weights = new double[this.targets.length];
+        this.fill(sources, destinations, edgeWeights);
+    }
+
+    /**
+     * Crea un'istantanea a partire da una lista di nodi e da una lista di
+     * archi rappresentati da triple di primitivi, senza passare da un grafo.
+     * Gli array passati non vengono conservati.
+     *
+     * @param nodes
+     *                         i nodi, nella posizione del loro indice
+     * @param directed
+     *                         true se gli archi sono orientati
+     * @param sources
+     *                         gli indici dei nodi sorgente degli archi
+     * @param destinations
+     *                         gli indici dei nodi destinazione degli archi
+     * @param edgeWeights
+     *                         i pesi degli archi, {@code Double.NaN} per gli
+     *                         archi non pesati
+     * @throws IndexOutOfBoundsException
+     *                                       se un arco ha un estremo che non è
+     *                                       un indice di nodo valido
+     */
+    CsrGraph(List<GraphNode<L>> nodes, boolean directed, int[] sources,
+            int[] destinations, double[] edgeWeights) {
+        int n = nodes.size();
+        this.directed = directed;
+        this.nodes = new ArrayList<GraphNode<L>>(nodes);
+        this.edgeCount = sources.length;
+        for (int e = 0; e < this.edgeCount; e++)
+            if (sources[e] < 0 || sources[e] >= n || destinations[e] < 0
+                    || destinations[e] >= n)
+                throw new IndexOutOfBoundsException(
+                        "Arco con un estremo non valido: " + e);
+        this.offsets = new int[n + 1];
+        this.targets = new int[this.countAdjacencies(sources, destinations)];
+        this.weights = new double[this.targets.length];
+        this.fill(sources, destinations, edgeWeights);
+    }
+
+    /*
+     * Conta in offsets il grado uscente di ogni nodo e ne calcola le somme
+     * prefisse, che danno l'inizio di ogni riga. Restituisce il numero totale
+     * di posizioni.
+     */
+    private int countAdjacencies(int[] sources, int[] destinations) {
+        int n = this.offsets.length - 1;
+        for (int e = 0; e < sources.length; e++) {
+            int u = sources[e];
+            int v = destinations[e];
+            this.offsets[u + 1]++;
+            if (!this.directed && u != v)
+                this.offsets[v + 1]++;
+        }
+        for (int i = 0; i < n; i++)
+            this.offsets[i + 1] += this.offsets[i];
+        return this.offsets[n];
+    }
+
+    /*
+     * Riempie targets e weights, una volta calcolati gli offsets.
+     */
+    private void fill(int[] sources, int[] destinations,
+            double[] edgeWeights) {
+        int n = this.offsets.length - 1;
+        // prossima posizione libera di ogni riga
+        int[] next = new int[n];
+        System.arraycopy(this.offsets, 0, next, 0, n);
+        for (int e = 0; e < sources.length; e++) {
+            int u = sources[e];
+            int v = destinations[e];
+            this.targets[next[u]] = v;
+            this.weights[next[u]++] = edgeWeights[e];
+            if (!this.directed && u != v) {
+                this.targets[next[v]] = u;
+                this.weights[next[v]++] = edgeWeights[e];
+            }
+        }
+    }
+
+    /**
+     * Restituisce il numero di nodi di questa istantanea.
+     *
+     * @return il numero di nodi di questa istantanea
+     */
+    public int nodeCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Restituisce il numero di archi di questa istantanea. Nel caso non
+     * orientato ogni arco è contato una volta sola.
+     *
+     * @return il numero di archi di questa istantanea
+     */
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Determina se il grafo da cui è stata creata l'istantanea è orientato.
+     *
+     * @return true se il grafo originale è orientato, false altrimenti
+     */
+    public boolean isDirected() {
+        return this.directed;
+    }
+
+    /**
+     * Restituisce il nodo associato a un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il nodo con indice i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso
+     *                                       nell'intervallo
+     *                                       <code>[0, nodeCount() - 1]</code>
+     */
+    public GraphNode<L> getNode(int i) {
+        return this.nodes.get(i);
+    }
+
+    /**
+     * Restituisce il numero di archi uscenti da un certo nodo.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il grado (uscente) del nodo con indice i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso
+     *                                       nell'intervallo
+     *                                       <code>[0, nodeCount() - 1]</code>
+     */
+    public int getDegreeOf(int i) {
+        this.checkNodeIndex(i);
+        return this.offsets[i + 1] - this.offsets[i];
+    }
+
+    /**
+     * Restituisce la prima posizione degli archi uscenti da un certo nodo.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la posizione del primo arco uscente dal nodo i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso
+     *                                       nell'intervallo
+     *                                       <code>[0, nodeCount() - 1]</code>
+     */
+    public int getFirstEdgePosition(int i) {
+        this.checkNodeIndex(i);
+        return this.offsets[i];
+    }
+
+    /**
+     * Restituisce la posizione successiva all'ultimo arco uscente da un certo
+     * nodo.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la posizione successiva all'ultimo arco uscente dal nodo i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso
+     *                                       nell'intervallo
+     *                                       <code>[0, nodeCount() - 1]</code>
+     */
+    public int getEndEdgePosition(int i) {
+        this.checkNodeIndex(i);
+        return this.offsets[i + 1];
+    }
+
+    /**
+     * Restituisce l'indice del nodo destinazione dell'arco in una certa
+     * posizione.
+     *
+     * @param k
+     *              la posizione dell'arco
+     * @return l'indice del nodo destinazione dell'arco in posizione k
+     * @throws IndexOutOfBoundsException
+     *                                       se la posizione non è valida
+     */
+    public int getTarget(int k) {
+        return this.targets[k];
+    }
+
+    /**
+     * Restituisce il peso dell'arco in una certa posizione.
+     *
+     * @param k
+     *              la posizione dell'arco
+     * @return il peso dell'arco in posizione k, {@code Double.NaN} se l'arco
+     *         non è pesato
+     * @throws IndexOutOfBoundsException
+     *                                       se la posizione non è valida
+     */
+    public double getWeight(int k) {
+        return this.weights[k];
+    }
+
+    /**
+     * Restituisce l'indice del nodo da cui esce l'arco in una certa posizione.
+     * La ricerca è binaria sull'array degli offset.
+     *
+     * @param k
+     *              la posizione dell'arco
+     * @return l'indice del nodo sorgente dell'arco in posizione k
+     * @throws IndexOutOfBoundsException
+     *                                       se la posizione non è valida
+     */
+    public int getSource(int k) {
+        if (k < 0 || k >= this.targets.length)
+            throw new IndexOutOfBoundsException(
+                    "Posizione di un arco non valida: " + k);
+        // cerco l'ultimo nodo i con offsets[i] <= k
+        int low = 0;
+        int high = this.nodes.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (this.offsets[mid] <= k)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Costruisce l'arco corrispondente a una certa posizione come oggetto
+     * della classe {@code GraphEdge<L>}. Da usare solo ai confini dell'API,
+     * poiché alloca un nuovo oggetto ad ogni chiamata.
+     *
+     * @param k
+     *              la posizione dell'arco
+     * @return un arco uguale a quello del grafo originale in posizione k
+     * @throws IndexOutOfBoundsException
+     *                                       se la posizione non è valida
+     */
+    public GraphEdge<L> getEdge(int k) {
+        GraphNode<L> source = this.nodes.get(this.getSource(k));
+        GraphNode<L> target = this.nodes.get(this.targets[k]);
+        return new GraphEdge<L>(source, target, this.directed,
+                this.weights[k]);
+    }
+
+    /*
+     * Controlla che un indice di nodo sia nell'intervallo consentito.
+     */
+    private void checkNodeIndex(int i) {
+        if (i < 0 || i >= this.nodes.size())
+            throw new IndexOutOfBoundsException(
+                    "Indice di nodo non valido: " + i);
+    }
+}
@@ -0,0 +1,93 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe CsrGraph.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class CsrGraphTest {
+
+    @Test
+    final void testToCsrEmpty() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        CsrGraph<String> csr = g.toCsr();
+        assertEquals(0, csr.nodeCount());
+        assertEquals(0, csr.edgeCount());
+        assertFalse(csr.isDirected());
+    }
+
+    @Test
+    final void testToCsr() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        g.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        g.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        g.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        g.addNode(d);
+        g.addEdge(new GraphEdge<String>(a, b, false, 1));
+        g.addEdge(new GraphEdge<String>(a, c, false, 2.5));
+        g.addEdge(new GraphEdge<String>(c, c, false, 3));
+        g.addEdge(new GraphEdge<String>(c, b, false));
+        CsrGraph<String> csr = g.toCsr();
+        assertEquals(4, csr.nodeCount());
+        assertEquals(4, csr.edgeCount());
+        for (int i = 0; i < csr.nodeCount(); i++)
+            assertSame(g.getNode(i), csr.getNode(i));
+        assertEquals(2, csr.getDegreeOf(g.getNodeIndexOf(a)));
+        assertEquals(2, csr.getDegreeOf(g.getNodeIndexOf(b)));
+        // il cappio compare una sola volta
+        assertEquals(3, csr.getDegreeOf(g.getNodeIndexOf(c)));
+        assertEquals(0, csr.getDegreeOf(g.getNodeIndexOf(d)));
+        // ricostruisco gli archi a partire dalle posizioni
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        for (int i = 0; i < csr.nodeCount(); i++)
+            for (int k = csr.getFirstEdgePosition(i); k < csr
+                    .getEndEdgePosition(i); k++) {
+                assertEquals(i, csr.getSource(k));
+                GraphEdge<String> e = csr.getEdge(k);
+                assertEquals(g.getEdge(e).getWeight(), csr.getWeight(k));
+                edges.add(e);
+            }
+        assertEquals(g.getEdges(), edges);
+    }
+
+    @Test
+    final void testSnapshotIsImmutable() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addWeightedEdge("a", "b", 4);
+        CsrGraph<String> csr = g.toCsr();
+        g.addNode("c");
+        g.addWeightedEdge("a", "c", 1);
+        assertEquals(2, csr.nodeCount());
+        assertEquals(1, csr.edgeCount());
+        assertEquals(1, csr.getDegreeOf(0));
+    }
+
+    @Test
+    final void testExceptions() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        CsrGraph<String> csr = g.toCsr();
+        assertThrows(IndexOutOfBoundsException.class, () -> csr.getNode(1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> csr.getDegreeOf(-1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> csr.getFirstEdgePosition(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> csr.getSource(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> csr.getTarget(0));
+    }
+
+}
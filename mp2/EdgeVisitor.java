@@ -0,0 +1,27 @@
+package it.unicam.cs.asdl2122.mp2;
+
+/**
+ * Operazione da eseguire su ogni arco connesso a un nodo, usata da
+ * {@code Graph.forEachEdge}. L'arco viene descritto dagli indici dei due nodi
+ * e dal peso, per cui il grafo non deve creare un oggetto
+ * {@code GraphEdge<L>} per ogni arco visitato.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+
+    /**
+     * Visita un arco.
+     *
+     * @param source
+     *                   l'indice del nodo di cui si stanno visitando gli archi
+     * @param target
+     *                   l'indice dell'altro nodo dell'arco
+     * @param weight
+     *                   il peso dell'arco, {@code Double.NaN} se l'arco non è
+     *                   pesato
+     */
+    public void visit(int source, int target, double weight);
+}
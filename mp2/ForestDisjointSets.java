@@ -122,7 +122,9 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     /*
      * L'implementazione del find-set deve realizzare l'euristica
      * "compressione del cammino". Si vedano le istruzioni o il libro di testo
-     * Cormen et al. (terza edizione) Capitolo 21 Sezione 3.
+     * Cormen et al. (terza edizione) Capitolo 21 Sezione 3. La compressione è
+     * fatta in due passate iterative sui puntatori parent, senza ricorsione e
+     * senza cercare di nuovo i nodi nella mappa.
      */
     @Override
     public E findSet(E e) {
@@ -134,13 +136,18 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     		return null;
     	// recupero il nodo associato all'elemento
     	Node<E> node = this.currentElements.get(e);
-    	// finchè node non è la radice
-    	if(node != node.parent)
-    		// setto il parent del nodo chiamando ricorsivamente 
-    		// questo metodo sul suo parent
-    		node.setParent(this.currentElements.get(findSet(node.parent.item)));
-    	// chiamate ricorsive terminate, node è il rappresentante (radice)
-        return node.parent.item;
+    	// risalgo fino alla radice
+    	Node<E> root = node;
+    	while(root != root.parent)
+    		root = root.parent;
+    	// collego direttamente alla radice ogni nodo del cammino
+    	while(node != root) {
+    		Node<E> next = node.parent;
+    		node.setParent(root);
+    		node = next;
+    	}
+    	// la radice è il rappresentante
+        return root.item;
     }
 
     /*
@@ -643,4 +643,20 @@ class ForestDisjointSetsTest {
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         assertTrue(ds.currentElements.isEmpty());
     }
+
+    @Test
+    final void testFindSetOnLongChain() {
+        // una catena costruita a mano, senza unione per rango, non deve
+        // esaurire lo stack e deve essere compressa dal find-set
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int i = 0; i < n - 1; i++)
+            ds.currentElements.get(i).setParent(ds.currentElements.get(i + 1));
+        assertEquals(n - 1, ds.findSet(0));
+        ForestDisjointSets.Node<Integer> root = ds.currentElements.get(n - 1);
+        assertTrue(ds.currentElements.get(0).parent == root);
+        assertTrue(ds.currentElements.get(n / 2).parent == root);
+    }
 }
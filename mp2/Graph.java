@@ -4,6 +4,7 @@
 package it.unicam.cs.asdl2122.mp2;
 
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Classe astratta per un generico grafo i cui nodi sono etichettati con
@@ -1046,4 +1047,147 @@ public abstract class Graph<L> {
             return this.getEdgesOf(n).size() + this.getIngoingEdgesOf(n).size();
     }
 
+    /**
+     * Esegue un'operazione sull'indice di ogni nodo adiacente al nodo con
+     * l'indice dato. Nel caso di grafo orientato i nodi adiacenti sono quelli
+     * raggiunti dagli archi uscenti. A differenza di
+     * {@code getAdjacentNodesOf(int)} non viene costruito nessun insieme: le
+     * implementazioni ridefiniscono questo metodo scorrendo direttamente la
+     * propria rappresentazione, in modo da espandere i nodi adiacenti senza
+     * allocare oggetti.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param i
+     *                   l'indice del nodo di cui visitare i nodi adiacenti
+     * @param action
+     *                   l'operazione da eseguire sull'indice di ogni nodo
+     *                   adiacente
+     * 
+     * @throws NullPointerException
+     *                                           se l'operazione passata è
+     *                                           nulla
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice passato non
+     *                                           corrisponde a nessun nodo o è
+     *                                           fuori dai limiti
+     *                                           dell'intervallo
+     *                                           <code>[0, this.nodeCount() - 1]</code>
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public void forEachNeighbor(int i, IntConsumer action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare i nodi adiacenti con un'operazione nulla");
+        GraphNode<L> node = this.getNode(i);
+        for (GraphEdge<L> e : this.getEdgesOf(i))
+            action.accept(this.getNodeIndexOf(
+                    e.getNode1().equals(node) ? e.getNode2() : e.getNode1()));
+    }
+
+    /**
+     * Esegue un'operazione su ogni arco connesso al nodo con l'indice dato, o
+     * uscente da esso nel caso di grafo orientato. L'arco viene passato come
+     * coppia di indici e peso, senza creare oggetti {@code GraphEdge<L>}
+     * nelle implementazioni che ridefiniscono questo metodo.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param i
+     *                    l'indice del nodo di cui visitare gli archi
+     * @param visitor
+     *                    l'operazione da eseguire su ogni arco
+     * 
+     * @throws NullPointerException
+     *                                           se l'operazione passata è
+     *                                           nulla
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice passato non
+     *                                           corrisponde a nessun nodo o è
+     *                                           fuori dai limiti
+     *                                           dell'intervallo
+     *                                           <code>[0, this.nodeCount() - 1]</code>
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public void forEachEdge(int i, EdgeVisitor visitor) {
+        if (visitor == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare gli archi con un'operazione nulla");
+        GraphNode<L> node = this.getNode(i);
+        for (GraphEdge<L> e : this.getEdgesOf(i))
+            visitor.visit(i, this.getNodeIndexOf(
+                    e.getNode1().equals(node) ? e.getNode2() : e.getNode1()),
+                    e.getWeight());
+    }
+
+    /**
+     * Restituisce il primo nodo adiacente al nodo con indice i che abbia
+     * indice maggiore o uguale a from. Permette di scorrere i nodi adiacenti
+     * come con un cursore, senza allocare oggetti:
+     * 
+     * <pre>
+     * for (int j = g.nextNeighbor(i, 0); j != -1; j = g.nextNeighbor(i, j + 1))
+     *     ...
+     * </pre>
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param i
+     *                 l'indice del nodo di cui cercare i nodi adiacenti
+     * @param from
+     *                 l'indice da cui iniziare la ricerca, può essere
+     *                 maggiore o uguale a {@code this.nodeCount()}
+     * @return l'indice del primo nodo adiacente con indice maggiore o uguale a
+     *         from, -1 se non esiste
+     * 
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice i non corrisponde
+     *                                           a nessun nodo o se from è
+     *                                           negativo
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public int nextNeighbor(int i, int from) {
+        if (from < 0)
+            throw new IndexOutOfBoundsException(
+                    "Tentativo di cercare un nodo adiacente a partire da un indice negativo");
+        GraphNode<L> node = this.getNode(i);
+        int result = -1;
+        for (GraphEdge<L> e : this.getEdgesOf(i)) {
+            int j = this.getNodeIndexOf(
+                    e.getNode1().equals(node) ? e.getNode2() : e.getNode1());
+            if (j >= from && (result == -1 || j < result))
+                result = j;
+        }
+        return result;
+    }
+
+    /**
+     * Crea un'istantanea immutabile di questo grafo nel formato CSR
+     * (Compressed Sparse Row), con i nodi identificati dai loro indici. Le
+     * modifiche successive di questo grafo non si riflettono sull'istantanea.
+     * Le varianti degli algoritmi che lavorano su {@code CsrGraph<L>} scorrono
+     * le liste di adiacenza senza allocare oggetti e senza calcolare hash.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @return un'istantanea CSR di questo grafo
+     * 
+     * @throws UnsupportedOperationException
+     *                                           se questo grafo non supporta
+     *                                           le operazioni indicizzate sui
+     *                                           nodi
+     */
+    public CsrGraph<L> toCsr() {
+        return new CsrGraph<L>(this);
+    }
+
 }
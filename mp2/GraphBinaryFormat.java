@@ -0,0 +1,374 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Formato binario compatto per salvare su file un grafo {@code Graph<L>} e
+ * ricaricarlo velocemente. Il file è composto da tre sezioni, con tutti i
+ * valori in big-endian:
+ *
+ * <ul>
+ * <li>intestazione: il numero magico {@code MAGIC}, la versione del formato,
+ * un intero di flag (il bit 0 indica un grafo orientato), il numero di nodi e
+ * il numero di archi;</li>
+ * <li>tabella delle etichette: per ogni nodo, nell'ordine dei loro indici, la
+ * lunghezza in byte e i byte UTF-8 della rappresentazione testuale
+ * dell'etichetta;</li>
+ * <li>archi: per ogni arco l'indice del nodo sorgente e del nodo destinazione
+ * (due int) e il peso (un double, {@code Double.NaN} se l'arco non è
+ * pesato).</li>
+ * </ul>
+ *
+ * La scrittura è sequenziale. La lettura mappa il file in memoria con
+ * {@code FileChannel.map}, a finestre di al più {@code WINDOW} byte in modo da
+ * gestire anche file più grandi di 2 GB, e legge gli archi direttamente in
+ * array di primitivi: {@code loadCsr} costruisce un {@code CsrGraph} senza
+ * creare alcun oggetto per arco, {@code loadInto} inserisce invece nodi e archi
+ * in un grafo esistente.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public final class GraphBinaryFormat {
+
+    /**
+     * Numero magico all'inizio di ogni file, "MP2G" in ASCII.
+     */
+    public static final int MAGIC = 0x4D503247;
+
+    /**
+     * Versione corrente del formato.
+     */
+    public static final int VERSION = 1;
+
+    /*
+     * Byte dell'intestazione: magico, versione, flag, nodi e archi.
+     */
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /*
+     * Byte di ogni arco: sorgente, destinazione e peso.
+     */
+    private static final int EDGE_SIZE = 2 * Integer.BYTES + Double.BYTES;
+
+    /*
+     * Flag di un grafo orientato.
+     */
+    private static final int FLAG_DIRECTED = 1;
+
+    /*
+     * Dimensione massima di ogni finestra mappata in memoria.
+     */
+    private static final int WINDOW = 1 << 28;
+
+    /*
+     * Classe di sole operazioni statiche.
+     */
+    private GraphBinaryFormat() {
+    }
+
+    /**
+     * Scrive un grafo su un file, sostituendone il contenuto. Il grafo deve
+     * supportare le operazioni indicizzate sui nodi.
+     *
+     * @param <L>
+     *                   tipo delle etichette dei nodi del grafo
+     * @param g
+     *                   il grafo da scrivere
+     * @param file
+     *                   il file da scrivere
+     * @param encoder
+     *                   la funzione che trasforma un'etichetta in testo
+     * @throws NullPointerException
+     *                                  se uno dei parametri è nullo
+     * @throws IOException
+     *                                  se la scrittura fallisce
+     */
+    public static <L> void write(Graph<L> g, Path file,
+            Function<L, String> encoder) throws IOException {
+        if (g == null || file == null || encoder == null)
+            throw new NullPointerException(
+                    "Tentativo di scrivere un grafo nullo o su un file nullo");
+        int n = g.nodeCount();
+        Set<GraphEdge<L>> edges = g.getEdges();
+        try (OutputStream stream = Files.newOutputStream(file);
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(g.isDirected() ? FLAG_DIRECTED : 0);
+            out.writeInt(n);
+            out.writeInt(edges.size());
+            for (int i = 0; i < n; i++) {
+                byte[] label = encoder.apply(g.getNode(i).getLabel())
+                        .getBytes(StandardCharsets.UTF_8);
+                out.writeInt(label.length);
+                out.write(label);
+            }
+            for (GraphEdge<L> edge : edges) {
+                out.writeInt(g.getNodeIndexOf(edge.getNode1()));
+                out.writeInt(g.getNodeIndexOf(edge.getNode2()));
+                out.writeDouble(edge.getWeight());
+            }
+        }
+    }
+
+    /**
+     * Scrive su un file un grafo con etichette di tipo {@code String}.
+     *
+     * @param g
+     *                 il grafo da scrivere
+     * @param file
+     *                 il file da scrivere
+     * @throws NullPointerException
+     *                                  se uno dei parametri è nullo
+     * @throws IOException
+     *                                  se la scrittura fallisce
+     */
+    public static void write(Graph<String> g, Path file) throws IOException {
+        write(g, file, Function.identity());
+    }
+
+    /**
+     * Carica un file in un'istantanea CSR, leggendo gli archi direttamente in
+     * array di primitivi.
+     *
+     * @param <L>
+     *                   tipo delle etichette dei nodi del grafo
+     * @param file
+     *                   il file da leggere
+     * @param decoder
+     *                   la funzione che trasforma il testo in un'etichetta
+     * @return l'istantanea CSR del grafo salvato
+     * @throws NullPointerException
+     *                                  se uno dei parametri è nullo
+     * @throws IOException
+     *                                  se la lettura fallisce o il file non è
+     *                                  nel formato atteso
+     */
+    public static <L> CsrGraph<L> loadCsr(Path file,
+            Function<String, L> decoder) throws IOException {
+        if (file == null || decoder == null)
+            throw new NullPointerException(
+                    "Tentativo di caricare un grafo da un file nullo");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            MappedReader in = new MappedReader(channel);
+            boolean directed = readHeader(in);
+            int n = in.readInt();
+            int m = in.readInt();
+            if (m < 0)
+                throw new IOException("Numero di archi negativo");
+            List<GraphNode<L>> nodes = readLabels(in, n, decoder);
+            checkEdgeCount(in, m);
+            int[] sources = new int[m];
+            int[] destinations = new int[m];
+            double[] weights = new double[m];
+            for (int e = 0; e < m; e++) {
+                in.ensure(EDGE_SIZE);
+                sources[e] = in.buffer.getInt();
+                destinations[e] = in.buffer.getInt();
+                weights[e] = in.buffer.getDouble();
+            }
+            try {
+                return new CsrGraph<L>(nodes, directed, sources, destinations,
+                        weights);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IOException("File di grafo corrotto: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Carica in un'istantanea CSR un file con etichette di tipo
+     * {@code String}.
+     *
+     * @param file
+     *                 il file da leggere
+     * @return l'istantanea CSR del grafo salvato
+     * @throws NullPointerException
+     *                                  se il file è nullo
+     * @throws IOException
+     *                                  se la lettura fallisce o il file non è
+     *                                  nel formato atteso
+     */
+    public static CsrGraph<String> loadCsr(Path file) throws IOException {
+        return loadCsr(file, Function.identity());
+    }
+
+    /**
+     * Carica un file inserendone nodi e archi in un grafo. I nodi vengono
+     * inseriti nell'ordine dei loro indici, per cui se il grafo è vuoto gli
+     * indici coincidono con quelli del grafo salvato.
+     *
+     * @param <L>
+     *                   tipo delle etichette dei nodi del grafo
+     * @param file
+     *                   il file da leggere
+     * @param g
+     *                   il grafo in cui inserire nodi e archi
+     * @param decoder
+     *                   la funzione che trasforma il testo in un'etichetta
+     * @throws NullPointerException
+     *                                      se uno dei parametri è nullo
+     * @throws IllegalArgumentException
+     *                                      se il grafo non ha lo stesso
+     *                                      orientamento di quello salvato
+     * @throws IOException
+     *                                      se la lettura fallisce o il file
+     *                                      non è nel formato atteso
+     */
+    public static <L> void loadInto(Path file, Graph<L> g,
+            Function<String, L> decoder) throws IOException {
+        if (file == null || g == null || decoder == null)
+            throw new NullPointerException(
+                    "Tentativo di caricare un grafo nullo o da un file nullo");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            MappedReader in = new MappedReader(channel);
+            boolean directed = readHeader(in);
+            if (directed != g.isDirected())
+                throw new IllegalArgumentException(
+                        "Tentativo di caricare un grafo con orientamento diverso da quello salvato");
+            int n = in.readInt();
+            int m = in.readInt();
+            if (m < 0)
+                throw new IOException("Numero di archi negativo");
+            List<GraphNode<L>> nodes = readLabels(in, n, decoder);
+            checkEdgeCount(in, m);
+            for (GraphNode<L> node : nodes)
+                g.addNode(node);
+            for (int e = 0; e < m; e++) {
+                in.ensure(EDGE_SIZE);
+                int u = in.buffer.getInt();
+                int v = in.buffer.getInt();
+                double w = in.buffer.getDouble();
+                if (u < 0 || u >= n || v < 0 || v >= n)
+                    throw new IOException(
+                            "File di grafo corrotto: " + file);
+                g.addEdge(new GraphEdge<L>(nodes.get(u), nodes.get(v),
+                        directed, w));
+            }
+        }
+    }
+
+    /*
+     * Legge e controlla magico e versione, restituisce il flag di grafo
+     * orientato.
+     */
+    private static boolean readHeader(MappedReader in) throws IOException {
+        if (in.size < HEADER_SIZE || in.readInt() != MAGIC)
+            throw new IOException("Il file non è un grafo in formato binario");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException(
+                    "Versione del formato non supportata: " + version);
+        return (in.readInt() & FLAG_DIRECTED) != 0;
+    }
+
+    /*
+     * Controlla, prima di allocare gli array degli archi, che i byte rimasti
+     * dopo la tabella delle etichette bastino per m archi.
+     */
+    private static void checkEdgeCount(MappedReader in, int m)
+            throws IOException {
+        if ((long) m * EDGE_SIZE > in.remaining())
+            throw new IOException("File di grafo troncato");
+    }
+
+    /*
+     * Legge la tabella delle etichette di n nodi.
+     */
+    private static <L> List<GraphNode<L>> readLabels(MappedReader in, int n,
+            Function<String, L> decoder) throws IOException {
+        if (n < 0)
+            throw new IOException("Numero di nodi negativo");
+        // ogni etichetta occupa almeno la sua lunghezza: un numero di nodi
+        // maggiore indica un file corrotto, da segnalare prima di allocare
+        if (n > in.remaining() / Integer.BYTES)
+            throw new IOException("Numero di nodi maggiore del file");
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(n);
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < n; i++) {
+            int length = in.readInt();
+            if (length < 0 || length > WINDOW)
+                throw new IOException("Etichetta di lunghezza non valida");
+            if (bytes.length < length)
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            in.ensure(length);
+            in.buffer.get(bytes, 0, length);
+            nodes.add(new GraphNode<L>(decoder
+                    .apply(new String(bytes, 0, length, StandardCharsets.UTF_8))));
+        }
+        return nodes;
+    }
+
+    /*
+     * Lettore sequenziale di un file mappato in memoria a finestre: quando la
+     * finestra corrente non contiene abbastanza byte ne viene mappata una
+     * nuova a partire dalla posizione corrente.
+     */
+    private static class MappedReader {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        /*
+         * Posizione nel file dell'inizio della finestra corrente.
+         */
+        private long windowStart;
+
+        private MappedByteBuffer buffer;
+
+        MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.map(0);
+        }
+
+        /*
+         * Garantisce che nella finestra ci siano almeno bytes byte da leggere.
+         */
+        void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() >= bytes)
+                return;
+            long position = this.windowStart + this.buffer.position();
+            if (this.size - position < bytes)
+                throw new IOException("File di grafo troncato");
+            this.map(position);
+        }
+
+        /*
+         * Numero di byte del file ancora da leggere.
+         */
+        long remaining() {
+            return this.size - this.windowStart - this.buffer.position();
+        }
+
+        int readInt() throws IOException {
+            this.ensure(Integer.BYTES);
+            return this.buffer.getInt();
+        }
+
+        private void map(long position) throws IOException {
+            long length = Math.min(WINDOW, this.size - position);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    position, length);
+            this.windowStart = position;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Classe di test per la classe GraphBinaryFormat.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class GraphBinaryFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private Graph<String> createGraph() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("città");
+        g.addNode("d");
+        g.addWeightedEdge("a", "b", 1.5);
+        g.addWeightedEdge("b", "città", 2);
+        g.addEdge("città", "città");
+        g.addWeightedEdge("a", "d", 0.25);
+        return g;
+    }
+
+    @Test
+    final void testRoundTripCsr() throws IOException {
+        Graph<String> g = this.createGraph();
+        Path file = this.dir.resolve("g.bin");
+        GraphBinaryFormat.write(g, file);
+        CsrGraph<String> csr = GraphBinaryFormat.loadCsr(file);
+        assertEquals(4, csr.nodeCount());
+        assertEquals(4, csr.edgeCount());
+        assertFalse(csr.isDirected());
+        for (int i = 0; i < 4; i++)
+            assertEquals(g.getNode(i), csr.getNode(i));
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        for (int k = 0; k < csr.getEndEdgePosition(3); k++) {
+            GraphEdge<String> e = csr.getEdge(k);
+            GraphEdge<String> original = g.getEdge(e);
+            assertEquals(original.hasWeight(), e.hasWeight());
+            if (original.hasWeight())
+                assertEquals(original.getWeight(), e.getWeight());
+            edges.add(e);
+        }
+        assertEquals(g.getEdges(), edges);
+    }
+
+    @Test
+    final void testRoundTripGraph() throws IOException {
+        Graph<String> g = this.createGraph();
+        Path file = this.dir.resolve("g.bin");
+        GraphBinaryFormat.write(g, file);
+        Graph<String> loaded = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphBinaryFormat.loadInto(file, loaded, s -> s);
+        assertEquals(g.nodeCount(), loaded.nodeCount());
+        assertEquals(g.getEdges(), loaded.getEdges());
+        assertEquals(2.0, loaded.getEdge("città", "b").getWeight());
+        assertFalse(loaded.getEdge("città", "città").hasWeight());
+        assertEquals(2, loaded.getNodeIndexOf("città"));
+    }
+
+    @Test
+    final void testIntegerLabels() throws IOException {
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 300; i++)
+            g.addNode(i * 7);
+        for (int i = 0; i + 1 < 300; i++)
+            g.addWeightedEdge(i, i + 1, i);
+        Path file = this.dir.resolve("int.bin");
+        GraphBinaryFormat.write(g, file, String::valueOf);
+        CsrGraph<Integer> csr = GraphBinaryFormat.loadCsr(file,
+                Integer::valueOf);
+        assertEquals(Integer.valueOf(7 * 299), csr.getNode(299).getLabel());
+        int[] mst = new KruskalMSP<Integer>().computeMSPOnCsr(csr);
+        assertEquals(299, mst.length);
+    }
+
+    @Test
+    final void testInvalidFiles() throws IOException {
+        Path file = this.dir.resolve("bad.bin");
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> GraphBinaryFormat.loadCsr(file));
+        Graph<String> g = this.createGraph();
+        GraphBinaryFormat.write(g, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = this.dir.resolve("truncated.bin");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 5));
+        assertThrows(IOException.class,
+                () -> GraphBinaryFormat.loadCsr(truncated));
+        assertThrows(NullPointerException.class,
+                () -> GraphBinaryFormat.write(null, file));
+    }
+
+    @Test
+    final void testHugeCountsInHeader() throws IOException {
+        Graph<String> g = this.createGraph();
+        Path file = this.dir.resolve("graph.bin");
+        GraphBinaryFormat.write(g, file);
+        byte[] bytes = Files.readAllBytes(file);
+        // numero di nodi (offset 12) e di archi (offset 16) enormi: deve
+        // essere segnalato il file corrotto senza allocare gli array
+        for (int offset : new int[] { 12, 16 }) {
+            byte[] corrupted = bytes.clone();
+            java.nio.ByteBuffer.wrap(corrupted).putInt(offset,
+                    Integer.MAX_VALUE);
+            Path bad = this.dir.resolve("huge" + offset + ".bin");
+            Files.write(bad, corrupted);
+            assertThrows(IOException.class, () -> GraphBinaryFormat.loadCsr(bad));
+            assertThrows(IOException.class, () -> GraphBinaryFormat.loadInto(bad,
+                    new AdjacencyMatrixUndirectedGraph<String>(),
+                    java.util.function.Function.identity()));
+        }
+    }
+
+}
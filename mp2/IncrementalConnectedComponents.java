@@ -0,0 +1,159 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Set;
+
+/**
+ * Mantiene aggiornate le componenti connesse di un grafo non orientato mentre
+ * al grafo vengono aggiunti nodi e archi. Le componenti vengono calcolate una
+ * volta sola alla creazione, come in
+ * {@code UndirectedGraphConnectedComponentsComputer<L>}; in seguito ogni nodo
+ * o arco aggiunto tramite questa classe viene inserito nel grafo e registrato
+ * negli insiemi disgiunti, per cui le interrogazioni sulla connessione costano
+ * un tempo quasi costante invece di un ricalcolo completo.
+ *
+ * Gli insiemi disgiunti non permettono di dividere una componente, quindi le
+ * cancellazioni non sono supportate: il grafo non deve essere modificato se
+ * non tramite questa classe, altrimenti le componenti non sono più corrette.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                il tipo delle etichette dei nodi del grafo
+ */
+public class IncrementalConnectedComponents<L> {
+
+    /*
+     * Il grafo di cui si mantengono le componenti.
+     */
+    private final Graph<L> graph;
+
+    /*
+     * Un insieme disgiunto per ogni componente connessa.
+     */
+    private final ArrayDisjointSets<GraphNode<L>> components;
+
+    /**
+     * Calcola le componenti connesse correnti di un grafo non orientato e si
+     * prepara a mantenerle aggiornate.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @throws NullPointerException
+     *                                      se il grafo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public IncrementalConnectedComponents(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di calcolare componenti connesse di un grafo nullo");
+        if (g.isDirected())
+            throw new IllegalArgumentException(
+                    "Tentativo di calcolare componenti connesse di un grafo orientato");
+        this.graph = g;
+        this.components = new ArrayDisjointSets<GraphNode<L>>();
+        for (GraphNode<L> node : g.getNodes())
+            this.components.makeSet(node);
+        for (GraphEdge<L> edge : g.getEdges())
+            this.components.unionById(
+                    this.components.idOf(edge.getNode1()),
+                    this.components.idOf(edge.getNode2()));
+    }
+
+    /**
+     * Aggiunge un nodo al grafo, che forma una nuova componente.
+     *
+     * @param node
+     *                 il nodo da aggiungere
+     * @return true se il nodo è stato aggiunto, false se era già presente
+     * @throws NullPointerException
+     *                                  se il nodo passato è nullo
+     */
+    public boolean addNode(GraphNode<L> node) {
+        if (!this.graph.addNode(node))
+            return false;
+        this.components.makeSet(node);
+        return true;
+    }
+
+    /**
+     * Aggiunge un arco al grafo, unendo le componenti dei suoi nodi.
+     *
+     * @param edge
+     *                 l'arco da aggiungere
+     * @return true se l'arco è stato aggiunto, false se era già presente
+     * @throws NullPointerException
+     *                                      se l'arco passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due nodi
+     *                                      dell'arco non è presente nel grafo
+     *                                      o se l'arco non è compatibile con
+     *                                      il grafo
+     */
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (!this.graph.addEdge(edge))
+            return false;
+        this.components.unionById(this.components.idOf(edge.getNode1()),
+                this.components.idOf(edge.getNode2()));
+        return true;
+    }
+
+    /**
+     * Determina se due nodi fanno parte della stessa componente connessa.
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return true se esiste un cammino tra i due nodi
+     * @throws NullPointerException
+     *                                      se almeno uno dei due nodi è nullo
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due nodi non è
+     *                                      presente nel grafo
+     */
+    public boolean areConnected(GraphNode<L> node1, GraphNode<L> node2) {
+        int id1 = this.components.idOf(node1);
+        int id2 = this.components.idOf(node2);
+        if (id1 == -1 || id2 == -1)
+            throw new IllegalArgumentException(
+                    "Tentativo di verificare la connessione di nodi non presenti nel grafo");
+        return this.components.findSetById(id1) == this.components
+                .findSetById(id2);
+    }
+
+    /**
+     * Restituisce il numero di componenti connesse correnti.
+     *
+     * @return il numero di componenti connesse
+     */
+    public int componentCount() {
+        return this.components.setCount();
+    }
+
+    /**
+     * Restituisce i nodi della componente connessa di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'insieme dei nodi della componente che contiene il nodo
+     * @throws NullPointerException
+     *                                      se il nodo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il nodo non è presente nel grafo
+     */
+    public Set<GraphNode<L>> getComponentOf(GraphNode<L> node) {
+        return this.components.getCurrentElementsOfSetContaining(node);
+    }
+
+    /**
+     * Restituisce le componenti connesse correnti, costruite in tempo lineare
+     * nel numero di nodi.
+     *
+     * @return un insieme di componenti connesse, ognuna rappresentata da un
+     *         insieme di nodi del grafo
+     */
+    public Set<Set<GraphNode<L>>> getConnectedComponents() {
+        return this.components.getCurrentSets();
+    }
+}
@@ -0,0 +1,92 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IncrementalConnectedComponents.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+class IncrementalConnectedComponentsTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> new IncrementalConnectedComponents<String>(null));
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        IncrementalConnectedComponents<String> cc = new IncrementalConnectedComponents<String>(
+                g);
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        cc.addNode(a);
+        assertThrows(IllegalArgumentException.class,
+                () -> cc.addEdge(new GraphEdge<String>(a, b, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> cc.areConnected(a, b));
+    }
+
+    @Test
+    final void testIncremental() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        g.addNode(a);
+        g.addNode(b);
+        g.addEdge(new GraphEdge<String>(a, b, false));
+        // le componenti iniziali vengono dal grafo
+        IncrementalConnectedComponents<String> cc = new IncrementalConnectedComponents<String>(
+                g);
+        assertEquals(1, cc.componentCount());
+        assertTrue(cc.addNode(c));
+        assertFalse(cc.addNode(new GraphNode<String>("c")));
+        assertTrue(cc.addNode(d));
+        assertTrue(g.getNodes().contains(d));
+        assertEquals(3, cc.componentCount());
+        assertFalse(cc.areConnected(a, c));
+        assertTrue(cc.addEdge(new GraphEdge<String>(c, d, false)));
+        assertNotNull(g.getEdge(c, d));
+        assertFalse(cc.areConnected(b, d));
+        assertTrue(cc.addEdge(new GraphEdge<String>(b, c, false)));
+        assertFalse(cc.addEdge(new GraphEdge<String>(c, b, false)));
+        assertTrue(cc.areConnected(a, d));
+        assertEquals(1, cc.componentCount());
+        assertEquals(g.getNodes(), cc.getComponentOf(a));
+    }
+
+    @Test
+    final void testAgainstComputer() {
+        Random random = new Random(17);
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        IncrementalConnectedComponents<Integer> cc = new IncrementalConnectedComponents<Integer>(
+                g);
+        UndirectedGraphConnectedComponentsComputer<Integer> computer = new UndirectedGraphConnectedComponentsComputer<Integer>();
+        int n = 200;
+        for (int i = 0; i < n; i++)
+            cc.addNode(new GraphNode<Integer>(i));
+        for (int e = 0; e < 150; e++) {
+            cc.addEdge(new GraphEdge<Integer>(
+                    new GraphNode<Integer>(random.nextInt(n)),
+                    new GraphNode<Integer>(random.nextInt(n)), false));
+            if (e % 30 == 0) {
+                Set<Set<GraphNode<Integer>>> expected = computer
+                        .computeConnectedComponents(g);
+                assertEquals(expected, cc.getConnectedComponents());
+                assertEquals(expected.size(), cc.componentCount());
+            }
+        }
+        Set<GraphNode<Integer>> all = new HashSet<GraphNode<Integer>>();
+        for (Set<GraphNode<Integer>> component : cc.getConnectedComponents())
+            all.addAll(component);
+        assertEquals(g.getNodes(), all);
+    }
+
+}
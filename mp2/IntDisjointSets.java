@@ -0,0 +1,203 @@
+package it.unicam.cs.asdl2122.mp2;
+
+/**
+ * Collezione di insiemi disgiunti di interi, realizzata con una foresta
+ * rappresentata da array di primitivi. Gli elementi sono identificatori densi
+ * <code>0, 1, 2, ...</code> assegnati da {@code makeSet()} nell'ordine di
+ * creazione: il parent di ogni elemento sta nell'array {@code parent} e il
+ * rango delle radici nell'array {@code rank}, per cui nessuna operazione alloca
+ * oggetti o calcola hash.
+ *
+ * Le euristiche sono quelle di {@code ForestDisjointSets<E>}: unione per rango
+ * (a parità di rango il rappresentante dell'unione è quello dell'insieme del
+ * secondo elemento) e compressione del cammino, realizzata in modo iterativo
+ * con il dimezzamento del cammino, così che anche catene lunghe non esauriscano
+ * lo stack.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ */
+public class IntDisjointSets {
+
+    /*
+     * Capacità iniziale degli array se non specificata.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * Il parent di ogni elemento, una radice è parent di se stessa.
+     */
+    private int[] parent;
+
+    /*
+     * Il rango di ogni elemento, significativo solo per le radici. Il rango è
+     * al più il logaritmo del numero di elementi, per cui basta un byte.
+     */
+    private byte[] rank;
+
+    /*
+     * Numero di elementi creati.
+     */
+    private int size;
+
+    /*
+     * Numero di insiemi disgiunti correnti.
+     */
+    private int setCount;
+
+    /**
+     * Crea una collezione vuota.
+     */
+    public IntDisjointSets() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Crea una collezione vuota con una capacità iniziale data, per evitare i
+     * ridimensionamenti quando il numero di elementi è noto.
+     *
+     * @param capacity
+     *                     la capacità iniziale
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public IntDisjointSets(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Capacità iniziale degli insiemi disgiunti negativa");
+        this.parent = new int[capacity];
+        this.rank = new byte[capacity];
+    }
+
+    /**
+     * Restituisce il numero di elementi creati.
+     *
+     * @return il numero di elementi creati
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti correnti.
+     *
+     * @return il numero di insiemi disgiunti correnti
+     */
+    public int setCount() {
+        return this.setCount;
+    }
+
+    /**
+     * Crea un nuovo insieme singoletto.
+     *
+     * @return l'identificatore dell'elemento creato, uguale al numero di
+     *         elementi creati in precedenza
+     */
+    public int makeSet() {
+        if (this.size == this.parent.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, this.size * 2);
+            int[] newParent = new int[capacity];
+            System.arraycopy(this.parent, 0, newParent, 0, this.size);
+            this.parent = newParent;
+            byte[] newRank = new byte[capacity];
+            System.arraycopy(this.rank, 0, newRank, 0, this.size);
+            this.rank = newRank;
+        }
+        this.parent[this.size] = this.size;
+        this.rank[this.size] = 0;
+        this.setCount++;
+        return this.size++;
+    }
+
+    /**
+     * Crea un insieme singoletto per ciascuno degli elementi
+     * <code>0, ..., n - 1</code>, cancellando gli insiemi correnti.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public void reset(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException(
+                    "Numero di elementi degli insiemi disgiunti negativo");
+        if (this.parent.length < n) {
+            this.parent = new int[n];
+            this.rank = new byte[n];
+        }
+        for (int x = 0; x < n; x++) {
+            this.parent[x] = x;
+            this.rank[x] = 0;
+        }
+        this.size = n;
+        this.setCount = n;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto di un elemento.
+     *
+     * @param x
+     *              l'identificatore dell'elemento
+     * @return l'identificatore del rappresentante dell'insieme di x
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è un elemento creato
+     */
+    public int find(int x) {
+        this.checkElement(x);
+        // dimezzamento del cammino: ogni nodo visitato viene collegato al
+        // nonno
+        while (this.parent[x] != x) {
+            this.parent[x] = this.parent[this.parent[x]];
+            x = this.parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di due elementi. Se gli elementi fanno già
+     * parte dello stesso insieme non fa nulla.
+     *
+     * @param x
+     *              un elemento del primo insieme da unire
+     * @param y
+     *              un elemento del secondo insieme da unire
+     * @return true se gli insiemi erano distinti e sono stati uniti, false
+     *         altrimenti
+     * @throws IndexOutOfBoundsException
+     *                                       se x o y non sono elementi creati
+     */
+    public boolean union(int x, int y) {
+        int r1 = this.find(x);
+        int r2 = this.find(y);
+        if (r1 == r2)
+            return false;
+        // unione per rango
+        if (this.rank[r1] > this.rank[r2]) {
+            this.parent[r2] = r1;
+        } else {
+            this.parent[r1] = r2;
+            if (this.rank[r1] == this.rank[r2])
+                this.rank[r2]++;
+        }
+        this.setCount--;
+        return true;
+    }
+
+    /**
+     * Cancella tutti gli elementi e tutti gli insiemi.
+     */
+    public void clear() {
+        this.size = 0;
+        this.setCount = 0;
+    }
+
+    /*
+     * Controlla che x sia l'identificatore di un elemento creato.
+     */
+    private void checkElement(int x) {
+        if (x < 0 || x >= this.size)
+            throw new IndexOutOfBoundsException(
+                    "Elemento degli insiemi disgiunti non valido: " + x);
+    }
+}
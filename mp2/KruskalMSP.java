@@ -10,8 +10,10 @@ import java.util.Set;
  * Classe singoletto che implementa l'algoritmo di Kruskal per trovare un
  * Minimum Spanning Tree di un grafo non orientato, pesato e con pesi non
  * negativi. L'algoritmo implementato si avvale della classe
- * {@code ForestDisjointSets<GraphNode<L>>} per gestire una collezione di
- * insiemi disgiunti di nodi del grafo.
+ * {@code ArrayDisjointSets<GraphNode<L>>} per gestire una collezione di
+ * insiemi disgiunti di nodi del grafo: i nodi di ogni arco sono tradotti negli
+ * identificatori interi una volta sola e ricerche e unioni lavorano sugli
+ * array della foresta.
  * 
  * @author Luca Tesei (template) 
  * 		   Julian Marzoli, julian.marzoli@studenti.unicam.it (implementazione)
@@ -26,7 +28,7 @@ public class KruskalMSP<L> {
      * Struttura dati per rappresentare gli insiemi disgiunti utilizzata
      * dall'algoritmo di Kruskal.
      */
-    private ForestDisjointSets<GraphNode<L>> disjointSets;
+    private ArrayDisjointSets<GraphNode<L>> disjointSets;
     
     /*
      * Classe privata che fornisce una implementazione dell'algortimo di 
@@ -110,7 +112,7 @@ public class KruskalMSP<L> {
      * l'algoritmo di Kruskal su un grafo non orientato e pesato.
      */
     public KruskalMSP() {
-        this.disjointSets = new ForestDisjointSets<GraphNode<L>>();
+        this.disjointSets = new ArrayDisjointSets<GraphNode<L>>();
     }
 
     /**
@@ -154,15 +156,143 @@ public class KruskalMSP<L> {
     	}
     	// per ogni arco del grafo preso in ordine non decrescente
     	for(GraphEdge<L> edge : edges) {
-    		// se non sono già connessi
-    		if(this.disjointSets.findSet(edge.getNode1()) != 
-    				this.disjointSets.findSet(edge.getNode2())) {
-    			// aggiungo l'arco al MST
+    		// unisco i due insiemi disgiunti di cui fanno parte i nodi, se
+    		// non sono già connessi, e in tal caso aggiungo l'arco al MST
+    		if(this.disjointSets.unionById(this.disjointSets.idOf(edge.getNode1()), 
+    				this.disjointSets.idOf(edge.getNode2())))
     			mst.add(edge);
-    			// unisco i due insiemi disginti di cui fanno parte 
-    			this.disjointSets.union(edge.getNode1(), edge.getNode2());
-    		}
     	}
         return mst;
     }
+
+    /**
+     * Variante dell'algoritmo di Kruskal che lavora direttamente su
+     * un'istantanea CSR di un grafo non orientato, pesato e con pesi non
+     * negativi. Gli insiemi disgiunti sono rappresentati con array di interi
+     * indicizzati dai nodi, per cui i cicli principali non allocano oggetti e
+     * non calcolano hash.
+     * 
+     * @param g
+     *              l'istantanea CSR di un grafo non orientato, pesato, con
+     *              pesi non negativi
+     * @return le posizioni in {@code g} degli archi che costituiscono
+     *         l'albero (o la foresta) di copertura minimo trovato, una per
+     *         arco; il nodo sorgente, il nodo destinazione e il peso si
+     *         ottengono con {@code g.getSource(k)}, {@code g.getTarget(k)} e
+     *         {@code g.getWeight(k)}
+     * @throw NullPointerException se l'istantanea g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public int[] computeMSPOnCsr(CsrGraph<L> g) {
+    	if(g == null)
+    		throw new NullPointerException(
+    				"Tentativo di applicare algoritmo di Kruskal su un grafo nullo");
+    	if(g.isDirected())
+    		throw new IllegalArgumentException(
+    				"Tentativo di applicare algoritmo di Kruskal su un grafo orientato");
+    	int n = g.nodeCount();
+    	// raccolgo ogni arco una sola volta, dall'estremo con indice minore,
+    	// scartando i cappi che non possono far parte dell'albero
+    	int[] positions = new int[g.edgeCount()];
+    	int[] sources = new int[g.edgeCount()];
+    	int m = 0;
+    	for(int u = 0; u < n; u++) {
+    		for(int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+    			double w = g.weights[k];
+    			if(Double.isNaN(w) || w < 0)  //g non pesato o pesi negativi
+    	    		throw new IllegalArgumentException(
+    	    				"Tentativo di applicare algoritmo di Kruskal su un grafo non pesato o con pesi negativi");
+    			if(u < g.targets[k]) {
+    				positions[m] = k;
+    				sources[m] = u;
+    				m++;
+    			}
+    		}
+    	}
+    	// ordino gli archi in modo non decrescente rispetto al peso
+    	sortByWeight(positions, sources, g.weights, 0, m - 1);
+    	// creo un insieme singoletto per ogni nodo del grafo
+    	IntDisjointSets sets = new IntDisjointSets(n);
+    	sets.reset(n);
+    	// un albero di copertura ha al più n - 1 archi
+    	int[] mst = new int[Math.max(n - 1, 0)];
+    	int size = 0;
+    	for(int e = 0; e < m && size < mst.length; e++) {
+    		// se non sono già connessi li unisco e aggiungo l'arco
+    		if(sets.union(sources[e], g.targets[positions[e]]))
+    			mst[size++] = positions[e];
+    	}
+    	// se il grafo non è connesso la foresta ha meno di n - 1 archi
+    	if(size < mst.length) {
+    		int[] forest = new int[size];
+    		System.arraycopy(mst, 0, forest, 0, size);
+    		return forest;
+    	}
+    	return mst;
+    }
+
+    /*
+     * Ordina in modo non decrescente rispetto al peso le posizioni degli archi
+     * comprese tra p ed r, spostando di conseguenza anche le sorgenti. Il
+     * pivot è la mediana di tre elementi e la ricorsione avviene solo sulla
+     * parte più piccola, per cui la profondità dello stack è logaritmica anche
+     * su input già ordinati.
+     */
+    private static void sortByWeight(int[] positions, int[] sources,
+    		double[] weights, int p, int r) {
+    	while(r - p > 16) {
+    		// porto la mediana di tre in posizione r, dove la cerca partition
+    		int mid = (p + r) >>> 1;
+    		if(weights[positions[mid]] < weights[positions[p]])
+    			swap(positions, sources, mid, p);
+    		if(weights[positions[r]] < weights[positions[p]])
+    			swap(positions, sources, r, p);
+    		if(weights[positions[mid]] < weights[positions[r]])
+    			swap(positions, sources, mid, r);
+    		double x = weights[positions[r]];
+    		int i = p - 1;
+    		for(int j = p; j <= r - 1; j++) {
+    			if(weights[positions[j]] <= x) {
+    				i++;
+    				swap(positions, sources, i, j);
+    			}
+    		}
+    		swap(positions, sources, i + 1, r);
+    		int q = i + 1;
+    		if(q - p < r - q) {
+    			sortByWeight(positions, sources, weights, p, q - 1);
+    			p = q + 1;
+    		} else {
+    			sortByWeight(positions, sources, weights, q + 1, r);
+    			r = q - 1;
+    		}
+    	}
+    	// sulle partizioni piccole uso l'insertion sort
+    	for(int j = p + 1; j <= r; j++) {
+    		int position = positions[j];
+    		int source = sources[j];
+    		double key = weights[position];
+    		int i = j - 1;
+    		while(i >= p && weights[positions[i]] > key) {
+    			positions[i + 1] = positions[i];
+    			sources[i + 1] = sources[i];
+    			i--;
+    		}
+    		positions[i + 1] = position;
+    		sources[i + 1] = source;
+    	}
+    }
+
+    /*
+     * Scambia due elementi nei due array paralleli.
+     */
+    private static void swap(int[] positions, int[] sources, int i, int j) {
+    	int temp = positions[i];
+    	positions[i] = positions[j];
+    	positions[j] = temp;
+    	temp = sources[i];
+    	sources[i] = sources[j];
+    	sources[j] = temp;
+    }
 }
@@ -206,4 +206,55 @@ class KruskalMSPTest {
             alg.computeMSP(x);
         });
     }
+
+    @Test
+    final void testComputeMSPCsr() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        gr.addEdge(new GraphEdge<String>(e, e, false, 0));
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        CsrGraph<String> csr = gr.toCsr();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        for (int k : alg.computeMSPOnCsr(csr))
+            result.add(csr.getEdge(k));
+        assertTrue(alg.computeMSP(gr).equals(result));
+        // foresta su un grafo non connesso
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        assertEquals(4, alg.computeMSPOnCsr(gr.toCsr()).length);
+    }
+
+    @Test
+    final void testComputeMSPCsrExceptions() {
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSPOnCsr(null));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addNode("c");
+        gr.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSPOnCsr(gr.toCsr()));
+        gr.removeEdge("a", "b");
+        gr.addWeightedEdge("a", "b", -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSPOnCsr(gr.toCsr()));
+    }
 }
@@ -0,0 +1,360 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro indicizzato dei nodi di un grafo. Ogni nodo inserito occupa uno
+ * slot di un array, nell'ordine di inserimento, e una mappa associa
+ * all'etichetta di ogni nodo il suo slot; il nodo memorizzato nello slot è il
+ * nodo canonico restituito dalle ricerche. Il registro fa quindi da dizionario
+ * delle etichette: ogni etichetta corrisponde a un identificatore intero
+ * denso, lo slot, e dallo slot si risale all'etichetta tramite il nodo. Le
+ * ricerche per etichetta consultano direttamente la mappa, senza creare un
+ * nodo temporaneo, e tutto il resto del grafo lavora sugli slot.
+ *
+ * La cancellazione di un nodo non fa scorrere gli slot successivi, ma lascia
+ * nello slot una lapide (tombstone). L'indice di un nodo secondo l'API di
+ * {@code Graph<L>}, sempre compreso in <code>[0, size() - 1]</code>, è quindi
+ * il numero di nodi presenti negli slot che precedono il suo: finché non ci
+ * sono lapidi coincide con lo slot e le conversioni costano O(1), altrimenti
+ * si calcola in O(log n) tramite un albero di Fenwick sui flag di presenza.
+ * Quando le lapidi superano la metà degli slot il grafo proprietario deve
+ * compattare il registro, e con esso le proprie strutture indicizzate per
+ * slot; il costo della compattazione è così ammortizzato sulle cancellazioni.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+class NodeRegistry<L> {
+
+    /*
+     * Capacità iniziale degli array.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * Nodi negli slot, null negli slot cancellati. Solo le prime slotCount
+     * posizioni sono usate.
+     */
+    private Object[] slots;
+
+    /*
+     * Numero di slot usati, compresi quelli cancellati.
+     */
+    private int slotCount;
+
+    /*
+     * Numero di slot cancellati.
+     */
+    private int tombstones;
+
+    /*
+     * Associazione dell'etichetta di ogni nodo presente con lo slot del nodo.
+     */
+    private final Map<L, Integer> slotOf;
+
+    /*
+     * Vista dei nodi presenti come insieme.
+     */
+    private final Set<GraphNode<L>> nodes;
+
+    /*
+     * Albero di Fenwick (indicizzato da 1) sui flag di presenza degli slot:
+     * tree[p] è il numero di nodi presenti negli slot dell'intervallo
+     * (p - lowbit(p), p].
+     */
+    private int[] tree;
+
+    /**
+     * Crea un registro vuoto.
+     */
+    NodeRegistry() {
+        this.slotOf = new HashMap<L, Integer>();
+        this.nodes = new NodeSet();
+        this.clear();
+    }
+
+    /**
+     * Cancella tutti i nodi del registro.
+     */
+    void clear() {
+        this.slots = new Object[INITIAL_CAPACITY];
+        this.tree = new int[INITIAL_CAPACITY + 1];
+        this.slotCount = 0;
+        this.tombstones = 0;
+        this.slotOf.clear();
+    }
+
+    /**
+     * @return il numero di nodi presenti
+     */
+    int size() {
+        return this.slotCount - this.tombstones;
+    }
+
+    /**
+     * @return il numero di slot usati, compresi quelli cancellati
+     */
+    int slotCount() {
+        return this.slotCount;
+    }
+
+    /**
+     * @return l'insieme dei nodi presenti, una vista non modificabile che
+     *         segue le modifiche del registro
+     */
+    Set<GraphNode<L>> nodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Determina se un nodo è presente.
+     *
+     * @param node
+     *                 il nodo da cercare
+     * @return true se il nodo è presente, false altrimenti
+     */
+    boolean contains(GraphNode<L> node) {
+        return this.slotOf.containsKey(node.getLabel());
+    }
+
+    /**
+     * Inserisce un nodo in un nuovo slot, in fondo a quelli usati.
+     *
+     * @param node
+     *                 il nodo da inserire
+     * @return lo slot assegnato al nodo, -1 se il nodo era già presente
+     */
+    int add(GraphNode<L> node) {
+        if (this.slotOf.putIfAbsent(node.getLabel(), this.slotCount) != null)
+            return -1;
+        if (this.slotCount == this.slots.length)
+            this.grow();
+        this.slots[this.slotCount] = node;
+        // nodo di Fenwick del nuovo slot: comprende il nuovo nodo e gli
+        // intervalli dei nodi di Fenwick che lo precedono direttamente
+        int p = this.slotCount + 1;
+        this.tree[p] = 1 + this.prefix(p - 1) - this.prefix(p - (p & -p));
+        return this.slotCount++;
+    }
+
+    /**
+     * Cancella un nodo lasciando una lapide nel suo slot.
+     *
+     * @param node
+     *                 il nodo da cancellare
+     * @return lo slot che occupava il nodo, -1 se il nodo non era presente
+     */
+    int remove(GraphNode<L> node) {
+        Integer slot = this.slotOf.remove(node.getLabel());
+        if (slot == null)
+            return -1;
+        this.slots[slot] = null;
+        this.tombstones++;
+        for (int p = slot + 1; p <= this.slotCount; p += p & -p)
+            this.tree[p]--;
+        return slot;
+    }
+
+    /**
+     * Restituisce lo slot di un nodo.
+     *
+     * @param node
+     *                 il nodo da cercare
+     * @return lo slot del nodo, -1 se il nodo non è presente
+     */
+    int slotOf(GraphNode<L> node) {
+        return this.slotOfLabel(node.getLabel());
+    }
+
+    /**
+     * Restituisce lo slot del nodo con una certa etichetta.
+     *
+     * @param label
+     *                  l'etichetta da cercare
+     * @return lo slot del nodo con l'etichetta data, -1 se non è presente
+     */
+    int slotOfLabel(L label) {
+        Integer slot = this.slotOf.get(label);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Restituisce il nodo canonico uguale a un nodo dato.
+     *
+     * @param node
+     *                 il nodo da cercare
+     * @return il nodo memorizzato uguale a quello passato, null se non è
+     *         presente
+     */
+    GraphNode<L> canonical(GraphNode<L> node) {
+        return this.canonicalOf(node.getLabel());
+    }
+
+    /**
+     * Restituisce il nodo canonico con una certa etichetta.
+     *
+     * @param label
+     *                  l'etichetta da cercare
+     * @return il nodo memorizzato con l'etichetta data, null se non è
+     *         presente
+     */
+    GraphNode<L> canonicalOf(L label) {
+        Integer slot = this.slotOf.get(label);
+        return slot == null ? null : this.nodeInSlot(slot);
+    }
+
+    /**
+     * Restituisce il nodo memorizzato in uno slot.
+     *
+     * @param slot
+     *                 lo slot
+     * @return il nodo nello slot, null se lo slot è stato cancellato
+     */
+    @SuppressWarnings("unchecked")
+    GraphNode<L> nodeInSlot(int slot) {
+        return (GraphNode<L>) this.slots[slot];
+    }
+
+    /**
+     * Converte uno slot occupato nell'indice del suo nodo.
+     *
+     * @param slot
+     *                 uno slot occupato
+     * @return il numero di nodi presenti negli slot precedenti
+     */
+    int indexOfSlot(int slot) {
+        if (this.tombstones == 0)
+            return slot;
+        return this.prefix(slot);
+    }
+
+    /**
+     * Converte l'indice di un nodo nel suo slot.
+     *
+     * @param index
+     *                  un indice in <code>[0, size() - 1]</code>
+     * @return lo slot del nodo con l'indice dato
+     */
+    int slotOfIndex(int index) {
+        if (this.tombstones == 0)
+            return index;
+        // discesa nell'albero di Fenwick: cerco l'ultima posizione p con
+        // prefix(p) <= index, lo slot cercato è p
+        int p = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(this.slotCount); step > 0;
+                step >>= 1) {
+            int next = p + step;
+            if (next <= this.slotCount && this.tree[next] <= remaining) {
+                p = next;
+                remaining -= this.tree[next];
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Determina se le lapidi sono abbastanza da richiedere una compattazione.
+     *
+     * @return true se più della metà degli slot usati è cancellata
+     */
+    boolean needsCompaction() {
+        return this.tombstones > this.slotCount / 2;
+    }
+
+    /**
+     * Compatta il registro eliminando le lapidi. Dopo la compattazione lo
+     * slot di ogni nodo coincide con il suo indice.
+     *
+     * @return un array che associa ad ogni vecchio slot il nuovo slot, -1 per
+     *         gli slot cancellati
+     */
+    int[] compact() {
+        int[] newSlots = new int[this.slotCount];
+        int live = 0;
+        for (int s = 0; s < this.slotCount; s++) {
+            if (this.slots[s] == null) {
+                newSlots[s] = -1;
+            } else {
+                newSlots[s] = live;
+                this.slots[live] = this.slots[s];
+                this.slotOf.put(this.nodeInSlot(live).getLabel(), live);
+                live++;
+            }
+        }
+        for (int s = live; s < this.slotCount; s++)
+            this.slots[s] = null;
+        this.slotCount = live;
+        this.tombstones = 0;
+        // l'albero di Fenwick di soli flag a 1 ha in ogni nodo p il valore
+        // lowbit(p)
+        for (int p = 1; p <= live; p++)
+            this.tree[p] = p & -p;
+        return newSlots;
+    }
+
+    /*
+     * Numero di nodi presenti nei primi p slot.
+     */
+    private int prefix(int p) {
+        int result = 0;
+        for (; p > 0; p -= p & -p)
+            result += this.tree[p];
+        return result;
+    }
+
+    /*
+     * Raddoppia la capacità degli array.
+     */
+    private void grow() {
+        Object[] newSlots = new Object[this.slots.length * 2];
+        System.arraycopy(this.slots, 0, newSlots, 0, this.slotCount);
+        this.slots = newSlots;
+        int[] newTree = new int[newSlots.length + 1];
+        System.arraycopy(this.tree, 0, newTree, 0, this.slotCount + 1);
+        this.tree = newTree;
+    }
+
+    /*
+     * Vista dei nodi presenti: si scorrono gli slot della mappa delle
+     * etichette e l'appartenenza si controlla sull'etichetta.
+     */
+    private class NodeSet extends AbstractSet<GraphNode<L>> {
+
+        @Override
+        public Iterator<GraphNode<L>> iterator() {
+            Iterator<Integer> it = NodeRegistry.this.slotOf.values()
+                    .iterator();
+            return new Iterator<GraphNode<L>>() {
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public GraphNode<L> next() {
+                    return NodeRegistry.this.nodeInSlot(it.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return NodeRegistry.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof GraphNode && NodeRegistry.this.slotOf
+                    .containsKey(((GraphNode<?>) o).getLabel());
+        }
+    }
+}
@@ -1,16 +1,13 @@
 package it.unicam.cs.asdl2122.mp2;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Classe singoletto che implementa l'algoritmo di Prim per trovare un Minimum
  * Spanning Tree di un grafo non orientato, pesato e con pesi non negativi.
  * 
- * L'algoritmo richiede l'uso di una coda di min priorità tra i nodi che può
- * essere realizzata con una semplice ArrayList (non c'è bisogno di ottimizzare
- * le operazioni di inserimento, di estrazione del minimo, o di decremento della
- * priorità).
+ * L'algoritmo richiede l'uso di una coda di min priorità tra i nodi, che è
+ * realizzata con uno heap binario: i nodi implementano PriorityQueueElement,
+ * per cui estrazione del minimo e decremento della priorità costano O(log n) e
+ * il costo complessivo dell'algoritmo è O(m log n).
  * 
  * Si possono usare i colori dei nodi per registrare la scoperta e la visita
  * effettuata dei nodi.
@@ -25,22 +22,17 @@ import java.util.List;
 public class PrimMSP<L> {
 
 	/*
-     * Lista sostitutiva alla coda di min priorità.
-     */
-    public List<GraphNode<L>> minQueue;
-    
-    /*
-     * In particolare: si deve usare una coda con priorità che può semplicemente
-     * essere realizzata con una List<GraphNode<L>> e si deve mantenere un
-     * insieme dei nodi già visitati
+     * Coda di min priorità dei nodi non ancora estratti, con priorità uguale
+     * alla distanza corrente dall'albero.
      */
+    public BinaryHeapMinPriorityQueue<GraphNode<L>> minQueue;
 
     /**
      * Crea un nuovo algoritmo e inizializza la coda di priorità con una coda
      * vuota.
      */
     public PrimMSP() {
-    	this.minQueue = new ArrayList<GraphNode<L>>();
+    	this.minQueue = new BinaryHeapMinPriorityQueue<GraphNode<L>>();
     }
 
     /**
@@ -77,33 +69,36 @@ public class PrimMSP<L> {
 	    		throw new IllegalArgumentException(
 	    				"Tentativo di applicare algoritmo di Prim su un grafo non pesato o con pesi negativi");
     	}	
+    	this.minQueue.clear();
     	// inizializzo il nodo sorgente
-    	g.getNode(s).setColor(GraphNode.COLOR_GREY);
-    	g.getNode(s).setFloatingPointDistance(0);  	
-    	// lo aggiungo come primo elemento nella coda
-    	// così verrà estratto per primo
-    	this.minQueue.add(0, s);    	
+    	GraphNode<L> source = g.getNode(s);
+    	source.setColor(GraphNode.COLOR_GREY);
+    	source.setFloatingPointDistance(0);
+    	source.setPrevious(null);
+    	this.minQueue.insert(source);
     	// inizializzo gli altri nodi del grafo
     	for(GraphNode<L> v : g.getNodes()) {
     		if(!v.equals(s)){
 		    	v.setColor(GraphNode.COLOR_WHITE);
 		    	v.setFloatingPointDistance(Double.POSITIVE_INFINITY);
 		    	v.setPrevious(null);
-		    	this.minQueue.add(v);
+		    	this.minQueue.insert(v);
     		}
     	}
     	// finchè ci sono ancora nodi nella coda
     	while(!minQueue.isEmpty()) {
-    		// estraggo un nodo dalla coda
-    		GraphNode<L> u = this.minQueue.get(0);
-    		this.minQueue.remove(0);
+    		// estraggo il nodo con distanza minima
+    		GraphNode<L> u = this.minQueue.extractMinimum();
     		// per ogni nodo adiacente al nodo estratto
-    		for(GraphNode<L> v : g.getAdjacentNodesOf(u)) { 
+    		for(GraphNode<L> adjacent : g.getAdjacentNodesOf(u)) { 
+    			// uso il nodo del grafo, che è quello presente nella coda
+    			GraphNode<L> v = g.getNode(adjacent);
+    			double weight = g.getEdge(u, v).getWeight();
     			// se l'arco che lo collega ha peso minore alla sua distanza corrente
-    			if(minQueue.contains(v) && g.getEdge(u, v).getWeight() < v.getFloatingPointDistance()) {
+    			if(this.minQueue.contains(v) && weight < v.getFloatingPointDistance()) {
     				v.setColor(GraphNode.COLOR_GREY);
     				// aggiorno la distanza 
-    				v.setFloatingPointDistance(g.getEdge(u, v).getWeight());
+    				this.minQueue.decreasePriority(v, weight);
     				// aggiorno il nodo che lo precede
     				v.setPrevious(u);
     			}	
@@ -112,4 +107,156 @@ public class PrimMSP<L> {
     		u.setColor(GraphNode.COLOR_BLACK);
     	}
     }
+
+    /**
+     * Variante dell'algoritmo di Prim che registra colori, distanze dei nodi
+     * dall'albero e predecessori in uno stato separato invece che nei nodi del
+     * grafo. Il grafo viene solo letto e la coda di priorità è creata per ogni
+     * esecuzione, per cui più esecuzioni con stati diversi possono avvenire
+     * contemporaneamente sullo stesso grafo e con lo stesso oggetto. Lo stato
+     * viene riportato ai valori iniziali prima del calcolo; al termine il
+     * predecessore di ogni nodo nello stato corrisponde all'albero di
+     * copertura minimo con radice nel nodo sorgente, mentre i nodi non
+     * raggiungibili dalla sorgente restano bianchi e senza predecessore.
+     * 
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @param s
+     *              il nodo del grafo g sorgente, che sarà la radice
+     *              dell'albero di copertura trovato
+     * @param state
+     *              lo stato in cui registrare il calcolo, creato per il grafo
+     *              g
+     * 
+     * @throw NullPointerException se uno dei parametri è nullo
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g o
+     *        se lo stato non è stato creato per il grafo g
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public void computeMSP(Graph<L> g, GraphNode<L> s, TraversalState<L> state) {
+    	if(g == null || s == null || state == null)
+    		throw new NullPointerException(
+    				"Tentativo di applicare algoritmo di Prim su grafo, radice o stato nulli");
+    	if(state.getGraph() != g)
+    		throw new IllegalArgumentException(
+    				"Tentativo di applicare algoritmo di Prim con uno stato di un altro grafo");
+    	if(g.getNode(s) == null)
+    		throw new IllegalArgumentException(
+    				"Tentativo di applicare algoritm Prim da radice non presente");
+    	if(g.isDirected())
+    		throw new IllegalArgumentException(
+    				"Tentativo di applicare algoritmo di Prim su un grafo orientato");
+    	for(GraphEdge<L> edge : g.getEdges()) {
+	    	if(!edge.hasWeight() || edge.getWeight() < 0)  //g non pesato o pesi negativi
+	    		throw new IllegalArgumentException(
+	    				"Tentativo di applicare algoritmo di Prim su un grafo non pesato o con pesi negativi");
+    	}
+    	state.reset();
+    	IntMinPriorityQueue queue = new IntMinPriorityQueue(state.nodeCount());
+    	// inizializzo il nodo sorgente, gli altri sono bianchi e a distanza
+    	// infinita dopo reset ed entrano in coda quando vengono raggiunti
+    	int source = g.getNodeIndexOf(s);
+    	state.setColor(source, GraphNode.COLOR_GREY);
+    	state.setFloatingPointDistance(source, 0);
+    	queue.insert(source, 0);
+    	// operazione eseguita su ogni arco del nodo estratto, creata una volta
+    	// sola
+    	EdgeVisitor relax = (u, v, weight) -> {
+    		// se l'arco ha peso minore della distanza corrente del nodo
+    		if(state.getColor(v) != GraphNode.COLOR_BLACK 
+    				&& weight < state.getFloatingPointDistance(v)) {
+    			if(queue.contains(v))
+    				queue.decreasePriority(v, weight);
+    			else
+    				queue.insert(v, weight);
+    			state.setColor(v, GraphNode.COLOR_GREY);
+    			state.setFloatingPointDistance(v, weight);
+    			state.setPrevious(v, u);
+    		}
+    	};
+    	// finchè ci sono ancora nodi nella coda
+    	while(!queue.isEmpty()) {
+    		// estraggo il nodo con distanza minima, che diventa "completato"
+    		int u = queue.extractMinimum();
+    		state.setColor(u, GraphNode.COLOR_BLACK);
+    		g.forEachEdge(u, relax);
+    	}
+    }
+
+    /**
+     * Variante dell'algoritmo di Prim che lavora direttamente su
+     * un'istantanea CSR di un grafo non orientato, pesato e con pesi non
+     * negativi. Le informazioni sui nodi non vengono registrate nei nodi del
+     * grafo ma in array di primitivi indicizzati dai nodi, per cui i cicli
+     * principali non allocano oggetti e non calcolano hash.
+     * 
+     * @param g
+     *              l'istantanea CSR di un grafo non orientato, pesato, con
+     *              pesi non negativi
+     * @param s
+     *              l'indice del nodo sorgente, che sarà la radice dell'albero
+     *              di copertura trovato
+     * @return un array che in posizione i contiene l'indice del predecessore
+     *         del nodo i nell'albero di copertura minimo trovato, -1 per la
+     *         radice e per i nodi non raggiungibili da s (che sono radici di
+     *         altri alberi della foresta di copertura)
+     * 
+     * @throw NullPointerException se l'istantanea g è nulla
+     * @throw IndexOutOfBoundsException se s non è un indice di nodo di g
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public int[] computeMSPOnCsr(CsrGraph<L> g, int s) {
+    	if(g == null)
+    		throw new NullPointerException(
+    				"Tentativo di applicare algoritmo di Prim su grafo nullo");
+    	if(s < 0 || s >= g.nodeCount())
+    		throw new IndexOutOfBoundsException(
+    				"Tentativo di applicare algoritmo di Prim da un indice di radice non valido");
+    	if(g.isDirected())
+    		throw new IllegalArgumentException(
+    				"Tentativo di applicare algoritmo di Prim su un grafo orientato");
+    	for(int k = 0; k < g.weights.length; k++) {
+	    	if(Double.isNaN(g.weights[k]) || g.weights[k] < 0)  //g non pesato o pesi negativi
+	    		throw new IllegalArgumentException(
+	    				"Tentativo di applicare algoritmo di Prim su un grafo non pesato o con pesi negativi");
+    	}
+    	int n = g.nodeCount();
+    	// la distanza corrente di ogni nodo dall'albero è la sua priorità
+    	// nella coda, estratta la sorgente i nodi vengono inseriti quando
+    	// sono raggiunti per la prima volta
+    	IntMinPriorityQueue queue = new IntMinPriorityQueue(n);
+    	int[] previous = new int[n];
+    	boolean[] extracted = new boolean[n];
+    	for(int v = 0; v < n; v++)
+    		previous[v] = -1;
+    	for(int root = s, done = 0; done < n; root = (root + 1) % n) {
+    		// ogni nodo non ancora estratto, a partire dalla sorgente, è la
+    		// radice di un nuovo albero della foresta di copertura
+    		if(extracted[root])
+    			continue;
+    		queue.insert(root, 0);
+    		while(!queue.isEmpty()) {
+    			int u = queue.extractMinimum();
+    			extracted[u] = true;
+    			done++;
+    			// per ogni arco uscente dal nodo estratto
+    			for(int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+    				int v = g.targets[k];
+    				if(extracted[v])
+    					continue;
+    				// se l'arco ha peso minore della distanza corrente del nodo
+    				if(!queue.contains(v)) {
+    					queue.insert(v, g.weights[k]);
+    					previous[v] = u;
+    				} else if(g.weights[k] < queue.getPriority(v)) {
+    					queue.decreasePriority(v, g.weights[k]);
+    					previous[v] = u;
+    				}
+    			}
+    		}
+    	}
+    	return previous;
+    }
 }
@@ -2,6 +2,9 @@ package it.unicam.cs.asdl2122.mp2;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -302,4 +305,104 @@ class PrimMSPTest {
         assertTrue(c.getFloatingPointDistance() == Double.POSITIVE_INFINITY);
         assertTrue(c.getColor() == GraphNode.COLOR_BLACK);
     }
+
+    @Test
+    final void testFindMSPCsr() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 10));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 2));
+        gr.addEdge(new GraphEdge<String>(c, e, false, 6));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 1));
+        gr.addEdge(new GraphEdge<String>(b, b, false, 7));
+        gr.addEdge(new GraphEdge<String>(c, c, false, 0));
+        PrimMSP<String> alg = new PrimMSP<String>();
+        int[] previous = alg.computeMSPOnCsr(gr.toCsr(),
+                gr.getNodeIndexOf(b));
+        assertEquals(gr.getNodeIndexOf(c), previous[gr.getNodeIndexOf(a)]);
+        assertEquals(-1, previous[gr.getNodeIndexOf(b)]);
+        assertEquals(gr.getNodeIndexOf(d), previous[gr.getNodeIndexOf(c)]);
+        assertEquals(gr.getNodeIndexOf(b), previous[gr.getNodeIndexOf(d)]);
+        assertEquals(gr.getNodeIndexOf(d), previous[gr.getNodeIndexOf(e)]);
+    }
+
+    @Test
+    final void testFindMSPCsrExceptions() {
+        PrimMSP<String> alg = new PrimMSP<String>();
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSPOnCsr(null, 0));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> alg.computeMSPOnCsr(gr.toCsr(), 2));
+        gr.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSPOnCsr(gr.toCsr(), 0));
+    }
+
+    @Test
+    final void testFindMSPWithState() throws Exception {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        String[] labels = { "a", "b", "c", "d", "e", "f", "g", "h", "i" };
+        for (String label : labels)
+            gr.addNode(label);
+        gr.addWeightedEdge("a", "b", 4);
+        gr.addWeightedEdge("a", "h", 8.5);
+        gr.addWeightedEdge("b", "h", 11);
+        gr.addWeightedEdge("b", "c", 8);
+        gr.addWeightedEdge("c", "i", 2);
+        gr.addWeightedEdge("c", "d", 7);
+        gr.addWeightedEdge("c", "f", 4);
+        gr.addWeightedEdge("d", "f", 14);
+        gr.addWeightedEdge("d", "e", 9);
+        gr.addWeightedEdge("e", "f", 10);
+        gr.addWeightedEdge("f", "g", 2);
+        gr.addWeightedEdge("g", "i", 6);
+        gr.addWeightedEdge("g", "h", 1);
+        gr.addWeightedEdge("h", "i", 7);
+        PrimMSP<String> alg = new PrimMSP<String>();
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSP(gr, gr.getNode("a"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr, gr.getNode("a"),
+                        new TraversalState<String>(
+                                new AdjacencyMatrixUndirectedGraph<String>())));
+        // più esecuzioni contemporanee sullo stesso grafo con stati diversi
+        Thread[] threads = new Thread[4];
+        List<TraversalState<String>> states = new ArrayList<TraversalState<String>>();
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<String> state = new TraversalState<String>(gr);
+            states.add(state);
+            threads[t] = new Thread(() -> {
+                for (int r = 0; r < 100; r++)
+                    alg.computeMSP(gr, gr.getNode("a"), state);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        String[] expected = { null, "a", "b", "c", "d", "c", "f", "g", "c" };
+        for (TraversalState<String> state : states)
+            for (int i = 0; i < labels.length; i++) {
+                int p = state.getPrevious(gr.getNodeIndexOf(labels[i]));
+                assertEquals(expected[i],
+                        p == -1 ? null : gr.getNode(p).getLabel());
+                assertEquals(GraphNode.COLOR_BLACK,
+                        state.getColor(gr.getNodeIndexOf(labels[i])));
+            }
+        // i nodi del grafo non sono stati modificati
+        assertNull(gr.getNode("b").getPrevious());
+    }
 }
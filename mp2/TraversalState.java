@@ -0,0 +1,239 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Arrays;
+
+/**
+ * Stato di una singola esecuzione di un algoritmo su un grafo
+ * {@code Graph<L>}. Colore, distanza intera, distanza in virgola mobile,
+ * predecessore e tempi di scoperta e di fine visita di ogni nodo sono
+ * memorizzati in array di primitivi indicizzati dall'indice del nodo nel
+ * grafo, invece che nei campi dei nodi: in questo modo più esecuzioni, ognuna
+ * con il proprio stato, possono avvenire contemporaneamente sullo stesso
+ * grafo, che viene solo letto.
+ *
+ * Lo stato ha una posizione per ogni nodo presente nel grafo al momento della
+ * sua creazione, per cui il grafo non deve essere modificato finché lo stato è
+ * in uso. Il grafo deve supportare le operazioni indicizzate sui nodi.
+ *
+ * @author Julian Marzoli, julian.marzoli@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public final class TraversalState<L> {
+
+    /*
+     * Il grafo a cui si riferisce lo stato.
+     */
+    private final Graph<L> graph;
+
+    private final byte[] color;
+
+    private final int[] integerDistance;
+
+    private final double[] floatingPointDistance;
+
+    /*
+     * Identificatore del predecessore di ogni nodo, -1 se non c'è.
+     */
+    private final int[] previous;
+
+    private final int[] enteringTime;
+
+    private final int[] exitingTime;
+
+    /**
+     * Crea lo stato iniziale di un'esecuzione su un grafo, con una posizione
+     * per ogni nodo attualmente presente.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    public TraversalState(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException(
+                    "Tentativo di creare lo stato di un grafo nullo");
+        this.graph = g;
+        int n = g.nodeCount();
+        this.color = new byte[n];
+        this.integerDistance = new int[n];
+        this.floatingPointDistance = new double[n];
+        this.previous = new int[n];
+        this.enteringTime = new int[n];
+        this.exitingTime = new int[n];
+        this.reset();
+    }
+
+    /**
+     * Riporta tutti i nodi allo stato iniziale: colore bianco, distanza intera
+     * -1, distanza in virgola mobile infinita, nessun predecessore e tempi -1.
+     */
+    public void reset() {
+        Arrays.fill(this.color, (byte) GraphNode.COLOR_WHITE);
+        Arrays.fill(this.integerDistance, -1);
+        Arrays.fill(this.floatingPointDistance, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.previous, -1);
+        Arrays.fill(this.enteringTime, -1);
+        Arrays.fill(this.exitingTime, -1);
+    }
+
+    /**
+     * Restituisce il grafo a cui si riferisce questo stato.
+     *
+     * @return il grafo a cui si riferisce questo stato
+     */
+    public Graph<L> getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento della creazione di
+     * questo stato.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.color.length;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return il colore corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getColor(int i) {
+        return this.color[i];
+    }
+
+    /**
+     * @param i
+     *                  l'indice di un nodo
+     * @param color
+     *                  il nuovo colore del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setColor(int i, int color) {
+        this.color[i] = (byte) color;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return la distanza intera corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getIntegerDistance(int i) {
+        return this.integerDistance[i];
+    }
+
+    /**
+     * @param i
+     *                     l'indice di un nodo
+     * @param distance
+     *                     la nuova distanza intera del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setIntegerDistance(int i, int distance) {
+        this.integerDistance[i] = distance;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return la distanza in virgola mobile corrente del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public double getFloatingPointDistance(int i) {
+        return this.floatingPointDistance[i];
+    }
+
+    /**
+     * @param i
+     *                     l'indice di un nodo
+     * @param distance
+     *                     la nuova distanza in virgola mobile del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setFloatingPointDistance(int i, double distance) {
+        this.floatingPointDistance[i] = distance;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return l'indice del predecessore del nodo, -1 se non c'è
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getPrevious(int i) {
+        return this.previous[i];
+    }
+
+    /**
+     * @param i
+     *                     l'indice di un nodo
+     * @param previous
+     *                     l'indice del nuovo predecessore del nodo, -1
+     *                     per nessun predecessore
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setPrevious(int i, int previous) {
+        this.previous[i] = previous;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return il tempo di scoperta del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getEnteringTime(int i) {
+        return this.enteringTime[i];
+    }
+
+    /**
+     * @param i
+     *                 l'indice di un nodo
+     * @param time
+     *                 il nuovo tempo di scoperta del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setEnteringTime(int i, int time) {
+        this.enteringTime[i] = time;
+    }
+
+    /**
+     * @param i
+     *              l'indice di un nodo
+     * @return il tempo di fine visita del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getExitingTime(int i) {
+        return this.exitingTime[i];
+    }
+
+    /**
+     * @param i
+     *                 l'indice di un nodo
+     * @param time
+     *                 il nuovo tempo di fine visita del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void setExitingTime(int i, int time) {
+        this.exitingTime[i] = time;
+    }
+}
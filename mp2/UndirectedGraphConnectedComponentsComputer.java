@@ -1,14 +1,24 @@
 package it.unicam.cs.asdl2122.mp2;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Classe singoletto che realizza un calcolatore delle componenti connesse di un
  * grafo non orientato utilizzando una struttura dati efficiente (fornita dalla
- * classe {@ForestDisjointSets<GraphNode<L>>}) per gestire insiemi disgiunti di
+ * classe {@code ArrayDisjointSets<GraphNode<L>>}) per gestire insiemi disgiunti di
  * nodi del grafo che sono, alla fine del calcolo, le componenti connesse.
  * 
+ * È disponibile anche una modalità parallela, in cui gli archi del grafo
+ * vengono divisi tra i thread di un {@code ForkJoinPool} che eseguono le unioni
+ * contemporaneamente su una {@code ConcurrentIntDisjointSets}.
+ * 
  * @author Luca Tesei (template) 
  * 		   Julian Marzoli, julian.marzoli@studenti.unicam.it (implementazione)
  *
@@ -17,16 +27,22 @@ import java.util.Set;
  */
 public class UndirectedGraphConnectedComponentsComputer<L> {
 
+    /*
+     * Numero di archi sotto il quale un compito della modalità parallela
+     * esegue le unioni direttamente invece di dividersi ulteriormente.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
     /*
      * Struttura dati per gli insiemi disgiunti.
      */
-    private ForestDisjointSets<GraphNode<L>> f;
+    private ArrayDisjointSets<GraphNode<L>> f;
 
     /**
      * Crea un calcolatore di componenti connesse.
      */
     public UndirectedGraphConnectedComponentsComputer() {
-        this.f = new ForestDisjointSets<GraphNode<L>>();
+        this.f = new ArrayDisjointSets<GraphNode<L>>();
     }
 
     /**
@@ -52,32 +68,176 @@ public class UndirectedGraphConnectedComponentsComputer<L> {
     	// set rappresentante i nodi connessi 
     	Set<Set<GraphNode<L>>> connectedComponents = new HashSet<Set<GraphNode<L>>>();
     	// creo una foresta
-    	this.f = new ForestDisjointSets<GraphNode<L>>();
+    	this.f = new ArrayDisjointSets<GraphNode<L>>();
     	// popolo la foresta con un insieme singoletto per ogni nodo nel grafo
     	for(GraphNode<L> node : g.getNodes()) {
     		f.makeSet(node);
     	}
     	// per ogni arco nel grafo 
     	for(GraphEdge<L> edge : g.getEdges()) {
-    		// se il rappresentante del nodo 1 è diverso da quello del nodo 2 
-    		if(f.findSet(edge.getNode1()) != f.findSet(edge.getNode2())) {
-    			// li unisco perchè sono componenti connesse (e ancora non erano stati connessi)
-    			f.union(edge.getNode1(), edge.getNode2());
+    		// unisco gli insiemi dei due nodi perchè sono componenti connesse
+    		// (l'unione non fa nulla se erano già stati connessi)
+    		f.unionById(f.idOf(edge.getNode1()), f.idOf(edge.getNode2()));
+    	}
+    	// raggruppo i nodi per rappresentante in una sola passata, ogni
+    	// insieme disgiunto è una componente connessa
+    	connectedComponents.addAll(f.getCurrentSets());
+    	// ritorno l'insieme di componenti connesse 
+        return connectedComponents;
+    }
+
+    /**
+     * Variante del calcolo delle componenti connesse che lavora direttamente
+     * su un'istantanea CSR di un grafo non orientato. Le componenti vengono
+     * individuate con visite in ampiezza che usano come coda un array di
+     * interi, per cui i cicli principali non allocano oggetti e non calcolano
+     * hash.
+     * 
+     * @param g
+     *              l'istantanea CSR di un grafo non orientato
+     * @return un array che in posizione i contiene l'identificatore della
+     *         componente connessa del nodo i; le componenti sono numerate da
+     *         0 in ordine di indice del loro nodo più piccolo, per cui il
+     *         numero di componenti è il massimo valore dell'array più uno
+     * @throws NullPointerException
+     *                                      se l'istantanea passata è nulla
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public int[] computeConnectedComponentsOnCsr(CsrGraph<L> g) {
+    	if(g == null)
+    		throw new NullPointerException(
+    				"Tentativo di calcolare componenti connesse di un grafo nullo");
+    	if(g.isDirected())
+    		throw new IllegalArgumentException(
+    				"Tentativo di calcolare componenti connesse di un grafo orientato");
+    	int n = g.nodeCount();
+    	// componente di ogni nodo, -1 se il nodo non è ancora stato raggiunto
+    	int[] component = new int[n];
+    	for(int v = 0; v < n; v++)
+    		component[v] = -1;
+    	// ogni nodo entra in coda una sola volta, quindi basta un array di n
+    	// posizioni per tutte le visite
+    	int[] queue = new int[n];
+    	int components = 0;
+    	for(int s = 0; s < n; s++) {
+    		if(component[s] != -1)
+    			continue;
+    		// s è il nodo più piccolo di una nuova componente
+    		int head = 0;
+    		int tail = 0;
+    		component[s] = components;
+    		queue[tail++] = s;
+    		while(head < tail) {
+    			int u = queue[head++];
+    			for(int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+    				int v = g.targets[k];
+    				if(component[v] == -1) {
+    					component[v] = components;
+    					queue[tail++] = v;
+    				}
+    			}
     		}
+    		components++;
     	}
-    	// per ogni rappresentante dell'insieme disgiunto
-    	for(GraphNode<L> repr : f.getCurrentRepresentatives()) {
-    		// creo il set rappresentante l'albero 
-    		Set<GraphNode<L>> tree = new HashSet<GraphNode<L>>();
-    		// recupero gli elementi dell'albero 
-    		for(GraphNode<L> node : f.getCurrentElementsOfSetContaining(repr)) {
-    			// salvo l'elemento nel set albero
-    			tree.add(node);
+    	return component;
+    }
+
+    /**
+     * Calcola le componenti connesse di un grafo non orientato dividendo le
+     * unioni tra i thread di un {@code ForkJoinPool}. Gli archi e i nodi del
+     * grafo vengono letti solo dal thread chiamante, prima di avviare i
+     * compiti paralleli, per cui il grafo non deve essere thread-safe; la
+     * traduzione dei nodi negli indici e le unioni avvengono invece in
+     * parallelo su una {@code ConcurrentIntDisjointSets}.
+     * 
+     * @param g
+     *                 un grafo non orientato
+     * @param pool
+     *                 il pool di thread da usare
+     * @return un insieme di componenti connesse, ognuna rappresentata da un
+     *         insieme di nodi del grafo
+     * @throws NullPointerException
+     *                                      se il grafo o il pool passati sono
+     *                                      nulli
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public Set<Set<GraphNode<L>>> computeConnectedComponents(Graph<L> g, ForkJoinPool pool) {
+    	if(g == null || pool == null)
+    		throw new NullPointerException(
+    				"Tentativo di calcolare componenti connesse di un grafo nullo o con un pool nullo");
+    	if(g.isDirected())
+    		throw new IllegalArgumentException(
+    				"Tentativo di calcolare componenti connesse di un grafo orientato");
+    	// assegno ad ogni nodo un indice denso
+    	List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(g.getNodes());
+    	Map<GraphNode<L>, Integer> ids = new HashMap<GraphNode<L>, Integer>();
+    	for(int i = 0; i < nodes.size(); i++)
+    		ids.put(nodes.get(i), i);
+    	List<GraphEdge<L>> edges = new ArrayList<GraphEdge<L>>(g.getEdges());
+    	ConcurrentIntDisjointSets sets = new ConcurrentIntDisjointSets(nodes.size());
+    	// i thread del pool eseguono tutte le unioni
+    	pool.invoke(new UnionTask<L>(edges, ids, sets, 0, edges.size()));
+    	// raggruppo i nodi per rappresentante in una sola passata
+    	int[] componentOf = new int[nodes.size()];
+    	for(int i = 0; i < componentOf.length; i++)
+    		componentOf[i] = -1;
+    	List<Set<GraphNode<L>>> components = new ArrayList<Set<GraphNode<L>>>();
+    	for(int i = 0; i < nodes.size(); i++) {
+    		int root = sets.find(i);
+    		if(componentOf[root] == -1) {
+    			componentOf[root] = components.size();
+    			components.add(new HashSet<GraphNode<L>>());
     		}
-    		// aggiungo la componente connessa nell'insieme di componenti connesse
-    		connectedComponents.add(tree);
+    		components.get(componentOf[root]).add(nodes.get(i));
     	}
-    	// ritorno l'insieme di componenti connesse 
-        return connectedComponents;
+    	return new HashSet<Set<GraphNode<L>>>(components);
+    }
+
+    /*
+     * Compito che esegue le unioni corrispondenti agli archi in posizione
+     * [from, to) della lista, dividendosi a metà finché gli archi sono più
+     * di PARALLEL_THRESHOLD.
+     */
+    private static class UnionTask<L> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<GraphEdge<L>> edges;
+
+        private final Map<GraphNode<L>, Integer> ids;
+
+        private final ConcurrentIntDisjointSets sets;
+
+        private final int from;
+
+        private final int to;
+
+        UnionTask(List<GraphEdge<L>> edges, Map<GraphNode<L>, Integer> ids,
+                ConcurrentIntDisjointSets sets, int from, int to) {
+            this.edges = edges;
+            this.ids = ids;
+            this.sets = sets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= PARALLEL_THRESHOLD) {
+                for (int e = this.from; e < this.to; e++) {
+                    GraphEdge<L> edge = this.edges.get(e);
+                    this.sets.union(this.ids.get(edge.getNode1()),
+                            this.ids.get(edge.getNode2()));
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new UnionTask<L>(this.edges, this.ids, this.sets,
+                    this.from, middle),
+                    new UnionTask<L>(this.edges, this.ids, this.sets, middle,
+                            this.to));
+        }
     }
 }
@@ -3,7 +3,9 @@ package it.unicam.cs.asdl2122.mp2;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -110,4 +112,48 @@ class UndirectedGraphConnectedComponentsComputerTest {
         result.add(comp1);
         assertTrue(c.computeConnectedComponents(g1).equals(result));
     }
+
+    @Test
+    final void testComputeConnectedComponentsCsr() {
+        UndirectedGraphConnectedComponentsComputer<String> c = new UndirectedGraphConnectedComponentsComputer<String>();
+        assertThrows(NullPointerException.class,
+                () -> c.computeConnectedComponentsOnCsr(null));
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        assertEquals(0,
+                c.computeConnectedComponentsOnCsr(g.toCsr()).length);
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addNode("e");
+        g.addEdge("a", "c");
+        g.addEdge("d", "e");
+        g.addEdge("e", "e");
+        int[] component = c.computeConnectedComponentsOnCsr(g.toCsr());
+        assertEquals(0, component[g.getNodeIndexOf("a")]);
+        assertEquals(1, component[g.getNodeIndexOf("b")]);
+        assertEquals(0, component[g.getNodeIndexOf("c")]);
+        assertEquals(2, component[g.getNodeIndexOf("d")]);
+        assertEquals(2, component[g.getNodeIndexOf("e")]);
+    }
+
+    @Test
+    final void testComputeConnectedComponentsParallel() {
+        UndirectedGraphConnectedComponentsComputer<Integer> c = new UndirectedGraphConnectedComponentsComputer<Integer>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertThrows(NullPointerException.class,
+                () -> c.computeConnectedComponents(null, pool));
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        assertTrue(c.computeConnectedComponents(g, pool).isEmpty());
+        // grafo abbastanza grande da dividere gli archi tra più compiti
+        Random random = new Random(11);
+        int n = 2000;
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+        for (int e = 0; e < 12000; e++)
+            g.addEdge(random.nextInt(n), random.nextInt(n / 2) * 2);
+        assertEquals(c.computeConnectedComponents(g),
+                c.computeConnectedComponents(g, pool));
+        pool.shutdown();
+    }
 }